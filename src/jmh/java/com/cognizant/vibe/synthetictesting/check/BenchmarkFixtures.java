@@ -0,0 +1,85 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.app.entity.AppTarget;
+import com.cognizant.vibe.synthetictesting.app.entity.TargetType;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckCommand;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+import com.cognizant.vibe.synthetictesting.check.entity.CommandType;
+import com.cognizant.vibe.synthetictesting.config.MappedResultStoreProperties;
+import com.cognizant.vibe.synthetictesting.config.ResultRetentionProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Builds the collaborators the benchmarks need without starting a Spring context.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * @return A result repository over a fresh in-memory H2 database.
+     */
+    static CheckResultRepository inMemoryResultRepository() {
+        // Pooled like the application's DataSource; opening a connection per statement would dominate the results.
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        ResultPartitionManager partitionManager = new ResultPartitionManager(jdbcTemplate,
+                new ResultRetentionProperties(3650, Duration.ofHours(1)));
+        partitionManager.init();
+        return new CheckResultRepository(jdbcTemplate, new DataSourceTransactionManager(dataSource), partitionManager);
+    }
+
+    /**
+     * @return A memory-mapped result store over an empty directory.
+     */
+    static MappedResultStore mappedResultStore(Path directory) throws IOException {
+        // Only the retention lookup of the partition manager is used, which needs no database.
+        ResultPartitionManager partitionManager = new ResultPartitionManager(null,
+                new ResultRetentionProperties(3650, Duration.ofHours(1)));
+        DatabaseIdentity databaseIdentity = new DatabaseIdentity(new JdbcTemplate(
+                new DriverManagerDataSource("jdbc:h2:mem:bench-identity-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "")));
+        MappedResultStore store = new MappedResultStore(
+                new MappedResultStoreProperties(directory, 1 << 20, 4096, 100_000), partitionManager, databaseIdentity);
+        store.open();
+        return store;
+    }
+
+    static CheckCommand command(long id, CommandType type, String targetUrlOrIp, String parameters) {
+        AppTarget target = AppTarget.builder()
+                .id(id)
+                .name("bench-" + id)
+                .targetUrlOrIp(targetUrlOrIp)
+                .type(type == CommandType.GET ? TargetType.URL : TargetType.IP)
+                .enabled(true)
+                .build();
+        return CheckCommand.builder()
+                .id(id)
+                .app(target)
+                .type(type)
+                .parameters(parameters)
+                .intervalSeconds(86_400)
+                .build();
+    }
+
+    static CheckResult result(CheckCommand command, Instant timestamp) {
+        return CheckResult.builder()
+                .command(command)
+                .timestamp(timestamp)
+                .success(true)
+                .responseTimeMs(42)
+                .statusCode(200)
+                .build();
+    }
+}
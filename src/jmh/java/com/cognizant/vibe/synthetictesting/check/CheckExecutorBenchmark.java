@@ -0,0 +1,137 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.check.entity.CheckCommand;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+import com.cognizant.vibe.synthetictesting.check.entity.CommandType;
+import com.cognizant.vibe.synthetictesting.config.CheckExecutionProperties;
+import com.cognizant.vibe.synthetictesting.config.DnsCacheProperties;
+import com.cognizant.vibe.synthetictesting.config.HttpCheckProperties;
+import com.cognizant.vibe.synthetictesting.config.PingProperties;
+import com.cognizant.vibe.synthetictesting.config.ResultCompactionProperties;
+import com.cognizant.vibe.synthetictesting.config.ResultRetentionProperties;
+import com.cognizant.vibe.synthetictesting.config.ResultWriterProperties;
+import com.cognizant.vibe.synthetictesting.config.TcpProbeProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of one check through {@link CheckExecutorService#execute} against local stub servers,
+ * from dispatch until the result reaches the listeners. The result writer is not started, so
+ * persistence is excluded; see {@link CheckResultPersistenceBenchmark} for that.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CheckExecutorBenchmark {
+
+    private DisposableServer httpServer;
+    private ServerSocket tcpServer;
+    private ExecutorService tcpAcceptor;
+    private ConnectionProvider connectionProvider;
+    private TcpProbeEngine tcpProbeEngine;
+    private ScheduledExecutorService scheduler;
+    private CheckExecutorService executor;
+    private CheckCommand getCommand;
+    private CheckCommand tcpCommand;
+
+    private volatile CompletableFuture<CheckResult> pending;
+
+    @Setup
+    public void setUp() throws IOException {
+        httpServer = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .handle((request, response) -> response.sendString(Mono.just("ok")))
+                .bindNow();
+
+        tcpServer = new ServerSocket(0, 1024, InetAddress.getLoopbackAddress());
+        tcpAcceptor = Executors.newSingleThreadExecutor();
+        tcpAcceptor.execute(() -> {
+            while (!tcpServer.isClosed()) {
+                try (Socket ignored = tcpServer.accept()) {
+                    // Accept and close, as a TCP_PORT check only needs the handshake.
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        });
+
+        HttpCheckProperties httpProperties = new HttpCheckProperties(Duration.ofSeconds(5), 2000, 20, 10000, Duration.ofSeconds(5), DataSize.ofMegabytes(1));
+        connectionProvider = ConnectionProvider.builder("bench").maxConnections(httpProperties.maxConcurrency()).build();
+        WebClient webClient = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(HttpPhaseTimings.instrument(HttpClient.create(connectionProvider)
+                        .responseTimeout(httpProperties.timeout()))))
+                .build();
+        CheckResultWriter writer = new CheckResultWriter(BenchmarkFixtures.inMemoryResultRepository(), new ResultRunStore(null),
+                new ResultPartitionManager(null, new ResultRetentionProperties(3650, Duration.ofHours(1))),
+                new ResultWriterProperties(1, 1, Duration.ofSeconds(1), ResultWriterProperties.OverflowPolicy.DROP_OLDEST, Duration.ZERO),
+                new ResultCompactionProperties(Duration.ofMinutes(15), 0.5, 50),
+                new SimpleMeterRegistry());
+        CheckResultListener completion = result -> pending.complete(result);
+        TcpProbeProperties tcpProperties = new TcpProbeProperties(1, 10000, Duration.ofSeconds(5));
+        tcpProbeEngine = new TcpProbeEngine(tcpProperties, new SimpleMeterRegistry());
+        tcpProbeEngine.start();
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        executor = new CheckExecutorService(writer, webClient, new HttpCheckConcurrencyLimiter(httpProperties), httpProperties,
+                new BlockingProbeExecutor(new CheckExecutionProperties(CheckExecutionProperties.Mode.PLATFORM, 1, 1, 1)),
+                new DnsResolverCache(new DnsCacheProperties(Duration.ofSeconds(5), Duration.ofMinutes(10), Duration.ofSeconds(30),
+                        Duration.ofMinutes(5), Duration.ofSeconds(5), 10000), new SimpleMeterRegistry()),
+                tcpProbeEngine, tcpProperties,
+                new PingProperties(Duration.ofSeconds(5), 1, Duration.ZERO, 20), scheduler,
+                List.of(completion));
+
+        getCommand = BenchmarkFixtures.command(1, CommandType.GET,
+                "http://127.0.0.1:" + httpServer.port() + "/", null);
+        tcpCommand = BenchmarkFixtures.command(2, CommandType.TCP_PORT, "127.0.0.1", String.valueOf(tcpServer.getLocalPort()));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException, InterruptedException {
+        tcpProbeEngine.stop();
+        scheduler.shutdownNow();
+        httpServer.disposeNow();
+        tcpServer.close();
+        tcpAcceptor.shutdownNow();
+        connectionProvider.dispose();
+    }
+
+    @Benchmark
+    public CheckResult httpGet() {
+        return run(getCommand);
+    }
+
+    @Benchmark
+    public CheckResult tcpPort() {
+        return run(tcpCommand);
+    }
+
+    private CheckResult run(CheckCommand command) {
+        CompletableFuture<CheckResult> future = new CompletableFuture<>();
+        pending = future;
+        executor.execute(command);
+        return future.join();
+    }
+}
@@ -0,0 +1,76 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.check.dto.CheckResultDto;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckCommand;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+import com.cognizant.vibe.synthetictesting.check.entity.CommandType;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of reading one page of results for a target, as served by
+ * {@link com.cognizant.vibe.synthetictesting.app.AppTargetService#getCheckResultsForTarget}, with
+ * {@code rows} results stored for its four commands. The first page and a page from the middle of the
+ * history should cost the same regardless of how many results are stored.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CheckResultPageBenchmark {
+
+    private static final int COMMANDS = 4;
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private CheckResultRepository repository;
+    private List<Long> commandIds;
+    private Instant from;
+    private Instant to;
+    private CheckResultDto middle;
+
+    @Setup
+    public void setUp() {
+        repository = BenchmarkFixtures.inMemoryResultRepository();
+        List<CheckCommand> commands = new ArrayList<>();
+        for (long id = 1; id <= COMMANDS; id++) {
+            commands.add(BenchmarkFixtures.command(id, CommandType.GET, "http://127.0.0.1/", null));
+        }
+        commandIds = commands.stream().map(CheckCommand::getId).toList();
+
+        // Each command runs every 20 seconds, so the results span rows * 5 seconds.
+        to = Instant.now();
+        from = to.minus(Duration.ofSeconds(5L * rows));
+        List<CheckResult> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < rows; i++) {
+            batch.add(BenchmarkFixtures.result(commands.get(i % COMMANDS), from.plusSeconds(5L * i)));
+            if (batch.size() == 10_000) {
+                repository.saveAll(batch);
+                batch = new ArrayList<>(10_000);
+            }
+        }
+        repository.saveAll(batch);
+
+        List<CheckResultDto> half = repository.findPage(commandIds, from, to, to, Long.MAX_VALUE, rows / 2);
+        middle = half.get(half.size() - 1);
+    }
+
+    @Benchmark
+    public List<CheckResultDto> firstPage() {
+        return repository.findPage(commandIds, from, to, to, Long.MAX_VALUE, PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<CheckResultDto> middlePage() {
+        return repository.findPage(commandIds, from, to, middle.timestamp(), middle.id(), PAGE_SIZE + 1);
+    }
+}
@@ -0,0 +1,78 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.check.entity.CheckCommand;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+import com.cognizant.vibe.synthetictesting.check.entity.CommandType;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link RawResultStore#saveAll}, writing the same number of results either one call per
+ * result or in a single batch, as the result writer does, to the H2 tables or the memory-mapped segments.
+ * Scores are per result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CheckResultPersistenceBenchmark {
+
+    private static final int RESULTS_PER_INVOCATION = 500;
+
+    @Param({"jdbc", "mmap"})
+    public String store;
+
+    private RawResultStore repository;
+    private Path directory;
+    private List<CheckResult> results;
+
+    @Setup
+    public void setUp() throws IOException {
+        if (store.equals("mmap")) {
+            directory = Files.createTempDirectory("bench-results");
+            repository = BenchmarkFixtures.mappedResultStore(directory);
+        } else {
+            repository = BenchmarkFixtures.inMemoryResultRepository();
+        }
+        CheckCommand command = BenchmarkFixtures.command(1, CommandType.GET, "http://127.0.0.1/", null);
+        results = new ArrayList<>(RESULTS_PER_INVOCATION);
+        Instant now = Instant.now();
+        for (int i = 0; i < RESULTS_PER_INVOCATION; i++) {
+            results.add(BenchmarkFixtures.result(command, now.plusMillis(i)));
+        }
+        // Create today's partition outside the measurement.
+        repository.saveAll(List.of(results.get(0)));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (repository instanceof MappedResultStore mapped) {
+            mapped.close();
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RESULTS_PER_INVOCATION)
+    public void singleSaves() {
+        for (CheckResult result : results) {
+            repository.saveAll(List.of(result));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RESULTS_PER_INVOCATION)
+    public void batchSave() {
+        repository.saveAll(results);
+    }
+}
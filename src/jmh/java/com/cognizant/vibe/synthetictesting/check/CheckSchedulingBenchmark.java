@@ -0,0 +1,67 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.check.entity.CheckCommand;
+import com.cognizant.vibe.synthetictesting.cluster.PartitionOwnership;
+import com.cognizant.vibe.synthetictesting.check.entity.CommandType;
+import com.cognizant.vibe.synthetictesting.check.entity.OverrunPolicy;
+import com.cognizant.vibe.synthetictesting.config.CheckAdmissionProperties;
+import com.cognizant.vibe.synthetictesting.config.CheckSchedulerProperties;
+import com.cognizant.vibe.synthetictesting.config.ClusterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of scheduling and cancelling a command in {@link CheckSchedulerService} while {@code scheduled}
+ * other commands are already armed on the timing wheel. Commands run once a day, so none fire during a run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CheckSchedulingBenchmark {
+
+    @Param({"1000", "100000"})
+    public int scheduled;
+
+    private HashedTimingWheel wheel;
+    private CheckSchedulerService scheduler;
+    private CheckCommand[] commands;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        CheckSchedulerProperties properties = new CheckSchedulerProperties(Duration.ofMillis(100), 512, 0, OverrunPolicy.SKIP,
+                Duration.ofMinutes(1), new CheckSchedulerProperties.Adaptive(5, 2.0, 3.0));
+        wheel = new HashedTimingWheel("bench-wheel", properties.tickDuration(), properties.wheelSize(), Runnable::run);
+        wheel.start();
+        // Repositories and executor are only used by startup scheduling and by firing checks.
+        PartitionOwnership ownership = new PartitionOwnership(new ClusterProperties(false, "", 64, Duration.ofSeconds(30), Duration.ofSeconds(10), 100));
+        CheckAdmissionProperties admission = new CheckAdmissionProperties(20000, 0.8, Duration.ofSeconds(1));
+        scheduler = new CheckSchedulerService(null, null, wheel, properties, ownership,
+                new CheckAdmissionController(admission, new SimpleMeterRegistry()), admission, new SimpleMeterRegistry());
+        for (int i = 0; i < scheduled; i++) {
+            scheduler.scheduleSingleCommand(BenchmarkFixtures.command(i, CommandType.GET, "http://127.0.0.1/", null));
+        }
+        commands = new CheckCommand[1024];
+        for (int i = 0; i < commands.length; i++) {
+            commands[i] = BenchmarkFixtures.command(scheduled + i, CommandType.GET, "http://127.0.0.1/", null);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        wheel.close();
+    }
+
+    @Benchmark
+    public void scheduleAndCancel() {
+        CheckCommand command = commands[next++ & (commands.length - 1)];
+        scheduler.scheduleSingleCommand(command);
+        scheduler.unscheduleSingleCommand(command.getId());
+    }
+}
@@ -2,8 +2,10 @@ package com.cognizant.vibe.synthetictesting;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class SyntheticAppTestingApplication {
 
 	public static void main(String[] args) {
@@ -1,13 +1,19 @@
 package com.cognizant.vibe.synthetictesting.app;
 
 import com.cognizant.vibe.synthetictesting.app.dto.AppTargetDto;
-import com.cognizant.vibe.synthetictesting.check.dto.CheckCommandResultsDto;
+import com.cognizant.vibe.synthetictesting.app.dto.BulkImportResultDto;
 import com.cognizant.vibe.synthetictesting.check.dto.CheckCommandDto;
+import com.cognizant.vibe.synthetictesting.check.dto.CheckResultPageDto;
 import com.cognizant.vibe.synthetictesting.check.entity.CheckCommand;
 import com.cognizant.vibe.synthetictesting.check.entity.CreateCheckCommandRequest;
+import com.cognizant.vibe.synthetictesting.check.entity.UpdateCheckCommandRequest;
 import com.cognizant.vibe.synthetictesting.app.entity.AppTarget;
+import com.cognizant.vibe.synthetictesting.app.entity.BulkTargetRequest;
 import com.cognizant.vibe.synthetictesting.app.entity.CreateAppTargetRequest;
+import com.cognizant.vibe.synthetictesting.app.entity.UpdateAppTargetRequest;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -15,11 +21,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 
 @RestController
@@ -29,6 +41,7 @@ import java.util.List;
 public class AppTargetController {
 
     private final AppTargetService appTargetService;
+    private final BulkImportService bulkImportService;
 
     @PostMapping
     @Operation(summary = "Create a new application target", description = "Creates a new target to be monitored.")
@@ -43,6 +56,21 @@ public class AppTargetController {
         return ResponseEntity.created(location).body(toDto(createdTarget));
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Import application targets and their checks",
+            description = "Creates many targets, each with a 'checks' list of check commands, from a JSON array or from "
+                    + "newline-delimited JSON objects. The body is read as a stream and stored in batches. Invalid targets are "
+                    + "reported by their position and skipped; all others are created, and the checks of enabled targets are scheduled.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(content = {
+                    @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = BulkTargetRequest.class))),
+                    @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = BulkTargetRequest.class))
+            }))
+    @ApiResponse(responseCode = "200", description = "Import finished; 'errors' lists the targets that were not created",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkImportResultDto.class)))
+    public ResponseEntity<BulkImportResultDto> importTargets(InputStream body) throws IOException {
+        return ResponseEntity.ok(bulkImportService.importTargets(body));
+    }
+
     @GetMapping
     @Operation(summary = "Get all application targets", description = "Retrieves a list of all configured application targets.")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved list of targets")
@@ -52,6 +80,22 @@ public class AppTargetController {
         return ResponseEntity.ok(targetDtos);
     }
 
+    @PatchMapping("/{targetId}")
+    @Operation(summary = "Update an application target",
+            description = "Changes the given fields of a target in place; fields left out are not changed. Disabling a target "
+                    + "stops its checks and enabling it starts them. Other changes apply to its running checks without moving their next run.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Target updated successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AppTargetDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request body", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Target not found", content = @Content)
+    })
+    public ResponseEntity<AppTargetDto> updateAppTarget(
+            @PathVariable Long targetId,
+            @Valid @RequestBody UpdateAppTargetRequest request) {
+        return ResponseEntity.ok(toDto(appTargetService.updateAppTarget(targetId, request)));
+    }
+
     @PostMapping("/{targetId}/checks")
     @Operation(summary = "Add a check command to a target", description = "Adds a new check command (e.g., HTTP check, Ping check) to an existing target.")
     @ApiResponses(value = {
@@ -81,6 +125,23 @@ public class AppTargetController {
         return ResponseEntity.ok(commandDtos);
     }
 
+    @PatchMapping("/{targetId}/checks/{checkId}")
+    @Operation(summary = "Update a check command",
+            description = "Changes the given fields of a check command in place; fields left out are not changed. "
+                    + "A running check keeps its next run unless its interval changes.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Check command updated successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CheckCommandDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request body", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Target or Check command not found", content = @Content)
+    })
+    public ResponseEntity<CheckCommandDto> updateCheckCommand(
+            @PathVariable Long targetId,
+            @PathVariable Long checkId,
+            @Valid @RequestBody UpdateCheckCommandRequest request) {
+        return ResponseEntity.ok(toDto(appTargetService.updateCheckCommand(targetId, checkId, request)));
+    }
+
     @DeleteMapping("/{targetId}/checks/{checkId}")
     @Operation(summary = "Delete a check command", description = "Deletes a specific check command from a target.")
     @ApiResponses(value = {
@@ -93,14 +154,33 @@ public class AppTargetController {
     }
 
     @GetMapping("/{targetId}/results")
-    @Operation(summary = "Get check results for a target", description = "Retrieves the latest check results for all checks associated with a specific target.")
+    @Operation(summary = "Get check results for a target",
+            description = "Retrieves one page of check results for a target within a time window, newest first. " +
+                    "Pass the returned 'nextCursor' as 'cursor' to fetch the next, older page.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved check results"),
-            @ApiResponse(responseCode = "404", description = "Target not found", content = @Content)
+            @ApiResponse(responseCode = "400", description = "Invalid window, limit or cursor", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Target or check command not found", content = @Content)
     })
-    public ResponseEntity<List<CheckCommandResultsDto>> getCheckResultsForTarget(@PathVariable Long targetId) {
-        List<CheckCommandResultsDto> results = appTargetService.getCheckResultsForTarget(targetId);
-        return ResponseEntity.ok(results);
+    public ResponseEntity<CheckResultPageDto> getCheckResultsForTarget(
+            @PathVariable Long targetId,
+            @Parameter(description = "Start of the window (ISO-8601). Defaults to 24 hours before 'to'.")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @Parameter(description = "End of the window (ISO-8601), exclusive. Defaults to now.")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @Parameter(description = "Only return results of this check command.")
+            @RequestParam(required = false) Long commandId,
+            @Parameter(description = "Maximum number of results to return (1-1000).")
+            @RequestParam(defaultValue = "100") int limit,
+            @Parameter(description = "Cursor from the previous page.")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "List the results that CHANGES_ONLY checks counted instead of stored as results "
+                    + "of their own, rather than as runs.")
+            @RequestParam(defaultValue = "false") boolean expand) {
+        Instant windowEnd = to != null ? to : Instant.now();
+        Instant windowStart = from != null ? from : windowEnd.minus(Duration.ofHours(24));
+        CheckResultPageDto page = appTargetService.getCheckResultsForTarget(targetId, windowStart, windowEnd, commandId, limit, cursor, expand);
+        return ResponseEntity.ok(page);
     }
 
     // --- Private Helper Methods ---
@@ -119,6 +199,7 @@ public class AppTargetController {
                 .targetUrlOrIp(entity.getTargetUrlOrIp())
                 .type(entity.getType())
                 .enabled(entity.isEnabled())
+                .retentionDays(entity.getRetentionDays())
                 .build();
     }
 
@@ -128,6 +209,12 @@ public class AppTargetController {
                 .type(entity.getType())
                 .parameters(entity.getParameters())
                 .intervalSeconds(entity.getIntervalSeconds())
+                .retentionDays(entity.getRetentionDays())
+                .overrunPolicy(entity.getOverrunPolicy())
+                .priority(entity.getPriority())
+                .maxIntervalSeconds(entity.getMaxIntervalSeconds())
+                .storageMode(entity.getStorageMode())
+                .assertions(entity.getAssertions())
                 .build();
     }
 }
\ No newline at end of file
@@ -1,26 +1,41 @@
 package com.cognizant.vibe.synthetictesting.app;
 
 import com.cognizant.vibe.synthetictesting.check.CheckCommandRepository;
-import com.cognizant.vibe.synthetictesting.check.CheckResultRepository;
 import com.cognizant.vibe.synthetictesting.check.CheckSchedulerService;
-import com.cognizant.vibe.synthetictesting.check.dto.CheckCommandResultsDto;
+import com.cognizant.vibe.synthetictesting.check.LegacyResultMigration;
+import com.cognizant.vibe.synthetictesting.check.RawResultStore;
+import com.cognizant.vibe.synthetictesting.check.RemovedCommands;
+import com.cognizant.vibe.synthetictesting.check.ResultRunStore;
 import com.cognizant.vibe.synthetictesting.check.dto.CheckResultDto;
+import com.cognizant.vibe.synthetictesting.check.dto.CheckResultPageDto;
+import com.cognizant.vibe.synthetictesting.check.dto.ResultCursor;
+import com.cognizant.vibe.synthetictesting.check.dto.ResultRunDto;
 import com.cognizant.vibe.synthetictesting.check.entity.CheckCommand;
-import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+import com.cognizant.vibe.synthetictesting.check.entity.CommandType;
 import com.cognizant.vibe.synthetictesting.check.entity.CreateCheckCommandRequest;
+import com.cognizant.vibe.synthetictesting.check.entity.ResultRun;
+import com.cognizant.vibe.synthetictesting.check.entity.UpdateCheckCommandRequest;
 import com.cognizant.vibe.synthetictesting.app.entity.AppTarget;
 import com.cognizant.vibe.synthetictesting.app.entity.CreateAppTargetRequest;
+import com.cognizant.vibe.synthetictesting.app.entity.UpdateAppTargetRequest;
+import com.cognizant.vibe.synthetictesting.metrics.CheckMetricsRecorder;
+import com.cognizant.vibe.synthetictesting.rollup.RollupService;
+import com.cognizant.vibe.synthetictesting.slo.SloService;
+import com.cognizant.vibe.synthetictesting.status.StatusService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -28,10 +43,22 @@ public class AppTargetService {
 
     private static final Logger log = LoggerFactory.getLogger(AppTargetService.class);
 
+    /**
+     * Upper bound for the page size of the results API.
+     */
+    public static final int MAX_RESULTS_PAGE_SIZE = 1000;
+
     private final AppTargetRepository appTargetRepository;
     private final CheckCommandRepository checkCommandRepository;
     private final CheckSchedulerService checkSchedulerService;
-    private final CheckResultRepository checkResultRepository;
+    private final RawResultStore rawResultStore;
+    private final LegacyResultMigration legacyResultMigration;
+    private final ResultRunStore resultRunStore;
+    private final RollupService rollupService;
+    private final StatusService statusService;
+    private final CheckMetricsRecorder checkMetricsRecorder;
+    private final SloService sloService;
+    private final RemovedCommands removedCommands;
 
     @Transactional
     public AppTarget createAppTarget(CreateAppTargetRequest request) {
@@ -40,11 +67,46 @@ public class AppTargetService {
                 .targetUrlOrIp(request.targetUrlOrIp())
                 .type(request.type())
                 .enabled(request.enabled())
+                .retentionDays(request.retentionDays())
                 .build();
 
         return appTargetRepository.save(newTarget);
     }
 
+    /**
+     * Changes the given fields of a target in place; fields left out stay as they are. Disabling the target
+     * unschedules its checks and enabling it schedules them. Other changes are applied to its scheduled checks
+     * without moving their next run, once the change has committed.
+     *
+     * @param targetId The ID of the AppTarget.
+     * @param request  The fields to change.
+     * @return The updated AppTarget.
+     * @throws EntityNotFoundException if no AppTarget with the given ID is found.
+     */
+    @Transactional
+    public AppTarget updateAppTarget(Long targetId, UpdateAppTargetRequest request) {
+        AppTarget target = appTargetRepository.findById(targetId)
+                .orElseThrow(() -> new EntityNotFoundException("AppTarget not found with id: " + targetId));
+        if (request.name() != null) {
+            target.setName(request.name());
+        }
+        if (request.targetUrlOrIp() != null) {
+            target.setTargetUrlOrIp(request.targetUrlOrIp());
+        }
+        if (request.enabled() != null) {
+            target.setEnabled(request.enabled());
+        }
+        if (request.retentionDays() != null) {
+            target.setRetentionDays(request.retentionDays());
+        }
+
+        // The commands are loaded into the same persistence context, so they see the changed target.
+        List<CheckCommand> commands = checkCommandRepository.findByAppIdWithAppTarget(targetId);
+        afterCommit(() -> commands.forEach(checkSchedulerService::applyCommand));
+        log.info("Updated target '{}' (enabled: {}) and applied it to {} check commands.", target.getName(), target.isEnabled(), commands.size());
+        return target;
+    }
+
     @Transactional(readOnly = true)
     public List<AppTarget> getAllTargets() {
         return appTargetRepository.findAll();
@@ -62,14 +124,20 @@ public class AppTargetService {
                 .type(request.type())
                 .parameters(request.parameters())
                 .intervalSeconds(request.intervalSeconds())
+                .retentionDays(request.retentionDays())
+                .overrunPolicy(request.overrunPolicy())
+                .priority(request.priority())
+                .maxIntervalSeconds(request.maxIntervalSeconds())
+                .storageMode(request.storageMode())
+                .assertions(request.assertions())
                 .build();
 
         // 3. Save the new command to the database.
         CheckCommand savedCommand = checkCommandRepository.save(newCommand);
 
-        // 4. If the parent target is enabled, schedule the new command immediately.
+        // 4. If the parent target is enabled, schedule the new command once it is committed.
         if (target.isEnabled()) {
-            checkSchedulerService.scheduleSingleCommand(savedCommand);
+            afterCommit(() -> checkSchedulerService.scheduleSingleCommand(savedCommand));
         } else {
             log.warn("Check command ID {} was created for a disabled target '{}'. It will not be scheduled.",
                     savedCommand.getId(), target.getName());
@@ -79,7 +147,63 @@ public class AppTargetService {
     }
 
     /**
-     * Deletes a check command by its ID after unscheduling it.
+     * Changes the given fields of a check command in place; fields left out stay as they are. A scheduled
+     * command keeps its next run unless its interval changed; then it moves to its phase within the new interval.
+     * The scheduler picks up the change once it has committed.
+     *
+     * @param targetId The ID of the parent AppTarget.
+     * @param checkId  The ID of the CheckCommand to change.
+     * @param request  The fields to change.
+     * @return The updated CheckCommand.
+     * @throws EntityNotFoundException if the check command is not found.
+     * @throws IllegalArgumentException if the check command does not belong to the specified target.
+     */
+    @Transactional
+    public CheckCommand updateCheckCommand(Long targetId, Long checkId, UpdateCheckCommandRequest request) {
+        CheckCommand command = checkCommandRepository.findById(checkId)
+                .orElseThrow(() -> new EntityNotFoundException("CheckCommand not found with id: " + checkId));
+        if (!command.getApp().getId().equals(targetId)) {
+            throw new IllegalArgumentException("CheckCommand with id " + checkId + " does not belong to AppTarget with id " + targetId);
+        }
+        if (request.parameters() != null) {
+            command.setParameters(request.parameters());
+        }
+        if (request.intervalSeconds() != null) {
+            command.setIntervalSeconds(request.intervalSeconds());
+        }
+        if (request.retentionDays() != null) {
+            command.setRetentionDays(request.retentionDays());
+        }
+        if (request.overrunPolicy() != null) {
+            command.setOverrunPolicy(request.overrunPolicy());
+        }
+        if (request.priority() != null) {
+            command.setPriority(request.priority());
+        }
+        if (request.maxIntervalSeconds() != null) {
+            command.setMaxIntervalSeconds(request.maxIntervalSeconds() == 0 ? null : request.maxIntervalSeconds());
+        }
+        if (request.storageMode() != null) {
+            command.setStorageMode(request.storageMode());
+        }
+        if (request.assertions() != null) {
+            command.setAssertions(request.assertions().isEmpty() ? null : request.assertions());
+        }
+        if (command.getAssertions() != null && command.getType() != CommandType.GET) {
+            throw new IllegalArgumentException("Assertions only apply to GET checks");
+        }
+        if (command.getMaxIntervalSeconds() != null && command.getMaxIntervalSeconds() < command.getIntervalSeconds()) {
+            throw new IllegalArgumentException("Maximum interval cannot be below the interval");
+        }
+        // The scheduler keeps the command past the transaction, so its target must be loaded now.
+        Hibernate.initialize(command.getApp());
+        afterCommit(() -> checkSchedulerService.applyCommand(command));
+        return command;
+    }
+
+    /**
+     * Deletes a check command by its ID after unscheduling it. If the deletion rolls back, the command is
+     * scheduled again.
      *
      * @param targetId The ID of the parent AppTarget.
      * @param checkId The ID of the CheckCommand to delete.
@@ -97,10 +221,27 @@ public class AppTargetService {
         }
 
         // 2. Unschedule the command from the running scheduler to stop its execution.
+        //    Unscheduling first means no run starts while its results are deleted. A run already in flight
+        //    still reports; marking the command removed makes the in-memory listeners ignore that result.
         checkSchedulerService.unscheduleSingleCommand(checkId);
+        removedCommands.add(checkId);
+        Hibernate.initialize(command.getApp());
+        afterCommit(() -> checkSchedulerService.unscheduleDeletedCommand(checkId));
+        afterRollback(() -> {
+            removedCommands.remove(checkId);
+            checkSchedulerService.applyCommand(command);
+        });
 
-        // 3. Delete the command from the database.
+        // 3. Delete the command, its results, its rollups and its objectives from the database.
+        //    Results left in the legacy table reference the command, so they go first.
+        legacyResultMigration.deleteByCommandId(checkId);
         checkCommandRepository.delete(command);
+        rawResultStore.deleteByCommandId(checkId);
+        resultRunStore.deleteByCommandId(checkId);
+        rollupService.deleteRollupsForCommand(checkId);
+        sloService.deleteSlosForCommand(checkId);
+        statusService.removeCommand(checkId);
+        checkMetricsRecorder.removeCommand(checkId);
         log.info("Successfully deleted and unscheduled check command ID: {}", checkId);
     }
 
@@ -128,37 +269,154 @@ public class AppTargetService {
     }
 
     /**
-     * Retrieves all check results for a given AppTarget, grouped by their respective CheckCommand.
+     * Retrieves one page of check results for a given AppTarget within a time window, newest first.
+     * Pages are addressed with keyset cursors, so deep pages cost the same as the first one.
+     * <p>
+     * The results that {@code CHANGES_ONLY} commands counted into runs instead of storing are either listed as
+     * runs next to the stored results of the page, or expanded into results of their own, with estimated
+     * timestamps and the run's mean response time, and paged together with the stored ones.
      *
-     * @param targetId The ID of the parent AppTarget.
-     * @return A list of DTOs, each containing a command's info and its list of results.
-     * @throws EntityNotFoundException if no AppTarget with the given ID is found.
+     * @param targetId  The ID of the parent AppTarget.
+     * @param from      Inclusive start of the time window.
+     * @param to        Exclusive end of the time window.
+     * @param commandId Optional ID of a single CheckCommand to restrict the results to.
+     * @param limit     Maximum number of results in the page.
+     * @param cursor    The cursor returned with the previous page, or null for the first page.
+     * @param expand    Whether to expand runs into results.
+     * @return A page of result DTOs with the cursor of the next page.
+     * @throws EntityNotFoundException if no AppTarget with the given ID is found, or the command does not belong to it.
+     * @throws IllegalArgumentException if the window, limit or cursor is invalid.
      */
     @Transactional(readOnly = true)
-    public List<CheckCommandResultsDto> getCheckResultsForTarget(Long targetId) {
-        // For production systems with many results, consider adding a time window filter (e.g., last 24 hours)
-        // and/or pagination to this query to limit the data returned.
-        List<CheckResult> results = checkResultRepository.findResultsForTarget(targetId);
+    public CheckResultPageDto getCheckResultsForTarget(Long targetId, Instant from, Instant to, Long commandId,
+                                                       int limit, String cursor, boolean expand) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        if (limit < 1 || limit > MAX_RESULTS_PAGE_SIZE) {
+            throw new IllegalArgumentException("'limit' must be between 1 and " + MAX_RESULTS_PAGE_SIZE);
+        }
 
-        // Handle the case where the target does not exist.
-        if (results.isEmpty() && !appTargetRepository.existsById(targetId)) {
-            throw new EntityNotFoundException("AppTarget not found with id: " + targetId);
+        List<Long> commandIds;
+        if (commandId != null) {
+            if (!checkCommandRepository.existsByIdAndAppId(commandId, targetId)) {
+                throw new EntityNotFoundException("CheckCommand " + commandId + " not found for AppTarget " + targetId);
+            }
+            commandIds = List.of(commandId);
+        } else {
+            commandIds = checkCommandRepository.findIdsByAppId(targetId);
+            if (commandIds.isEmpty()) {
+                // Handle the case where the target does not exist.
+                if (!appTargetRepository.existsById(targetId)) {
+                    throw new EntityNotFoundException("AppTarget not found with id: " + targetId);
+                }
+                return new CheckResultPageDto(targetId, from, to, List.of(), List.of(), null);
+            }
+        }
+
+        ResultCursor after = cursor != null ? ResultCursor.decode(cursor) : new ResultCursor(to, Long.MAX_VALUE);
+
+        // Fetch one extra row to find out whether there is a next page.
+        List<CheckResultDto> stored = rawResultStore.findPage(commandIds, from, to,
+                after.timestamp(), after.id(), limit + 1);
+        // Nothing older than the stored row after this page can be on it.
+        Instant oldest = stored.size() > limit ? stored.get(limit).timestamp() : from;
+        List<ResultRun> runs = resultRunStore.findOverlapping(commandIds, oldest, after.timestamp());
+        if (expand) {
+            return expandedPage(targetId, from, to, limit, after, stored, runs);
+        }
+
+        List<CheckResultDto> rows = stored;
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            CheckResultDto last = rows.get(limit - 1);
+            nextCursor = new ResultCursor(last.timestamp(), last.id()).encode();
+            oldest = last.timestamp();
+        }
+        Instant pageEnd = oldest;
+        List<ResultRunDto> pageRuns = runs.stream()
+                .filter(run -> !run.getEndTime().isBefore(pageEnd) && run.getStartTime().isBefore(to))
+                .map(ResultRunStore::toDto)
+                .toList();
+        return new CheckResultPageDto(targetId, from, to, rows, pageRuns, nextCursor);
+    }
+
+    /**
+     * Merges the stored results with the results expanded from the runs, newest first. Expanded results are keyed
+     * by {@link ResultRunStore#keyOf}, so they can be positioned in a cursor like stored ones.
+     */
+    private static CheckResultPageDto expandedPage(Long targetId, Instant from, Instant to, int limit, ResultCursor after,
+                                                   List<CheckResultDto> stored, List<ResultRun> runs) {
+        List<KeyedResult> merged = new ArrayList<>(stored.size() + runs.size());
+        stored.forEach(result -> merged.add(new KeyedResult(result, result.id())));
+        for (ResultRun run : runs) {
+            int taken = 0;
+            for (long index = run.getCount() - 1; index >= 0 && taken <= limit; index--) {
+                Instant timestamp = run.timestampOf(index);
+                long key = ResultRunStore.keyOf(run, index);
+                if (timestamp.isBefore(from)) {
+                    break;
+                }
+                if (!timestamp.isBefore(to) || !isBefore(timestamp, key, after)) {
+                    continue;
+                }
+                merged.add(new KeyedResult(ResultRunStore.toResult(run, index), key));
+                taken++;
+            }
+        }
+        merged.sort(Comparator.comparing((KeyedResult row) -> row.result().timestamp())
+                .thenComparingLong(KeyedResult::key).reversed());
+
+        String nextCursor = null;
+        List<KeyedResult> page = merged;
+        if (merged.size() > limit) {
+            page = merged.subList(0, limit);
+            KeyedResult last = page.get(limit - 1);
+            nextCursor = new ResultCursor(last.result().timestamp(), last.key()).encode();
+        }
+        return new CheckResultPageDto(targetId, from, to, page.stream().map(KeyedResult::result).toList(),
+                List.of(), nextCursor);
+    }
+
+    private static boolean isBefore(Instant timestamp, long key, ResultCursor cursor) {
+        int byTime = timestamp.compareTo(cursor.timestamp());
+        return byTime < 0 || byTime == 0 && key < cursor.id();
+    }
+
+    private record KeyedResult(CheckResultDto result, long key) {}
+
+    /**
+     * Applies a scheduler change once the current transaction has committed, so the scheduler never runs a command
+     * that is rolled back, nor a version of it other transactions cannot see yet. Outside a transaction it runs at once.
+     */
+    private static void afterCommit(Runnable schedulerChange) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            schedulerChange.run();
+            return;
         }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                schedulerChange.run();
+            }
+        });
+    }
 
-        // Group the flat list of results by their parent command.
-        Map<CheckCommand, List<CheckResult>> groupedResults = results.stream()
-                .collect(Collectors.groupingBy(result -> result.getCommand()));
-
-        // Map the grouped data to our DTO structure.
-        return groupedResults.entrySet().stream()
-                .map(entry -> {
-                    CheckCommand command = entry.getKey();
-                    List<CheckResultDto> resultDtos = entry.getValue().stream()
-                            .map(r -> new CheckResultDto(r.getId(), r.getTimestamp(), r.isSuccess(), r.getResponseTimeMs(), r.getStatusCode(), r.getErrorMessage()))
-                            .collect(Collectors.toList());
-                    return new CheckCommandResultsDto(command.getId(), command.getType(), command.getParameters(), resultDtos);
-                })
-                .sorted(Comparator.comparing(CheckCommandResultsDto::commandId)) // Sort for a consistent API response order.
-                .collect(Collectors.toList());
+    /**
+     * Undoes a scheduler change made ahead of the current transaction if the transaction rolls back.
+     */
+    private static void afterRollback(Runnable undo) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    undo.run();
+                }
+            }
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,102 @@
+package com.cognizant.vibe.synthetictesting.app;
+
+import com.cognizant.vibe.synthetictesting.app.dto.BulkImportErrorDto;
+import com.cognizant.vibe.synthetictesting.app.entity.BulkTargetRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads the targets of a bulk import one at a time from a JSON array or from newline-delimited JSON, so the
+ * document is never held in memory as a whole. Each target is validated as it is read; a target that cannot be
+ * mapped or is invalid is rejected on its own and reading goes on with the next one. Malformed JSON ends the
+ * document, since the position of the next target is unknown.
+ */
+class BulkImportReader implements Closeable {
+
+    private final Validator validator;
+    private final MappingIterator<BulkTargetRequest> iterator;
+    private int index;
+    private boolean finished;
+
+    BulkImportReader(ObjectMapper objectMapper, Validator validator, InputStream body) throws IOException {
+        this.validator = validator;
+        this.iterator = objectMapper.readerFor(BulkTargetRequest.class).readValues(body);
+    }
+
+    /**
+     * Reads up to {@code max} valid targets.
+     *
+     * @param max      Maximum number of targets to return.
+     * @param rejected Receives the targets that could not be read or are invalid.
+     * @return The valid targets read, which may be fewer than {@code max} or none even if more follow.
+     */
+    List<Item> read(int max, Consumer<BulkImportErrorDto> rejected) {
+        List<Item> items = new ArrayList<>();
+        while (items.size() < max && !finished) {
+            int position = index;
+            try {
+                if (!iterator.hasNextValue()) {
+                    finished = true;
+                    break;
+                }
+                index++;
+                BulkTargetRequest request = iterator.nextValue();
+                List<String> violations = validate(request);
+                if (violations.isEmpty()) {
+                    items.add(new Item(position, request));
+                } else {
+                    rejected.accept(new BulkImportErrorDto(position, request == null ? null : request.name(), violations));
+                }
+            } catch (JsonMappingException e) {
+                // The value was well-formed JSON; the iterator skips the rest of it on the next call.
+                index = position + 1;
+                rejected.accept(new BulkImportErrorDto(position, null, List.of(e.getOriginalMessage())));
+            } catch (JsonProcessingException e) {
+                finished = true;
+                rejected.accept(new BulkImportErrorDto(position, null, List.of("Malformed JSON: " + e.getOriginalMessage())));
+            } catch (IOException e) {
+                finished = true;
+                rejected.accept(new BulkImportErrorDto(position, null, List.of("Could not read the request body: " + e.getMessage())));
+            }
+        }
+        return items;
+    }
+
+    /**
+     * @return true once the end of the document, or malformed JSON, has been reached.
+     */
+    boolean finished() {
+        return finished;
+    }
+
+    @Override
+    public void close() throws IOException {
+        iterator.close();
+    }
+
+    private List<String> validate(BulkTargetRequest request) {
+        if (request == null) {
+            return List.of("Target cannot be null");
+        }
+        return validator.validate(request).stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .toList();
+    }
+
+    /**
+     * A valid target and its position in the document.
+     */
+    record Item(int index, BulkTargetRequest request) {}
+}
@@ -0,0 +1,247 @@
+package com.cognizant.vibe.synthetictesting.app;
+
+import com.cognizant.vibe.synthetictesting.app.dto.BulkImportErrorDto;
+import com.cognizant.vibe.synthetictesting.app.dto.BulkImportResultDto;
+import com.cognizant.vibe.synthetictesting.app.entity.AppTarget;
+import com.cognizant.vibe.synthetictesting.app.entity.BulkTargetRequest;
+import com.cognizant.vibe.synthetictesting.check.CheckSchedulerService;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckCommand;
+import com.cognizant.vibe.synthetictesting.check.entity.CreateCheckCommandRequest;
+import com.cognizant.vibe.synthetictesting.check.entity.HttpAssertionsConverter;
+import com.cognizant.vibe.synthetictesting.config.BulkImportProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates many targets and their check commands from one streamed document.
+ * <p>
+ * Targets are read and validated one at a time by a {@link BulkImportReader} and stored in chunks of
+ * {@link BulkImportProperties#batchSize()}: each chunk is one transaction with one JDBC batch for its targets and
+ * one for their commands. The entities use identity IDs, which keep Hibernate from batching their inserts, so
+ * the chunks are written with plain JDBC. A target that is invalid, or whose chunk fails to store, is reported
+ * and the import goes on with the next one.
+ * <p>
+ * The commands of enabled targets are scheduled in one pass once every chunk is stored. Each command starts at
+ * the phase derived from its ID, so thousands of imported checks spread over their interval instead of all
+ * running at once.
+ */
+@Service
+public class BulkImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkImportService.class);
+
+    private static final String INSERT_TARGET =
+            "INSERT INTO app_target (name, target_url_or_ip, type, enabled, retention_days) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_COMMAND = "INSERT INTO check_command "
+            + "(app_target_id, type, parameters, interval_seconds, retention_days, overrun_policy, priority, max_interval_seconds, storage_mode, assertions) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final HttpAssertionsConverter ASSERTIONS_CONVERTER = new HttpAssertionsConverter();
+
+    private final BulkImportProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final CheckSchedulerService checkSchedulerService;
+
+    public BulkImportService(BulkImportProperties properties,
+                             JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             Validator validator,
+                             CheckSchedulerService checkSchedulerService) {
+        if (properties.batchSize() < 1) {
+            throw new IllegalArgumentException("synthetic.import.batch-size must be positive");
+        }
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.checkSchedulerService = checkSchedulerService;
+    }
+
+    /**
+     * Imports the targets of a JSON array or of newline-delimited JSON objects.
+     *
+     * @param body The document. It is read to its end, or up to the first malformed JSON.
+     * @return What was created, and why the other targets were not.
+     */
+    public BulkImportResultDto importTargets(InputStream body) throws IOException {
+        long startNanos = System.nanoTime();
+        Outcome outcome = new Outcome();
+        List<CheckCommand> toSchedule = new ArrayList<>();
+
+        try (BulkImportReader reader = new BulkImportReader(objectMapper, validator, body)) {
+            while (!reader.finished()) {
+                List<BulkImportReader.Item> chunk = reader.read(properties.batchSize(), outcome::reject);
+                if (chunk.isEmpty()) {
+                    continue;
+                }
+                try {
+                    List<CheckCommand> commands = transactionTemplate.execute(status -> store(chunk));
+                    outcome.targetsCreated += chunk.size();
+                    outcome.checksCreated += commands.size();
+                    commands.stream().filter(command -> command.getApp().isEnabled()).forEach(toSchedule::add);
+                } catch (DataAccessException e) {
+                    log.warn("Could not store {} imported targets: {}", chunk.size(), e.getMessage());
+                    chunk.forEach(item -> outcome.reject(new BulkImportErrorDto(item.index(), item.request().name(),
+                            List.of("Could not be stored: " + e.getMostSpecificCause().getMessage()))));
+                }
+            }
+        }
+
+        int scheduled = checkSchedulerService.scheduleCommands(toSchedule);
+        log.info("Imported {} targets with {} check commands in {} ms; {} targets failed, {} commands scheduled.",
+                outcome.targetsCreated, outcome.checksCreated, (System.nanoTime() - startNanos) / 1_000_000,
+                outcome.failed, scheduled);
+        return new BulkImportResultDto(outcome.targetsCreated + outcome.failed, outcome.targetsCreated,
+                outcome.checksCreated, scheduled, outcome.failed, outcome.errors);
+    }
+
+    /**
+     * Inserts the targets of a chunk and then their commands, each in one batch.
+     *
+     * @return The created commands, linked to their created targets.
+     */
+    private List<CheckCommand> store(List<BulkImportReader.Item> chunk) {
+        List<AppTarget> targets = chunk.stream().map(item -> toTarget(item.request())).toList();
+        List<Long> targetIds = insert(INSERT_TARGET, targets.size(), (ps, i) -> {
+            AppTarget target = targets.get(i);
+            ps.setString(1, target.getName());
+            ps.setString(2, target.getTargetUrlOrIp());
+            ps.setString(3, target.getType().name());
+            ps.setBoolean(4, target.isEnabled());
+            setNullable(ps, 5, target.getRetentionDays());
+        });
+
+        List<CheckCommand> commands = new ArrayList<>();
+        for (int i = 0; i < targets.size(); i++) {
+            AppTarget target = targets.get(i);
+            target.setId(targetIds.get(i));
+            List<CreateCheckCommandRequest> checks = chunk.get(i).request().checks();
+            if (checks != null) {
+                checks.forEach(check -> commands.add(toCommand(target, check)));
+            }
+        }
+        if (commands.isEmpty()) {
+            return commands;
+        }
+        List<Long> commandIds = insert(INSERT_COMMAND, commands.size(), (ps, i) -> {
+            CheckCommand command = commands.get(i);
+            ps.setLong(1, command.getApp().getId());
+            ps.setString(2, command.getType().name());
+            ps.setString(3, command.getParameters());
+            ps.setLong(4, command.getIntervalSeconds());
+            setNullable(ps, 5, command.getRetentionDays());
+            ps.setString(6, command.getOverrunPolicy() == null ? null : command.getOverrunPolicy().name());
+            ps.setString(7, command.getPriority() == null ? null : command.getPriority().name());
+            ps.setObject(8, command.getMaxIntervalSeconds(), Types.BIGINT);
+            ps.setString(9, command.getStorageMode() == null ? null : command.getStorageMode().name());
+            ps.setString(10, ASSERTIONS_CONVERTER.convertToDatabaseColumn(command.getAssertions()));
+        });
+        for (int i = 0; i < commands.size(); i++) {
+            commands.get(i).setId(commandIds.get(i));
+        }
+        return commands;
+    }
+
+    /**
+     * Runs the insert as one batch and returns the generated IDs in the order of the rows.
+     */
+    private List<Long> insert(String sql, int rows, RowSetter setter) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(sql, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        setter.set(ps, i);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows;
+                    }
+                }, keys);
+        List<Map<String, Object>> keyList = keys.getKeyList();
+        if (keyList.size() != rows) {
+            throw new IllegalStateException("Expected " + rows + " generated IDs, got " + keyList.size());
+        }
+        return keyList.stream().map(key -> ((Number) key.values().iterator().next()).longValue()).toList();
+    }
+
+    private static AppTarget toTarget(BulkTargetRequest request) {
+        return AppTarget.builder()
+                .name(request.name())
+                .targetUrlOrIp(request.targetUrlOrIp())
+                .type(request.type())
+                .enabled(request.enabled())
+                .retentionDays(request.retentionDays())
+                .build();
+    }
+
+    private static CheckCommand toCommand(AppTarget target, CreateCheckCommandRequest request) {
+        return CheckCommand.builder()
+                .app(target)
+                .type(request.type())
+                .parameters(request.parameters())
+                .intervalSeconds(request.intervalSeconds())
+                .retentionDays(request.retentionDays())
+                .overrunPolicy(request.overrunPolicy())
+                .priority(request.priority())
+                .maxIntervalSeconds(request.maxIntervalSeconds())
+                .storageMode(request.storageMode())
+                .assertions(request.assertions())
+                .build();
+    }
+
+    private static void setNullable(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.INTEGER);
+        } else {
+            ps.setInt(index, value);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowSetter {
+        void set(PreparedStatement ps, int row) throws SQLException;
+    }
+
+    /**
+     * Counts of an import in progress; only touched by the importing thread.
+     */
+    private final class Outcome {
+        private int targetsCreated;
+        private int checksCreated;
+        private int failed;
+        private final List<BulkImportErrorDto> errors = new ArrayList<>();
+
+        private void reject(BulkImportErrorDto error) {
+            failed++;
+            if (errors.size() < properties.maxErrors()) {
+                errors.add(error);
+            }
+        }
+    }
+}
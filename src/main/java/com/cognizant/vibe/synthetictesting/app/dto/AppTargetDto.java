@@ -12,4 +12,5 @@ public class AppTargetDto {
     private String targetUrlOrIp;
     private TargetType type;
     private boolean enabled;
+    private Integer retentionDays;
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.cognizant.vibe.synthetictesting.app.dto;
+
+import java.util.List;
+
+/**
+ * Why one target of a bulk import was not created.
+ *
+ * @param index    Position of the target in the imported document, starting at 0.
+ * @param name     Name of the target, if it could be read.
+ * @param messages What was wrong with it, one entry per problem.
+ */
+public record BulkImportErrorDto(
+        int index,
+        String name,
+        List<String> messages
+) {}
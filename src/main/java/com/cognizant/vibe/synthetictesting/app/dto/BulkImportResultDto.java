@@ -0,0 +1,22 @@
+package com.cognizant.vibe.synthetictesting.app.dto;
+
+import java.util.List;
+
+/**
+ * What a bulk import created. Targets that failed are listed in {@code errors}; all others were created.
+ *
+ * @param received        Targets read from the document.
+ * @param targetsCreated  Targets created.
+ * @param checksCreated   Check commands created for them.
+ * @param checksScheduled Check commands scheduled on this node, i.e. those of enabled targets it owns.
+ * @param failed          Targets that were rejected or could not be stored.
+ * @param errors          The failed targets, up to {@code synthetic.import.max-errors} of them.
+ */
+public record BulkImportResultDto(
+        int received,
+        int targetsCreated,
+        int checksCreated,
+        int checksScheduled,
+        int failed,
+        List<BulkImportErrorDto> errors
+) {}
@@ -20,4 +20,9 @@ public class AppTarget {
     private TargetType type;
     private boolean enabled;
 
+    /**
+     * Days to keep raw results of this target's commands. Null falls back to the global default.
+     */
+    private Integer retentionDays;
+
 }
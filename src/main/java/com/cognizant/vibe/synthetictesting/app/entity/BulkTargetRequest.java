@@ -0,0 +1,30 @@
+package com.cognizant.vibe.synthetictesting.app.entity;
+
+import com.cognizant.vibe.synthetictesting.check.entity.CreateCheckCommandRequest;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * One target of a bulk import, together with the check commands to create for it.
+ */
+public record BulkTargetRequest(
+        @NotBlank(message = "Name cannot be blank")
+        String name,
+
+        @NotBlank(message = "Target URL or IP cannot be blank")
+        String targetUrlOrIp,
+
+        @NotNull(message = "Type cannot be null")
+        TargetType type,
+
+        boolean enabled,
+
+        @Min(value = 1, message = "Retention must be at least 1 day")
+        Integer retentionDays,
+
+        List<@Valid @NotNull(message = "Check cannot be null") CreateCheckCommandRequest> checks
+) {}
@@ -1,5 +1,6 @@
 package com.cognizant.vibe.synthetictesting.app.entity;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 /**
@@ -16,5 +17,8 @@ public record CreateAppTargetRequest(
         @NotNull(message = "Type cannot be null")
         TargetType type,
 
-        boolean enabled
+        boolean enabled,
+
+        @Min(value = 1, message = "Retention must be at least 1 day")
+        Integer retentionDays
 ) {}
@@ -0,0 +1,20 @@
+package com.cognizant.vibe.synthetictesting.app.entity;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * DTO for changing an existing AppTarget in place. Fields left out (null) are not changed.
+ */
+public record UpdateAppTargetRequest(
+        @Pattern(regexp = ".*\\S.*", message = "Name cannot be blank")
+        String name,
+
+        @Pattern(regexp = ".*\\S.*", message = "Target URL or IP cannot be blank")
+        String targetUrlOrIp,
+
+        Boolean enabled,
+
+        @Min(value = 1, message = "Retention must be at least 1 day")
+        Integer retentionDays
+) {}
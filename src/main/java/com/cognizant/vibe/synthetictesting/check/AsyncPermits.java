@@ -0,0 +1,130 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A counting semaphore for reactive work. Waiters are parked as sinks rather than threads,
+ * so any number of callers can wait for capacity without holding an event-loop or executor
+ * thread.
+ * <p>
+ * Each subscription to {@link #withPermit} tracks its permit in a small state machine, and
+ * gives it back exactly once when it terminates or is cancelled, whichever way a grant
+ * races with the cancellation.
+ */
+final class AsyncPermits {
+
+    private final int maxPermits;
+    private final int maxWaiting;
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private int available;
+
+    AsyncPermits(int maxPermits, int maxWaiting) {
+        if (maxPermits < 1) {
+            throw new IllegalArgumentException("maxPermits must be positive, was " + maxPermits);
+        }
+        this.maxPermits = maxPermits;
+        this.maxWaiting = maxWaiting;
+        this.available = maxPermits;
+    }
+
+    /**
+     * Subscribes to the work once a permit has been granted, and returns the permit when the work completes,
+     * errors or is cancelled. Errors with a {@link RejectedExecutionException} if the waiting queue is already full.
+     */
+    <T> Mono<T> withPermit(Mono<T> work) {
+        return Mono.defer(() -> {
+            Waiter waiter = new Waiter();
+            return Mono.<Void>create(waiter::enqueue)
+                    .then(work)
+                    .doFinally(signal -> waiter.finish());
+        });
+    }
+
+    /**
+     * Returns a permit, handing it directly to the oldest live waiter if there is one.
+     */
+    private void release() {
+        while (true) {
+            Waiter next;
+            synchronized (this) {
+                next = waiters.pollFirst();
+                if (next == null) {
+                    available = Math.min(available + 1, maxPermits);
+                    return;
+                }
+            }
+            if (next.grant()) {
+                return;
+            }
+            // The waiter was cancelled concurrently; offer the permit to the next one.
+        }
+    }
+
+    synchronized int inUse() {
+        return maxPermits - available;
+    }
+
+    synchronized int waiting() {
+        return waiters.size();
+    }
+
+    private enum State {
+        NEW, WAITING, GRANTED, DONE
+    }
+
+    private final class Waiter {
+        private final AtomicReference<State> state = new AtomicReference<>(State.NEW);
+        private MonoSink<Void> sink;
+
+        private void enqueue(MonoSink<Void> sink) {
+            this.sink = sink;
+            State next;
+            synchronized (AsyncPermits.this) {
+                next = available > 0 ? State.GRANTED : waiters.size() >= maxWaiting ? State.DONE : State.WAITING;
+                if (!state.compareAndSet(State.NEW, next)) {
+                    return; // cancelled before it got this far
+                }
+                if (next == State.GRANTED) {
+                    available--;
+                } else if (next == State.WAITING) {
+                    waiters.addLast(this);
+                    return;
+                }
+            }
+            if (next == State.GRANTED) {
+                sink.success();
+            } else {
+                sink.error(new RejectedExecutionException(
+                        "Concurrency limit of " + maxPermits + " reached and " + maxWaiting + " checks already waiting"));
+            }
+        }
+
+        /**
+         * @return false if the waiter was finished first, and so does not take the permit.
+         */
+        private boolean grant() {
+            if (!state.compareAndSet(State.WAITING, State.GRANTED)) {
+                return false;
+            }
+            sink.success();
+            return true;
+        }
+
+        private void finish() {
+            State previous = state.getAndSet(State.DONE);
+            if (previous == State.GRANTED) {
+                release();
+            } else if (previous == State.WAITING) {
+                synchronized (AsyncPermits.this) {
+                    waiters.remove(this);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.config.CheckExecutionProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs blocking probes (PING) according to the configured execution mode.
+ * In {@link CheckExecutionProperties.Mode#PLATFORM} mode probes run on the calling scheduler thread.
+ * In {@link CheckExecutionProperties.Mode#VIRTUAL} mode each probe gets its own virtual thread, and a
+ * semaphore caps how many run at once so a flood of slow hosts cannot exhaust sockets or memory. At most
+ * {@link CheckExecutionProperties#maxWaitingProbes()} more wait for a permit; beyond that probes are rejected.
+ */
+@Component
+public class BlockingProbeExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(BlockingProbeExecutor.class);
+
+    private final ExecutorService virtualThreads;
+    private final Semaphore permits;
+    private final int maxBlockingProbes;
+    private final int maxAdmitted;
+    private final AtomicInteger admitted = new AtomicInteger();
+
+    public BlockingProbeExecutor(CheckExecutionProperties properties) {
+        this.maxBlockingProbes = properties.maxBlockingProbes();
+        this.maxAdmitted = properties.maxBlockingProbes() + properties.maxWaitingProbes();
+        if (properties.mode() == CheckExecutionProperties.Mode.VIRTUAL) {
+            this.virtualThreads = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("check-probe-", 0).factory());
+            this.permits = new Semaphore(properties.maxBlockingProbes());
+            log.info("Blocking probes will run on virtual threads, at most {} at a time with {} waiting.",
+                    properties.maxBlockingProbes(), properties.maxWaitingProbes());
+        } else {
+            this.virtualThreads = null;
+            this.permits = null;
+        }
+    }
+
+    /**
+     * Runs the probe, either inline or on a new virtual thread depending on the execution mode.
+     *
+     * @param probe The blocking work to run.
+     * @return A future that completes once the probe has run. It completes exceptionally with what the probe threw,
+     * or with a {@link RejectedExecutionException} if the probe never ran: because too many probes were already
+     * waiting, the executor was shut down, or the thread was interrupted while waiting for a permit.
+     */
+    public CompletableFuture<Void> execute(Runnable probe) {
+        if (virtualThreads == null) {
+            try {
+                probe.run();
+                return CompletableFuture.completedFuture(null);
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        if (admitted.incrementAndGet() > maxAdmitted) {
+            admitted.decrementAndGet();
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    maxBlockingProbes + " blocking probes running and " + (maxAdmitted - maxBlockingProbes) + " waiting"));
+        }
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        try {
+            virtualThreads.execute(() -> {
+                Throwable failure = run(probe);
+                // The slot is given back before the caller hears of it, so it can submit its next probe at once.
+                admitted.decrementAndGet();
+                if (failure == null) {
+                    done.complete(null);
+                } else {
+                    done.completeExceptionally(failure);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            admitted.decrementAndGet();
+            done.completeExceptionally(e);
+        }
+        return done;
+    }
+
+    /**
+     * @return What kept the probe from running to completion, or null if it did.
+     */
+    private Throwable run(Runnable probe) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new RejectedExecutionException("Interrupted while waiting for a probe permit", e);
+        }
+        try {
+            // A permit can be handed over during shutdown before the interrupt is noticed.
+            if (virtualThreads.isShutdown()) {
+                return new RejectedExecutionException("Probe executor shut down");
+            }
+            probe.run();
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * @return The number of probes currently running on virtual threads, or 0 in platform mode.
+     */
+    public int running() {
+        return permits == null ? 0 : maxBlockingProbes - permits.availablePermits();
+    }
+
+    /**
+     * @return The number of virtual threads waiting for a probe permit, or 0 in platform mode.
+     */
+    public int waiting() {
+        return permits == null ? 0 : permits.getQueueLength();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (virtualThreads != null) {
+            virtualThreads.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.check.entity.HttpAssertions;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import org.springframework.core.io.buffer.DataBuffer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decides the body assertions of a GET check while the body streams in, one buffer at a time, without keeping
+ * more than the current buffer. The keyword is found with Knuth-Morris-Pratt, so a match may span any number of
+ * buffers, and JSON is parsed by Jackson's non-blocking parser, which keeps its own state between buffers.
+ * <p>
+ * Reading can stop as soon as {@link #feed} returns true. That happens once every assertion is decided, or once the
+ * body turns out larger than its limit. The limit is the asserted maximum body size, else the default. While a
+ * maximum body size is asserted, the whole body up to that size has to be read. Not thread-safe; a check feeds
+ * its buffers one after the other.
+ */
+final class BodyAssertionMatcher {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final long limit;
+    private final boolean sizeAsserted;
+    private long bytesRead;
+    private boolean limitExceeded;
+    private byte[] scratch = new byte[0];
+
+    // Keyword state: the KMP failure function and the length of the keyword prefix matched so far.
+    private final String keywordText;
+    private final byte[] keyword;
+    private final int[] fallback;
+    private int matched;
+    private boolean keywordFound;
+
+    // JSON state; jsonDecided is set once the value was found or the body turned out not to be JSON.
+    private final JsonPointer pointer;
+    private final String expectedValue;
+    private final JsonParser parser;
+    private boolean jsonDecided;
+    private String jsonFailure;
+
+    /**
+     * @param assertions   The assertions; only the body assertions are used.
+     * @param defaultLimit How many bytes to read at most while no maximum body size is asserted.
+     */
+    BodyAssertionMatcher(HttpAssertions assertions, long defaultLimit) {
+        this.sizeAsserted = assertions.maxBodyBytes() != null;
+        this.limit = sizeAsserted ? assertions.maxBodyBytes() : defaultLimit;
+
+        this.keywordText = assertions.bodyContains();
+        this.keyword = keywordText == null ? null : keywordText.getBytes(StandardCharsets.UTF_8);
+        this.fallback = keyword == null ? null : fallback(keyword);
+
+        this.expectedValue = assertions.jsonValue();
+        if (assertions.jsonPointer() != null) {
+            this.pointer = JsonPointer.compile(assertions.jsonPointer());
+            try {
+                this.parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not create a non-blocking JSON parser", e);
+            }
+        } else {
+            this.pointer = null;
+            this.parser = null;
+        }
+    }
+
+    /**
+     * Consumes the readable bytes of a buffer; the caller still releases it.
+     *
+     * @return true if reading more of the body cannot change the outcome.
+     */
+    boolean feed(DataBuffer buffer) {
+        int length = buffer.readableByteCount();
+        if (scratch.length < length) {
+            scratch = new byte[length];
+        }
+        buffer.read(scratch, 0, length);
+        return feed(scratch, 0, length);
+    }
+
+    /**
+     * Consumes bytes of the body. The array may be reused once this returns.
+     *
+     * @return true if reading more of the body cannot change the outcome.
+     */
+    boolean feed(byte[] bytes, int offset, int length) {
+        if (isDecided()) {
+            return true;
+        }
+        if (length > limit - bytesRead) {
+            length = (int) (limit - bytesRead);
+            limitExceeded = true;
+        }
+        bytesRead += length;
+        if (keyword != null && !keywordFound) {
+            findKeyword(bytes, offset, length);
+        }
+        if (parser != null && !jsonDecided) {
+            parseJson(bytes, offset, length);
+        }
+        return isDecided();
+    }
+
+    /**
+     * Decides the assertions that are still open once the body has ended or reading stopped.
+     *
+     * @return Why the body fails its assertions, or null if it passes.
+     */
+    String finish() {
+        String within = limitExceeded ? " within its first " + limit + " bytes" : "";
+        if (sizeAsserted && limitExceeded) {
+            return "Body is larger than " + limit + " bytes";
+        }
+        if (keyword != null && !keywordFound) {
+            return "Body does not contain '" + keywordText + "'" + within;
+        }
+        if (parser != null) {
+            if (jsonFailure != null) {
+                return jsonFailure;
+            }
+            if (!jsonDecided) {
+                return "Body has no JSON value at " + pointer + within;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The number of body bytes consumed, up to the limit.
+     */
+    long bytesRead() {
+        return bytesRead;
+    }
+
+    private boolean isDecided() {
+        return limitExceeded
+                || !sizeAsserted && (keyword == null || keywordFound) && (parser == null || jsonDecided);
+    }
+
+    private void findKeyword(byte[] bytes, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            while (matched > 0 && bytes[i] != keyword[matched]) {
+                matched = fallback[matched - 1];
+            }
+            if (bytes[i] == keyword[matched] && ++matched == keyword.length) {
+                keywordFound = true;
+                return;
+            }
+        }
+    }
+
+    private void parseJson(byte[] bytes, int offset, int length) {
+        try {
+            ((ByteArrayFeeder) parser.getNonBlockingInputFeeder()).feedInput(bytes, offset, offset + length);
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                if ((token.isScalarValue() || token.isStructStart()) && atPointer(token)) {
+                    if (expectedValue != null && !(token.isScalarValue() && expectedValue.equals(parser.getText()))) {
+                        jsonFailure = "JSON value at " + pointer + " is "
+                                + (token.isScalarValue() ? "'" + parser.getText() + "'" : "not a scalar")
+                                + ", not '" + expectedValue + "'";
+                    }
+                    jsonDecided = true;
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            jsonFailure = "Body is not valid JSON: "
+                    + (e instanceof JsonProcessingException invalid ? invalid.getOriginalMessage() : e.getMessage());
+            jsonDecided = true;
+        }
+    }
+
+    /**
+     * @return true if the current token is the value the pointer points to.
+     */
+    private boolean atPointer(JsonToken token) {
+        // A container's own context has just been opened; its position is kept by the enclosing context.
+        JsonStreamContext context = token.isStructStart() ? parser.getParsingContext().getParent() : parser.getParsingContext();
+        return context != null && context.pathAsPointer().equals(pointer);
+    }
+
+    /**
+     * @return For each prefix of the keyword, the length of its longest proper prefix that is also a suffix.
+     */
+    private static int[] fallback(byte[] keyword) {
+        int[] fallback = new int[keyword.length];
+        for (int i = 1, length = 0; i < keyword.length; i++) {
+            while (length > 0 && keyword[i] != keyword[length]) {
+                length = fallback[length - 1];
+            }
+            if (keyword[i] == keyword[length]) {
+                length++;
+            }
+            fallback[i] = length;
+        }
+        return fallback;
+    }
+}
@@ -0,0 +1,99 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.check.entity.CheckPriority;
+import com.cognizant.vibe.synthetictesting.config.CheckAdmissionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Global admission control for check runs. It counts the checks in flight across all command types and, once
+ * the executor is saturated, holds back low-priority work first: above the soft limit LOW priority checks are
+ * delayed once and then shed, above {@link CheckAdmissionProperties#maxInFlight()} everything but HIGH is shed.
+ * <p>
+ * The limits are soft: concurrent admissions may overshoot them by a few checks.
+ */
+@Component
+public class CheckAdmissionController {
+
+    public enum Decision {
+        ADMIT, DELAY, SHED
+    }
+
+    private final CheckAdmissionProperties properties;
+    private final int softLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<CheckPriority, Counter> delayedCounters = new EnumMap<>(CheckPriority.class);
+    private final Map<CheckPriority, Counter> shedCounters = new EnumMap<>(CheckPriority.class);
+
+    public CheckAdmissionController(CheckAdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.softLimit = (int) (properties.maxInFlight() * properties.softLimitFraction());
+        Gauge.builder("synthetic.checks.in.flight", inFlight, AtomicInteger::get)
+                .description("Check runs started and not yet completed")
+                .register(meterRegistry);
+        for (CheckPriority priority : CheckPriority.values()) {
+            String tag = priority.name().toLowerCase();
+            delayedCounters.put(priority, Counter.builder("synthetic.scheduler.admission")
+                    .description("Check runs held back because too many checks were in flight")
+                    .tags("decision", "delayed", "priority", tag)
+                    .register(meterRegistry));
+            shedCounters.put(priority, Counter.builder("synthetic.scheduler.admission")
+                    .description("Check runs held back because too many checks were in flight")
+                    .tags("decision", "shed", "priority", tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Decides whether a check run may start. An admitted run must be {@link #release() released} when it completes.
+     *
+     * @param priority The priority of the check.
+     * @param retry    Whether the run was delayed before; a delayed run is never delayed again.
+     * @return The decision.
+     */
+    public Decision tryAcquire(CheckPriority priority, boolean retry) {
+        int current = inFlight.get();
+        boolean admit = switch (priority) {
+            case HIGH -> true;
+            case NORMAL -> current < properties.maxInFlight();
+            case LOW -> current < softLimit;
+        };
+        if (admit) {
+            inFlight.incrementAndGet();
+            return Decision.ADMIT;
+        }
+        if (priority == CheckPriority.LOW && !retry && current < properties.maxInFlight()) {
+            delayedCounters.get(priority).increment();
+            return Decision.DELAY;
+        }
+        shedCounters.get(priority).increment();
+        return Decision.SHED;
+    }
+
+    /**
+     * Marks an admitted run as completed.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * @return The number of check runs in flight.
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return The hard limit of check runs in flight.
+     */
+    public int maxInFlight() {
+        return properties.maxInFlight();
+    }
+}
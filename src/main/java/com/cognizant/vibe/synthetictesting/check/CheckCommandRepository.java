@@ -31,4 +31,38 @@ public interface CheckCommandRepository extends JpaRepository<CheckCommand, Long
     @Query("SELECT c FROM CheckCommand c JOIN FETCH c.app WHERE c.app.id = :appId")
     List<CheckCommand> findByAppIdWithAppTarget(@Param("appId") Long appId);
 
-}
\ No newline at end of file
+    /**
+     * Finds the commands of all enabled AppTargets in one query, with their AppTarget fetched.
+     *
+     * @return The CheckCommand entities of enabled targets, with their 'app' property fully initialized.
+     */
+    @Query("SELECT c FROM CheckCommand c JOIN FETCH c.app a WHERE a.enabled = true")
+    List<CheckCommand> findAllOfEnabledTargetsWithAppTarget();
+
+    /**
+     * Finds only the IDs of the commands of an AppTarget, without loading the entities.
+     *
+     * @param appId The ID of the parent AppTarget.
+     * @return The IDs of the associated CheckCommand entities.
+     */
+    @Query("SELECT c.id FROM CheckCommand c WHERE c.app.id = :appId")
+    List<Long> findIdsByAppId(@Param("appId") Long appId);
+
+    /**
+     * Finds the IDs of all commands, without loading the entities.
+     *
+     * @return The IDs of every CheckCommand.
+     */
+    @Query("SELECT c.id FROM CheckCommand c")
+    List<Long> findAllIds();
+
+    /**
+     * Checks whether a command exists and belongs to the given AppTarget.
+     *
+     * @param id    The ID of the CheckCommand.
+     * @param appId The ID of the parent AppTarget.
+     * @return true if the command exists and belongs to the target.
+     */
+    boolean existsByIdAndAppId(Long id, Long appId);
+
+}
@@ -1,18 +1,38 @@
 package com.cognizant.vibe.synthetictesting.check;
 
 import com.cognizant.vibe.synthetictesting.check.entity.CheckCommand;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckOutcome;
 import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+import com.cognizant.vibe.synthetictesting.check.entity.HttpAssertions;
+import com.cognizant.vibe.synthetictesting.config.HttpCheckProperties;
+import com.cognizant.vibe.synthetictesting.config.PingProperties;
+import com.cognizant.vibe.synthetictesting.config.TcpProbeProperties;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
+import java.io.IOException;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
-import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static com.cognizant.vibe.synthetictesting.check.entity.CommandType.*;
 
@@ -26,116 +46,301 @@ public class CheckExecutorService {
 
     private static final Logger log = LoggerFactory.getLogger(CheckExecutorService.class);
 
-    private final CheckResultRepository checkResultRepository;
+    private final CheckResultWriter checkResultWriter;
     private final WebClient webClient;
+    private final HttpCheckConcurrencyLimiter httpCheckConcurrencyLimiter;
+    private final HttpCheckProperties httpCheckProperties;
+    private final BlockingProbeExecutor blockingProbeExecutor;
+    private final DnsResolverCache dnsResolverCache;
+    private final TcpProbeEngine tcpProbeEngine;
+    private final TcpProbeProperties tcpProbeProperties;
+    private final PingProperties pingProperties;
+    private final ScheduledExecutorService checkSchedulerExecutor;
+    private final List<CheckResultListener> checkResultListeners;
 
-    public void execute(CheckCommand command) {
+    /**
+     * Starts a check run and returns without waiting for it. GET checks never block the calling thread: the
+     * request, timing, result building and hand-off to the result writer all run on the WebClient event loop.
+     * TCP connects are multiplexed on the probe engine's selector threads, and PING echo requests only hold a
+     * probe thread while one is outstanding. Either way the result is recorded on the thread that completed the
+     * last step.
+     *
+     * @return A future completing with the recorded result once the run is over.
+     */
+    public CompletableFuture<CheckResult> execute(CheckCommand command) {
         log.info("Executing check command ID: {} for target '{}' ({})",
                 command.getId(), command.getApp().getName(), command.getApp().getTargetUrlOrIp());
-        try {
-            CheckResult result = makeRequest(command);
-            checkResultRepository.save(result);
-            log.info("Saved check result for command ID: {}. Success: {}", command.getId(), result.isSuccess());
-        } catch (Exception e) {
-            log.error("Unhandled exception during check execution for command ID {}: {}", command.getId(), e.getMessage(), e);
-        }
+        CompletableFuture<CheckResult> pending = switch (command.getType()) {
+            case GET -> executeGet(command).toFuture();
+            case TCP_PORT -> executeTcpPortCheck(command);
+            case PING -> executePing(command);
+        };
+        return pending.whenComplete((result, e) -> {
+            if (e != null) {
+                log.error("Unhandled exception during check execution for command ID {}: {}", command.getId(), e.getMessage(), e);
+            } else {
+                recordResult(command, result);
+            }
+        });
+    }
 
+    /**
+     * Records the result of a run once more, for a slot that came due while the run was in flight.
+     *
+     * @param command The command.
+     * @param result  The result of the run that was in flight.
+     * @param slot    When the coalesced run was due.
+     */
+    public void recordCoalesced(CheckCommand command, CheckResult result, Instant slot) {
+        recordResult(command, result.toBuilder().id(null).timestamp(slot).build());
     }
 
-    private CheckResult makeRequest(CheckCommand command) {
-        return switch (command.getType()) {
-            case GET -> executeGet(command);
-            case PING -> executePing(command);
-            case TCP_PORT -> executeTcpPortCheck(command);
-            default -> throw new IllegalArgumentException("Unknown command type: " + command.getType());
-        };
+    private void recordResult(CheckCommand command, CheckResult result) {
+        checkResultWriter.submit(result);
+        for (CheckResultListener listener : checkResultListeners) {
+            try {
+                listener.onCheckResult(result);
+            } catch (Exception e) {
+                log.warn("Check result listener {} failed for command ID {}: {}",
+                        listener.getClass().getSimpleName(), command.getId(), e.getMessage());
+            }
+        }
+        log.info("Queued check result for command ID: {}. Success: {}", command.getId(), result.isSuccess());
     }
 
-    private CheckResult executeGet(CheckCommand command) {
-        Instant startTime = Instant.now();
-        log.info("-> Performing HTTP GET on {}", command.getApp().getTargetUrlOrIp());
-        CheckResult.CheckResultBuilder resultBuilder = CheckResult.builder()
-                .command(command)
-                .timestamp(startTime);
+    /**
+     * Performs an HTTP GET check without blocking. The returned Mono always emits a result;
+     * failures, timeouts and concurrency-limit rejections are recorded on the result itself.
+     * A command with {@link HttpAssertions} has them checked against the response; see {@link #assertResponse}.
+     */
+    Mono<CheckResult> executeGet(CheckCommand command) {
+        String targetUrl = command.getApp().getTargetUrlOrIp();
+        Mono<CheckResult> request = Mono.defer(() -> {
+            log.info("-> Performing HTTP GET on {}", targetUrl);
+            Instant startTime = Instant.now();
+            HttpPhaseTimings timings = HttpPhaseTimings.start();
+            CheckResult.CheckResultBuilder resultBuilder = CheckResult.builder()
+                    .command(command)
+                    .timestamp(startTime);
 
-        try {
-            String targetUrl = command.getApp().getTargetUrlOrIp();
-            webClient.get()
-                    .uri(targetUrl)
-                    .retrieve()
-                    .toBodilessEntity() // We only care about the status, not the body
-                    .doOnSuccess(response -> {
-                        resultBuilder.success(response.getStatusCode().is2xxSuccessful())
-                                .statusCode(response.getStatusCode().value());
+            WebClient.RequestHeadersSpec<?> spec = webClient.get().uri(targetUrl);
+            HttpAssertions assertions = command.getAssertions();
+            Mono<CheckResult.CheckResultBuilder> exchange = assertions == null
+                    ? spec.retrieve()
+                            .toBodilessEntity() // We only care about the status, not the body
+                            .map(response -> resultBuilder.success(response.getStatusCode().is2xxSuccessful())
+                                    .statusCode(response.getStatusCode().value()))
+                    : spec.exchangeToMono(response -> assertResponse(assertions, response, resultBuilder));
+            return exchange
+                    .timeout(httpCheckProperties.timeout())
+                    .onErrorResume(error -> {
+                        log.error("Error executing GET for command ID {}: {}", command.getId(), error.getMessage());
+                        if (error instanceof WebClientResponseException responseError) {
+                            resultBuilder.statusCode(responseError.getStatusCode().value());
+                        }
+                        if (isDnsFailure(error)) {
+                            resultBuilder.outcome(CheckOutcome.DNS_FAILURE);
+                        }
+                        return Mono.just(resultBuilder.success(false)
+                                .errorMessage(error.getClass().getSimpleName() + ": " + error.getMessage()));
                     })
-                    .doOnError(error -> {
-                        resultBuilder.success(false)
-                                .errorMessage(error.getMessage());
-                    })
-                    .block(Duration.ofSeconds(10)); // Block for a result with a timeout
+                    .map(builder -> timings.applyTo(builder).build())
+                    .contextWrite(timings.context());
+        });
 
-        } catch (Exception e) {
-            log.error("Error executing GET for command ID {}: {}", command.getId(), e.getMessage());
-            resultBuilder.success(false)
-                    .errorMessage(e.getClass().getSimpleName() + ": " + e.getMessage());
+        return httpCheckConcurrencyLimiter.withPermit(command.getApp().getId(), request)
+                .onErrorResume(RejectedExecutionException.class, e -> {
+                    log.warn("GET check for command ID {} rejected: {}", command.getId(), e.getMessage());
+                    return Mono.just(CheckResult.builder()
+                            .command(command)
+                            .timestamp(Instant.now())
+                            .success(false)
+                            .errorMessage("Rejected: " + e.getMessage())
+                            .build());
+                });
+    }
+
+    /**
+     * Checks a response against the assertions of its command. The status and headers are checked first; the body
+     * is only read if they pass and a body assertion is set, and then only until the {@link BodyAssertionMatcher}
+     * has decided, at which point the rest of the body is cancelled rather than downloaded. Each buffer is released
+     * as soon as it has been fed, so a body is never held in memory as a whole.
+     */
+    private Mono<CheckResult.CheckResultBuilder> assertResponse(HttpAssertions assertions, ClientResponse response,
+                                                                CheckResult.CheckResultBuilder resultBuilder) {
+        int status = response.statusCode().value();
+        resultBuilder.statusCode(status);
+        String failure = statusFailure(assertions, response);
+        if (failure == null) {
+            failure = headerFailure(assertions.headers(), response.headers().asHttpHeaders());
+        }
+        if (failure != null || !assertions.hasBodyAssertions()) {
+            String decided = failure;
+            return response.releaseBody().then(Mono.fromSupplier(() -> applyAssertions(resultBuilder, decided, 0)));
+        }
+        BodyAssertionMatcher matcher = new BodyAssertionMatcher(assertions, httpCheckProperties.maxBodyBytes().toBytes());
+        return response.bodyToFlux(DataBuffer.class)
+                .map(buffer -> {
+                    try {
+                        return matcher.feed(buffer);
+                    } finally {
+                        DataBufferUtils.release(buffer);
+                    }
+                })
+                .takeUntil(decided -> decided)
+                .then(Mono.fromSupplier(() -> applyAssertions(resultBuilder, matcher.finish(), matcher.bytesRead())));
+    }
+
+    private static String statusFailure(HttpAssertions assertions, ClientResponse response) {
+        int status = response.statusCode().value();
+        if (assertions.statusCodes() != null) {
+            return assertions.statusCodes().contains(status) ? null : "Status " + status + " is not one of " + assertions.statusCodes();
+        }
+        return response.statusCode().is2xxSuccessful() ? null : "Status " + status + " is not 2xx";
+    }
+
+    private static String headerFailure(Map<String, String> expected, HttpHeaders headers) {
+        if (expected == null) {
+            return null;
+        }
+        for (Map.Entry<String, String> header : expected.entrySet()) {
+            List<String> values = headers.get(header.getKey());
+            if (values == null || values.stream().noneMatch(value -> value.contains(header.getValue()))) {
+                return "Header " + header.getKey() + " " + (values == null ? "is missing" : values + " does not contain '" + header.getValue() + "'");
+            }
         }
+        return null;
+    }
 
-        long responseTime = Duration.between(startTime, Instant.now()).toMillis();
-        return resultBuilder.responseTimeMs(responseTime).build();
+    private static CheckResult.CheckResultBuilder applyAssertions(CheckResult.CheckResultBuilder resultBuilder,
+                                                                  String failure, long bodyBytes) {
+        return resultBuilder.success(failure == null)
+                .assertionsPassed(failure == null)
+                .bodyBytes(bodyBytes)
+                .errorMessage(failure == null ? null : "Assertion failed: " + failure);
     }
 
-    private CheckResult executePing(CheckCommand command) {
+    /**
+     * Performs a PING check: the host is resolved once, then {@link PingParameters#count()} echo requests are sent
+     * one after the other with {@link PingParameters#intervalMs()} between them. Each echo request runs on the
+     * {@link BlockingProbeExecutor}, since the JDK offers no non-blocking ICMP, while the gaps are timed by the
+     * scheduler pool, so no thread is held between echo requests. The returned future always completes with a result,
+     * which succeeds if at least one reply came back.
+     */
+    CompletableFuture<CheckResult> executePing(CheckCommand command) {
         log.info("-> Performing PING on {} with params '{}'",
                 command.getApp().getTargetUrlOrIp(), command.getParameters());
-        Instant startTime = Instant.now();
+        long startNanos = System.nanoTime();
         CheckResult.CheckResultBuilder resultBuilder = CheckResult.builder()
                 .command(command)
-                .timestamp(startTime);
+                .timestamp(Instant.now());
 
+        PingParameters parameters;
         try {
-            String host = command.getApp().getTargetUrlOrIp();
-            int timeoutMs = 5000; // Default 5-second timeout
-
-            // Allow overriding timeout via parameters, similar to the TCP check
-            if (command.getParameters() != null && !command.getParameters().isBlank()) {
-                try {
-                    timeoutMs = Integer.parseInt(command.getParameters());
-                } catch (NumberFormatException e) {
-                    log.warn("Invalid timeout parameter for PING check on command ID {}: '{}'. Using default {}ms.",
-                            command.getId(), command.getParameters(), timeoutMs);
-                }
-            }
+            parameters = PingParameters.parse(command.getParameters(), pingProperties);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid parameters '{}' for PING check on command ID {}: {}",
+                    command.getParameters(), command.getId(), e.getMessage());
+            return CompletableFuture.completedFuture(resultBuilder.success(false)
+                    .errorMessage("Invalid parameters: " + command.getParameters())
+                    .build());
+        }
 
-            InetAddress inetAddress = InetAddress.getByName(host);
-            boolean isReachable = inetAddress.isReachable(timeoutMs);
+        String host = command.getApp().getTargetUrlOrIp();
+        return dnsResolverCache.resolve(host)
+                .thenCompose(address -> {
+                    long[] rttMicros = new long[parameters.count()];
+                    CompletableFuture<long[]> samples = new CompletableFuture<>();
+                    checkSchedulerExecutor.execute(() -> sendEcho(address, parameters, rttMicros, 0, samples));
+                    return samples;
+                })
+                .handle((rttMicros, error) -> {
+                    if (error == null) {
+                        applyPingStatistics(resultBuilder, PingStatistics.of(rttMicros), parameters);
+                    } else {
+                        recordPingFailure(command, resultBuilder, error instanceof CompletionException ? error.getCause() : error);
+                    }
+                    return resultBuilder.totalMicros(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos)).build();
+                });
+    }
 
-            resultBuilder.success(isReachable);
-            if (!isReachable) {
-                resultBuilder.errorMessage("Host is not reachable (timeout: " + timeoutMs + "ms).");
+    /**
+     * Sends one echo request and schedules the next. Whatever keeps an echo request from running, or from
+     * scheduling the next, fails the samples, so the PING check still completes.
+     */
+    private void sendEcho(InetAddress address, PingParameters parameters, long[] rttMicros, int index,
+                          CompletableFuture<long[]> samples) {
+        blockingProbeExecutor.execute(() -> {
+            try {
+                long start = System.nanoTime();
+                boolean reachable = address.isReachable((int) Math.min(Integer.MAX_VALUE, parameters.timeoutMs()));
+                rttMicros[index] = reachable ? TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) : -1;
+            } catch (IOException e) {
+                log.debug("Echo request {} to {} failed: {}", index + 1, address, e.getMessage());
+                rttMicros[index] = -1;
             }
-        } catch (java.net.UnknownHostException e) {
-            log.warn("Unknown host for PING check on command ID {}: {}", command.getId(), command.getApp().getTargetUrlOrIp());
-            resultBuilder.success(false).errorMessage("Unknown host: " + command.getApp().getTargetUrlOrIp());
-        } catch (java.io.IOException e) {
-            log.error("IO error during PING check for command ID {}: {}", command.getId(), e.getMessage());
-            resultBuilder.success(false).errorMessage("IO Error during ping: " + e.getMessage());
-        } catch (Exception e) {
-            log.error("Unexpected error during PING check for command ID {}: {}", command.getId(), e.getMessage(), e);
-            resultBuilder.success(false).errorMessage(e.getClass().getSimpleName() + ": " + e.getMessage());
+            int next = index + 1;
+            if (next == rttMicros.length) {
+                samples.complete(rttMicros);
+                return;
+            }
+            try {
+                checkSchedulerExecutor.schedule(() -> sendEcho(address, parameters, rttMicros, next, samples),
+                        parameters.intervalMs(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                samples.completeExceptionally(e);
+            }
+        }).whenComplete((ignored, error) -> {
+            if (error != null) {
+                samples.completeExceptionally(error);
+            }
+        });
+    }
+
+    private static void applyPingStatistics(CheckResult.CheckResultBuilder resultBuilder, PingStatistics statistics,
+                                            PingParameters parameters) {
+        resultBuilder.success(statistics.received() > 0)
+                .rttMinMicros(statistics.minMicros())
+                .rttAvgMicros(statistics.avgMicros())
+                .rttMaxMicros(statistics.maxMicros())
+                .jitterMicros(statistics.jitterMicros())
+                .lossPercent(statistics.lossPercent())
+                .responseTimeMs(statistics.avgMicros() != null
+                        ? TimeUnit.MICROSECONDS.toMillis(statistics.avgMicros()) : parameters.timeoutMs());
+        if (statistics.received() == 0) {
+            resultBuilder.errorMessage("Host is not reachable (" + statistics.sent() + " probes, timeout: "
+                    + parameters.timeoutMs() + "ms).");
         }
+    }
 
-        long responseTime = Duration.between(startTime, Instant.now()).toMillis();
-        return resultBuilder.responseTimeMs(responseTime).build();
+    private void recordPingFailure(CheckCommand command, CheckResult.CheckResultBuilder resultBuilder, Throwable error) {
+        resultBuilder.success(false).responseTimeMs(0L);
+        if (error instanceof UnknownHostException) {
+            log.warn("Unknown host for PING check on command ID {}: {}", command.getId(), command.getApp().getTargetUrlOrIp());
+            resultBuilder.outcome(CheckOutcome.DNS_FAILURE).errorMessage("Unknown host: " + command.getApp().getTargetUrlOrIp());
+        } else if (error instanceof RejectedExecutionException) {
+            log.warn("PING check for command ID {} rejected: {}", command.getId(), error.getMessage());
+            resultBuilder.errorMessage("Rejected: " + error.getMessage());
+        } else {
+            log.error("Unexpected error during PING check for command ID {}: {}", command.getId(), error.getMessage(), error);
+            resultBuilder.errorMessage(error.getClass().getSimpleName() + ": " + error.getMessage());
+        }
     }
 
-    private CheckResult executeTcpPortCheck(CheckCommand command) {
+    /**
+     * Performs a TCP_PORT check without blocking: the host is resolved through the DNS cache and the connect
+     * runs on the {@link TcpProbeEngine}. The returned future always completes with a result.
+     */
+    CompletableFuture<CheckResult> executeTcpPortCheck(CheckCommand command) {
         log.info("-> Performing TCP Port check on {} with params '{}'",
                 command.getApp().getTargetUrlOrIp(), command.getParameters());
-        Instant startTime = Instant.now();
+        long startNanos = System.nanoTime();
         CheckResult.CheckResultBuilder resultBuilder = CheckResult.builder()
                 .command(command)
-                .timestamp(startTime);
+                .timestamp(Instant.now());
 
+        int port;
+        long timeoutMs = tcpProbeProperties.defaultTimeout().toMillis();
         try {
             String params = command.getParameters();
             if (params == null || params.isBlank()) {
@@ -143,37 +348,62 @@ public class CheckExecutorService {
             }
 
             String[] paramParts = params.split(":", 2);
-            int port = Integer.parseInt(paramParts[0]);
-            int timeoutMs = 5000; // Default 5-second timeout
-
+            port = Integer.parseInt(paramParts[0]);
             if (paramParts.length > 1) {
                 timeoutMs = Integer.parseInt(paramParts[1]);
             }
-
-            String host = command.getApp().getTargetUrlOrIp();
-            try (Socket socket = new Socket()) {
-                socket.connect(new InetSocketAddress(host, port), timeoutMs);
-                resultBuilder.success(true);
-            }
         } catch (IllegalArgumentException e) {
             log.error("Invalid parameters '{}' for TCP check on command ID {}: {}",
                     command.getParameters(), command.getId(), e.getMessage());
-            resultBuilder.success(false).errorMessage("Invalid parameters: " + command.getParameters());
-        } catch (java.net.UnknownHostException e) {
-            log.warn("Unknown host for TCPs check on command ID {}: {}", command.getId(), command.getApp().getTargetUrlOrIp());
-            resultBuilder.success(false).errorMessage("Unknown host: " + command.getApp().getTargetUrlOrIp());
-        } catch (java.net.SocketTimeoutException e) {
-            log.warn("TCP check timed out for command ID {}: {}", command.getId(), e.getMessage());
-            resultBuilder.success(false).errorMessage("Connection timed out.");
-        } catch (java.io.IOException e) {
-            log.error("IO error during TCP check for command ID {}: {}", command.getId(), e.getMessage());
-            resultBuilder.success(false).errorMessage("IO Error: " + e.getMessage());
-        } catch (Exception e) {
-            log.error("Unexpected error during TCP check for command ID {}: {}", command.getId(), e.getMessage(), e);
-            resultBuilder.success(false).errorMessage(e.getClass().getSimpleName() + ": " + e.getMessage());
+            return CompletableFuture.completedFuture(resultBuilder.success(false)
+                    .errorMessage("Invalid parameters: " + command.getParameters())
+                    .build());
         }
 
-        long responseTime = Duration.between(startTime, Instant.now()).toMillis();
-        return resultBuilder.responseTimeMs(responseTime).build();
+        String host = command.getApp().getTargetUrlOrIp();
+        Duration timeout = Duration.ofMillis(timeoutMs);
+        return dnsResolverCache.resolve(host)
+                .thenCompose(address -> tcpProbeEngine.connect(new InetSocketAddress(address, port), timeout))
+                .handle((connectNanos, error) -> {
+                    if (error == null) {
+                        resultBuilder.success(true).connectMicros(TimeUnit.NANOSECONDS.toMicros(connectNanos));
+                    } else {
+                        recordTcpFailure(command, resultBuilder, error instanceof CompletionException ? error.getCause() : error);
+                    }
+                    long totalNanos = System.nanoTime() - startNanos;
+                    return resultBuilder
+                            .responseTimeMs(TimeUnit.NANOSECONDS.toMillis(totalNanos))
+                            .totalMicros(TimeUnit.NANOSECONDS.toMicros(totalNanos))
+                            .build();
+                });
+    }
+
+    private void recordTcpFailure(CheckCommand command, CheckResult.CheckResultBuilder resultBuilder, Throwable error) {
+        resultBuilder.success(false);
+        if (error instanceof UnknownHostException) {
+            log.warn("Unknown host for TCP check on command ID {}: {}", command.getId(), command.getApp().getTargetUrlOrIp());
+            resultBuilder.outcome(CheckOutcome.DNS_FAILURE).errorMessage("Unknown host: " + command.getApp().getTargetUrlOrIp());
+        } else if (error instanceof SocketTimeoutException) {
+            log.warn("TCP check timed out for command ID {}: {}", command.getId(), error.getMessage());
+            resultBuilder.errorMessage("Connection timed out.");
+        } else if (error instanceof RejectedExecutionException) {
+            log.warn("TCP check for command ID {} rejected: {}", command.getId(), error.getMessage());
+            resultBuilder.errorMessage("Rejected: " + error.getMessage());
+        } else if (error instanceof IOException) {
+            log.error("IO error during TCP check for command ID {}: {}", command.getId(), error.getMessage());
+            resultBuilder.errorMessage("IO Error: " + error.getMessage());
+        } else {
+            log.error("Unexpected error during TCP check for command ID {}: {}", command.getId(), error.getMessage(), error);
+            resultBuilder.errorMessage(error.getClass().getSimpleName() + ": " + error.getMessage());
+        }
+    }
+
+    private static boolean isDnsFailure(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof UnknownHostException) {
+                return true;
+            }
+        }
+        return false;
     }
-}
\ No newline at end of file
+}
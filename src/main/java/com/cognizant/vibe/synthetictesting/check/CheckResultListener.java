@@ -0,0 +1,16 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+
+/**
+ * Receives every check result as soon as it is produced, alongside its hand-off to the result writer.
+ * Listeners are called on the thread that finished the check, which may be a WebClient event-loop
+ * thread, so implementations must be quick and must not block.
+ */
+public interface CheckResultListener {
+
+    /**
+     * @param result The completed result. Its command and the command's AppTarget are initialized.
+     */
+    void onCheckResult(CheckResult result);
+}
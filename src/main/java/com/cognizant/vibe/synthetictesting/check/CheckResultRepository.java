@@ -1,22 +1,281 @@
 package com.cognizant.vibe.synthetictesting.check;
 
+import com.cognizant.vibe.synthetictesting.check.dto.CheckResultDto;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckOutcome;
 import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
+/**
+ * Stores raw check results in time-partitioned tables managed by {@link ResultPartitionManager}.
+ * Every query is planned against the partitions that overlap its time range only, so its cost does
+ * not grow with the amount of history kept.
+ * <p>
+ * Result IDs are allocated in blocks from the {@code check_result_seq} sequence (hi/lo), so a batch
+ * of inserts costs one sequence round trip per {@link #ID_BLOCK_SIZE} results. The repository is created only
+ * after the {@link LegacyResultMigration} has moved the sequence past the IDs of migrated rows.
+ * <p>
+ * This is the default {@link RawResultStore}, used unless {@code synthetic.results.store} says otherwise.
+ */
 @Repository
-public interface CheckResultRepository extends JpaRepository<CheckResult, Long> {
+@ConditionalOnProperty(prefix = "synthetic.results", name = "store", havingValue = "jdbc", matchIfMissing = true)
+@DependsOn("legacyResultMigration")
+public class CheckResultRepository implements RawResultStore {
+
+    private static final Logger log = LoggerFactory.getLogger(CheckResultRepository.class);
+
+    static final int MAX_ERROR_MESSAGE_LENGTH = 1000;
+    static final int ID_BLOCK_SIZE = 500;
+    static final String ID_SEQUENCE = "check_result_seq";
+
+    private static final String SELECT_COLUMNS =
+            "SELECT id, check_command_id, timestamp, success, response_time_ms, status_code, error_message," +
+            " dns_micros, connect_micros, tls_micros, ttfb_micros, total_micros, outcome," +
+            " rtt_min_micros, rtt_avg_micros, rtt_max_micros, jitter_micros, loss_percent, body_bytes, assertions_passed FROM ";
+
+    private static final RowMapper<CheckResultDto> DTO_MAPPER = (rs, rowNum) -> new CheckResultDto(
+            rs.getLong("id"),
+            rs.getLong("check_command_id"),
+            rs.getObject("timestamp", OffsetDateTime.class).toInstant(),
+            rs.getBoolean("success"),
+            outcome(rs.getString("outcome"), rs.getBoolean("success")),
+            rs.getLong("response_time_ms"),
+            rs.getObject("status_code", Integer.class),
+            rs.getString("error_message"),
+            rs.getObject("dns_micros", Long.class),
+            rs.getObject("connect_micros", Long.class),
+            rs.getObject("tls_micros", Long.class),
+            rs.getObject("ttfb_micros", Long.class),
+            rs.getObject("total_micros", Long.class),
+            rs.getObject("rtt_min_micros", Long.class),
+            rs.getObject("rtt_avg_micros", Long.class),
+            rs.getObject("rtt_max_micros", Long.class),
+            rs.getObject("jitter_micros", Long.class),
+            rs.getObject("loss_percent", Double.class),
+            rs.getObject("body_bytes", Long.class),
+            rs.getObject("assertions_passed", Boolean.class));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ResultPartitionManager partitionManager;
+    private final String insertSuffix;
+
+    // Next free ID and the last ID of the block allocated from the sequence.
+    private long nextId = 1;
+    private long lastIdInBlock = 0;
+
+    public CheckResultRepository(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 ResultPartitionManager partitionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitionManager = partitionManager;
+        this.insertSuffix = ResultPartitionManager.COLUMNS.stream()
+                .map(ResultPartitionManager.Column::name)
+                .collect(Collectors.joining(", ", " (", ") VALUES "))
+                + ResultPartitionManager.COLUMNS.stream().map(c -> "?").collect(Collectors.joining(", ", "(", ")"));
+        createIdSequence(jdbcTemplate);
+    }
+
     /**
-     * Finds all CheckResult entities for a given AppTarget ID, fetching the associated command to avoid N+1 queries.
-     * The results are ordered by the most recent timestamp first.
+     * Creates the result ID sequence if it does not exist yet.
+     */
+    static void createIdSequence(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + ID_SEQUENCE + " START WITH 1 INCREMENT BY " + ID_BLOCK_SIZE);
+    }
+
+    /**
+     * Moves the result ID sequence past the given ID, creating it if needed, unless it already is. Blocks that
+     * repositories have already taken from the sequence are not affected, so this must run before results are saved.
+     */
+    static void advanceIdSequencePast(JdbcTemplate jdbcTemplate, long id) {
+        createIdSequence(jdbcTemplate);
+        Long next = jdbcTemplate.queryForObject("SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES " +
+                "WHERE SEQUENCE_SCHEMA = SCHEMA() AND UPPER(SEQUENCE_NAME) = UPPER(?)", Long.class, ID_SEQUENCE);
+        if (next == null || next <= id) {
+            jdbcTemplate.execute("ALTER SEQUENCE " + ID_SEQUENCE + " RESTART WITH " + (id + 1));
+        }
+    }
+
+    /**
+     * Assigns IDs to the results and inserts them into their partitions in one transaction,
+     * creating missing partitions first.
      *
-     * @param targetId The ID of the parent AppTarget.
-     * @return A list of CheckResult entities.
+     * @param results The results to insert. Their commands must be initialized.
      */
-    @Query("SELECT r FROM CheckResult r JOIN FETCH r.command cmd WHERE cmd.app.id = :targetId ORDER BY r.timestamp DESC")
-    List<CheckResult> findResultsForTarget(@Param("targetId") Long targetId);
-}
\ No newline at end of file
+    @Override
+    public void saveAll(List<CheckResult> results) {
+        Map<ResultPartition, List<CheckResult>> byPartition = new LinkedHashMap<>();
+        for (CheckResult result : results) {
+            int retentionDays = partitionManager.retentionDaysFor(result.getCommand());
+            byPartition.computeIfAbsent(ResultPartition.of(retentionDays, result.getTimestamp()), p -> new ArrayList<>()).add(result);
+        }
+        byPartition.keySet().forEach(partitionManager::ensure);
+        assignIds(results);
+
+        transactionTemplate.executeWithoutResult(status -> byPartition.forEach((partition, rows) ->
+                jdbcTemplate.batchUpdate("INSERT INTO " + partition.tableName() + insertSuffix, rows, rows.size(),
+                        CheckResultRepository::bind)));
+    }
+
+    /**
+     * Finds one page of results for the given commands within [from, to), newest first, positioned after a
+     * keyset cursor. Partitions are visited one day at a time from the newest, and only until the page is full.
+     *
+     * @param commandIds     The IDs of the commands whose results to return.
+     * @param from           Inclusive lower bound of the result timestamp.
+     * @param to             Exclusive upper bound of the result timestamp.
+     * @param afterTimestamp Timestamp of the last row of the previous page; pass {@code to} for the first page.
+     * @param afterId        ID of the last row of the previous page; pass {@link Long#MAX_VALUE} for the first page.
+     * @param limit          Maximum number of rows to return.
+     * @return A list of result DTOs ordered by timestamp and ID, descending.
+     */
+    @Override
+    public List<CheckResultDto> findPage(Collection<Long> commandIds, Instant from, Instant to,
+                                         Instant afterTimestamp, long afterId, int limit) {
+        // Partitions of the same day hold different retention classes; they are read together.
+        Map<Instant, List<ResultPartition>> byDay = new LinkedHashMap<>();
+        for (ResultPartition partition : partitionManager.overlapping(from, to)) {
+            if (partition.start().isAfter(afterTimestamp)) {
+                continue; // entirely newer than the cursor
+            }
+            byDay.computeIfAbsent(partition.start(), d -> new ArrayList<>()).add(partition);
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("commandIds", commandIds)
+                .addValue("from", from.atOffset(ZoneOffset.UTC))
+                .addValue("to", to.atOffset(ZoneOffset.UTC))
+                .addValue("afterTimestamp", afterTimestamp.atOffset(ZoneOffset.UTC))
+                .addValue("afterId", afterId);
+
+        List<CheckResultDto> page = new ArrayList<>(limit);
+        for (List<ResultPartition> day : byDay.values()) {
+            String sql = day.stream()
+                    .map(partition -> SELECT_COLUMNS + partition.tableName() +
+                            " WHERE check_command_id IN (:commandIds) AND timestamp >= :from AND timestamp < :to" +
+                            " AND (timestamp < :afterTimestamp OR (timestamp = :afterTimestamp AND id < :afterId))")
+                    .collect(Collectors.joining(" UNION ALL ", "", " ORDER BY timestamp DESC, id DESC FETCH FIRST :limit ROWS ONLY"));
+            page.addAll(namedJdbcTemplate.query(sql, params.addValue("limit", limit - page.size()), DTO_MAPPER));
+            if (page.size() >= limit) {
+                break;
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Deletes all results of a command from every partition.
+     */
+    @Override
+    public void deleteByCommandId(Long commandId) {
+        int deleted = 0;
+        for (ResultPartition partition : partitionManager.all()) {
+            deleted += jdbcTemplate.update("DELETE FROM " + partition.tableName() + " WHERE check_command_id = ?", commandId);
+        }
+        log.debug("Deleted {} results of check command ID {}.", deleted, commandId);
+    }
+
+    /**
+     * Streams the rows of every partition that overlaps [from, to), one partition at a time.
+     */
+    @Override
+    public void scan(Instant from, Instant to, ResultVisitor visitor) {
+        for (ResultPartition partition : partitionManager.overlapping(from, to)) {
+            jdbcTemplate.query("SELECT check_command_id, timestamp, success, response_time_ms, status_code FROM " +
+                            partition.tableName() + " WHERE timestamp >= ? AND timestamp < ?",
+                    rs -> {
+                        visitor.visit(rs.getLong(1), rs.getObject(2, OffsetDateTime.class).toInstant(),
+                                rs.getBoolean(3), rs.getLong(4), rs.getObject(5, Integer.class));
+                    },
+                    from.atOffset(ZoneOffset.UTC), to.atOffset(ZoneOffset.UTC));
+        }
+    }
+
+    private synchronized void assignIds(List<CheckResult> results) {
+        for (CheckResult result : results) {
+            if (nextId > lastIdInBlock) {
+                Long hi = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + ID_SEQUENCE, Long.class);
+                nextId = hi;
+                lastIdInBlock = hi + ID_BLOCK_SIZE - 1;
+            }
+            result.setId(nextId++);
+        }
+    }
+
+    private static void bind(PreparedStatement ps, CheckResult result) throws SQLException {
+        ps.setLong(1, result.getId());
+        ps.setLong(2, result.getCommand().getId());
+        ps.setObject(3, result.getTimestamp().atOffset(ZoneOffset.UTC));
+        ps.setBoolean(4, result.isSuccess());
+        ps.setLong(5, result.getResponseTimeMs());
+        if (result.getStatusCode() != null) {
+            ps.setInt(6, result.getStatusCode());
+        } else {
+            ps.setNull(6, Types.INTEGER);
+        }
+        String error = result.getErrorMessage();
+        ps.setString(7, error != null && error.length() > MAX_ERROR_MESSAGE_LENGTH ? error.substring(0, MAX_ERROR_MESSAGE_LENGTH) : error);
+        setNullableLong(ps, 8, result.getDnsMicros());
+        setNullableLong(ps, 9, result.getConnectMicros());
+        setNullableLong(ps, 10, result.getTlsMicros());
+        setNullableLong(ps, 11, result.getTtfbMicros());
+        setNullableLong(ps, 12, result.getTotalMicros());
+        ps.setString(13, result.getOutcome().name());
+        setNullableLong(ps, 14, result.getRttMinMicros());
+        setNullableLong(ps, 15, result.getRttAvgMicros());
+        setNullableLong(ps, 16, result.getRttMaxMicros());
+        setNullableLong(ps, 17, result.getJitterMicros());
+        if (result.getLossPercent() != null) {
+            ps.setDouble(18, result.getLossPercent());
+        } else {
+            ps.setNull(18, Types.DOUBLE);
+        }
+        setNullableLong(ps, 19, result.getBodyBytes());
+        if (result.getAssertionsPassed() != null) {
+            ps.setBoolean(20, result.getAssertionsPassed());
+        } else {
+            ps.setNull(20, Types.BOOLEAN);
+        }
+    }
+
+    private static CheckOutcome outcome(String stored, boolean success) {
+        // Rows written before the outcome column existed only know whether they succeeded.
+        if (stored == null) {
+            return success ? CheckOutcome.SUCCESS : CheckOutcome.FAILURE;
+        }
+        return CheckOutcome.valueOf(stored);
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+}
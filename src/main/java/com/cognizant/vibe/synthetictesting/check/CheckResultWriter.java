@@ -0,0 +1,277 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+import com.cognizant.vibe.synthetictesting.check.entity.ResultRun;
+import com.cognizant.vibe.synthetictesting.config.ResultCompactionProperties;
+import com.cognizant.vibe.synthetictesting.config.ResultWriterProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind stage for check results. Executors hand results to a bounded queue and return immediately;
+ * a single writer thread drains the queue and persists results in batched transactions, flushing when a
+ * batch is full or the flush interval has elapsed, whichever comes first.
+ * <p>
+ * When the queue is full the configured {@link ResultWriterProperties.OverflowPolicy} decides whether the
+ * producer waits or a result is dropped. Queue depth, drops and flush latency are published as metrics.
+ * <p>
+ * The writer thread is never interrupted, since H2 closes its file when a thread is interrupted during a
+ * write; {@link #stop()} clears a flag and wakes it with a marker result instead.
+ * <p>
+ * The results of {@code CHANGES_ONLY} commands pass through a {@link ResultCompactor} first, so only their
+ * changes and heartbeats are stored as rows and the rest are stored as {@link ResultRun}s.
+ */
+@Component
+public class CheckResultWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(CheckResultWriter.class);
+    // Queued by stop() to wake the writer thread; never written.
+    private static final CheckResult STOP = CheckResult.builder().build();
+
+    private final RawResultStore rawResultStore;
+    private final ResultRunStore resultRunStore;
+    private final ResultCompactor compactor;
+    private final ResultWriterProperties properties;
+    private final BlockingQueue<CheckResult> queue;
+    private final Thread writerThread;
+
+    private final Counter writtenCounter;
+    private final Counter compactedCounter;
+    private final Counter overflowDropCounter;
+    private final Counter fullDropCounter;
+    private final Counter writeErrorDropCounter;
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizeSummary;
+
+    private volatile boolean running;
+    // Only touched by the writer thread.
+    private long lastIdleCheckNanos = System.nanoTime();
+
+    public CheckResultWriter(RawResultStore rawResultStore,
+                             ResultRunStore resultRunStore,
+                             ResultPartitionManager partitionManager,
+                             ResultWriterProperties properties,
+                             ResultCompactionProperties compactionProperties,
+                             MeterRegistry meterRegistry) {
+        this.rawResultStore = rawResultStore;
+        this.resultRunStore = resultRunStore;
+        this.compactor = new ResultCompactor(compactionProperties, partitionManager::retentionDaysFor);
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        this.writerThread = new Thread(this::runWriter, "check-result-writer");
+
+        Gauge.builder("synthetic.results.queue.depth", queue, BlockingQueue::size)
+                .description("Check results waiting to be persisted")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("synthetic.results.written")
+                .description("Check results persisted")
+                .register(meterRegistry);
+        this.compactedCounter = Counter.builder("synthetic.results.compacted")
+                .description("Check results of CHANGES_ONLY commands counted into a run instead of persisted")
+                .register(meterRegistry);
+        this.overflowDropCounter = Counter.builder("synthetic.results.dropped")
+                .description("Check results discarded before being persisted")
+                .tag("reason", "overflow")
+                .register(meterRegistry);
+        this.fullDropCounter = Counter.builder("synthetic.results.dropped")
+                .description("Check results discarded before being persisted")
+                .tag("reason", "full")
+                .register(meterRegistry);
+        this.writeErrorDropCounter = Counter.builder("synthetic.results.dropped")
+                .description("Check results discarded before being persisted")
+                .tag("reason", "write_error")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("synthetic.results.flush")
+                .description("Time taken to persist one batch of check results")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("synthetic.results.flush.size")
+                .description("Number of check results persisted per batch")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        writerThread.start();
+        log.info("Check result writer started: queue capacity {}, batch size {}, flush interval {}, overflow policy {}.",
+                properties.queueCapacity(), properties.batchSize(), properties.flushInterval(), properties.overflowPolicy());
+    }
+
+    /**
+     * Drains what is left in the queue before the application context closes.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        // If the queue is full the writer is busy anyway and sees the flag before it waits again.
+        queue.offer(STOP);
+        writerThread.join(TimeUnit.SECONDS.toMillis(30));
+        if (writerThread.isAlive()) {
+            log.warn("Check result writer did not finish within 30s; {} results still queued.", queue.size());
+        } else if (!queue.isEmpty()) {
+            log.warn("Check result writer stopped with {} results still queued.", queue.size());
+        }
+    }
+
+    /**
+     * Queues a result for persistence. Never blocks an event-loop thread: under the BLOCK policy a result
+     * produced on a non-blocking thread is dropped when the queue is full, and counted as
+     * {@code synthetic.results.dropped{reason=full}}.
+     *
+     * @param result The result to persist.
+     */
+    public void submit(CheckResult result) {
+        switch (properties.overflowPolicy()) {
+            case BLOCK -> {
+                if (queue.offer(result)) {
+                    return;
+                }
+                if (Schedulers.isInNonBlockingThread()) {
+                    fullDropCounter.increment();
+                    log.warn("Dropped check result for command ID {}: write queue full on a non-blocking thread.",
+                            result.getCommand().getId());
+                } else {
+                    offerBlocking(result);
+                }
+            }
+            case DROP_NEWEST -> {
+                if (!queue.offer(result)) {
+                    overflowDropCounter.increment();
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!queue.offer(result)) {
+                    if (queue.poll() != null) {
+                        overflowDropCounter.increment();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The number of results currently waiting to be persisted.
+     */
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    private void offerBlocking(CheckResult result) {
+        try {
+            if (!queue.offer(result, properties.blockTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                overflowDropCounter.increment();
+                log.warn("Dropped check result for command ID {}: write queue stayed full for {}.",
+                        result.getCommand().getId(), properties.blockTimeout());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            overflowDropCounter.increment();
+        }
+    }
+
+    private void runWriter() {
+        List<CheckResult> batch = new ArrayList<>(properties.batchSize());
+        long flushIntervalNanos = properties.flushInterval().toNanos();
+        while (running || !queue.isEmpty()) {
+            try {
+                CheckResult first = running ? queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS) : queue.poll();
+                if (first != null) {
+                    batch.add(first);
+                    fill(batch, flushIntervalNanos);
+                }
+            } catch (InterruptedException e) {
+                // Nobody interrupts this thread; keep draining until stop() clears the flag.
+                Thread.interrupted();
+            }
+            batch.removeIf(result -> result == STOP);
+            write(batch);
+            batch.clear();
+        }
+        List<ResultRun> openRuns = new ArrayList<>();
+        compactor.closeAll(openRuns);
+        if (!openRuns.isEmpty()) {
+            flushRuns(openRuns);
+        }
+    }
+
+    /**
+     * Adds queued results to the batch until it is full or the flush interval has passed.
+     */
+    private void fill(List<CheckResult> batch, long flushIntervalNanos) throws InterruptedException {
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < properties.batchSize()) {
+            if (queue.drainTo(batch, properties.batchSize() - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            CheckResult next = running && remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+    }
+
+    /**
+     * Compacts the batch and persists its rows and the runs it closed, along with the runs of commands that
+     * went quiet. Called at least once per flush interval, even with an empty batch.
+     */
+    private void write(List<CheckResult> batch) {
+        List<ResultRun> closedRuns = new ArrayList<>();
+        List<CheckResult> rows = compactor.compact(batch, closedRuns);
+        compactedCounter.increment(batch.size() - rows.size());
+        long now = System.nanoTime();
+        if (now - lastIdleCheckNanos >= properties.flushInterval().toNanos()) {
+            lastIdleCheckNanos = now;
+            compactor.closeIdle(Instant.now(), closedRuns);
+        }
+        if (!rows.isEmpty()) {
+            flush(rows);
+        }
+        if (!closedRuns.isEmpty()) {
+            flushRuns(closedRuns);
+        }
+    }
+
+    private void flush(List<CheckResult> batch) {
+        long start = System.nanoTime();
+        try {
+            rawResultStore.saveAll(batch);
+            writtenCounter.increment(batch.size());
+            batchSizeSummary.record(batch.size());
+            log.debug("Persisted {} check results.", batch.size());
+        } catch (Exception e) {
+            writeErrorDropCounter.increment(batch.size());
+            log.error("Failed to persist a batch of {} check results: {}", batch.size(), e.getMessage(), e);
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void flushRuns(List<ResultRun> runs) {
+        long results = runs.stream().mapToLong(ResultRun::getCount).sum();
+        try {
+            resultRunStore.saveAll(runs);
+            log.debug("Persisted {} result runs of {} check results.", runs.size(), results);
+        } catch (Exception e) {
+            writeErrorDropCounter.increment(results);
+            log.error("Failed to persist {} result runs of {} check results: {}", runs.size(), results, e.getMessage(), e);
+        }
+    }
+}
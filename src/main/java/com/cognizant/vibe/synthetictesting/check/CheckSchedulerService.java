@@ -1,66 +1,142 @@
 package com.cognizant.vibe.synthetictesting.check;
 
-import com.cognizant.vibe.synthetictesting.app.AppTargetRepository;
+import com.cognizant.vibe.synthetictesting.check.dto.CommandOverrunStatsDto;
+import com.cognizant.vibe.synthetictesting.check.dto.ReconcileResultDto;
+import com.cognizant.vibe.synthetictesting.check.dto.SchedulerStatsDto;
 import com.cognizant.vibe.synthetictesting.check.entity.CheckCommand;
-import com.cognizant.vibe.synthetictesting.app.entity.AppTarget;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckPriority;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+import com.cognizant.vibe.synthetictesting.check.entity.OverrunPolicy;
+import com.cognizant.vibe.synthetictesting.cluster.Hashing;
+import com.cognizant.vibe.synthetictesting.cluster.PartitionOwnership;
+import com.cognizant.vibe.synthetictesting.cluster.PartitionOwnershipListener;
+import com.cognizant.vibe.synthetictesting.config.CheckAdmissionProperties;
+import com.cognizant.vibe.synthetictesting.config.CheckSchedulerProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
-import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Manages the scheduling of all synthetic checks.
+ * <p>
+ * Commands are driven by a {@link HashedTimingWheel} rather than one ScheduledFuture each. Every command
+ * fires at a fixed phase within its interval, derived from a hash of its ID, so a fleet of checks with
+ * the same interval is spread evenly instead of firing in lockstep, and keeps the same phase across restarts.
+ * <p>
+ * The scheduled commands are {@link #reconcile() reconciled} with the database: loaded in one query, compared with
+ * the running ones, and only the differences applied. Changed commands are updated in place, so a command keeps its
+ * phase and any run in flight. In a cluster only the commands of the partitions this node holds are scheduled. A lease
+ * renewal that changes them unschedules the commands of lost partitions and schedules those of gained ones, and every
+ * {@code reconcileInterval} a renewal reconciles fully, which picks up commands created, changed or deleted through
+ * other nodes.
+ * <p>
+ * Every change to the set of scheduled commands holds the service's lock, and a reconcile holds it from loading the
+ * commands until the differences are applied. A command created or changed while a reconcile runs is therefore
+ * applied after it, and is never overwritten by the reconcile's older copy.
+ * <p>
+ * A command never has more than one run in flight. When it comes due while its previous run is still going, its
+ * {@link OverrunPolicy} decides what happens, and the {@link CheckAdmissionController} decides whether a run may
+ * start at all while the executor is saturated. Both are counted per command.
+ * <p>
+ * A command with a {@link CheckCommand#getMaxIntervalSeconds() maximum interval} is adaptive: while it keeps passing,
+ * its interval is stretched step by step up to that maximum, and on a failure, or a pass much slower than usual, it
+ * snaps back to its configured interval and is re-checked at once to confirm. Stretched commands run at a fixed rate
+ * from their last run rather than at their phase.
  */
 @Service
-@RequiredArgsConstructor
-public class CheckSchedulerService {
+public class CheckSchedulerService implements PartitionOwnershipListener {
 
     private static final Logger log = LoggerFactory.getLogger(CheckSchedulerService.class);
 
-    private final AppTargetRepository appTargetRepository;
     private final CheckCommandRepository checkCommandRepository;
     private final CheckExecutorService checkExecutorService;
-    private final ScheduledExecutorService checkSchedulerExecutor;
+    private final HashedTimingWheel checkTimingWheel;
+    private final CheckSchedulerProperties schedulerProperties;
+    private final PartitionOwnership partitionOwnership;
+    private final CheckAdmissionController admissionController;
+    private final CheckAdmissionProperties admissionProperties;
 
-    // A map to hold references to scheduled tasks, allowing them to be cancelled later.
-    private final Map<Long, ScheduledFuture<?>> scheduledTasks = new ConcurrentHashMap<>();
+    private final Timer scheduleLagTimer;
+    private final Map<OverrunPolicy, Counter> overrunCounters = new HashMap<>();
+    private final Counter intervalStretchedCounter;
+    private final Counter intervalTightenedCounter;
+
+    // A map to hold references to scheduled checks, allowing them to be cancelled later.
+    private final Map<Long, ScheduledCheck> scheduledChecks = new ConcurrentHashMap<>();
+    private volatile long lastReconcileNanos = System.nanoTime();
+
+    public CheckSchedulerService(CheckCommandRepository checkCommandRepository,
+                                 CheckExecutorService checkExecutorService,
+                                 HashedTimingWheel checkTimingWheel,
+                                 CheckSchedulerProperties schedulerProperties,
+                                 PartitionOwnership partitionOwnership,
+                                 CheckAdmissionController admissionController,
+                                 CheckAdmissionProperties admissionProperties,
+                                 MeterRegistry meterRegistry) {
+        CheckSchedulerProperties.Adaptive adaptive = schedulerProperties.adaptive();
+        if (adaptive.passesPerStep() < 1 || adaptive.backoffFactor() <= 1 || adaptive.latencyDegradationFactor() <= 1) {
+            throw new IllegalArgumentException("synthetic.checks.scheduler.adaptive.passes-per-step must be positive and "
+                    + "its backoff-factor and latency-degradation-factor above 1");
+        }
+        this.checkCommandRepository = checkCommandRepository;
+        this.checkExecutorService = checkExecutorService;
+        this.checkTimingWheel = checkTimingWheel;
+        this.schedulerProperties = schedulerProperties;
+        this.partitionOwnership = partitionOwnership;
+        this.admissionController = admissionController;
+        this.admissionProperties = admissionProperties;
+        this.scheduleLagTimer = Timer.builder("synthetic.scheduler.lag")
+                .description("Delay between the time a check was due and the start of its execution")
+                .register(meterRegistry);
+        for (OverrunPolicy policy : OverrunPolicy.values()) {
+            overrunCounters.put(policy, Counter.builder("synthetic.scheduler.overruns")
+                    .description("Check runs that came due while the previous run of the command was in flight")
+                    .tag("policy", policy.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.intervalStretchedCounter = intervalChangeCounter(meterRegistry, "stretched");
+        this.intervalTightenedCounter = intervalChangeCounter(meterRegistry, "tightened");
+    }
+
+    private static Counter intervalChangeCounter(MeterRegistry meterRegistry, String direction) {
+        return Counter.builder("synthetic.scheduler.interval.changes")
+                .description("Interval changes of adaptive check commands")
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
 
     /**
      * This method is executed by Spring after the application context is loaded.
-     * It fetches all enabled targets and their commands, then schedules them for execution.
+     * It fetches the commands of all enabled targets in one query and schedules them for execution.
      */
     @PostConstruct
-    @Transactional(readOnly = true)
     public void scheduleChecksAtStartup() {
-        log.info("Starting to schedule synthetic checks...");
-
-        List<AppTarget> enabledTargets = appTargetRepository.findByEnabled(true);
-        log.info("Found {} enabled application targets to monitor.", enabledTargets.size());
-
-        int scheduledCount = 0;
-        for (AppTarget target : enabledTargets) {
-            // Use the new method to fetch commands with their parent AppTarget to avoid LazyInitializationException
-            List<CheckCommand> commands = checkCommandRepository.findByAppIdWithAppTarget(target.getId());
-            if (commands.isEmpty()) {
-                log.warn("Target '{}' is enabled but has no check commands.", target.getName());
-                continue;
-            }
-
-            for (CheckCommand command : commands) {
-                scheduleSingleCommand(command);
-                scheduledCount++;
-            }
+        partitionOwnership.addListener(this);
+        if (partitionOwnership.isClustered()) {
+            log.info("Clustered scheduling: checks are scheduled once this node holds partition leases.");
+            return;
         }
-        log.info("Successfully scheduled {} checks.", scheduledCount);
+        log.info("Starting to schedule synthetic checks...");
+        ReconcileResultDto result = reconcile();
+        log.info("Successfully scheduled {} checks.", result.scheduled());
     }
 
     /**
@@ -69,26 +145,62 @@ public class CheckSchedulerService {
      *
      * @param command The CheckCommand to schedule. The associated AppTarget should be fully initialized.
      */
-    public void scheduleSingleCommand(CheckCommand command) {
-        if (scheduledTasks.containsKey(command.getId())) {
+    public synchronized void scheduleSingleCommand(CheckCommand command) {
+        long firstRunDelayMs = schedule(command);
+        if (firstRunDelayMs >= 0) {
+            log.info("Scheduled check ID: {} for target '{}' to run every {} seconds, first run in {} ms.",
+                    command.getId(), command.getApp().getName(), command.getIntervalSeconds(), firstRunDelayMs);
+        }
+    }
+
+    /**
+     * Schedules many commands in one pass, with one summary log line instead of one per command. Every command
+     * still first runs at the phase derived from its ID, so a large batch is spread over its interval rather
+     * than probing all at once.
+     *
+     * @param commands The CheckCommands to schedule. Their AppTargets should be fully initialized.
+     * @return The number of commands scheduled. Commands that are already scheduled, belong to another node or
+     * have too short an interval are skipped.
+     */
+    public synchronized int scheduleCommands(Collection<CheckCommand> commands) {
+        int scheduled = 0;
+        for (CheckCommand command : commands) {
+            if (schedule(command) >= 0) {
+                scheduled++;
+            }
+        }
+        if (!commands.isEmpty()) {
+            log.info("Scheduled {} of {} check commands.", scheduled, commands.size());
+        }
+        return scheduled;
+    }
+
+    /**
+     * @return The delay until the command's first run, or -1 if it was not scheduled.
+     */
+    private long schedule(CheckCommand command) {
+        if (!partitionOwnership.owns(command.getId())) {
+            log.debug("Check command ID {} belongs to partition {}, which another node executes. Skipping.",
+                    command.getId(), partitionOwnership.partitionOf(command.getId()));
+            return -1;
+        }
+        if (scheduledChecks.containsKey(command.getId())) {
             log.warn("Check command ID {} is already scheduled. Skipping.", command.getId());
-            return;
+            return -1;
         }
-        // Create a runnable task that will call the executor service.
-        Runnable task = () -> checkExecutorService.execute(command);
 
         long interval = command.getIntervalSeconds();
         if (interval < 5) {
             log.warn("Check command ID {} has an interval of {}s, which is below the recommended minimum. Skipping.", command.getId(), interval);
-            return;
+            return -1;
         }
 
-        // Schedule the task to run at a fixed rate with an initial delay of 5 seconds.
-        ScheduledFuture<?> future = checkSchedulerExecutor.scheduleAtFixedRate(task, 5, interval, TimeUnit.SECONDS);
-        scheduledTasks.put(command.getId(), future);
-
-        log.info("Scheduled check ID: {} for target '{}' to run every {} seconds.",
-                command.getId(), command.getApp().getName(), interval);
+        ScheduledCheck check = new ScheduledCheck(command, TimeUnit.SECONDS.toMillis(interval));
+        if (scheduledChecks.putIfAbsent(command.getId(), check) != null) {
+            log.warn("Check command ID {} is already scheduled. Skipping.", command.getId());
+            return -1;
+        }
+        return check.start();
     }
 
     /**
@@ -96,15 +208,477 @@ public class CheckSchedulerService {
      *
      * @param checkId The ID of the command to unschedule.
      */
-    public void unscheduleSingleCommand(Long checkId) {
-        ScheduledFuture<?> future = scheduledTasks.get(checkId);
-        if (future != null) {
-            // Cancel the task. The 'false' argument means do not interrupt the task if it's currently running.
-            future.cancel(false);
-            scheduledTasks.remove(checkId);
+    public synchronized void unscheduleSingleCommand(Long checkId) {
+        ScheduledCheck check = scheduledChecks.remove(checkId);
+        if (check != null) {
+            // Cancel the pending run. A run that is already executing is allowed to finish.
+            check.cancel();
             log.info("Unscheduled check command ID: {}", checkId);
-        } else {
+        } else if (partitionOwnership.owns(checkId)) {
             log.warn("Could not unschedule check command ID: {}. It was not found in the scheduler.", checkId);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Unschedules a command once its deletion has committed, in case a reconcile read it from the database after it
+     * was first unscheduled and scheduled it again. Does nothing if it is not scheduled.
+     *
+     * @param checkId The ID of the deleted command.
+     */
+    public synchronized void unscheduleDeletedCommand(Long checkId) {
+        ScheduledCheck check = scheduledChecks.remove(checkId);
+        if (check != null) {
+            check.cancel();
+            log.info("Unscheduled check command ID {}, which a reconcile had scheduled again before its deletion committed.", checkId);
+        }
+    }
+
+    /**
+     * Applies a created or changed command: updates it in place if it is scheduled, keeping its phase and any run
+     * in flight, schedules it if it is not, and unschedules it if its target is disabled.
+     *
+     * @param command The CheckCommand as it is now. The associated AppTarget should be fully initialized.
+     */
+    public synchronized void applyCommand(CheckCommand command) {
+        if (!command.getApp().isEnabled()) {
+            if (scheduledChecks.containsKey(command.getId())) {
+                unscheduleSingleCommand(command.getId());
+            }
+            return;
+        }
+        ScheduledCheck check = scheduledChecks.get(command.getId());
+        if (check == null) {
+            scheduleSingleCommand(command);
+        } else if (command.getIntervalSeconds() < 5) {
+            log.warn("Check command ID {} now has an interval of {}s, which is below the recommended minimum. Unscheduling.",
+                    command.getId(), command.getIntervalSeconds());
+            unscheduleSingleCommand(command.getId());
+        } else if (check.update(command)) {
+            log.info("Updated scheduled check ID: {} to run every {} seconds.", command.getId(), command.getIntervalSeconds());
+        }
+    }
+
+    /**
+     * Brings the scheduled commands in line with the database. The commands of enabled targets are loaded in one
+     * query; those this node owns are scheduled if missing and updated in place if changed, and every other
+     * scheduled command is unscheduled. Unchanged commands are not touched.
+     *
+     * @return How many commands were added, removed and updated.
+     */
+    public synchronized ReconcileResultDto reconcile() {
+        lastReconcileNanos = System.nanoTime();
+        Map<Long, CheckCommand> desired = new HashMap<>();
+        if (!partitionOwnership.ownedPartitions().isEmpty()) {
+            for (CheckCommand command : checkCommandRepository.findAllOfEnabledTargetsWithAppTarget()) {
+                if (partitionOwnership.owns(command.getId())) {
+                    desired.put(command.getId(), command);
+                }
+            }
+        }
+        int removed = 0;
+        for (Long commandId : List.copyOf(scheduledChecks.keySet())) {
+            if (!desired.containsKey(commandId)) {
+                unscheduleSingleCommand(commandId);
+                removed++;
+            }
+        }
+        List<CheckCommand> missing = new ArrayList<>();
+        int updated = 0;
+        for (CheckCommand command : desired.values()) {
+            ScheduledCheck check = scheduledChecks.get(command.getId());
+            if (check == null) {
+                missing.add(command);
+            } else if (check.update(command)) {
+                updated++;
+            }
+        }
+        int added = scheduleCommands(missing);
+        ReconcileResultDto result = new ReconcileResultDto(added, removed, updated, scheduledChecks.size());
+        if (added > 0 || removed > 0 || updated > 0) {
+            log.info("Reconciled scheduled checks: {} added, {} removed, {} updated, {} scheduled.",
+                    added, removed, updated, result.scheduled());
+        }
+        return result;
+    }
+
+    /**
+     * Unschedules the commands of lost partitions without touching the database, then reconciles fully if
+     * {@code reconcileInterval} has passed, or else schedules the commands of gained partitions only.
+     */
+    @Override
+    public synchronized void onOwnershipRenewed(Set<Integer> ownedPartitions, Set<Integer> gained, Set<Integer> lost) {
+        if (!lost.isEmpty()) {
+            int removed = 0;
+            for (Long commandId : List.copyOf(scheduledChecks.keySet())) {
+                if (lost.contains(partitionOwnership.partitionOf(commandId))) {
+                    unscheduleSingleCommand(commandId);
+                    removed++;
+                }
+            }
+            log.info("Unscheduled {} check commands of {} partitions this node no longer holds.", removed, lost.size());
+        }
+        if (System.nanoTime() - lastReconcileNanos >= schedulerProperties.reconcileInterval().toNanos()) {
+            reconcile();
+        } else if (!gained.isEmpty()) {
+            List<CheckCommand> missing = new ArrayList<>();
+            for (CheckCommand command : checkCommandRepository.findAllOfEnabledTargetsWithAppTarget()) {
+                if (gained.contains(partitionOwnership.partitionOf(command.getId())) && !scheduledChecks.containsKey(command.getId())) {
+                    missing.add(command);
+                }
+            }
+            scheduleCommands(missing);
+        }
+    }
+
+    /**
+     * @return The number of check commands currently scheduled.
+     */
+    public int scheduledCount() {
+        return scheduledChecks.size();
+    }
+
+    /**
+     * Summarizes overruns and admission decisions of the scheduled commands.
+     *
+     * @param limit The maximum number of commands to list; the ones with the most overruns, sheds and delays come first.
+     * @return Scheduler-wide counts and the commands that were held back at least once since they were scheduled.
+     */
+    public SchedulerStatsDto getStats(int limit) {
+        List<CommandOverrunStatsDto> commands = new ArrayList<>();
+        long skipped = 0, coalesced = 0, queued = 0, delayed = 0, shed = 0;
+        int inFlight = 0;
+        for (ScheduledCheck check : scheduledChecks.values()) {
+            CommandOverrunStatsDto stats = check.stats();
+            skipped += stats.skipped();
+            coalesced += stats.coalesced();
+            queued += stats.queued();
+            delayed += stats.delayed();
+            shed += stats.shed();
+            inFlight += stats.inFlight() ? 1 : 0;
+            if (heldBack(stats) > 0) {
+                commands.add(stats);
+            }
+        }
+        commands.sort(Comparator.comparingLong(CheckSchedulerService::heldBack).reversed()
+                .thenComparing(CommandOverrunStatsDto::commandId));
+        return new SchedulerStatsDto(
+                scheduledChecks.size(),
+                inFlight,
+                admissionController.inFlight(),
+                admissionController.maxInFlight(),
+                skipped, coalesced, queued, delayed, shed,
+                commands.subList(0, Math.min(Math.max(0, limit), commands.size())));
+    }
+
+    /**
+     * @return The scheduled check of a command, or null if it is not scheduled on this node.
+     */
+    ScheduledCheck scheduledCheck(long commandId) {
+        return scheduledChecks.get(commandId);
+    }
+
+    private static long heldBack(CommandOverrunStatsDto stats) {
+        return stats.skipped() + stats.coalesced() + stats.queued() + stats.delayed() + stats.shed();
+    }
+
+    /**
+     * Computes the delay until a command's first run, so that it fires at the phase within its interval that
+     * is derived from its ID. Phases are anchored to the epoch, so they survive restarts.
+     *
+     * @param commandId      The ID of the command.
+     * @param intervalMillis The command interval in milliseconds.
+     * @param nowMillis      The current wall-clock time in epoch milliseconds.
+     * @return A delay in the range (0, intervalMillis].
+     */
+    static long firstRunDelayMillis(long commandId, long intervalMillis, long nowMillis) {
+        long phase = Math.floorMod(Hashing.mix(commandId), intervalMillis);
+        return intervalMillis - Math.floorMod(nowMillis - phase, intervalMillis);
+    }
+
+    /**
+     * @return true if the two versions of a command would be executed and scheduled the same way.
+     */
+    static boolean sameSchedule(CheckCommand a, CheckCommand b) {
+        return a.getIntervalSeconds() == b.getIntervalSeconds()
+                && a.getType() == b.getType()
+                && Objects.equals(a.getParameters(), b.getParameters())
+                && Objects.equals(a.getRetentionDays(), b.getRetentionDays())
+                && a.getOverrunPolicy() == b.getOverrunPolicy()
+                && a.getPriority() == b.getPriority()
+                && Objects.equals(a.getMaxIntervalSeconds(), b.getMaxIntervalSeconds())
+                && a.getStorageMode() == b.getStorageMode()
+                && Objects.equals(a.getAssertions(), b.getAssertions())
+                && Objects.equals(a.getApp().getName(), b.getApp().getName())
+                && Objects.equals(a.getApp().getTargetUrlOrIp(), b.getApp().getTargetUrlOrIp())
+                && Objects.equals(a.getApp().getRetentionDays(), b.getApp().getRetentionDays());
+    }
+
+    /**
+     * A command armed on the timing wheel. Each run re-arms the next one at a fixed rate from the nominal
+     * deadline, so jitter and dispatch delays never accumulate into drift.
+     */
+    final class ScheduledCheck {
+        // Weight of a new response time in the moving average an adaptive command compares its passes against.
+        private static final double LATENCY_BASELINE_WEIGHT = 0.1;
+
+        // The command and its schedule, guarded by this; replaced when the command changes.
+        private CheckCommand command;
+        private long minIntervalNanos;
+        private long maxIntervalNanos;
+        private boolean adaptive;
+        // The interval the command runs at now; only adaptive commands move it off minIntervalNanos.
+        private long intervalNanos;
+        private OverrunPolicy overrunPolicy;
+        private CheckPriority priority;
+        private long nominalDeadlineNanos;
+        private HashedTimingWheel.Timeout timeout;
+        // Incremented on every arm, so a tick armed before the interval changed is ignored.
+        private long generation;
+        private boolean cancelled;
+
+        // Overrun state and counters, guarded by this.
+        private boolean running;
+        private boolean queued;
+        private final List<Instant> coalescedSlots = new ArrayList<>();
+        private long skippedCount;
+        private long coalescedCount;
+        private long queuedCount;
+        private long delayedCount;
+        private long shedCount;
+
+        // Adaptive state, guarded by this; reset when the interval bounds change.
+        private int consecutivePasses;
+        private boolean healthy = true;
+        private double latencyBaselineMs;
+        private long baselineSamples;
+
+        private ScheduledCheck(CheckCommand command, long intervalMillis) {
+            apply(command, intervalMillis);
+        }
+
+        /**
+         * Swaps in a changed version of the command. A pending run stays where it is unless the interval or the
+         * maximum interval changed; then the next run moves to the command's phase within the new interval, as it
+         * would after a restart, and an adaptive command starts over from its configured interval. A run in flight
+         * finishes with the old version.
+         *
+         * @return false if nothing relevant changed.
+         */
+        private synchronized boolean update(CheckCommand updated) {
+            if (cancelled || sameSchedule(command, updated)) {
+                return false;
+            }
+            if (apply(updated, TimeUnit.SECONDS.toMillis(updated.getIntervalSeconds()))) {
+                timeout.cancel();
+                start();
+            }
+            return true;
+        }
+
+        /**
+         * @return true if the interval bounds changed, which resets the interval and the adaptive state.
+         */
+        private boolean apply(CheckCommand command, long intervalMillis) {
+            long minNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+            long maxNanos = command.getMaxIntervalSeconds() != null
+                    ? Math.max(minNanos, TimeUnit.SECONDS.toNanos(command.getMaxIntervalSeconds()))
+                    : minNanos;
+            boolean boundsChanged = this.command == null || minNanos != minIntervalNanos || maxNanos != maxIntervalNanos;
+            this.command = command;
+            this.adaptive = command.getMaxIntervalSeconds() != null;
+            if (boundsChanged) {
+                this.minIntervalNanos = minNanos;
+                this.maxIntervalNanos = maxNanos;
+                this.intervalNanos = minNanos;
+                this.consecutivePasses = 0;
+                this.healthy = true;
+                this.latencyBaselineMs = 0;
+                this.baselineSamples = 0;
+            }
+            this.overrunPolicy = command.getOverrunPolicy() != null ? command.getOverrunPolicy() : schedulerProperties.overrunPolicy();
+            this.priority = command.getPriority() != null ? command.getPriority() : CheckPriority.NORMAL;
+            return boundsChanged;
+        }
+
+        private synchronized long start() {
+            long delayMillis = firstRunDelayMillis(command.getId(), TimeUnit.NANOSECONDS.toMillis(intervalNanos),
+                    System.currentTimeMillis());
+            nominalDeadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+            arm();
+            return delayMillis;
+        }
+
+        /**
+         * Runs the command if this is the tick of its latest arm.
+         *
+         * @param armedGeneration The {@link #generation()} the tick was armed with.
+         */
+        void tick(long armedGeneration) {
+            synchronized (this) {
+                if (cancelled || armedGeneration != generation) {
+                    return;
+                }
+                long now = System.nanoTime();
+                scheduleLagTimer.record(Math.max(0, now - timeout.deadlineNanos()), TimeUnit.NANOSECONDS);
+                nominalDeadlineNanos += intervalNanos;
+                if (nominalDeadlineNanos <= now) {
+                    // We fell behind by more than an interval; skip the missed slots instead of bursting.
+                    long missed = (now - nominalDeadlineNanos) / intervalNanos + 1;
+                    nominalDeadlineNanos += missed * intervalNanos;
+                }
+                arm();
+            }
+            fire(false);
+        }
+
+        /**
+         * Starts a run unless one is in flight or admission control holds it back.
+         *
+         * @param retry Whether this run was delayed by admission control before.
+         */
+        private void fire(boolean retry) {
+            CheckCommand toRun;
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                if (running) {
+                    overrun();
+                    return;
+                }
+                switch (admissionController.tryAcquire(priority, retry)) {
+                    case DELAY -> {
+                        delayedCount++;
+                        checkTimingWheel.schedule(() -> fire(true), admissionProperties.lowPriorityDelay().toNanos(), TimeUnit.NANOSECONDS);
+                        return;
+                    }
+                    case SHED -> {
+                        shedCount++;
+                        return;
+                    }
+                    case ADMIT -> running = true;
+                }
+                toRun = command;
+            }
+            CompletableFuture<CheckResult> execution;
+            try {
+                execution = checkExecutorService.execute(toRun);
+            } catch (RuntimeException e) {
+                log.error("Could not start check command ID {}: {}", toRun.getId(), e.getMessage(), e);
+                execution = CompletableFuture.failedFuture(e);
+            }
+            execution.whenComplete((result, e) -> finish(toRun, result));
+        }
+
+        private void overrun() {
+            overrunCounters.get(overrunPolicy).increment();
+            switch (overrunPolicy) {
+                case SKIP -> skippedCount++;
+                case QUEUE_ONE -> {
+                    if (queued) {
+                        skippedCount++;
+                    } else {
+                        queued = true;
+                        queuedCount++;
+                    }
+                }
+                case COALESCE -> {
+                    coalescedSlots.add(Instant.now());
+                    coalescedCount++;
+                }
+            }
+        }
+
+        private void finish(CheckCommand ran, CheckResult result) {
+            admissionController.release();
+            List<Instant> slots;
+            boolean runQueued;
+            synchronized (this) {
+                running = false;
+                slots = List.copyOf(coalescedSlots);
+                coalescedSlots.clear();
+                runQueued = queued;
+                queued = false;
+            }
+            if (result != null) {
+                slots.forEach(slot -> checkExecutorService.recordCoalesced(ran, result, slot));
+            }
+            boolean confirm = result != null && adapt(result);
+            // A queued run doubles as the confirmation run.
+            if (runQueued || confirm) {
+                fire(false);
+            }
+        }
+
+        /**
+         * Moves the interval of an adaptive command after a run. Every {@code passesPerStep} consecutive passes
+         * stretch it by {@code backoffFactor}, up to the maximum. A failure, or a pass slower than
+         * {@code latencyDegradationFactor} times the moving average of the command's response times, snaps it
+         * back to the configured interval, re-arming the pending run to match.
+         *
+         * @return true if this was the first bad run after a good one, which is confirmed by running again at once.
+         */
+        private synchronized boolean adapt(CheckResult result) {
+            if (!adaptive || cancelled) {
+                return false;
+            }
+            CheckSchedulerProperties.Adaptive properties = schedulerProperties.adaptive();
+            long responseTimeMs = result.getResponseTimeMs();
+            boolean degraded = result.isSuccess() && baselineSamples >= properties.passesPerStep()
+                    && responseTimeMs > latencyBaselineMs * properties.latencyDegradationFactor();
+            if (result.isSuccess()) {
+                latencyBaselineMs = baselineSamples == 0 ? responseTimeMs
+                        : latencyBaselineMs + LATENCY_BASELINE_WEIGHT * (responseTimeMs - latencyBaselineMs);
+                baselineSamples++;
+            }
+
+            boolean wasHealthy = healthy;
+            healthy = result.isSuccess() && !degraded;
+            if (healthy) {
+                if (++consecutivePasses >= properties.passesPerStep() && intervalNanos < maxIntervalNanos) {
+                    consecutivePasses = 0;
+                    intervalNanos = Math.min(maxIntervalNanos, (long) (intervalNanos * properties.backoffFactor()));
+                    intervalStretchedCounter.increment();
+                    log.debug("Check command ID {} keeps passing; stretched its interval to {} s.",
+                            command.getId(), TimeUnit.NANOSECONDS.toSeconds(intervalNanos));
+                }
+                return false;
+            }
+            consecutivePasses = 0;
+            if (intervalNanos > minIntervalNanos) {
+                intervalNanos = minIntervalNanos;
+                timeout.cancel();
+                nominalDeadlineNanos = System.nanoTime() + intervalNanos;
+                arm();
+                intervalTightenedCounter.increment();
+                log.debug("Check command ID {} {}; tightened its interval to {} s.", command.getId(),
+                        degraded ? "slowed down" : "failed", TimeUnit.NANOSECONDS.toSeconds(intervalNanos));
+            }
+            return wasHealthy;
+        }
+
+        synchronized CommandOverrunStatsDto stats() {
+            return new CommandOverrunStatsDto(command.getId(), overrunPolicy, priority,
+                    TimeUnit.NANOSECONDS.toSeconds(intervalNanos), running,
+                    skippedCount, coalescedCount, queuedCount, delayedCount, shedCount);
+        }
+
+        synchronized long generation() {
+            return generation;
+        }
+
+        private void arm() {
+            long maxJitterNanos = (long) (intervalNanos * Math.max(0, schedulerProperties.jitter()));
+            long jitter = maxJitterNanos > 0 ? ThreadLocalRandom.current().nextLong(maxJitterNanos + 1) : 0;
+            long armed = ++generation;
+            timeout = checkTimingWheel.scheduleAt(() -> tick(armed), nominalDeadlineNanos + jitter);
+        }
+
+        private synchronized void cancel() {
+            cancelled = true;
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A random ID generated once per database and kept in its {@code database_identity} table. Data kept outside the
+ * database, such as the files of the {@link MappedResultStore}, records it, so that it is not mixed up with the
+ * data of another database whose command IDs name other commands.
+ */
+@Component
+public class DatabaseIdentity {
+
+    static final String TABLE = "database_identity";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Guarded by this.
+    private String id;
+
+    public DatabaseIdentity(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return The ID of the database, generated on first use.
+     */
+    public synchronized String id() {
+        if (id == null) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + TABLE +
+                    " (singleton INT PRIMARY KEY CHECK (singleton = 1), id VARCHAR(36) NOT NULL)");
+            List<String> ids = jdbcTemplate.queryForList("SELECT id FROM " + TABLE, String.class);
+            if (ids.isEmpty()) {
+                try {
+                    jdbcTemplate.update("INSERT INTO " + TABLE + " (singleton, id) VALUES (1, ?)", UUID.randomUUID().toString());
+                } catch (DuplicateKeyException e) {
+                    // Another node generated it first.
+                }
+                ids = jdbcTemplate.queryForList("SELECT id FROM " + TABLE, String.class);
+            }
+            id = ids.get(0);
+        }
+        return id;
+    }
+}
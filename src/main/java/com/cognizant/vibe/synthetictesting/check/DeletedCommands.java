@@ -0,0 +1,71 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only file of the IDs of deleted check commands, whose results stay in the append-only segments
+ * until their partition expires and must not be read back until then. Each entry is an 8-byte command ID;
+ * a torn entry at the end of the file, left by a crash, is cut off when the file is opened.
+ * <p>
+ * Entries are never removed: command IDs are not reused, and an entry costs 8 bytes.
+ */
+final class DeletedCommands implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(DeletedCommands.class);
+
+    private final FileChannel channel;
+    private final Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+    DeletedCommands(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer content = ByteBuffer.allocate((int) channel.size());
+        channel.read(content, 0);
+        content.flip();
+        while (content.remaining() >= Long.BYTES) {
+            ids.add(content.getLong());
+        }
+        if (content.position() < channel.size()) {
+            log.warn("Cutting off a torn entry at the end of deleted command file {}.", file);
+            channel.truncate(content.position());
+        }
+        channel.position(content.position());
+    }
+
+    /**
+     * Records the command as deleted and forces the entry to disk, so it stays deleted after a crash.
+     */
+    synchronized void add(long commandId) throws IOException {
+        if (ids.contains(commandId)) {
+            return;
+        }
+        ByteBuffer entry = ByteBuffer.allocate(Long.BYTES).putLong(commandId).flip();
+        while (entry.hasRemaining()) {
+            channel.write(entry);
+        }
+        channel.force(false);
+        ids.add(commandId);
+    }
+
+    boolean contains(long commandId) {
+        return ids.contains(commandId);
+    }
+
+    int size() {
+        return ids.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+}
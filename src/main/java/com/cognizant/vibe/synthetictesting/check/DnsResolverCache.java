@@ -0,0 +1,343 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.config.DnsCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.EventLoop;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.handler.codec.dns.DnsRecord;
+import io.netty.resolver.AddressResolver;
+import io.netty.resolver.AddressResolverGroup;
+import io.netty.resolver.InetNameResolver;
+import io.netty.resolver.InetSocketAddressResolver;
+import io.netty.resolver.dns.DnsCache;
+import io.netty.resolver.dns.DnsCacheEntry;
+import io.netty.resolver.dns.DnsNameResolver;
+import io.netty.resolver.dns.DnsNameResolverBuilder;
+import io.netty.util.NetUtil;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Promise;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Asynchronous, TTL-aware DNS cache shared by every check type.
+ * <p>
+ * Lookups go to netty's non-blocking {@link DnsNameResolver}, which also answers from the hosts file. Answers are
+ * kept for their DNS TTL, clamped to {@link DnsCacheProperties#minTtl()} and {@link DnsCacheProperties#maxTtl()};
+ * failed lookups are remembered for {@link DnsCacheProperties#negativeTtl()}. Once an answer expires it is still
+ * served for up to {@link DnsCacheProperties#staleTtl()} while a single background query refreshes it, and it keeps
+ * being served if that query fails. Concurrent lookups of the same name share one query. IP literals are never cached
+ * or queried.
+ * <p>
+ * GET checks use the cache through {@link #addressResolverGroup()}; blocking probes call {@link #resolveBlocking}.
+ * Lookups are counted as {@code synthetic.dns.lookups{result=hit|stale|negative|miss}}.
+ */
+@Component
+public class DnsResolverCache {
+
+    private static final Logger log = LoggerFactory.getLogger(DnsResolverCache.class);
+
+    private final DnsCacheProperties properties;
+    private final NioEventLoopGroup eventLoopGroup;
+    private final DnsNameResolver resolver;
+    private final AddressResolverGroup<InetSocketAddress> addressResolverGroup = new CachingAddressResolverGroup();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<List<InetAddress>>> inFlight = new ConcurrentHashMap<>();
+    // Smallest TTL seen in the answers of a running query, reported by the resolver through TtlCapture.
+    private final Map<String, Long> answerTtls = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter negativeHits;
+    private final Counter misses;
+    private final Timer successfulQueries;
+    private final Timer failedQueries;
+
+    public DnsResolverCache(DnsCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.eventLoopGroup = new NioEventLoopGroup(1, new DefaultThreadFactory("dns-resolver", true));
+        EventLoop eventLoop = eventLoopGroup.next();
+        this.resolver = new DnsNameResolverBuilder(eventLoop)
+                .datagramChannelType(NioDatagramChannel.class)
+                .resolveCache(new TtlCapture())
+                .queryTimeoutMillis(properties.queryTimeout().toMillis())
+                .build();
+
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.staleHits = lookupCounter(meterRegistry, "stale");
+        this.negativeHits = lookupCounter(meterRegistry, "negative");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        this.successfulQueries = queryTimer(meterRegistry, "success");
+        this.failedQueries = queryTimer(meterRegistry, "failure");
+        Gauge.builder("synthetic.dns.cache.entries", entries, Map::size)
+                .description("Host names in the DNS cache, including negative entries")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Resolves a host name to all of its addresses.
+     *
+     * @return A future completing with at least one address, or exceptionally with an {@link UnknownHostException}.
+     */
+    public CompletableFuture<List<InetAddress>> resolveAll(String host) {
+        InetAddress literal = ipLiteral(host);
+        if (literal != null) {
+            return CompletableFuture.completedFuture(List.of(literal));
+        }
+        String name = normalize(host);
+        Entry entry = entries.get(name);
+        long now = System.nanoTime();
+        if (entry != null && now - entry.expiresAtNanos < 0) {
+            if (entry.failure != null) {
+                negativeHits.increment();
+                return CompletableFuture.failedFuture(entry.failure);
+            }
+            hits.increment();
+            return CompletableFuture.completedFuture(entry.addresses);
+        }
+        if (entry != null && entry.failure == null && now - entry.staleUntilNanos < 0) {
+            staleHits.increment();
+            query(name);
+            return CompletableFuture.completedFuture(entry.addresses);
+        }
+        misses.increment();
+        return query(name);
+    }
+
+    /**
+     * Resolves a host name to its first address.
+     */
+    public CompletableFuture<InetAddress> resolve(String host) {
+        return resolveAll(host).thenApply(addresses -> addresses.get(0));
+    }
+
+    /**
+     * Resolves a host name on the calling thread, for probes that block anyway.
+     *
+     * @throws UnknownHostException if the name cannot be resolved or the lookup does not finish in time.
+     */
+    public InetAddress resolveBlocking(String host) throws UnknownHostException {
+        try {
+            return resolve(host).get(properties.queryTimeout().toMillis() * 3, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw asUnknownHost(host, e.getCause());
+        } catch (TimeoutException e) {
+            throw asUnknownHost(host, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw asUnknownHost(host, e);
+        }
+    }
+
+    /**
+     * @return A resolver group for reactor-netty clients that resolves through this cache.
+     */
+    public AddressResolverGroup<InetSocketAddress> addressResolverGroup() {
+        return addressResolverGroup;
+    }
+
+    @PreDestroy
+    void close() {
+        addressResolverGroup.close();
+        resolver.close();
+        eventLoopGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+    }
+
+    private CompletableFuture<List<InetAddress>> query(String name) {
+        CompletableFuture<List<InetAddress>> future = new CompletableFuture<>();
+        CompletableFuture<List<InetAddress>> running = inFlight.putIfAbsent(name, future);
+        if (running != null) {
+            return running;
+        }
+        long start = System.nanoTime();
+        resolver.resolveAll(name).addListener(result -> {
+            long now = System.nanoTime();
+            Long ttlSeconds = answerTtls.remove(name);
+            if (result.isSuccess()) {
+                @SuppressWarnings("unchecked")
+                List<InetAddress> addresses = List.copyOf((List<InetAddress>) result.getNow());
+                successfulQueries.record(now - start, TimeUnit.NANOSECONDS);
+                long ttlNanos = clampTtl(ttlSeconds);
+                put(name, new Entry(addresses, null, now + ttlNanos, now + ttlNanos + properties.staleTtl().toNanos()));
+                inFlight.remove(name, future);
+                future.complete(addresses);
+                return;
+            }
+            failedQueries.record(now - start, TimeUnit.NANOSECONDS);
+            UnknownHostException failure = asUnknownHost(name, result.cause());
+            Entry previous = entries.get(name);
+            inFlight.remove(name, future);
+            if (previous != null && previous.failure == null && now - previous.staleUntilNanos < 0) {
+                // Keep serving the last good answer until it is too stale, rather than failing checks.
+                log.warn("Refreshing DNS entry for '{}' failed, serving the previous answer: {}", name, failure.getMessage());
+                future.complete(previous.addresses);
+                return;
+            }
+            long negativeTtlNanos = properties.negativeTtl().toNanos();
+            put(name, new Entry(null, failure, now + negativeTtlNanos, now + negativeTtlNanos));
+            future.completeExceptionally(failure);
+        });
+        return future;
+    }
+
+    private void put(String name, Entry entry) {
+        if (entries.size() >= properties.maxEntries() && !entries.containsKey(name)) {
+            long now = System.nanoTime();
+            entries.values().removeIf(e -> now - e.staleUntilNanos >= 0);
+            Iterator<String> names = entries.keySet().iterator();
+            while (entries.size() >= properties.maxEntries() && names.hasNext()) {
+                names.next();
+                names.remove();
+            }
+        }
+        entries.put(name, entry);
+    }
+
+    private long clampTtl(Long ttlSeconds) {
+        if (ttlSeconds == null) {
+            return properties.maxTtl().toNanos();
+        }
+        long ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        return Math.max(properties.minTtl().toNanos(), Math.min(properties.maxTtl().toNanos(), ttlNanos));
+    }
+
+    private static InetAddress ipLiteral(String host) {
+        String address = host.startsWith("[") && host.endsWith("]") ? host.substring(1, host.length() - 1) : host;
+        byte[] bytes = NetUtil.createByteArrayFromIpAddressString(address);
+        if (bytes == null) {
+            return null;
+        }
+        try {
+            return InetAddress.getByAddress(address, bytes);
+        } catch (UnknownHostException e) {
+            return null; // unreachable: the length has been validated
+        }
+    }
+
+    private static String normalize(String host) {
+        String name = host.toLowerCase(Locale.ROOT);
+        return name.endsWith(".") ? name.substring(0, name.length() - 1) : name;
+    }
+
+    private static UnknownHostException asUnknownHost(String host, Throwable cause) {
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof UnknownHostException unknownHost) {
+            return unknownHost;
+        }
+        UnknownHostException exception = new UnknownHostException("Failed to resolve '" + host + "': " + cause.getMessage());
+        exception.initCause(cause);
+        return exception;
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("synthetic.dns.lookups")
+                .description("Host name lookups by cache result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Timer queryTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("synthetic.dns.queries")
+                .description("DNS queries sent because of a cache miss or expiry")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * A cached answer: either addresses or the failure of the last lookup.
+     */
+    private record Entry(List<InetAddress> addresses, UnknownHostException failure, long expiresAtNanos, long staleUntilNanos) {}
+
+    /**
+     * Resolve cache handed to netty that stores nothing, so every query reaches the DNS servers, and only reports
+     * the TTLs of the answers back to the enclosing cache.
+     */
+    private final class TtlCapture implements DnsCache {
+
+        @Override
+        public void clear() {
+        }
+
+        @Override
+        public boolean clear(String hostname) {
+            return false;
+        }
+
+        @Override
+        public List<? extends DnsCacheEntry> get(String hostname, DnsRecord[] additionals) {
+            return null;
+        }
+
+        @Override
+        public DnsCacheEntry cache(String hostname, DnsRecord[] additionals, InetAddress address, long originalTtl, EventLoop loop) {
+            answerTtls.merge(normalize(hostname), originalTtl, Math::min);
+            return new CapturedEntry(address, null);
+        }
+
+        @Override
+        public DnsCacheEntry cache(String hostname, DnsRecord[] additionals, Throwable cause, EventLoop loop) {
+            return new CapturedEntry(null, cause);
+        }
+    }
+
+    private record CapturedEntry(InetAddress address, Throwable cause) implements DnsCacheEntry {}
+
+    private final class CachingAddressResolverGroup extends AddressResolverGroup<InetSocketAddress> {
+        @Override
+        protected AddressResolver<InetSocketAddress> newResolver(EventExecutor executor) {
+            return new InetSocketAddressResolver(executor, new CachingNameResolver(executor));
+        }
+    }
+
+    private final class CachingNameResolver extends InetNameResolver {
+
+        private CachingNameResolver(EventExecutor executor) {
+            super(executor);
+        }
+
+        @Override
+        protected void doResolve(String inetHost, Promise<InetAddress> promise) {
+            DnsResolverCache.this.resolve(inetHost).whenComplete((address, error) -> {
+                if (error != null) {
+                    promise.tryFailure(asUnknownHost(inetHost, error));
+                } else {
+                    promise.trySuccess(address);
+                }
+            });
+        }
+
+        @Override
+        protected void doResolveAll(String inetHost, Promise<List<InetAddress>> promise) {
+            DnsResolverCache.this.resolveAll(inetHost).whenComplete((addresses, error) -> {
+                if (error != null) {
+                    promise.tryFailure(asUnknownHost(inetHost, error));
+                } else {
+                    promise.trySuccess(addresses);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only file of distinct error messages, so result records only carry a 4-byte ID. Failing checks
+ * repeat the same few messages, so the dictionary stays small; once it holds {@code maxEntries} messages,
+ * new ones are stored as {@link #OVERFLOW}.
+ * <p>
+ * Each entry is a 4-byte length followed by the UTF-8 bytes. A torn entry at the end of the file, left by a
+ * crash, is cut off when the dictionary is opened.
+ */
+final class ErrorDictionary implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ErrorDictionary.class);
+
+    static final int NONE = 0;
+    static final int OVERFLOW = -1;
+    static final String OVERFLOW_MESSAGE = "(error message not kept: error dictionary is full)";
+
+    private final FileChannel channel;
+    private final int maxEntries;
+    private final List<String> messages = new ArrayList<>();
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    ErrorDictionary(Path file, int maxEntries) throws IOException {
+        this.maxEntries = maxEntries;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer content = ByteBuffer.allocate((int) channel.size());
+        channel.read(content, 0);
+        content.flip();
+        while (content.remaining() >= Integer.BYTES) {
+            int length = content.getInt(content.position());
+            if (length < 0 || content.remaining() < Integer.BYTES + length) {
+                break;
+            }
+            content.position(content.position() + Integer.BYTES);
+            byte[] bytes = new byte[length];
+            content.get(bytes);
+            add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        if (content.position() < channel.size()) {
+            log.warn("Cutting off a torn entry at the end of error dictionary {}.", file);
+            channel.truncate(content.position());
+        }
+        channel.position(content.position());
+    }
+
+    /**
+     * @return The ID of the message, adding it if it is new; {@link #NONE} for null.
+     */
+    synchronized int idOf(String message) throws IOException {
+        if (message == null) {
+            return NONE;
+        }
+        Integer id = ids.get(message);
+        if (id != null) {
+            return id;
+        }
+        if (messages.size() >= maxEntries) {
+            return OVERFLOW;
+        }
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer entry = ByteBuffer.allocate(Integer.BYTES + bytes.length).putInt(bytes.length).put(bytes).flip();
+        while (entry.hasRemaining()) {
+            channel.write(entry);
+        }
+        return add(message);
+    }
+
+    /**
+     * @return The message with the given ID, or null for {@link #NONE}.
+     */
+    synchronized String messageOf(int id) {
+        if (id == NONE) {
+            return null;
+        }
+        if (id == OVERFLOW || id > messages.size()) {
+            return OVERFLOW_MESSAGE;
+        }
+        return messages.get(id - 1);
+    }
+
+    synchronized int size() {
+        return messages.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.force(false);
+        channel.close();
+    }
+
+    private int add(String message) {
+        messages.add(message);
+        int id = messages.size();
+        ids.put(message, id);
+        return id;
+    }
+}
@@ -0,0 +1,295 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A hashed timing wheel for one-shot timeouts, in the style of Varghese and Lauck.
+ * <p>
+ * Timeouts are hashed into {@code wheelSize} buckets by deadline. A single worker thread advances
+ * one bucket per tick and hands every expired task to the dispatch executor, so scheduling and
+ * cancelling are O(1) regardless of how many timeouts are pending. Expiry precision is one tick.
+ * <p>
+ * New and cancelled timeouts are queued and only applied to the buckets by the worker thread,
+ * so the buckets themselves need no locking.
+ */
+public final class HashedTimingWheel implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(HashedTimingWheel.class);
+
+    private static final int STATE_PENDING = 0;
+    private static final int STATE_CANCELLED = 1;
+    private static final int STATE_EXPIRED = 2;
+
+    private final String name;
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Executor dispatcher;
+    private final Queue<Timeout> additions = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancellations = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pending = new AtomicLong();
+    private final Thread worker;
+
+    private volatile boolean running;
+    private long startNanos;
+    private long tick;
+
+    /**
+     * @param name         Name of the worker thread.
+     * @param tickDuration Resolution of the wheel.
+     * @param wheelSize    Number of buckets; rounded up to a power of two.
+     * @param dispatcher   Executor that runs expired tasks. The worker thread never runs tasks itself.
+     */
+    public HashedTimingWheel(String name, Duration tickDuration, int wheelSize, Executor dispatcher) {
+        if (tickDuration.isNegative() || tickDuration.isZero()) {
+            throw new IllegalArgumentException("tickDuration must be positive, was " + tickDuration);
+        }
+        if (wheelSize < 1 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException("wheelSize must be in [1, 2^30], was " + wheelSize);
+        }
+        this.name = name;
+        this.tickNanos = tickDuration.toNanos();
+        this.wheel = new Bucket[wheelSize == 1 ? 1 : Integer.highestOneBit(wheelSize - 1) << 1];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheel.length - 1;
+        this.dispatcher = dispatcher;
+        this.worker = new Thread(this::runWorker, name);
+        this.worker.setDaemon(true);
+    }
+
+    /**
+     * Starts the worker thread. Timeouts scheduled before this call are kept and fire once the wheel runs.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        startNanos = System.nanoTime();
+        running = true;
+        worker.start();
+        log.info("Timing wheel '{}' started with {} buckets of {} ms.", name, wheel.length, TimeUnit.NANOSECONDS.toMillis(tickNanos));
+    }
+
+    /**
+     * Schedules a task to run once after the given delay.
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        return scheduleAt(task, System.nanoTime() + unit.toNanos(Math.max(0, delay)));
+    }
+
+    /**
+     * Schedules a task to run once at the given {@link System#nanoTime()} deadline.
+     * Deadlines in the past fire on the next tick.
+     */
+    public Timeout scheduleAt(Runnable task, long deadlineNanos) {
+        Timeout timeout = new Timeout(task, deadlineNanos);
+        pending.incrementAndGet();
+        additions.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * @return The number of timeouts that have been scheduled but have neither fired nor been cancelled.
+     */
+    public long pendingTimeouts() {
+        return pending.get();
+    }
+
+    /**
+     * @return The duration of one tick, which is also the expiry precision, in nanoseconds.
+     */
+    public long tickNanos() {
+        return tickNanos;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private void runWorker() {
+        while (running) {
+            long deadline = startNanos + (tick + 1) * tickNanos;
+            long sleepNanos = deadline - System.nanoTime();
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    if (!running) {
+                        break;
+                    }
+                    continue;
+                }
+            }
+            try {
+                processCancellations();
+                transferAdditions();
+                expire(wheel[(int) (tick & mask)], System.nanoTime());
+            } catch (Throwable t) {
+                log.error("Timing wheel '{}' failed to process tick {}", name, tick, t);
+            }
+            tick++;
+        }
+        log.info("Timing wheel '{}' stopped.", name);
+    }
+
+    private void processCancellations() {
+        Timeout timeout;
+        while ((timeout = cancellations.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferAdditions() {
+        // Bound the work per tick so a burst of registrations cannot stall expiry.
+        for (int i = 0; i < 100_000; i++) {
+            Timeout timeout = additions.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state.get() != STATE_PENDING) {
+                continue;
+            }
+            long ticks = Math.max(0, timeout.deadlineNanos - startNanos) / tickNanos;
+            long target = Math.max(ticks, tick); // never place a timeout into a bucket that has already passed
+            timeout.remainingRounds = (target - tick) / wheel.length;
+            wheel[(int) (target & mask)].add(timeout);
+        }
+    }
+
+    private void expire(Bucket bucket, long now) {
+        Timeout timeout = bucket.head;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            if (timeout.remainingRounds <= 0) {
+                bucket.remove(timeout);
+                timeout.firedNanos = now;
+                if (timeout.state.compareAndSet(STATE_PENDING, STATE_EXPIRED)) {
+                    pending.decrementAndGet();
+                    dispatch(timeout);
+                }
+            } else {
+                timeout.remainingRounds--;
+            }
+            timeout = next;
+        }
+    }
+
+    private void dispatch(Timeout timeout) {
+        try {
+            dispatcher.execute(timeout.task);
+        } catch (RejectedExecutionException e) {
+            log.warn("Timing wheel '{}' could not dispatch an expired task: {}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * Handle to a scheduled task.
+     */
+    public final class Timeout {
+        private final Runnable task;
+        private final long deadlineNanos;
+        private final AtomicInteger state = new AtomicInteger(STATE_PENDING);
+
+        // Only accessed by the worker thread.
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+        private volatile long firedNanos;
+
+        private Timeout(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Cancels the timeout if it has not fired yet.
+         *
+         * @return true if this call cancelled the timeout.
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(STATE_PENDING, STATE_CANCELLED)) {
+                return false;
+            }
+            pending.decrementAndGet();
+            cancellations.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == STATE_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == STATE_EXPIRED;
+        }
+
+        /**
+         * @return The {@link System#nanoTime()} deadline this timeout was scheduled for.
+         */
+        public long deadlineNanos() {
+            return deadlineNanos;
+        }
+
+        /**
+         * @return How late the timeout was handed to the dispatcher, in nanoseconds, or -1 if it has not fired.
+         */
+        public long lagNanos() {
+            return isExpired() ? Math.max(0, firedNanos - deadlineNanos) : -1;
+        }
+    }
+
+    /**
+     * Intrusive doubly linked list of timeouts, giving O(1) removal on cancel.
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.config.HttpCheckProperties;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounds the number of HTTP checks in flight, both globally and per target.
+ * Checks over the limit wait without holding a thread; once the waiting queue is
+ * full, new checks fail fast with a {@link java.util.concurrent.RejectedExecutionException}.
+ */
+@Component
+public class HttpCheckConcurrencyLimiter {
+
+    private final HttpCheckProperties properties;
+    private final AsyncPermits globalPermits;
+    private final Map<Long, AsyncPermits> targetPermits = new ConcurrentHashMap<>();
+
+    public HttpCheckConcurrencyLimiter(HttpCheckProperties properties) {
+        this.properties = properties;
+        this.globalPermits = new AsyncPermits(properties.maxConcurrency(), properties.maxPending());
+    }
+
+    /**
+     * Runs the given work once both a per-target and a global permit are available.
+     * Permits are returned when the work completes, errors or is cancelled.
+     *
+     * @param targetId The ID of the AppTarget the work is aimed at.
+     * @param work     The lazily subscribed work to run under the limit.
+     */
+    public <T> Mono<T> withPermit(Long targetId, Mono<T> work) {
+        AsyncPermits perTarget = targetPermits.computeIfAbsent(targetId,
+                id -> new AsyncPermits(properties.maxConcurrencyPerTarget(), properties.maxPending()));
+        return perTarget.withPermit(globalPermits.withPermit(work));
+    }
+
+    /**
+     * @return The number of HTTP checks currently holding a global permit.
+     */
+    public int inFlight() {
+        return globalPermits.inUse();
+    }
+
+    /**
+     * @return The number of HTTP checks waiting for a global permit.
+     */
+    public int waiting() {
+        return globalPermits.waiting();
+    }
+}
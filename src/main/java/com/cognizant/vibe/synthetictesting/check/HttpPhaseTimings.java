@@ -0,0 +1,183 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.util.AttributeKey;
+import reactor.netty.Connection;
+import reactor.netty.http.client.HttpClient;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.net.SocketAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monotonic per-phase timing of one HTTP GET check: DNS resolution, TCP connect, TLS handshake,
+ * time to first byte and total time.
+ * <p>
+ * The HTTP client is {@link #instrument instrumented} once to time the connection phases on each new
+ * channel. A check puts its {@code HttpPhaseTimings} into the Reactor context of its request; when the
+ * client hands a connection to that request the connection phases are copied over, but only the first
+ * time, so a check that reuses a pooled connection reports no DNS, connect or TLS time. Time to first byte
+ * runs from the request being written to the connection until the response status line arrives, which
+ * is roughly one round trip plus the time the backend takes to answer.
+ */
+public final class HttpPhaseTimings {
+
+    private static final AttributeKey<ConnectionPhases> CONNECTION_PHASES = AttributeKey.valueOf("synthetic.connectionPhases");
+    private static final String HANDLER_NAME = "synthetic.connectTiming";
+
+    private final long startNanos;
+
+    // Written on the event loop of the connection, read by whichever thread completes the check.
+    private volatile long dnsNanos = -1;
+    private volatile long connectNanos = -1;
+    private volatile long tlsNanos = -1;
+    private volatile long requestNanos = -1;
+    private volatile long firstByteNanos = -1;
+
+    private HttpPhaseTimings(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * Starts timing a check now.
+     */
+    public static HttpPhaseTimings start() {
+        return new HttpPhaseTimings(System.nanoTime());
+    }
+
+    /**
+     * Adds the hooks that feed phase timings to every request carrying an {@code HttpPhaseTimings} in its context.
+     */
+    public static HttpClient instrument(HttpClient client) {
+        return client
+                .doOnChannelInit((observer, channel, remoteAddress) -> {
+                    phasesOf(channel);
+                    if (channel.pipeline().get(HANDLER_NAME) == null) {
+                        channel.pipeline().addFirst(HANDLER_NAME, ConnectTimingHandler.INSTANCE);
+                    }
+                })
+                .doOnResolve(connection -> phasesOf(connection.channel()).resolveStart = System.nanoTime())
+                .doAfterResolve((connection, address) -> phasesOf(connection.channel()).resolveEnd = System.nanoTime())
+                .doOnRequest((request, connection) -> {
+                    HttpPhaseTimings timings = from(request.currentContextView());
+                    if (timings != null) {
+                        timings.onRequest(connection);
+                    }
+                })
+                .doOnResponse((response, connection) -> {
+                    HttpPhaseTimings timings = from(response.currentContextView());
+                    if (timings != null) {
+                        timings.firstByteNanos = System.nanoTime();
+                    }
+                });
+    }
+
+    /**
+     * @return A context holding these timings, for {@code contextWrite} on the request.
+     */
+    public Context context() {
+        return Context.of(HttpPhaseTimings.class, this);
+    }
+
+    /**
+     * Sets the total time, ending now, and every phase that was observed on the result.
+     * Phases that did not happen, such as TLS on plain HTTP, are left null.
+     */
+    public CheckResult.CheckResultBuilder applyTo(CheckResult.CheckResultBuilder builder) {
+        long totalNanos = System.nanoTime() - startNanos;
+        return builder
+                .responseTimeMs(TimeUnit.NANOSECONDS.toMillis(totalNanos))
+                .totalMicros(TimeUnit.NANOSECONDS.toMicros(totalNanos))
+                .dnsMicros(micros(dnsNanos))
+                .connectMicros(micros(connectNanos))
+                .tlsMicros(micros(tlsNanos))
+                .ttfbMicros(requestNanos < 0 || firstByteNanos < 0 ? null : micros(firstByteNanos - requestNanos));
+    }
+
+    private void onRequest(Connection connection) {
+        requestNanos = System.nanoTime();
+        ConnectionPhases phases = connection.channel().attr(CONNECTION_PHASES).get();
+        if (phases == null || phases.reported) {
+            return;
+        }
+        phases.reported = true;
+        if (phases.resolveStart > 0 && phases.resolveEnd > 0) {
+            dnsNanos = phases.resolveEnd - phases.resolveStart;
+        }
+        if (phases.connectStart > 0 && phases.connectEnd > 0) {
+            connectNanos = phases.connectEnd - phases.connectStart;
+        }
+        if (phases.connectEnd > 0 && phases.tlsEnd > 0) {
+            tlsNanos = phases.tlsEnd - phases.connectEnd;
+        }
+    }
+
+    private static HttpPhaseTimings from(ContextView context) {
+        return context.getOrDefault(HttpPhaseTimings.class, null);
+    }
+
+    private static Long micros(long nanos) {
+        return nanos < 0 ? null : TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    private static ConnectionPhases phasesOf(Channel channel) {
+        ConnectionPhases phases = channel.attr(CONNECTION_PHASES).get();
+        if (phases == null) {
+            phases = new ConnectionPhases();
+            ConnectionPhases existing = channel.attr(CONNECTION_PHASES).setIfAbsent(phases);
+            if (existing != null) {
+                phases = existing;
+            }
+        }
+        return phases;
+    }
+
+    /**
+     * Phase timestamps of one channel, all taken on its event loop. Zero means not observed.
+     */
+    private static final class ConnectionPhases {
+        private volatile long resolveStart;
+        private volatile long resolveEnd;
+        private volatile long connectStart;
+        private volatile long connectEnd;
+        private volatile long tlsEnd;
+        private volatile boolean reported;
+    }
+
+    /**
+     * Sits at the head of the pipeline, so it sees the connect call last, right before the socket does.
+     */
+    @ChannelHandler.Sharable
+    private static final class ConnectTimingHandler extends ChannelOutboundHandlerAdapter {
+        private static final ConnectTimingHandler INSTANCE = new ConnectTimingHandler();
+
+        @Override
+        public void connect(ChannelHandlerContext ctx, SocketAddress remoteAddress, SocketAddress localAddress,
+                            ChannelPromise promise) {
+            ConnectionPhases phases = phasesOf(ctx.channel());
+            phases.connectStart = System.nanoTime();
+            promise.addListener(future -> {
+                if (!future.isSuccess()) {
+                    return;
+                }
+                phases.connectEnd = System.nanoTime();
+                SslHandler ssl = ctx.pipeline().get(SslHandler.class);
+                if (ssl != null) {
+                    ssl.handshakeFuture().addListener(handshake -> {
+                        if (handshake.isSuccess()) {
+                            phases.tlsEnd = System.nanoTime();
+                        }
+                    });
+                }
+            });
+            ctx.connect(remoteAddress, localAddress, promise);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.app.entity.AppTarget;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckCommand;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves results out of the {@code check_result} table written by versions before {@link ResultPartition}s
+ * existed. Its rows reference {@code check_command} by a foreign key, so while they remain, deleting a command
+ * fails unless its legacy rows are deleted first.
+ * <p>
+ * At startup, the rows are copied into the partitions of their day and their command's retention, keeping their
+ * IDs, one day per transaction and oldest day first; rows whose partition has already expired are dropped. The
+ * result ID sequence is first moved past the largest legacy ID, so new results never reuse one.
+ * The emptied table is then dropped. An interrupted migration continues with the remaining days on the next start.
+ */
+@Component
+public class LegacyResultMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(LegacyResultMigration.class);
+
+    static final String LEGACY_TABLE = "check_result";
+
+    private static final String COPIED_COLUMNS = "id, check_command_id, timestamp, success, response_time_ms, status_code, error_message";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ResultPartitionManager partitionManager;
+
+    // True until the legacy table is known to be gone.
+    private volatile boolean legacyTablePresent = true;
+
+    public LegacyResultMigration(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 ResultPartitionManager partitionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitionManager = partitionManager;
+    }
+
+    /**
+     * Copies the legacy rows into their partitions and drops the legacy table, if there is one. A failure is
+     * logged and leaves the remaining rows in place, to be retried on the next start.
+     */
+    @PostConstruct
+    void migrate() {
+        legacyTablePresent = legacyTableExists();
+        if (!legacyTablePresent) {
+            return;
+        }
+        try {
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + LEGACY_TABLE, Long.class);
+            if (maxId != null) {
+                CheckResultRepository.advanceIdSequencePast(jdbcTemplate, maxId);
+            }
+            Map<Long, Integer> retentionDays = retentionDaysByCommand();
+            long copied = 0;
+            long expired = 0;
+            OffsetDateTime oldest;
+            while ((oldest = jdbcTemplate.queryForObject("SELECT MIN(timestamp) FROM " + LEGACY_TABLE, OffsetDateTime.class)) != null) {
+                long[] counts = migrateDay(LocalDate.ofInstant(oldest.toInstant(), ZoneOffset.UTC), retentionDays);
+                copied += counts[0];
+                expired += counts[1];
+            }
+            int undated = jdbcTemplate.update("DELETE FROM " + LEGACY_TABLE + " WHERE timestamp IS NULL");
+            jdbcTemplate.execute("DROP TABLE " + LEGACY_TABLE);
+            legacyTablePresent = false;
+            log.info("Migrated legacy check results into partitions: {} copied, {} expired and {} without a timestamp dropped.",
+                    copied, expired, undated);
+        } catch (RuntimeException e) {
+            log.error("Failed to migrate legacy check results; the remaining rows stay in table {}: {}",
+                    LEGACY_TABLE, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Deletes a command's rows from the legacy table while it exists, so that the command itself can be deleted.
+     * Must run in the transaction that deletes the command.
+     */
+    public void deleteByCommandId(Long commandId) {
+        if (!legacyTablePresent) {
+            return;
+        }
+        int deleted = jdbcTemplate.update("DELETE FROM " + LEGACY_TABLE + " WHERE check_command_id = ?", commandId);
+        log.debug("Deleted {} legacy results of check command ID {}.", deleted, commandId);
+    }
+
+    /**
+     * Copies one day of legacy rows into its partitions and deletes them from the legacy table, in one transaction.
+     *
+     * @return The number of rows copied and the number dropped because their partition has expired.
+     */
+    private long[] migrateDay(LocalDate day, Map<Long, Integer> retentionDays) {
+        Instant start = day.atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant end = day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("start", start.atOffset(ZoneOffset.UTC))
+                .addValue("end", end.atOffset(ZoneOffset.UTC));
+        int defaultDays = partitionManager.retentionDaysFor(CheckCommand.builder().build());
+
+        Map<ResultPartition, List<Long>> byPartition = new LinkedHashMap<>();
+        for (Long commandId : namedJdbcTemplate.queryForList("SELECT DISTINCT check_command_id FROM " + LEGACY_TABLE +
+                " WHERE timestamp >= :start AND timestamp < :end", params, Long.class)) {
+            ResultPartition partition = new ResultPartition(retentionDays.getOrDefault(commandId, defaultDays), day);
+            byPartition.computeIfAbsent(partition, p -> new ArrayList<>()).add(commandId);
+        }
+        Instant now = Instant.now();
+        byPartition.keySet().removeIf(partition -> partition.isExpired(now));
+        // Partition DDL commits implicitly, so the tables are created before the copying transaction starts.
+        byPartition.keySet().forEach(partitionManager::ensure);
+
+        return transactionTemplate.execute(status -> {
+            long copied = 0;
+            for (Map.Entry<ResultPartition, List<Long>> entry : byPartition.entrySet()) {
+                copied += namedJdbcTemplate.update("INSERT INTO " + entry.getKey().tableName() + " (" + COPIED_COLUMNS + ") " +
+                                "SELECT " + COPIED_COLUMNS + " FROM " + LEGACY_TABLE +
+                                " WHERE timestamp >= :start AND timestamp < :end AND check_command_id IN (:commandIds)",
+                        new MapSqlParameterSource(params.getValues()).addValue("commandIds", entry.getValue()));
+            }
+            long deleted = namedJdbcTemplate.update("DELETE FROM " + LEGACY_TABLE +
+                    " WHERE timestamp >= :start AND timestamp < :end", params);
+            return new long[]{copied, deleted - copied};
+        });
+    }
+
+    private Map<Long, Integer> retentionDaysByCommand() {
+        Map<Long, Integer> retentionDays = new HashMap<>();
+        jdbcTemplate.query("SELECT c.id, c.retention_days, t.retention_days FROM check_command c " +
+                        "LEFT JOIN app_target t ON t.id = c.app_target_id",
+                rs -> {
+                    CheckCommand command = CheckCommand.builder()
+                            .id(rs.getLong(1))
+                            .retentionDays(rs.getObject(2, Integer.class))
+                            .app(AppTarget.builder().retentionDays(rs.getObject(3, Integer.class)).build())
+                            .build();
+                    retentionDays.put(command.getId(), partitionManager.retentionDaysFor(command));
+                });
+        return retentionDays;
+    }
+
+    private boolean legacyTableExists() {
+        Integer tables = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES " +
+                "WHERE TABLE_SCHEMA = SCHEMA() AND UPPER(TABLE_NAME) = 'CHECK_RESULT'", Integer.class);
+        return tables != null && tables > 0;
+    }
+}
@@ -0,0 +1,372 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.check.dto.CheckResultDto;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+import com.cognizant.vibe.synthetictesting.config.MappedResultStoreProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Stores raw check results as fixed-width records in append-only, memory-mapped {@link ResultSegment} files
+ * instead of database tables. Writes are plain memory stores with no SQL, transaction or per-row index
+ * maintenance, and a result takes 40 bytes on disk; reads scan the mappings in place.
+ * <p>
+ * Each segment holds results of one {@link ResultPartition}, so retention works as for the tables: expired
+ * partitions are deleted file by file. Error messages are kept once in an {@link ErrorDictionary}. The DNS and
+ * TLS phases and the PING statistics are not stored; they are null in results read from this store. Result IDs
+ * are the segment sequence in the high and the position in the low 32 bits.
+ * <p>
+ * Results of deleted commands stay in their segments until they expire; the commands are recorded in
+ * {@link DeletedCommands} and their results are skipped on read. The directory belongs to one process at a
+ * time, enforced by a lock on {@link #LOCK_FILE}, since two writers would hand out the same segment sequences.
+ * <p>
+ * Command IDs are only unique within one database, so the directory also belongs to one database: the
+ * {@link DatabaseIdentity} is recorded in {@link #DATABASE_ID_FILE} when the directory is first used, and a
+ * directory recorded for another database is refused. Otherwise new commands that reuse old IDs would be hidden
+ * as deleted, or be shown the old commands' results.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "synthetic.results", name = "store", havingValue = "mmap")
+public class MappedResultStore implements RawResultStore {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedResultStore.class);
+    private static final String ERROR_DICTIONARY_FILE = "errors.dict";
+    private static final String DELETED_COMMANDS_FILE = "deleted-commands";
+    static final String LOCK_FILE = "store.lock";
+    static final String DATABASE_ID_FILE = "database-id";
+    // Results may arrive this long after their day has ended before its segments are sealed.
+    private static final Duration SEAL_DELAY = Duration.ofHours(1);
+
+    private static final Comparator<Hit> OLDEST_FIRST = Comparator.comparingLong(Hit::nanos).thenComparingLong(Hit::id);
+
+    private final MappedResultStoreProperties properties;
+    private final ResultPartitionManager partitionManager;
+    private final DatabaseIdentity databaseIdentity;
+    private final Path directory;
+    private final ConcurrentSkipListMap<Long, ResultSegment> segments = new ConcurrentSkipListMap<>();
+
+    // Guarded by this.
+    private final Map<ResultPartition, ResultSegment> writable = new HashMap<>();
+    private long nextSequence = 1;
+    private ErrorDictionary errors;
+    private DeletedCommands deletedCommands;
+    private FileChannel lockChannel;
+    private FileLock lock;
+
+    public MappedResultStore(MappedResultStoreProperties properties, ResultPartitionManager partitionManager,
+                             DatabaseIdentity databaseIdentity) {
+        if (properties.segmentRecords() < 1 || properties.segmentRecords() > ResultSegment.MAX_RECORDS) {
+            throw new IllegalArgumentException("synthetic.results.mmap.segment-records must be between 1 and " + ResultSegment.MAX_RECORDS);
+        }
+        if (properties.indexBlockRecords() < 1) {
+            throw new IllegalArgumentException("synthetic.results.mmap.index-block-records must be positive");
+        }
+        this.properties = properties;
+        this.partitionManager = partitionManager;
+        this.databaseIdentity = databaseIdentity;
+        this.directory = properties.directory();
+    }
+
+    /**
+     * Locks the directory and checks that it belongs to this database, then opens the error dictionary, the deleted
+     * commands and every existing segment. Segments left by an earlier run are sealed; new results always go to new
+     * segments.
+     *
+     * @throws IllegalStateException if another process, or another store in this one, uses the directory, or it was
+     *                               written for another database.
+     */
+    @PostConstruct
+    synchronized void open() throws IOException {
+        Files.createDirectories(directory);
+        lockDirectory();
+        try {
+            checkDatabase();
+        } catch (IOException | RuntimeException e) {
+            unlockDirectory();
+            throw e;
+        }
+        errors = new ErrorDictionary(directory.resolve(ERROR_DICTIONARY_FILE), properties.maxErrorMessages());
+        deletedCommands = new DeletedCommands(directory.resolve(DELETED_COMMANDS_FILE));
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + ResultSegment.SUFFIX)) {
+            for (Path file : files) {
+                try {
+                    ResultSegment segment = ResultSegment.open(file, properties.indexBlockRecords());
+                    if (segment.count() == 0) {
+                        segment.delete();
+                    } else {
+                        segments.put(segment.sequence(), segment);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    log.error("Skipping unreadable result segment {}: {}", file, e.getMessage());
+                }
+            }
+        }
+        if (!segments.isEmpty()) {
+            nextSequence = segments.lastKey() + 1;
+        }
+        long results = segments.values().stream().mapToLong(ResultSegment::count).sum();
+        log.info("Opened memory-mapped result store in {}: {} segments, {} results, {} error messages, {} deleted commands.",
+                directory.toAbsolutePath(), segments.size(), results, errors.size(), deletedCommands.size());
+        dropExpired();
+    }
+
+    /**
+     * Seals the segments being written, so the next start finds their command indexes, and unlocks the directory.
+     */
+    @PreDestroy
+    synchronized void close() throws IOException {
+        for (ResultSegment segment : writable.values()) {
+            segment.seal();
+        }
+        writable.clear();
+        errors.close();
+        deletedCommands.close();
+        unlockDirectory();
+    }
+
+    /**
+     * Appends the results to the writable segment of their partition, starting a new segment when it is full.
+     * They survive a restart of the process once the call returns.
+     */
+    @Override
+    public synchronized void saveAll(List<CheckResult> results) {
+        Set<ResultSegment> touched = new LinkedHashSet<>();
+        try {
+            for (CheckResult result : results) {
+                ResultPartition partition = ResultPartition.of(partitionManager.retentionDaysFor(result.getCommand()), result.getTimestamp());
+                ResultSegment segment = writable.get(partition);
+                if (segment == null || segment.isFull()) {
+                    if (segment != null) {
+                        segment.seal();
+                    }
+                    segment = ResultSegment.create(directory, partition, nextSequence++,
+                            properties.segmentRecords(), properties.indexBlockRecords());
+                    writable.put(partition, segment);
+                    segments.put(segment.sequence(), segment);
+                }
+                int errorId = errors.idOf(truncate(result.getErrorMessage()));
+                result.setId(segment.id(segment.append(result, errorId)));
+                touched.add(segment);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write check results to " + directory, e);
+        } finally {
+            touched.forEach(ResultSegment::publish);
+        }
+    }
+
+    /**
+     * Visits segments and their blocks from the newest, keeping the newest {@code limit} matches, and stops
+     * as soon as everything left is older than all of them.
+     */
+    @Override
+    public List<CheckResultDto> findPage(Collection<Long> commandIds, Instant from, Instant to,
+                                        Instant afterTimestamp, long afterId, int limit) {
+        if (commandIds.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Set<Long> wanted = new HashSet<>(commandIds);
+        wanted.removeIf(deletedCommands::contains);
+        if (wanted.isEmpty()) {
+            return List.of();
+        }
+        long fromNanos = ResultSegment.epochNanos(from);
+        long afterNanos = ResultSegment.epochNanos(afterTimestamp);
+        long toNanos = Math.min(ResultSegment.epochNanos(to), afterNanos == Long.MAX_VALUE ? afterNanos : afterNanos + 1);
+        List<ResultSegment> candidates = segments.values().stream()
+                .filter(segment -> segment.overlaps(fromNanos, toNanos))
+                .sorted(Comparator.comparingLong(ResultSegment::maxNanos).reversed())
+                .toList();
+
+        PriorityQueue<Hit> newest = new PriorityQueue<>(limit + 1, OLDEST_FIRST);
+        LongSupplier floor = () -> newest.size() < limit ? Long.MIN_VALUE : newest.peek().nanos();
+        for (ResultSegment segment : candidates) {
+            if (segment.maxNanos() < floor.getAsLong()) {
+                break;
+            }
+            segment.forEachMatch(wanted, fromNanos, toNanos, floor, position -> {
+                long nanos = segment.epochNanos(position);
+                long id = segment.id(position);
+                if (nanos == afterNanos && id >= afterId) {
+                    return;
+                }
+                Hit hit = new Hit(segment, position, nanos, id);
+                if (newest.size() < limit) {
+                    newest.add(hit);
+                } else if (OLDEST_FIRST.compare(hit, newest.peek()) > 0) {
+                    newest.poll();
+                    newest.add(hit);
+                }
+            });
+        }
+        List<Hit> hits = new ArrayList<>(newest);
+        hits.sort(OLDEST_FIRST.reversed());
+        return hits.stream().map(this::toDto).toList();
+    }
+
+    /**
+     * Segments are append-only, so a deleted command's results stay on disk until their partition expires.
+     * The command is recorded as deleted instead, and its results are no longer returned by {@link #findPage}
+     * or {@link #scan}.
+     */
+    @Override
+    public void deleteByCommandId(Long commandId) {
+        try {
+            deletedCommands.add(commandId);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not record the deletion of check command ID " + commandId + " in " + directory, e);
+        }
+        log.debug("Results of check command ID {} remain in the result segments until they expire.", commandId);
+    }
+
+    @Override
+    public void scan(Instant from, Instant to, ResultVisitor visitor) {
+        long fromNanos = ResultSegment.epochNanos(from);
+        long toNanos = ResultSegment.epochNanos(to);
+        for (ResultSegment segment : segments.values()) {
+            segment.forEachInRange(fromNanos, toNanos, position -> {
+                long commandId = segment.commandId(position);
+                if (deletedCommands.contains(commandId)) {
+                    return;
+                }
+                visitor.visit(commandId,
+                        Instant.ofEpochSecond(0, segment.epochNanos(position)),
+                        segment.success(position),
+                        segment.responseTimeMs(position),
+                        segment.statusCode(position));
+            });
+        }
+    }
+
+    /**
+     * Seals segments of days that have ended and deletes those whose partition has outlived its retention.
+     */
+    @Scheduled(fixedDelayString = "${synthetic.results.retention.check-interval:1h}",
+            initialDelayString = "${synthetic.results.retention.check-interval:1h}")
+    public synchronized void dropExpired() {
+        Instant now = Instant.now();
+        writable.values().removeIf(segment -> {
+            if (!segment.partition().end().plus(SEAL_DELAY).isBefore(now)) {
+                return false;
+            }
+            try {
+                segment.seal();
+                return true;
+            } catch (IOException e) {
+                log.error("Failed to seal result segment {}: {}", segment.sequence(), e.getMessage(), e);
+                return false;
+            }
+        });
+        for (ResultSegment segment : List.copyOf(segments.values())) {
+            if (!segment.partition().isExpired(now)) {
+                continue;
+            }
+            segments.remove(segment.sequence());
+            writable.remove(segment.partition(), segment);
+            try {
+                segment.delete();
+                log.info("Deleted expired result segment {} of {} ({} day retention).",
+                        segment.sequence(), segment.partition().day(), segment.partition().retentionDays());
+            } catch (IOException e) {
+                log.error("Failed to delete expired result segment {}: {}", segment.sequence(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private void unlockDirectory() throws IOException {
+        lock.release();
+        lockChannel.close();
+    }
+
+    /**
+     * Records the database's identity in a directory that has none yet, including one written before identities
+     * were recorded, and refuses a directory recorded for another database.
+     */
+    private void checkDatabase() throws IOException {
+        String expected = databaseIdentity.id();
+        Path file = directory.resolve(DATABASE_ID_FILE);
+        if (Files.exists(file)) {
+            String recorded = Files.readString(file).trim();
+            if (!recorded.equals(expected)) {
+                throw new IllegalStateException("Result store directory " + directory.toAbsolutePath() +
+                        " was written for another database (" + recorded + ", this one is " + expected +
+                        "); delete it or point synthetic.results.mmap.directory elsewhere");
+            }
+            return;
+        }
+        Path written = directory.resolve(DATABASE_ID_FILE + ".tmp");
+        Files.writeString(written, expected);
+        Files.move(written, file, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void lockDirectory() throws IOException {
+        lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            lock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            lockChannel.close();
+            throw new IllegalStateException("Result store directory " + directory.toAbsolutePath() +
+                    " is in use by another process; give each node its own synthetic.results.mmap.directory");
+        }
+    }
+
+    private CheckResultDto toDto(Hit hit) {
+        ResultSegment segment = hit.segment();
+        int position = hit.position();
+        return new CheckResultDto(
+                hit.id(),
+                segment.commandId(position),
+                Instant.ofEpochSecond(0, hit.nanos()),
+                segment.success(position),
+                segment.outcome(position),
+                segment.responseTimeMs(position),
+                segment.statusCode(position),
+                errors.messageOf(segment.errorId(position)),
+                null,
+                segment.connectMicros(position),
+                null,
+                segment.ttfbMicros(position),
+                segment.totalMicros(position),
+                null, null, null, null, null, null, null);
+    }
+
+    private static String truncate(String error) {
+        int max = CheckResultRepository.MAX_ERROR_MESSAGE_LENGTH;
+        return error != null && error.length() > max ? error.substring(0, max) : error;
+    }
+
+    private record Hit(ResultSegment segment, int position, long nanos, long id) {}
+}
@@ -0,0 +1,34 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.config.PingProperties;
+
+/**
+ * Parameters of a PING check, written as {@code timeoutMs[:count[:intervalMs]]}. Omitted parts fall back to
+ * {@link PingProperties}, so a plain timeout keeps working as it did before multi-sample pings.
+ */
+record PingParameters(long timeoutMs, int count, long intervalMs) {
+
+    static PingParameters parse(String parameters, PingProperties defaults) {
+        long timeoutMs = defaults.defaultTimeout().toMillis();
+        int count = defaults.defaultCount();
+        long intervalMs = defaults.defaultInterval().toMillis();
+        if (parameters != null && !parameters.isBlank()) {
+            String[] parts = parameters.trim().split(":", -1);
+            if (parts.length > 3) {
+                throw new IllegalArgumentException("Expected timeoutMs[:count[:intervalMs]]");
+            }
+            timeoutMs = Long.parseLong(parts[0]);
+            if (parts.length > 1) {
+                count = Integer.parseInt(parts[1]);
+            }
+            if (parts.length > 2) {
+                intervalMs = Long.parseLong(parts[2]);
+            }
+        }
+        if (timeoutMs <= 0 || count < 1 || count > defaults.maxCount() || intervalMs < 0) {
+            throw new IllegalArgumentException("Timeout must be positive, count between 1 and " + defaults.maxCount()
+                    + " and interval not negative");
+        }
+        return new PingParameters(timeoutMs, count, intervalMs);
+    }
+}
@@ -0,0 +1,45 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+/**
+ * Round-trip statistics of the echo requests of one PING execution, in microseconds.
+ * The RTT fields and jitter are null when no reply was received; jitter needs at least two replies.
+ *
+ * @param sent         Number of echo requests sent.
+ * @param received     Number of echo requests that were answered.
+ * @param lossPercent  Share of echo requests that were not answered.
+ * @param jitterMicros Mean absolute difference between the RTTs of consecutive replies (RFC 3550 style, unsmoothed).
+ */
+record PingStatistics(int sent, int received, double lossPercent,
+                      Long minMicros, Long avgMicros, Long maxMicros, Long jitterMicros) {
+
+    /**
+     * @param rttMicros One entry per echo request in the order they were sent; negative for requests that were lost.
+     */
+    static PingStatistics of(long[] rttMicros) {
+        int received = 0;
+        long min = Long.MAX_VALUE;
+        long max = 0;
+        long sum = 0;
+        long jitterSum = 0;
+        long previous = -1;
+        for (long rtt : rttMicros) {
+            if (rtt < 0) {
+                continue;
+            }
+            received++;
+            min = Math.min(min, rtt);
+            max = Math.max(max, rtt);
+            sum += rtt;
+            if (previous >= 0) {
+                jitterSum += Math.abs(rtt - previous);
+            }
+            previous = rtt;
+        }
+        double lossPercent = 100.0 * (rttMicros.length - received) / rttMicros.length;
+        if (received == 0) {
+            return new PingStatistics(rttMicros.length, 0, lossPercent, null, null, null, null);
+        }
+        return new PingStatistics(rttMicros.length, received, lossPercent, min, sum / received, max,
+                received < 2 ? null : jitterSum / (received - 1));
+    }
+}
@@ -0,0 +1,55 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.check.dto.CheckResultDto;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Storage for raw check results. {@link CheckResultRepository} keeps them in time-partitioned database tables,
+ * {@link MappedResultStore} in memory-mapped segment files; {@code synthetic.results.store} selects one.
+ */
+public interface RawResultStore {
+
+    /**
+     * Persists the results and assigns their IDs.
+     *
+     * @param results The results to store. Their commands must be initialized.
+     */
+    void saveAll(List<CheckResult> results);
+
+    /**
+     * Finds one page of results for the given commands within [from, to), newest first, positioned after a
+     * keyset cursor.
+     *
+     * @param commandIds     The IDs of the commands whose results to return.
+     * @param from           Inclusive lower bound of the result timestamp.
+     * @param to             Exclusive upper bound of the result timestamp.
+     * @param afterTimestamp Timestamp of the last row of the previous page; pass {@code to} for the first page.
+     * @param afterId        ID of the last row of the previous page; pass {@link Long#MAX_VALUE} for the first page.
+     * @param limit          Maximum number of rows to return.
+     * @return A list of result DTOs ordered by timestamp and ID, descending.
+     */
+    List<CheckResultDto> findPage(Collection<Long> commandIds, Instant from, Instant to,
+                                  Instant afterTimestamp, long afterId, int limit);
+
+    /**
+     * Removes, or stops returning, all results of a command.
+     */
+    void deleteByCommandId(Long commandId);
+
+    /**
+     * Visits every stored result with a timestamp in [from, to), in no particular order.
+     */
+    void scan(Instant from, Instant to, ResultVisitor visitor);
+
+    /**
+     * Receives the fields of a result that rollups are built from.
+     */
+    @FunctionalInterface
+    interface ResultVisitor {
+        void visit(long commandId, Instant timestamp, boolean success, long responseTimeMs, Integer statusCode);
+    }
+}
@@ -0,0 +1,47 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The check commands deleted by this node since startup. A run can still be in flight when its command is
+ * deleted; {@link CheckResultListener}s that keep per-command state check here so its late result does not
+ * bring that state back.
+ */
+@Component
+public class RemovedCommands {
+
+    // Command IDs are never reused, and results in flight arrive shortly after a removal, so the latest will do.
+    private static final int KEPT = 1024;
+
+    private final Set<Long> commandIds = Collections.synchronizedSet(Collections.newSetFromMap(
+            new LinkedHashMap<>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                    return size() > KEPT;
+                }
+            }));
+
+    /**
+     * Marks a command as deleted. Must happen before listeners drop its state, so a result racing the removal
+     * is either dropped with that state or ignored.
+     */
+    public void add(Long commandId) {
+        commandIds.add(commandId);
+    }
+
+    /**
+     * Unmarks a command whose deletion was rolled back.
+     */
+    public void remove(Long commandId) {
+        commandIds.remove(commandId);
+    }
+
+    public boolean contains(Long commandId) {
+        return commandIds.contains(commandId);
+    }
+}
@@ -0,0 +1,172 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.check.entity.CheckCommand;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+import com.cognizant.vibe.synthetictesting.check.entity.ResultRun;
+import com.cognizant.vibe.synthetictesting.check.entity.ResultStorageMode;
+import com.cognizant.vibe.synthetictesting.config.ResultCompactionProperties;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+
+/**
+ * Decides which results of {@link ResultStorageMode#CHANGES_ONLY} commands are stored as rows. A result is
+ * stored when it differs from the command's last stored result, or when the last stored result is a heartbeat
+ * interval old; the results in between are counted into the command's open {@link ResultRun}. A run is closed,
+ * and handed out for storing, when the next row of its command is stored or when its command goes quiet for a
+ * heartbeat interval.
+ * <p>
+ * Not thread-safe: it is only used by the writer thread. Open runs live in memory only, so the results of the
+ * open runs are lost if the process dies.
+ */
+final class ResultCompactor {
+
+    /**
+     * Longest run; keeps the positions of the results of a run addressable in a result cursor.
+     */
+    static final long MAX_RUN_COUNT = 1L << 20;
+
+    private final ResultCompactionProperties properties;
+    private final ToIntFunction<CheckCommand> retentionDays;
+    private final Map<Long, CommandState> states = new HashMap<>();
+
+    /**
+     * @param retentionDays The result retention of a command, which its runs are kept for as well.
+     */
+    ResultCompactor(ResultCompactionProperties properties, ToIntFunction<CheckCommand> retentionDays) {
+        this.properties = properties;
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * Splits a batch into the results to store and the results to count.
+     *
+     * @param batch      The results, in the order they were submitted.
+     * @param closedRuns Receives the runs closed by the stored results.
+     * @return The results to store as rows.
+     */
+    List<CheckResult> compact(List<CheckResult> batch, List<ResultRun> closedRuns) {
+        List<CheckResult> rows = new ArrayList<>(batch.size());
+        for (CheckResult result : batch) {
+            if (keep(result, closedRuns)) {
+                rows.add(result);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Closes the runs of the commands that produced no result for a heartbeat interval, for example because they
+     * were unscheduled, and forgets those commands.
+     */
+    void closeIdle(Instant now, List<ResultRun> closedRuns) {
+        Instant idleBefore = now.minus(properties.heartbeatInterval());
+        for (Iterator<CommandState> it = states.values().iterator(); it.hasNext(); ) {
+            CommandState state = it.next();
+            if (state.lastSeen.isBefore(idleBefore)) {
+                state.close(closedRuns);
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Closes every open run, for example at shutdown.
+     */
+    void closeAll(List<ResultRun> closedRuns) {
+        states.values().forEach(state -> state.close(closedRuns));
+        states.clear();
+    }
+
+    private boolean keep(CheckResult result, List<ResultRun> closedRuns) {
+        Long commandId = result.getCommand().getId();
+        if (result.getCommand().getStorageMode() != ResultStorageMode.CHANGES_ONLY) {
+            CommandState state = states.remove(commandId);
+            if (state != null) {
+                state.close(closedRuns);
+            }
+            return true;
+        }
+        CommandState state = states.get(commandId);
+        if (state == null || changed(state.stored, result) || heartbeatDue(state, result)) {
+            if (state != null) {
+                state.close(closedRuns);
+            }
+            states.put(commandId, new CommandState(result));
+            return true;
+        }
+        state.count(result);
+        return false;
+    }
+
+    private boolean heartbeatDue(CommandState state, CheckResult result) {
+        return Duration.between(state.stored.getTimestamp(), result.getTimestamp()).compareTo(properties.heartbeatInterval()) >= 0
+                || state.run != null && state.run.getCount() >= MAX_RUN_COUNT;
+    }
+
+    /**
+     * @return true if the result differs from the stored one in success, outcome or status code, or its response
+     * time lies outside the latency band around the stored one's.
+     */
+    boolean changed(CheckResult stored, CheckResult result) {
+        if (stored.isSuccess() != result.isSuccess()
+                || stored.getOutcome() != result.getOutcome()
+                || !Objects.equals(stored.getStatusCode(), result.getStatusCode())) {
+            return true;
+        }
+        long band = Math.max(properties.latencyBandMinMs(), (long) (stored.getResponseTimeMs() * properties.latencyBand()));
+        return Math.abs(result.getResponseTimeMs() - stored.getResponseTimeMs()) > band;
+    }
+
+    private final class CommandState {
+        private final CheckResult stored;
+        private ResultRun run;
+        private Instant lastSeen;
+
+        private CommandState(CheckResult stored) {
+            this.stored = stored;
+            this.lastSeen = stored.getTimestamp();
+        }
+
+        private void count(CheckResult result) {
+            Instant timestamp = result.getTimestamp();
+            long responseTimeMs = result.getResponseTimeMs();
+            if (run == null) {
+                run = ResultRun.builder()
+                        .commandId(stored.getCommand().getId())
+                        .startTime(timestamp)
+                        .endTime(timestamp)
+                        .success(stored.isSuccess())
+                        .outcome(stored.getOutcome())
+                        .statusCode(stored.getStatusCode())
+                        .minResponseTimeMs(responseTimeMs)
+                        .maxResponseTimeMs(responseTimeMs)
+                        .build();
+            } else {
+                // Coalesced results carry the earlier slot they stand for.
+                run.setStartTime(timestamp.isBefore(run.getStartTime()) ? timestamp : run.getStartTime());
+                run.setEndTime(timestamp.isAfter(run.getEndTime()) ? timestamp : run.getEndTime());
+                run.setMinResponseTimeMs(Math.min(run.getMinResponseTimeMs(), responseTimeMs));
+                run.setMaxResponseTimeMs(Math.max(run.getMaxResponseTimeMs(), responseTimeMs));
+            }
+            run.setCount(run.getCount() + 1);
+            run.setSumResponseTimeMs(run.getSumResponseTimeMs() + responseTimeMs);
+            lastSeen = timestamp.isAfter(lastSeen) ? timestamp : lastSeen;
+        }
+
+        private void close(List<ResultRun> closedRuns) {
+            if (run != null) {
+                run.setExpiresAt(run.getEndTime().plus(Duration.ofDays(retentionDays.applyAsInt(stored.getCommand()))));
+                closedRuns.add(run);
+                run = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One table of raw check results: all results of one UTC day for commands with the same retention.
+ * The table name encodes both, e.g. {@code check_result_r30_20250101}, so partitions can be discovered
+ * and expired from the catalog alone.
+ *
+ * @param retentionDays Number of days results in this partition are kept after the day has ended.
+ * @param day           The UTC day whose results the partition holds.
+ */
+record ResultPartition(int retentionDays, LocalDate day) {
+
+    static final String TABLE_PREFIX = "check_result_r";
+    private static final Pattern TABLE_NAME = Pattern.compile("check_result_r(\\d+)_(\\d{8})", Pattern.CASE_INSENSITIVE);
+
+    static ResultPartition of(int retentionDays, Instant timestamp) {
+        return new ResultPartition(retentionDays, LocalDate.ofInstant(timestamp, ZoneOffset.UTC));
+    }
+
+    /**
+     * @return The partition named by the given table, or empty if the table is not a result partition.
+     */
+    static Optional<ResultPartition> parse(String tableName) {
+        Matcher matcher = TABLE_NAME.matcher(tableName);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(new ResultPartition(Integer.parseInt(matcher.group(1)),
+                LocalDate.parse(matcher.group(2), DateTimeFormatter.BASIC_ISO_DATE)));
+    }
+
+    String tableName() {
+        return TABLE_PREFIX + retentionDays + "_" + day.format(DateTimeFormatter.BASIC_ISO_DATE);
+    }
+
+    /**
+     * @return The inclusive start of the partition's time range.
+     */
+    Instant start() {
+        return day.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    /**
+     * @return The exclusive end of the partition's time range.
+     */
+    Instant end() {
+        return day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    boolean overlaps(Instant from, Instant to) {
+        return start().isBefore(to) && end().isAfter(from);
+    }
+
+    /**
+     * @return true once even the newest result the partition can hold is older than its retention.
+     */
+    boolean isExpired(Instant now) {
+        return !day.plusDays(1L + retentionDays).atStartOfDay(ZoneOffset.UTC).toInstant().isAfter(now);
+    }
+}
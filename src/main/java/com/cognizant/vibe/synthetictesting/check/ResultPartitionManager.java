@@ -0,0 +1,179 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.check.entity.CheckCommand;
+import com.cognizant.vibe.synthetictesting.config.ResultRetentionProperties;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Owns the set of {@link ResultPartition} tables: creates them on first write, keeps their columns in
+ * step with {@link #COLUMNS}, and drops whole partitions once they have outlived their retention, so
+ * expiry never scans or deletes individual rows.
+ */
+@Component
+public class ResultPartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(ResultPartitionManager.class);
+
+    /**
+     * Columns of every partition table, in insert order. New columns must be nullable, because they
+     * are added to existing partitions in place at startup.
+     */
+    static final List<Column> COLUMNS = List.of(
+            new Column("id", "BIGINT PRIMARY KEY"),
+            new Column("check_command_id", "BIGINT NOT NULL"),
+            new Column("timestamp", "TIMESTAMP(6) WITH TIME ZONE NOT NULL"),
+            new Column("success", "BOOLEAN NOT NULL"),
+            new Column("response_time_ms", "BIGINT NOT NULL"),
+            new Column("status_code", "INTEGER"),
+            new Column("error_message", "VARCHAR(" + CheckResultRepository.MAX_ERROR_MESSAGE_LENGTH + ")"),
+            new Column("dns_micros", "BIGINT"),
+            new Column("connect_micros", "BIGINT"),
+            new Column("tls_micros", "BIGINT"),
+            new Column("ttfb_micros", "BIGINT"),
+            new Column("total_micros", "BIGINT"),
+            new Column("outcome", "VARCHAR(16)"),
+            new Column("rtt_min_micros", "BIGINT"),
+            new Column("rtt_avg_micros", "BIGINT"),
+            new Column("rtt_max_micros", "BIGINT"),
+            new Column("jitter_micros", "BIGINT"),
+            new Column("loss_percent", "DOUBLE PRECISION"),
+            new Column("body_bytes", "BIGINT"),
+            new Column("assertions_passed", "BOOLEAN")
+    );
+
+    // Newest day first; partitions of the same day are ordered by retention.
+    private static final Comparator<ResultPartition> NEWEST_FIRST = Comparator
+            .comparing(ResultPartition::day, Comparator.reverseOrder())
+            .thenComparingInt(ResultPartition::retentionDays);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ResultRetentionProperties properties;
+    private final Set<ResultPartition> partitions = new ConcurrentSkipListSet<>(NEWEST_FIRST);
+
+    public ResultPartitionManager(JdbcTemplate jdbcTemplate, ResultRetentionProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * Discovers existing partitions, adds any columns they are missing and drops the expired ones.
+     */
+    @PostConstruct
+    void init() {
+        Map<ResultPartition, Set<String>> existing = new HashMap<>();
+        jdbcTemplate.query("SELECT TABLE_NAME, COLUMN_NAME FROM INFORMATION_SCHEMA.COLUMNS " +
+                        "WHERE TABLE_SCHEMA = SCHEMA() AND UPPER(TABLE_NAME) LIKE 'CHECK\\_RESULT\\_R%' ESCAPE '\\'",
+                rs -> {
+                    String column = rs.getString(2).toLowerCase(Locale.ROOT);
+                    ResultPartition.parse(rs.getString(1)).ifPresent(partition -> existing
+                            .computeIfAbsent(partition, p -> new HashSet<>())
+                            .add(column));
+                });
+        existing.forEach((partition, columns) -> {
+            for (Column column : COLUMNS) {
+                if (!columns.contains(column.name())) {
+                    log.info("Adding column '{}' to result partition {}.", column.name(), partition.tableName());
+                    jdbcTemplate.execute("ALTER TABLE " + partition.tableName() + " ADD COLUMN IF NOT EXISTS " + column.ddl());
+                }
+            }
+        });
+        partitions.addAll(existing.keySet());
+        log.info("Found {} check result partitions; default retention is {} days.", partitions.size(), properties.defaultDays());
+        dropExpired();
+    }
+
+    /**
+     * @return The retention of a command's results: the command's own, else its target's, else the default.
+     */
+    public int retentionDaysFor(CheckCommand command) {
+        if (command.getRetentionDays() != null) {
+            return command.getRetentionDays();
+        }
+        if (command.getApp() != null && command.getApp().getRetentionDays() != null) {
+            return command.getApp().getRetentionDays();
+        }
+        return properties.defaultDays();
+    }
+
+    /**
+     * Creates the partition's table and index unless they already exist. DDL commits implicitly on
+     * most databases, so this must not be called inside a transaction that writes results.
+     */
+    void ensure(ResultPartition partition) {
+        if (partitions.contains(partition)) {
+            return;
+        }
+        synchronized (this) {
+            if (partitions.contains(partition)) {
+                return;
+            }
+            String table = partition.tableName();
+            StringBuilder ddl = new StringBuilder("CREATE TABLE IF NOT EXISTS ").append(table).append(" (");
+            for (int i = 0; i < COLUMNS.size(); i++) {
+                ddl.append(i == 0 ? "" : ", ").append(COLUMNS.get(i).ddl());
+            }
+            jdbcTemplate.execute(ddl.append(")").toString());
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_" + table + "_command_ts ON " + table + " (check_command_id, timestamp)");
+            partitions.add(partition);
+            log.info("Created check result partition {}.", table);
+        }
+    }
+
+    /**
+     * @return The partitions whose day overlaps [from, to), newest day first.
+     */
+    List<ResultPartition> overlapping(Instant from, Instant to) {
+        return partitions.stream().filter(partition -> partition.overlaps(from, to)).toList();
+    }
+
+    /**
+     * @return All partitions, newest day first.
+     */
+    List<ResultPartition> all() {
+        return List.copyOf(partitions);
+    }
+
+    /**
+     * Drops every partition that has outlived its retention. A partition is removed from the
+     * known set before its table is dropped so that new queries no longer plan against it.
+     */
+    @Scheduled(fixedDelayString = "${synthetic.results.retention.check-interval:1h}",
+            initialDelayString = "${synthetic.results.retention.check-interval:1h}")
+    public void dropExpired() {
+        Instant now = Instant.now();
+        for (ResultPartition partition : List.copyOf(partitions)) {
+            if (!partition.isExpired(now)) {
+                continue;
+            }
+            partitions.remove(partition);
+            try {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition.tableName());
+                log.info("Dropped expired check result partition {} ({} day retention).", partition.tableName(), partition.retentionDays());
+            } catch (Exception e) {
+                partitions.add(partition);
+                log.error("Failed to drop expired check result partition {}: {}", partition.tableName(), e.getMessage(), e);
+            }
+        }
+    }
+
+    record Column(String name, String definition) {
+        String ddl() {
+            return name + " " + definition;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.check.entity.ResultRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ResultRunRepository extends JpaRepository<ResultRun, Long> {
+    /**
+     * Finds the runs of the given commands that have results in [from, to].
+     *
+     * @return The matching runs, latest end first.
+     */
+    @Query("SELECT r FROM ResultRun r WHERE r.commandId IN :commandIds AND r.endTime >= :from AND r.startTime <= :to " +
+            "ORDER BY r.endTime DESC, r.id DESC")
+    List<ResultRun> findOverlapping(@Param("commandIds") Collection<Long> commandIds,
+                                    @Param("from") Instant from,
+                                    @Param("to") Instant to);
+
+    /**
+     * Finds the runs of every command that have results in [from, to), in no particular order.
+     */
+    @Query("SELECT r FROM ResultRun r WHERE r.endTime >= :from AND r.startTime < :to")
+    List<ResultRun> findAllOverlapping(@Param("from") Instant from, @Param("to") Instant to);
+
+    @Modifying
+    @Query("DELETE FROM ResultRun r WHERE r.commandId = :commandId")
+    void deleteByCommandId(@Param("commandId") Long commandId);
+
+    @Modifying
+    @Query("DELETE FROM ResultRun r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,97 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.check.dto.CheckResultDto;
+import com.cognizant.vibe.synthetictesting.check.dto.ResultRunDto;
+import com.cognizant.vibe.synthetictesting.check.entity.ResultRun;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keeps the {@link ResultRun}s of {@code CHANGES_ONLY} commands next to the {@link RawResultStore}, and turns
+ * them back into results for readers that want every result.
+ */
+@Component
+public class ResultRunStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ResultRunStore.class);
+
+    private final ResultRunRepository resultRunRepository;
+
+    public ResultRunStore(ResultRunRepository resultRunRepository) {
+        this.resultRunRepository = resultRunRepository;
+    }
+
+    @Transactional
+    public void saveAll(List<ResultRun> runs) {
+        resultRunRepository.saveAll(runs);
+    }
+
+    /**
+     * @return The runs of the given commands with results in [from, to], latest end first.
+     */
+    @Transactional(readOnly = true)
+    public List<ResultRun> findOverlapping(Collection<Long> commandIds, Instant from, Instant to) {
+        return resultRunRepository.findOverlapping(commandIds, from, to);
+    }
+
+    /**
+     * @return The runs of every command with results in [from, to).
+     */
+    @Transactional(readOnly = true)
+    public List<ResultRun> findAllOverlapping(Instant from, Instant to) {
+        return resultRunRepository.findAllOverlapping(from, to);
+    }
+
+    @Transactional
+    public void deleteByCommandId(Long commandId) {
+        resultRunRepository.deleteByCommandId(commandId);
+    }
+
+    /**
+     * Deletes the runs that have outlived the retention of their command, on the schedule of the result partitions.
+     */
+    @Scheduled(fixedDelayString = "${synthetic.results.retention.check-interval:1h}",
+            initialDelayString = "${synthetic.results.retention.check-interval:1h}")
+    @Transactional
+    public void deleteExpired() {
+        int deleted = resultRunRepository.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            log.info("Deleted {} expired result runs.", deleted);
+        }
+    }
+
+    /**
+     * Stands in one result of a run: timestamps are spread evenly over the run and every result gets the run's
+     * mean response time. Such results have no ID.
+     *
+     * @param index The index of the result within the run, oldest first.
+     */
+    public static CheckResultDto toResult(ResultRun run, long index) {
+        return new CheckResultDto(null, run.getCommandId(), run.timestampOf(index), run.isSuccess(), run.getOutcome(),
+                run.meanResponseTimeMs(), run.getStatusCode(), null,
+                null, null, null, null, null, null, null, null, null, null, null, null);
+    }
+
+    /**
+     * @return The key a result standing in for a run sorts by, in place of an ID: it is negative, so such results
+     * come after stored ones with the same timestamp, and unique as long as runs stay shorter than
+     * {@link ResultCompactor#MAX_RUN_COUNT}.
+     */
+    public static long keyOf(ResultRun run, long index) {
+        return -(run.getId() * ResultCompactor.MAX_RUN_COUNT + index + 1);
+    }
+
+    public static ResultRunDto toDto(ResultRun run) {
+        return new ResultRunDto(run.getCommandId(), run.getStartTime(), run.getEndTime(), run.getCount(),
+                run.isSuccess(), run.getOutcome(), run.getStatusCode(),
+                run.getMinResponseTimeMs(), run.getMaxResponseTimeMs(),
+                run.getCount() == 0 ? 0 : (double) run.getSumResponseTimeMs() / run.getCount());
+    }
+}
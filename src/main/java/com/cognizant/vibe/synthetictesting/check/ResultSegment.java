@@ -0,0 +1,506 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.check.entity.CheckOutcome;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One file of fixed-width result records of a single {@link ResultPartition}, mapped into memory.
+ * <p>
+ * The file holds a {@value #HEADER_SIZE}-byte header followed by record slots of {@value #RECORD_SIZE} bytes:
+ * <pre>
+ *  0  command ID (long)                 8  timestamp in epoch nanos (long)
+ * 16  response time ms (int)           20  total micros (int, -1 if none)
+ * 24  status code (short, 0 if none)   26  flags: bit 0 success, bits 1-7 outcome ordinal
+ * 28  error dictionary ID (int)        32  connect micros (int, -1 if none)
+ * 36  TTFB micros (int, -1 if none)
+ * </pre>
+ * One writer appends records and then publishes the new count, so readers scan the mapping directly,
+ * without locks or copies. The time range of every block of records is kept, so scans skip the blocks
+ * outside their range, and newest-first scans stop at the first block after which nothing newer follows.
+ * A sealed segment also has a side file ({@code .idx}) listing, per command, the positions of its records;
+ * it is written when the segment is sealed and rebuilt if missing.
+ */
+final class ResultSegment {
+
+    static final String SUFFIX = ".seg";
+    static final String INDEX_SUFFIX = ".idx";
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 40;
+    static final int MAX_RECORDS = (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE;
+
+    private static final int MAGIC = 0x53524c47;
+    private static final int INDEX_MAGIC = 0x53524c49;
+    private static final int VERSION = 1;
+    private static final int CAPACITY_OFFSET = 12;
+    private static final int COUNT_OFFSET = 16;
+    private static final int INDEX_HEADER_SIZE = 24;
+    private static final Pattern FILE_NAME = Pattern.compile("(check_result_r\\d+_\\d{8})_(\\d+)\\.seg");
+
+    private final Path path;
+    private final ResultPartition partition;
+    private final long sequence;
+    private final int capacity;
+    private final int blockRecords;
+    private final MappedByteBuffer buffer;
+
+    // Written by the single writer before it publishes the count that covers them.
+    private final long[] blockMin;
+    private final long[] blockMax;
+    // Newest timestamp in this block or any before it.
+    private final long[] prefixMax;
+    private volatile long minNanos = Long.MAX_VALUE;
+    private volatile long maxNanos = Long.MIN_VALUE;
+    private volatile int count;
+    // Set once the segment is sealed; null while it is writable.
+    private volatile CommandIndex index;
+
+    private ResultSegment(Path path, ResultPartition partition, long sequence, int capacity, int blockRecords,
+                          MappedByteBuffer buffer, int count) {
+        this.path = path;
+        this.partition = partition;
+        this.sequence = sequence;
+        this.capacity = capacity;
+        this.blockRecords = blockRecords;
+        this.buffer = buffer;
+        int blocks = Math.max(1, (capacity + blockRecords - 1) / blockRecords);
+        this.blockMin = new long[blocks];
+        this.blockMax = new long[blocks];
+        this.prefixMax = new long[blocks];
+        Arrays.fill(blockMin, Long.MAX_VALUE);
+        Arrays.fill(blockMax, Long.MIN_VALUE);
+        Arrays.fill(prefixMax, Long.MIN_VALUE);
+        this.count = count;
+    }
+
+    /**
+     * Creates an empty, writable segment. The file is sized for {@code capacity} records up front but stays
+     * sparse until they are written.
+     */
+    static ResultSegment create(Path directory, ResultPartition partition, long sequence, int capacity,
+                                int blockRecords) throws IOException {
+        Path path = directory.resolve(partition.tableName() + "_" + sequence + SUFFIX);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * RECORD_SIZE);
+            buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, RECORD_SIZE)
+                    .putInt(CAPACITY_OFFSET, capacity).putInt(COUNT_OFFSET, 0);
+            return new ResultSegment(path, partition, sequence, capacity, blockRecords, buffer, 0);
+        }
+    }
+
+    /**
+     * Opens an existing segment as sealed and read-only. Records beyond the published count, such as those
+     * of a batch that was being written when the process died, are cut off together with the unused slots.
+     */
+    static ResultSegment open(Path path, int blockRecords) throws IOException {
+        Matcher matcher = FILE_NAME.matcher(path.getFileName().toString());
+        ResultPartition partition = matcher.matches() ? ResultPartition.parse(matcher.group(1)).orElse(null) : null;
+        if (partition == null) {
+            throw new IOException("Not a result segment file name: " + path.getFileName());
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            channel.read(header, 0);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION || header.getInt(8) != RECORD_SIZE) {
+                throw new IOException("Unsupported result segment format in " + path.getFileName());
+            }
+            int count = header.getInt(COUNT_OFFSET);
+            long size = HEADER_SIZE + (long) count * RECORD_SIZE;
+            if (channel.size() < size) {
+                throw new IOException("Result segment " + path.getFileName() + " is shorter than its " + count + " records");
+            }
+            if (channel.size() > size) {
+                channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, count), CAPACITY_OFFSET);
+                channel.truncate(size);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            ResultSegment segment = new ResultSegment(path, partition, Long.parseLong(matcher.group(2)),
+                    count, blockRecords, buffer, count);
+            segment.loadIndex();
+            return segment;
+        }
+    }
+
+    /**
+     * Appends a result; only one thread may append to a segment. The record becomes visible to readers at
+     * once, and survives a restart after the next {@link #publish()}.
+     *
+     * @return The position of the record in this segment.
+     */
+    int append(CheckResult result, int errorId) {
+        int position = count;
+        int offset = offset(position);
+        long nanos = epochNanos(result.getTimestamp());
+        buffer.putLong(offset, result.getCommand().getId())
+                .putLong(offset + 8, nanos)
+                .putInt(offset + 16, (int) Math.min(result.getResponseTimeMs(), Integer.MAX_VALUE))
+                .putInt(offset + 20, micros(result.getTotalMicros()))
+                .putShort(offset + 24, result.getStatusCode() == null ? 0 : result.getStatusCode().shortValue())
+                .put(offset + 26, (byte) ((result.getOutcome().ordinal() << 1) | (result.isSuccess() ? 1 : 0)))
+                .putInt(offset + 28, errorId)
+                .putInt(offset + 32, micros(result.getConnectMicros()))
+                .putInt(offset + 36, micros(result.getTtfbMicros()));
+        int block = position / blockRecords;
+        blockMin[block] = Math.min(blockMin[block], nanos);
+        blockMax[block] = Math.max(blockMax[block], nanos);
+        prefixMax[block] = Math.max(block == 0 ? Long.MIN_VALUE : prefixMax[block - 1], blockMax[block]);
+        minNanos = Math.min(minNanos, nanos);
+        maxNanos = Math.max(maxNanos, nanos);
+        count = position + 1;
+        return position;
+    }
+
+    /**
+     * Writes the record count to the header, so a restart sees every record appended so far.
+     */
+    void publish() {
+        buffer.putInt(COUNT_OFFSET, count);
+    }
+
+    /**
+     * Publishes and flushes the records and writes the command index; no records may be appended afterwards.
+     */
+    void seal() throws IOException {
+        publish();
+        buffer.force();
+        index = CommandIndex.write(this, indexPath());
+    }
+
+    /**
+     * Deletes the segment's files. The mapping itself is released once the segment is garbage collected.
+     */
+    void delete() throws IOException {
+        Files.deleteIfExists(indexPath());
+        Files.deleteIfExists(path);
+    }
+
+    /**
+     * Calls the action with the position of every record of one of the commands with a timestamp in
+     * [fromNanos, toNanos), newest block first, using the command index if the segment is sealed. Stops once
+     * every remaining record is older than {@code floor}, which the caller raises as it collects newer records.
+     */
+    void forEachMatch(Set<Long> commandIds, long fromNanos, long toNanos, LongSupplier floor, IntConsumer action) {
+        int published = count;
+        if (!overlaps(fromNanos, toNanos)) {
+            return;
+        }
+        CommandIndex commandIndex = index;
+        if (commandIndex == null) {
+            for (int block = (published - 1) / blockRecords; block >= 0; block--) {
+                if (prefixMax[block] < Math.max(fromNanos, floor.getAsLong())) {
+                    return;
+                }
+                if (blockMax[block] < fromNanos || blockMin[block] >= toNanos) {
+                    continue;
+                }
+                int start = block * blockRecords;
+                for (int position = Math.min(published, start + blockRecords) - 1; position >= start; position--) {
+                    long nanos = epochNanos(position);
+                    if (nanos >= fromNanos && nanos < toNanos && commandIds.contains(commandId(position))) {
+                        action.accept(position);
+                    }
+                }
+            }
+            return;
+        }
+        for (Long commandId : commandIds) {
+            commandIndex.forEachPosition(commandId, position -> {
+                if (prefixMax[position / blockRecords] < Math.max(fromNanos, floor.getAsLong())) {
+                    return false;
+                }
+                long nanos = epochNanos(position);
+                if (nanos >= fromNanos && nanos < toNanos) {
+                    action.accept(position);
+                }
+                return true;
+            });
+        }
+    }
+
+    /**
+     * Calls the action with the position of every record with a timestamp in [fromNanos, toNanos).
+     */
+    void forEachInRange(long fromNanos, long toNanos, IntConsumer action) {
+        int published = count;
+        if (!overlaps(fromNanos, toNanos)) {
+            return;
+        }
+        for (int start = 0; start < published; start += blockRecords) {
+            int block = start / blockRecords;
+            if (blockMax[block] < fromNanos || blockMin[block] >= toNanos) {
+                continue;
+            }
+            int end = Math.min(published, start + blockRecords);
+            for (int position = start; position < end; position++) {
+                long nanos = epochNanos(position);
+                if (nanos >= fromNanos && nanos < toNanos) {
+                    action.accept(position);
+                }
+            }
+        }
+    }
+
+    boolean overlaps(long fromNanos, long toNanos) {
+        return count > 0 && minNanos < toNanos && maxNanos >= fromNanos;
+    }
+
+    boolean isFull() {
+        return count >= capacity;
+    }
+
+    boolean isSealed() {
+        return index != null;
+    }
+
+    ResultPartition partition() {
+        return partition;
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long maxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * @return The result ID of the record: the segment sequence in the high and the position in the low 32 bits.
+     */
+    long id(int position) {
+        return (sequence << 32) | position;
+    }
+
+    long commandId(int position) {
+        return buffer.getLong(offset(position));
+    }
+
+    long epochNanos(int position) {
+        return buffer.getLong(offset(position) + 8);
+    }
+
+    long responseTimeMs(int position) {
+        return buffer.getInt(offset(position) + 16);
+    }
+
+    Long totalMicros(int position) {
+        return nullableMicros(buffer.getInt(offset(position) + 20));
+    }
+
+    Integer statusCode(int position) {
+        short status = buffer.getShort(offset(position) + 24);
+        return status == 0 ? null : (int) status;
+    }
+
+    boolean success(int position) {
+        return (buffer.get(offset(position) + 26) & 1) != 0;
+    }
+
+    CheckOutcome outcome(int position) {
+        return CheckOutcome.values()[(buffer.get(offset(position) + 26) & 0xff) >>> 1];
+    }
+
+    int errorId(int position) {
+        return buffer.getInt(offset(position) + 28);
+    }
+
+    Long connectMicros(int position) {
+        return nullableMicros(buffer.getInt(offset(position) + 32));
+    }
+
+    Long ttfbMicros(int position) {
+        return nullableMicros(buffer.getInt(offset(position) + 36));
+    }
+
+    /**
+     * @return The instant as nanoseconds since the epoch, saturated at the bounds of a long.
+     */
+    static long epochNanos(Instant instant) {
+        try {
+            return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000_000L), instant.getNano());
+        } catch (ArithmeticException e) {
+            return instant.getEpochSecond() < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    private void loadIndex() throws IOException {
+        CommandIndex existing = CommandIndex.read(this, indexPath());
+        if (existing == null) {
+            for (int position = 0; position < count; position++) {
+                long nanos = epochNanos(position);
+                int block = position / blockRecords;
+                blockMin[block] = Math.min(blockMin[block], nanos);
+                blockMax[block] = Math.max(blockMax[block], nanos);
+            }
+            existing = CommandIndex.write(this, indexPath());
+        }
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int block = 0; block * blockRecords < count; block++) {
+            min = Math.min(min, blockMin[block]);
+            max = Math.max(max, blockMax[block]);
+            prefixMax[block] = max;
+        }
+        minNanos = min;
+        maxNanos = max;
+        index = existing;
+    }
+
+    private Path indexPath() {
+        String name = path.getFileName().toString();
+        return path.resolveSibling(name.substring(0, name.length() - SUFFIX.length()) + INDEX_SUFFIX);
+    }
+
+    private static int offset(int position) {
+        return HEADER_SIZE + position * RECORD_SIZE;
+    }
+
+    private static int micros(Long micros) {
+        return micros == null ? -1 : (int) Math.min(micros, Integer.MAX_VALUE);
+    }
+
+    private static Long nullableMicros(int micros) {
+        return micros < 0 ? null : (long) micros;
+    }
+
+    /**
+     * Per-command positions of a sealed segment, read from its mapped {@code .idx} file. Layout: a
+     * {@value #INDEX_HEADER_SIZE}-byte header (magic, record count, block size, block count, command count),
+     * the min and max timestamp of every block, a table of (command ID, first entry, entries) sorted by
+     * command ID, and the record positions grouped by command.
+     */
+    private static final class CommandIndex {
+        private final MappedByteBuffer buffer;
+        private final int commands;
+        private final int commandTable;
+        private final int positions;
+
+        private CommandIndex(MappedByteBuffer buffer) {
+            this.buffer = buffer;
+            int blocks = buffer.getInt(12);
+            this.commands = buffer.getInt(16);
+            this.commandTable = INDEX_HEADER_SIZE + blocks * 16;
+            this.positions = commandTable + commands * 16;
+        }
+
+        /**
+         * @return The index, with the block ranges copied into the segment, or null if the file is missing
+         * or does not match the segment.
+         */
+        static CommandIndex read(ResultSegment segment, Path path) throws IOException {
+            if (!Files.exists(path)) {
+                return null;
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (buffer.capacity() < INDEX_HEADER_SIZE || buffer.getInt(0) != INDEX_MAGIC
+                        || buffer.getInt(4) != segment.count || buffer.getInt(8) != segment.blockRecords) {
+                    return null;
+                }
+                int blocks = buffer.getInt(12);
+                for (int block = 0; block < blocks; block++) {
+                    segment.blockMin[block] = buffer.getLong(INDEX_HEADER_SIZE + block * 16);
+                    segment.blockMax[block] = buffer.getLong(INDEX_HEADER_SIZE + block * 16 + 8);
+                }
+                return new CommandIndex(buffer);
+            }
+        }
+
+        static CommandIndex write(ResultSegment segment, Path path) throws IOException {
+            int count = segment.count;
+            Map<Long, int[]> entries = new HashMap<>(); // command ID -> {entries, next free entry}
+            for (int position = 0; position < count; position++) {
+                entries.computeIfAbsent(segment.commandId(position), id -> new int[2])[0]++;
+            }
+            long[] commandIds = entries.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+            int blocks = (count + segment.blockRecords - 1) / segment.blockRecords;
+            int commandTable = INDEX_HEADER_SIZE + blocks * 16;
+            int positions = commandTable + commandIds.length * 16;
+
+            ByteBuffer content = ByteBuffer.allocate(positions + count * Integer.BYTES)
+                    .putInt(0, INDEX_MAGIC).putInt(4, count).putInt(8, segment.blockRecords)
+                    .putInt(12, blocks).putInt(16, commandIds.length);
+            for (int block = 0; block < blocks; block++) {
+                content.putLong(INDEX_HEADER_SIZE + block * 16, segment.blockMin[block])
+                        .putLong(INDEX_HEADER_SIZE + block * 16 + 8, segment.blockMax[block]);
+            }
+            int first = 0;
+            for (int i = 0; i < commandIds.length; i++) {
+                int[] entry = entries.get(commandIds[i]);
+                content.putLong(commandTable + i * 16, commandIds[i])
+                        .putInt(commandTable + i * 16 + 8, first)
+                        .putInt(commandTable + i * 16 + 12, entry[0]);
+                entry[1] = first;
+                first += entry[0];
+            }
+            for (int position = 0; position < count; position++) {
+                int[] entry = entries.get(segment.commandId(position));
+                content.putInt(positions + entry[1]++ * Integer.BYTES, position);
+            }
+
+            Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                while (content.hasRemaining()) {
+                    channel.write(content);
+                }
+                channel.force(false);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            CommandIndex index = read(segment, path);
+            if (index == null) {
+                throw new IOException("Could not read back command index " + path.getFileName());
+            }
+            return index;
+        }
+
+        /**
+         * Calls the action with the command's positions, last first, until it returns false.
+         */
+        void forEachPosition(long commandId, IntPredicate action) {
+            int low = 0;
+            int high = commands - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                long id = buffer.getLong(commandTable + middle * 16);
+                if (id < commandId) {
+                    low = middle + 1;
+                } else if (id > commandId) {
+                    high = middle - 1;
+                } else {
+                    int first = buffer.getInt(commandTable + middle * 16 + 8);
+                    int entries = buffer.getInt(commandTable + middle * 16 + 12);
+                    for (int i = first + entries - 1; i >= first; i--) {
+                        if (!action.test(buffer.getInt(positions + i * Integer.BYTES))) {
+                            return;
+                        }
+                    }
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.check.dto.ReconcileResultDto;
+import com.cognizant.vibe.synthetictesting.check.dto.SchedulerStatsDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/scheduler")
+@Tag(name = "Scheduler", description = "APIs for the load of the check scheduler on this node.")
+@RequiredArgsConstructor
+public class SchedulerController {
+
+    private final CheckSchedulerService checkSchedulerService;
+
+    @GetMapping
+    @Operation(summary = "Get scheduler statistics",
+            description = "Returns the checks in flight and how often runs were skipped, coalesced, queued, delayed or shed, "
+                    + "in total and for the commands that were held back the most.")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved statistics")
+    public ResponseEntity<SchedulerStatsDto> getStats(
+            @Parameter(description = "Maximum number of commands to list.")
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(checkSchedulerService.getStats(limit));
+    }
+
+    @PostMapping("/reconcile")
+    @Operation(summary = "Reconcile scheduled checks with the database",
+            description = "Loads the checks of all enabled targets, schedules the missing ones this node owns, unschedules "
+                    + "the rest and updates changed ones in place. Needed only after the database was changed directly.")
+    @ApiResponse(responseCode = "200", description = "Successfully reconciled")
+    public ResponseEntity<ReconcileResultDto> reconcile() {
+        return ResponseEntity.ok(checkSchedulerService.reconcile());
+    }
+}
@@ -0,0 +1,286 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.config.TcpProbeProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.NonBlocking;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking TCP connect probes for TCP_PORT checks.
+ * <p>
+ * Probes are spread round-robin over {@link TcpProbeProperties#selectorThreads()} selector threads. Each thread
+ * opens a non-blocking {@link SocketChannel} per probe, starts the connect, and waits for it on its {@link Selector}
+ * together with every other probe it owns. Connect timeouts are kept in a per-thread deadline heap that bounds how
+ * long each select may block, so no timer thread is involved. Thousands of probes in flight therefore cost one
+ * socket each and a constant number of threads.
+ * <p>
+ * Futures are completed on the selector threads. They are marked {@link NonBlocking}, so code that must not
+ * block there, such as the result writer, can detect it.
+ */
+@Component
+public class TcpProbeEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(TcpProbeEngine.class);
+    // Connects started per selector pass. Completions are harvested between batches, so a burst of submissions
+    // does not delay timestamping the connects that finished meanwhile.
+    private static final int START_BATCH = 64;
+
+    private final TcpProbeProperties properties;
+    private final SelectorLoop[] loops;
+    private final AtomicInteger nextLoop = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public TcpProbeEngine(TcpProbeProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.loops = new SelectorLoop[properties.selectorThreads()];
+        for (int i = 0; i < loops.length; i++) {
+            loops[i] = new SelectorLoop("tcp-probe-" + i);
+        }
+        Gauge.builder("synthetic.tcp.probes.in.flight", inFlight, AtomicInteger::get)
+                .description("TCP_PORT connects in progress")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        for (SelectorLoop loop : loops) {
+            loop.thread.start();
+        }
+        log.info("TCP probe engine started with {} selector threads, at most {} connects in flight.",
+                loops.length, properties.maxInFlight());
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        for (SelectorLoop loop : loops) {
+            loop.running = false;
+            loop.selector.wakeup();
+        }
+        for (SelectorLoop loop : loops) {
+            loop.thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * Connects to the address and closes the connection again as soon as it is established.
+     *
+     * @param address A resolved address.
+     * @param timeout How long the connect may take.
+     * @return A future completing with the connect latency in nanoseconds, or exceptionally with a
+     * {@link SocketTimeoutException} on timeout, another {@link IOException} if the connect failed, or a
+     * {@link RejectedExecutionException} if {@link TcpProbeProperties#maxInFlight()} probes are already running.
+     */
+    public CompletableFuture<Long> connect(InetSocketAddress address, Duration timeout) {
+        if (inFlight.incrementAndGet() > properties.maxInFlight()) {
+            inFlight.decrementAndGet();
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    "too many TCP probes in flight (" + properties.maxInFlight() + ")"));
+        }
+        Probe probe = new Probe(address, timeout.toNanos());
+        probe.future.whenComplete((latency, error) -> inFlight.decrementAndGet());
+        loops[Math.floorMod(nextLoop.getAndIncrement(), loops.length)].submit(probe);
+        return probe.future;
+    }
+
+    /**
+     * @return The number of connects in progress.
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private static final class Probe {
+        private final InetSocketAddress address;
+        private final long timeoutNanos;
+        private final CompletableFuture<Long> future = new CompletableFuture<>();
+
+        // Only accessed by the owning selector thread.
+        private SocketChannel channel;
+        private long startNanos;
+        private long deadlineNanos;
+        private boolean done;
+
+        private Probe(InetSocketAddress address, long timeoutNanos) {
+            this.address = address;
+            this.timeoutNanos = timeoutNanos;
+        }
+    }
+
+    private static final class SelectorThread extends Thread implements NonBlocking {
+        private SelectorThread(Runnable task, String name) {
+            super(task, name);
+            setDaemon(true);
+        }
+    }
+
+    private static final class SelectorLoop implements Runnable {
+        private final Selector selector;
+        private final Thread thread;
+        private final Queue<Probe> submissions = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean wakeupPending = new AtomicBoolean();
+        // Deadlines of the probes owned by this thread; completed probes are skipped when they reach the head.
+        private final PriorityQueue<Probe> deadlines = new PriorityQueue<>(Comparator.comparingLong(p -> p.deadlineNanos));
+        private volatile boolean running = true;
+
+        private SelectorLoop(String name) {
+            try {
+                this.selector = Selector.open();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not open a selector for TCP probes", e);
+            }
+            this.thread = new SelectorThread(this, name);
+        }
+
+        private void submit(Probe probe) {
+            submissions.add(probe);
+            if (wakeupPending.compareAndSet(false, true)) {
+                selector.wakeup();
+            }
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                try {
+                    boolean backlog = startSubmitted();
+                    expire(System.nanoTime());
+                    if (backlog) {
+                        selector.selectNow();
+                    } else {
+                        selector.select(selectTimeoutMillis());
+                    }
+                    wakeupPending.set(false);
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        finishConnect((Probe) key.attachment());
+                    }
+                } catch (Throwable t) {
+                    log.error("TCP probe selector {} failed to process its probes", thread.getName(), t);
+                }
+            }
+            shutdown();
+        }
+
+        /**
+         * @return true if submissions are left for the next pass.
+         */
+        private boolean startSubmitted() {
+            for (int i = 0; i < START_BATCH; i++) {
+                Probe probe = submissions.poll();
+                if (probe == null) {
+                    return false;
+                }
+                try {
+                    SocketChannel channel = SocketChannel.open();
+                    probe.channel = channel;
+                    channel.configureBlocking(false);
+                    probe.startNanos = System.nanoTime();
+                    probe.deadlineNanos = probe.startNanos + probe.timeoutNanos;
+                    if (channel.connect(probe.address)) {
+                        succeed(probe, System.nanoTime());
+                    } else {
+                        channel.register(selector, SelectionKey.OP_CONNECT, probe);
+                        deadlines.add(probe);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    fail(probe, e);
+                }
+            }
+            return !submissions.isEmpty();
+        }
+
+        private void finishConnect(Probe probe) {
+            try {
+                if (probe.channel.finishConnect()) {
+                    succeed(probe, System.nanoTime());
+                }
+            } catch (IOException e) {
+                fail(probe, e);
+            }
+        }
+
+        private void expire(long now) {
+            Probe head;
+            while ((head = deadlines.peek()) != null && (head.done || now - head.deadlineNanos >= 0)) {
+                deadlines.poll();
+                if (!head.done) {
+                    fail(head, new SocketTimeoutException("Connect timed out after "
+                            + TimeUnit.NANOSECONDS.toMillis(head.timeoutNanos) + " ms"));
+                }
+            }
+        }
+
+        private long selectTimeoutMillis() {
+            Probe head = deadlines.peek();
+            if (head == null) {
+                return 0; // nothing to time out: block until a probe is submitted or a connect completes
+            }
+            long remaining = head.deadlineNanos - System.nanoTime();
+            return Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining) + 1);
+        }
+
+        private void succeed(Probe probe, long connectedNanos) {
+            close(probe);
+            probe.future.complete(connectedNanos - probe.startNanos);
+        }
+
+        private void fail(Probe probe, Throwable error) {
+            close(probe);
+            probe.future.completeExceptionally(error);
+        }
+
+        private void close(Probe probe) {
+            probe.done = true;
+            if (probe.channel != null) {
+                try {
+                    probe.channel.close(); // also cancels its selection key
+                } catch (IOException e) {
+                    log.debug("Could not close TCP probe socket to {}: {}", probe.address, e.getMessage());
+                }
+            }
+        }
+
+        private void shutdown() {
+            Probe probe;
+            while ((probe = submissions.poll()) != null) {
+                fail(probe, new RejectedExecutionException("TCP probe engine stopped"));
+            }
+            while ((probe = deadlines.poll()) != null) {
+                if (!probe.done) {
+                    fail(probe, new RejectedExecutionException("TCP probe engine stopped"));
+                }
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                log.debug("Could not close TCP probe selector: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.cognizant.vibe.synthetictesting.check.dto;
 
+import com.cognizant.vibe.synthetictesting.check.entity.CheckPriority;
 import com.cognizant.vibe.synthetictesting.check.entity.CommandType;
+import com.cognizant.vibe.synthetictesting.check.entity.HttpAssertions;
+import com.cognizant.vibe.synthetictesting.check.entity.OverrunPolicy;
+import com.cognizant.vibe.synthetictesting.check.entity.ResultStorageMode;
 import lombok.Builder;
 import lombok.Data;
 
@@ -11,4 +15,10 @@ public class CheckCommandDto {
     private CommandType type;
     private String parameters;
     private long intervalSeconds;
+    private Integer retentionDays;
+    private OverrunPolicy overrunPolicy;
+    private CheckPriority priority;
+    private Long maxIntervalSeconds;
+    private ResultStorageMode storageMode;
+    private HttpAssertions assertions;
 }
\ No newline at end of file
@@ -1,16 +1,35 @@
 package com.cognizant.vibe.synthetictesting.check.dto;
 
+import com.cognizant.vibe.synthetictesting.check.entity.CheckOutcome;
+
 import java.time.Instant;
 
 /**
  * A Data Transfer Object representing a single check result.
  * This is used to control the data exposed via the API.
+ * The *Micros fields break an HTTP GET check down into phases and are null where a phase did not happen.
+ * The rtt*, jitter and loss fields summarize the echo requests of a PING check.
+ * bodyBytes and assertionsPassed are set for GET checks with assertions.
  */
 public record CheckResultDto(
         Long id,
+        Long commandId,
         Instant timestamp,
         boolean success,
+        CheckOutcome outcome,
         long responseTimeMs,
         Integer statusCode,
-        String errorMessage
-) {}
\ No newline at end of file
+        String errorMessage,
+        Long dnsMicros,
+        Long connectMicros,
+        Long tlsMicros,
+        Long ttfbMicros,
+        Long totalMicros,
+        Long rttMinMicros,
+        Long rttAvgMicros,
+        Long rttMaxMicros,
+        Long jitterMicros,
+        Double lossPercent,
+        Long bodyBytes,
+        Boolean assertionsPassed
+) {}
@@ -0,0 +1,20 @@
+package com.cognizant.vibe.synthetictesting.check.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One page of check results for a target, newest first.
+ *
+ * @param runs       The runs of results that {@code CHANGES_ONLY} commands counted rather than stored, within the
+ *                   span of this page. Empty if the page was expanded, which lists their results among the others.
+ * @param nextCursor Opaque cursor for the next (older) page, or null if this is the last page.
+ */
+public record CheckResultPageDto(
+        Long targetId,
+        Instant from,
+        Instant to,
+        List<CheckResultDto> results,
+        List<ResultRunDto> runs,
+        String nextCursor
+) {}
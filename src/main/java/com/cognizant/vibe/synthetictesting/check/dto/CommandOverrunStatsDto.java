@@ -0,0 +1,28 @@
+package com.cognizant.vibe.synthetictesting.check.dto;
+
+import com.cognizant.vibe.synthetictesting.check.entity.CheckPriority;
+import com.cognizant.vibe.synthetictesting.check.entity.OverrunPolicy;
+
+/**
+ * How often a scheduled command was held back since it was scheduled on this node.
+ *
+ * @param intervalSeconds The interval the command runs at now; adaptive commands stretch and tighten it.
+ * @param inFlight  Whether a run of the command is in flight right now.
+ * @param skipped   Due runs dropped because a run was in flight.
+ * @param coalesced Due runs that were given the result of the run in flight.
+ * @param queued    Due runs that waited for the run in flight and started right after it.
+ * @param delayed   Runs that admission control postponed because too many checks were in flight.
+ * @param shed      Runs that admission control dropped.
+ */
+public record CommandOverrunStatsDto(
+        Long commandId,
+        OverrunPolicy overrunPolicy,
+        CheckPriority priority,
+        long intervalSeconds,
+        boolean inFlight,
+        long skipped,
+        long coalesced,
+        long queued,
+        long delayed,
+        long shed
+) {}
@@ -0,0 +1,16 @@
+package com.cognizant.vibe.synthetictesting.check.dto;
+
+/**
+ * What reconciling the scheduled commands with the database changed.
+ *
+ * @param added     Commands that were scheduled because they were missing.
+ * @param removed   Commands that were unscheduled because they were deleted, disabled or belong to another node.
+ * @param updated   Scheduled commands whose interval, parameters or target changed and were updated in place.
+ * @param scheduled Commands scheduled on this node afterwards.
+ */
+public record ReconcileResultDto(
+        int added,
+        int removed,
+        int updated,
+        int scheduled
+) {}
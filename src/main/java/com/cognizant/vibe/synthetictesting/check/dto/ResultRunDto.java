@@ -0,0 +1,26 @@
+package com.cognizant.vibe.synthetictesting.check.dto;
+
+import com.cognizant.vibe.synthetictesting.check.entity.CheckOutcome;
+
+import java.time.Instant;
+
+/**
+ * Consecutive results of a check command that were counted rather than stored, because they did not differ
+ * from the stored result before them.
+ *
+ * @param start The timestamp of the first result of the run.
+ * @param end   The timestamp of the last result of the run.
+ * @param count The number of results in the run.
+ */
+public record ResultRunDto(
+        Long commandId,
+        Instant start,
+        Instant end,
+        long count,
+        boolean success,
+        CheckOutcome outcome,
+        Integer statusCode,
+        long minResponseTimeMs,
+        long maxResponseTimeMs,
+        double avgResponseTimeMs
+) {}
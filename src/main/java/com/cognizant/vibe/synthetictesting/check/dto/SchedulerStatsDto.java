@@ -0,0 +1,26 @@
+package com.cognizant.vibe.synthetictesting.check.dto;
+
+import java.util.List;
+
+/**
+ * Load and overrun counts of the scheduler on this node. The counts cover the currently scheduled commands
+ * since they were scheduled.
+ *
+ * @param scheduledCommands   Commands armed on the timing wheel.
+ * @param commandsInFlight    Scheduled commands with a run in flight.
+ * @param checksInFlight      Check runs in flight as seen by admission control.
+ * @param maxChecksInFlight   The admission hard limit.
+ * @param commands            The commands that were held back at least once, most held back first.
+ */
+public record SchedulerStatsDto(
+        int scheduledCommands,
+        int commandsInFlight,
+        int checksInFlight,
+        int maxChecksInFlight,
+        long skipped,
+        long coalesced,
+        long queued,
+        long delayed,
+        long shed,
+        List<CommandOverrunStatsDto> commands
+) {}
@@ -1,13 +1,9 @@
 package com.cognizant.vibe.synthetictesting.check.entity;
 
 import com.cognizant.vibe.synthetictesting.app.entity.AppTarget;
-import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
-import java.util.ArrayList;
-import java.util.List;
-
 @Entity
 @Getter
 @Setter
@@ -31,10 +27,40 @@ public class CheckCommand {
     private long intervalSeconds;
 
     /**
-     * A list of all results for this command. When a command is deleted, all its results are deleted as well.
+     * Days to keep raw results of this command. Null falls back to the target's retention.
+     */
+    private Integer retentionDays;
+
+    /**
+     * What to do when the check is due while its previous run is in flight. Null falls back to
+     * {@code synthetic.checks.scheduler.overrun-policy}.
+     */
+    @Enumerated(EnumType.STRING)
+    private OverrunPolicy overrunPolicy;
+
+    /**
+     * How the check is treated when the scheduler is saturated. Null means NORMAL.
+     */
+    @Enumerated(EnumType.STRING)
+    private CheckPriority priority;
+
+    /**
+     * Longest interval an adaptive check may stretch to while it keeps passing. Null keeps the check at
+     * {@code intervalSeconds}, which is otherwise the interval it snaps back to on a failure.
+     */
+    private Long maxIntervalSeconds;
+
+    /**
+     * Which results are stored as rows; null stores all of them.
+     */
+    @Enumerated(EnumType.STRING)
+    private ResultStorageMode storageMode;
+
+    /**
+     * What a GET check expects of the response; null only expects a 2xx status.
      */
-    @OneToMany(mappedBy = "command", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
-    @JsonIgnore // Prevents serialization of potentially huge lists of results when fetching a command.
-    private List<CheckResult> results = new ArrayList<>();
+    @Convert(converter = HttpAssertionsConverter.class)
+    @Column(length = 4000)
+    private HttpAssertions assertions;
 
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.cognizant.vibe.synthetictesting.check.entity;
+
+/**
+ * How a check execution ended.
+ */
+public enum CheckOutcome {
+    /**
+     * The target answered as expected.
+     */
+    SUCCESS,
+
+    /**
+     * The target was resolved but the check failed.
+     */
+    FAILURE,
+
+    /**
+     * The target's host name could not be resolved, so it was never contacted.
+     */
+    DNS_FAILURE
+}
@@ -0,0 +1,21 @@
+package com.cognizant.vibe.synthetictesting.check.entity;
+
+/**
+ * How a check is treated when the scheduler is saturated.
+ */
+public enum CheckPriority {
+    /**
+     * Delayed once when the soft limit of checks in flight is reached, and shed if it is still reached then.
+     */
+    LOW,
+
+    /**
+     * Runs until the hard limit of checks in flight is reached, and is shed beyond it.
+     */
+    NORMAL,
+
+    /**
+     * Always runs.
+     */
+    HIGH
+}
@@ -1,29 +1,61 @@
 package com.cognizant.vibe.synthetictesting.check.entity;
 
-import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.Instant;
 
-@Entity
+/**
+ * The outcome of one check execution. Results are not JPA entities: they are written to
+ * time-partitioned tables by {@link com.cognizant.vibe.synthetictesting.check.CheckResultRepository}.
+ */
 @Getter
 @Setter
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class CheckResult {
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    /**
+     * Assigned when the result is persisted.
+     */
     private Long id;
 
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "check_command_id", nullable = false)
     private CheckCommand command;
 
     private Instant timestamp;
 
     private boolean success;
+    /**
+     * Set when it says more than {@link #success}; otherwise derived from it.
+     */
+    private CheckOutcome outcome;
     private long responseTimeMs;
     private Integer statusCode; // for HTTP, nullable
     private String errorMessage;
+
+    // Phase timings of HTTP GET checks in microseconds; null for other checks and for phases
+    // that did not happen, such as DNS, connect and TLS on a reused connection.
+    private Long dnsMicros;
+    private Long connectMicros;
+    private Long tlsMicros;
+    private Long ttfbMicros;
+    private Long totalMicros;
+
+    // Statistics over the echo requests of a PING check; the RTTs and jitter are null if no reply came back.
+    private Long rttMinMicros;
+    private Long rttAvgMicros;
+    private Long rttMaxMicros;
+    private Long jitterMicros;
+    private Double lossPercent;
+
+    // Body bytes a GET check with assertions read before it decided them, and whether its assertions held;
+    // both null for checks without assertions.
+    private Long bodyBytes;
+    private Boolean assertionsPassed;
+
+    public CheckOutcome getOutcome() {
+        if (outcome != null) {
+            return outcome;
+        }
+        return success ? CheckOutcome.SUCCESS : CheckOutcome.FAILURE;
+    }
 }
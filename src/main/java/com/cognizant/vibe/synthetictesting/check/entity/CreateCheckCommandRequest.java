@@ -1,5 +1,7 @@
 package com.cognizant.vibe.synthetictesting.check.entity;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
@@ -13,5 +15,31 @@ public record CreateCheckCommandRequest(
         String parameters,
 
         @Min(value = 5, message = "Interval must be at least 5 seconds")
-        long intervalSeconds
-) {}
+        long intervalSeconds,
+
+        @Min(value = 1, message = "Retention must be at least 1 day")
+        Integer retentionDays,
+
+        OverrunPolicy overrunPolicy,
+
+        CheckPriority priority,
+
+        @Min(value = 5, message = "Maximum interval must be at least 5 seconds")
+        Long maxIntervalSeconds,
+
+        ResultStorageMode storageMode,
+
+        @Valid
+        HttpAssertions assertions
+) {
+
+    @AssertTrue(message = "Maximum interval cannot be below the interval")
+    public boolean isMaxIntervalValid() {
+        return maxIntervalSeconds == null || maxIntervalSeconds >= intervalSeconds;
+    }
+
+    @AssertTrue(message = "Assertions only apply to GET checks")
+    public boolean isAssertionsValid() {
+        return assertions == null || type == CommandType.GET;
+    }
+}
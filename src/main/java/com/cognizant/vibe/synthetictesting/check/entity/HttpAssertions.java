@@ -0,0 +1,69 @@
+package com.cognizant.vibe.synthetictesting.check.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonPointer;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Positive;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What a GET check expects of the response, on top of it arriving at all. Every assertion that is set must hold
+ * for the check to succeed. The body is only read if a body assertion is set, and only as far as it takes to
+ * decide them.
+ *
+ * @param statusCodes  The status codes that pass; null passes any 2xx.
+ * @param headers      Headers that must be present, by name, each with a value that contains the given text.
+ * @param bodyContains Text the body must contain.
+ * @param jsonPointer  A JSON pointer (e.g. {@code /status} or {@code /items/0/id}) to a value the body, parsed as
+ *                     JSON, must have.
+ * @param jsonValue    The text the value at {@code jsonPointer} must equal; null only requires it to be there.
+ * @param maxBodyBytes The largest body that passes. Without it, bodies are read up to
+ *                     {@code synthetic.checks.http.max-body-bytes} while assertions are undecided.
+ */
+public record HttpAssertions(
+        List<Integer> statusCodes,
+        Map<String, String> headers,
+        String bodyContains,
+        String jsonPointer,
+        String jsonValue,
+        @Positive(message = "Maximum body size must be positive")
+        Long maxBodyBytes
+) {
+
+    /**
+     * @return true if the body has to be read to decide these assertions.
+     */
+    @JsonIgnore
+    public boolean hasBodyAssertions() {
+        return bodyContains != null || jsonPointer != null || maxBodyBytes != null;
+    }
+
+    /**
+     * @return true if no assertion is set.
+     */
+    @JsonIgnore
+    public boolean isEmpty() {
+        return statusCodes == null && (headers == null || headers.isEmpty()) && !hasBodyAssertions();
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "'bodyContains' cannot be empty")
+    public boolean isBodyContainsValid() {
+        return bodyContains == null || !bodyContains.isEmpty();
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "'jsonPointer' must be a JSON pointer such as /status, and 'jsonValue' needs one")
+    public boolean isJsonPointerValid() {
+        if (jsonPointer == null) {
+            return jsonValue == null;
+        }
+        try {
+            return !JsonPointer.compile(jsonPointer).matches();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
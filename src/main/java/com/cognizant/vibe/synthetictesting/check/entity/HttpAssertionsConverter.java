@@ -0,0 +1,39 @@
+package com.cognizant.vibe.synthetictesting.check.entity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores {@link HttpAssertions} as a JSON document in a single column.
+ */
+@Converter
+public class HttpAssertionsConverter implements AttributeConverter<HttpAssertions, String> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Override
+    public String convertToDatabaseColumn(HttpAssertions assertions) {
+        if (assertions == null) {
+            return null;
+        }
+        try {
+            return MAPPER.writeValueAsString(assertions);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not serialize HTTP assertions", e);
+        }
+    }
+
+    @Override
+    public HttpAssertions convertToEntityAttribute(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return MAPPER.readValue(json, HttpAssertions.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not read HTTP assertions: " + json, e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.cognizant.vibe.synthetictesting.check.entity;
+
+/**
+ * What happens when a check is due again while its previous run is still in flight.
+ */
+public enum OverrunPolicy {
+    /**
+     * The due run is dropped; the check next runs at its following slot.
+     */
+    SKIP,
+
+    /**
+     * One due run is queued and starts as soon as the run in flight finishes; further due runs are dropped.
+     */
+    QUEUE_ONE,
+
+    /**
+     * No extra run is started; the result of the run in flight is recorded for the due slot as well,
+     * so the check has a result for every slot without probing the target twice.
+     */
+    COALESCE
+}
@@ -0,0 +1,68 @@
+package com.cognizant.vibe.synthetictesting.check.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Consecutive results of a {@link ResultStorageMode#CHANGES_ONLY} command that were not stored because they
+ * matched the stored result before them: same success, outcome and status code, and a response time within
+ * the latency band. Only their count and response time statistics are kept.
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_result_run_command_end", columnList = "commandId, endTime"),
+        @Index(name = "idx_result_run_expires", columnList = "expiresAt")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long commandId;
+
+    /**
+     * Timestamps of the first and the last result of the run.
+     */
+    private Instant startTime;
+    private Instant endTime;
+
+    private long count;
+    private boolean success;
+    @Enumerated(EnumType.STRING)
+    private CheckOutcome outcome;
+    private Integer statusCode;
+    private long minResponseTimeMs;
+    private long maxResponseTimeMs;
+    private long sumResponseTimeMs;
+
+    /**
+     * When the run has outlived the result retention of its command.
+     */
+    private Instant expiresAt;
+
+    /**
+     * Estimates the timestamp of one result of the run, spreading the results evenly between its first and
+     * last timestamp.
+     *
+     * @param index The index of the result, from 0 (the first) to {@code count - 1} (the last).
+     */
+    public Instant timestampOf(long index) {
+        if (count < 2) {
+            return startTime;
+        }
+        long spanMicros = ChronoUnit.MICROS.between(startTime, endTime);
+        return startTime.plus(spanMicros * index / (count - 1), ChronoUnit.MICROS);
+    }
+
+    public long meanResponseTimeMs() {
+        return count == 0 ? 0 : sumResponseTimeMs / count;
+    }
+}
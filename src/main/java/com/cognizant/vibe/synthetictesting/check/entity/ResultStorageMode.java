@@ -0,0 +1,18 @@
+package com.cognizant.vibe.synthetictesting.check.entity;
+
+/**
+ * Which results of a check command are stored as raw result rows.
+ */
+public enum ResultStorageMode {
+    /**
+     * Every result is stored.
+     */
+    ALL,
+
+    /**
+     * A result is stored when the command's state changes (success, outcome or status code, or a response time
+     * outside the latency band) and as a periodic heartbeat. The results in between are only counted, as
+     * {@link ResultRun}s.
+     */
+    CHANGES_ONLY
+}
@@ -0,0 +1,30 @@
+package com.cognizant.vibe.synthetictesting.check.entity;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+
+/**
+ * DTO for changing an existing CheckCommand in place. Fields left out (null) are not changed.
+ * A {@code maxIntervalSeconds} of 0 turns adaptive intervals off, and empty {@code assertions} remove them.
+ */
+public record UpdateCheckCommandRequest(
+        String parameters,
+
+        @Min(value = 5, message = "Interval must be at least 5 seconds")
+        Long intervalSeconds,
+
+        @Min(value = 1, message = "Retention must be at least 1 day")
+        Integer retentionDays,
+
+        OverrunPolicy overrunPolicy,
+
+        CheckPriority priority,
+
+        @Min(value = 0, message = "Maximum interval cannot be negative")
+        Long maxIntervalSeconds,
+
+        ResultStorageMode storageMode,
+
+        @Valid
+        HttpAssertions assertions
+) {}
@@ -0,0 +1,235 @@
+package com.cognizant.vibe.synthetictesting.cluster;
+
+import com.cognizant.vibe.synthetictesting.cluster.entity.PartitionLease;
+import com.cognizant.vibe.synthetictesting.cluster.entity.SchedulerNode;
+import com.cognizant.vibe.synthetictesting.config.ClusterProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Shares check command partitions between the nodes of a cluster through the common database.
+ * <p>
+ * Every renewal round a node writes its heartbeat, builds a {@link ConsistentHashRing} from all nodes with a recent
+ * heartbeat, and walks the partitions in order: it claims or renews the leases of the partitions the ring assigns to
+ * it and releases any others it still holds. A partition that moves is released by its old owner in that owner's next
+ * round, only after the owner has stopped executing its commands, and claimed by the new owner in the round after, so
+ * it is never executed by two nodes at once. If a node
+ * stops renewing, its leases expire and the remaining nodes take its partitions over.
+ * <p>
+ * A node that cannot reach the database stops executing before its leases can expire. Lease times are taken from
+ * each node's clock, so clocks must agree to well within the lease duration.
+ */
+@Component
+public class ClusterCoordinator {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterCoordinator.class);
+    // Nodes silent for this many lease durations are removed from the node table.
+    private static final int NODE_EXPIRY_LEASES = 10;
+
+    private final ClusterProperties properties;
+    private final SchedulerNodeRepository nodeRepository;
+    private final PartitionLeaseRepository leaseRepository;
+    private final PartitionOwnership partitionOwnership;
+    private final TransactionTemplate transactionTemplate;
+    private final String nodeId;
+    private final Instant startedAt = Instant.now();
+
+    // Only accessed by the renewal thread, and by shutdown once renewals have stopped.
+    private boolean leasesCreated;
+    private Set<Integer> heldPartitions = Set.of();
+    private Instant heldUntil = Instant.EPOCH;
+
+    public ClusterCoordinator(ClusterProperties properties,
+                              SchedulerNodeRepository nodeRepository,
+                              PartitionLeaseRepository leaseRepository,
+                              PartitionOwnership partitionOwnership,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.nodeRepository = nodeRepository;
+        this.leaseRepository = leaseRepository;
+        this.partitionOwnership = partitionOwnership;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.nodeId = properties.nodeId().isBlank() ? hostName() + "-" + ProcessHandle.current().pid() : properties.nodeId();
+        Gauge.builder("synthetic.cluster.partitions.owned", partitionOwnership, o -> o.ownedPartitions().size())
+                .description("Check command partitions executed by this node")
+                .register(meterRegistry);
+        if (properties.enabled()) {
+            log.info("Clustered scheduling enabled: node '{}', {} partitions, lease duration {}.",
+                    nodeId, properties.partitions(), properties.leaseDuration());
+        }
+    }
+
+    /**
+     * @return The ID of this node in the cluster.
+     */
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Runs one renewal round: heartbeat, rebalance, claiming and renewing leases, and then releasing the leases of
+     * partitions that moved away once their commands have stopped.
+     */
+    @Scheduled(fixedDelayString = "${synthetic.cluster.renew-interval:10s}")
+    public void renew() {
+        if (!properties.enabled()) {
+            return;
+        }
+        Instant now = Instant.now();
+        Set<Integer> toRelease = Set.of();
+        try {
+            if (!leasesCreated) {
+                transactionTemplate.executeWithoutResult(status -> createLeases());
+                leasesCreated = true;
+            }
+            Rebalance rebalance = transactionTemplate.execute(status -> rebalance(now));
+            logChanges(heldPartitions, rebalance.claimed());
+            heldPartitions = rebalance.claimed();
+            heldUntil = now.plus(properties.leaseDuration());
+            toRelease = rebalance.toRelease();
+        } catch (Exception e) {
+            log.error("Could not renew partition leases of node '{}': {}", nodeId, e.getMessage(), e);
+            if (!heldPartitions.isEmpty() && !now.plus(properties.renewInterval()).isBefore(heldUntil)) {
+                // The leases would expire before the next attempt; another node may take them over by then.
+                log.warn("Node '{}' stops executing its {} partitions until its leases can be renewed.",
+                        nodeId, heldPartitions.size());
+                heldPartitions = Set.of();
+            }
+        }
+        // The listeners unschedule the commands of partitions this node no longer holds before returning.
+        partitionOwnership.update(heldPartitions);
+        if (!toRelease.isEmpty()) {
+            release(toRelease);
+        }
+    }
+
+    /**
+     * Hands all partitions back and leaves the cluster, so the other nodes take over without waiting for expiry.
+     */
+    @PreDestroy
+    void shutdown() {
+        if (!properties.enabled()) {
+            return;
+        }
+        partitionOwnership.update(Set.of());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Integer partitionId : leaseRepository.findPartitionIdsByOwnerNodeId(nodeId)) {
+                    leaseRepository.release(partitionId, nodeId);
+                }
+                nodeRepository.deleteById(nodeId);
+            });
+            log.info("Node '{}' released its partitions and left the cluster.", nodeId);
+        } catch (Exception e) {
+            log.warn("Node '{}' could not release its partitions; they are taken over once the leases expire: {}",
+                    nodeId, e.getMessage());
+        }
+    }
+
+    private void createLeases() {
+        Set<Integer> existing = new HashSet<>();
+        leaseRepository.findAll().forEach(lease -> existing.add(lease.getPartitionId()));
+        if (existing.size() > properties.partitions()) {
+            log.warn("The database has {} partition leases but this node uses {}; all nodes must use the same partition count.",
+                    existing.size(), properties.partitions());
+        }
+        List<PartitionLease> missing = new ArrayList<>();
+        for (int partitionId = 0; partitionId < properties.partitions(); partitionId++) {
+            if (!existing.contains(partitionId)) {
+                missing.add(PartitionLease.builder().partitionId(partitionId).build());
+            }
+        }
+        leaseRepository.saveAll(missing);
+    }
+
+    /**
+     * Writes the heartbeat and claims or renews the leases of the partitions the ring assigns to this node.
+     *
+     * @return The partitions claimed, and those this node still holds a lease on but no longer owns.
+     */
+    private Rebalance rebalance(Instant now) {
+        nodeRepository.save(SchedulerNode.builder()
+                .id(nodeId)
+                .hostName(hostName())
+                .startedAt(startedAt)
+                .heartbeatAt(now)
+                .build());
+        nodeRepository.deleteByHeartbeatAtBefore(now.minus(properties.leaseDuration().multipliedBy(NODE_EXPIRY_LEASES)));
+
+        Set<String> liveNodes = new TreeSet<>(nodeRepository.findLiveNodeIds(now.minus(properties.leaseDuration())));
+        liveNodes.add(nodeId);
+        ConsistentHashRing ring = new ConsistentHashRing(liveNodes, properties.virtualNodes());
+        Set<Integer> held = new HashSet<>(leaseRepository.findPartitionIdsByOwnerNodeId(nodeId));
+
+        // Partitions are visited in ascending order on every node, so concurrent rounds lock lease rows in the
+        // same order and cannot deadlock.
+        Set<Integer> claimed = new TreeSet<>();
+        Set<Integer> toRelease = new TreeSet<>();
+        Instant expiresAt = now.plus(properties.leaseDuration());
+        for (int partitionId = 0; partitionId < properties.partitions(); partitionId++) {
+            if (nodeId.equals(ring.ownerOf(partitionId))) {
+                if (leaseRepository.claim(partitionId, nodeId, now, expiresAt) == 1) {
+                    claimed.add(partitionId);
+                }
+            } else if (held.contains(partitionId)) {
+                toRelease.add(partitionId);
+            }
+        }
+        return new Rebalance(claimed, toRelease);
+    }
+
+    /**
+     * Releases leases in ascending order, like {@link #rebalance}. If that fails the leases are no longer renewed,
+     * so they expire and the new owners take the partitions over then.
+     */
+    private void release(Set<Integer> partitionIds) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Integer partitionId : new TreeSet<>(partitionIds)) {
+                    leaseRepository.release(partitionId, nodeId);
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Node '{}' could not release partitions {}; they are taken over once the leases expire: {}",
+                    nodeId, partitionIds, e.getMessage());
+        }
+    }
+
+    private void logChanges(Set<Integer> before, Set<Integer> after) {
+        if (before.equals(after)) {
+            return;
+        }
+        Set<Integer> gained = new TreeSet<>(after);
+        gained.removeAll(before);
+        Set<Integer> lost = new TreeSet<>(before);
+        lost.removeAll(after);
+        log.info("Node '{}' now holds {} partitions (gained {}, released {}).", nodeId, after.size(), gained, lost);
+    }
+
+    private record Rebalance(Set<Integer> claimed, Set<Integer> toRelease) {}
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "localhost";
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.cognizant.vibe.synthetictesting.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.zip.CRC32C;
+
+/**
+ * Consistent-hash ring that maps partitions to nodes. Each node is placed on the ring at several points,
+ * and a partition belongs to the first node point at or after the partition's own hash. When a node joins
+ * or leaves only the partitions next to its points move; every other partition keeps its owner.
+ * <p>
+ * Every node builds the ring from the same set of live node IDs, so they all agree on the assignment without
+ * talking to each other.
+ */
+final class ConsistentHashRing {
+
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+    /**
+     * @param nodeIds      The IDs of the live nodes.
+     * @param virtualNodes Points per node on the ring.
+     */
+    ConsistentHashRing(Collection<String> nodeIds, int virtualNodes) {
+        for (String nodeId : nodeIds) {
+            for (int i = 0; i < virtualNodes; i++) {
+                // On the rare hash collision the node with the smaller ID wins, on every node alike.
+                ring.merge(hash(nodeId + "#" + i), nodeId, (a, b) -> a.compareTo(b) <= 0 ? a : b);
+            }
+        }
+    }
+
+    /**
+     * @return The node owning the partition, or null if the ring is empty.
+     */
+    String ownerOf(int partitionId) {
+        if (ring.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash("partition-" + partitionId));
+        return (entry != null ? entry : ring.firstEntry()).getValue();
+    }
+
+    private static long hash(String key) {
+        // A stable hash, so nodes running different JVMs agree on positions.
+        CRC32C crc = new CRC32C();
+        crc.update(key.getBytes(StandardCharsets.UTF_8));
+        return Hashing.mix(crc.getValue());
+    }
+}
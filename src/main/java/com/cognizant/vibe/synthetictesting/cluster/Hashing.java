@@ -0,0 +1,19 @@
+package com.cognizant.vibe.synthetictesting.cluster;
+
+/**
+ * Hash helpers shared by partitioning, the hash ring and the scheduling phase of check commands.
+ */
+public final class Hashing {
+
+    private Hashing() {
+    }
+
+    /**
+     * MurmurHash3 64-bit finalizer; turns sequential or clustered values into well spread ones.
+     */
+    public static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,49 @@
+package com.cognizant.vibe.synthetictesting.cluster;
+
+import com.cognizant.vibe.synthetictesting.cluster.entity.PartitionLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface PartitionLeaseRepository extends JpaRepository<PartitionLease, Integer> {
+    /**
+     * Claims or renews a lease in one conditional update. It only succeeds if the partition is free, its lease has
+     * expired or the node already holds it, so two nodes can never both hold an unexpired lease.
+     *
+     * @param partitionId The partition to claim.
+     * @param nodeId      The claiming node.
+     * @param now         The current time; leases that expired before it may be taken over.
+     * @param expiresAt   The new expiry of the lease.
+     * @return 1 if the node now holds the lease, 0 if another node does.
+     */
+    @Modifying
+    @Query("UPDATE PartitionLease l SET l.epoch = CASE WHEN l.ownerNodeId = :nodeId THEN l.epoch ELSE l.epoch + 1 END, " +
+            "l.ownerNodeId = :nodeId, l.expiresAt = :expiresAt " +
+            "WHERE l.partitionId = :partitionId AND (l.ownerNodeId IS NULL OR l.ownerNodeId = :nodeId OR l.expiresAt < :now)")
+    int claim(@Param("partitionId") Integer partitionId,
+              @Param("nodeId") String nodeId,
+              @Param("now") Instant now,
+              @Param("expiresAt") Instant expiresAt);
+
+    /**
+     * Gives up a lease if the node still holds it, so another node can claim it without waiting for it to expire.
+     *
+     * @return 1 if the lease was released.
+     */
+    @Modifying
+    @Query("UPDATE PartitionLease l SET l.ownerNodeId = NULL, l.expiresAt = NULL " +
+            "WHERE l.partitionId = :partitionId AND l.ownerNodeId = :nodeId")
+    int release(@Param("partitionId") Integer partitionId, @Param("nodeId") String nodeId);
+
+    /**
+     * @return The IDs of the partitions the node holds, including leases that have already expired.
+     */
+    @Query("SELECT l.partitionId FROM PartitionLease l WHERE l.ownerNodeId = :nodeId")
+    List<Integer> findPartitionIdsByOwnerNodeId(@Param("nodeId") String nodeId);
+}
@@ -0,0 +1,87 @@
+package com.cognizant.vibe.synthetictesting.cluster;
+
+import com.cognizant.vibe.synthetictesting.config.ClusterProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Answers which check commands this node executes. Commands are hashed into {@link ClusterProperties#partitions()}
+ * partitions by ID; a node runs the commands of the partitions it holds a lease on. Without clustering the node
+ * holds every partition.
+ */
+@Component
+public class PartitionOwnership {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionOwnership.class);
+    // Keeps the partition hash independent of the scheduling phase, which is derived from the same ID.
+    private static final long PARTITION_SEED = 0x9e3779b97f4a7c15L;
+
+    private final ClusterProperties properties;
+    private final List<PartitionOwnershipListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile Set<Integer> ownedPartitions;
+
+    public PartitionOwnership(ClusterProperties properties) {
+        this.properties = properties;
+        this.ownedPartitions = properties.enabled() ? Set.of()
+                : IntStream.range(0, properties.partitions()).boxed().collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * @return Whether this node shares check commands with other nodes.
+     */
+    public boolean isClustered() {
+        return properties.enabled();
+    }
+
+    /**
+     * @return The partition a command belongs to; the same on every node.
+     */
+    public int partitionOf(long commandId) {
+        return Math.floorMod(Hashing.mix(commandId + PARTITION_SEED), properties.partitions());
+    }
+
+    /**
+     * @return true if this node should execute the command.
+     */
+    public boolean owns(long commandId) {
+        return ownedPartitions.contains(partitionOf(commandId));
+    }
+
+    /**
+     * @return The partitions this node currently holds.
+     */
+    public Set<Integer> ownedPartitions() {
+        return ownedPartitions;
+    }
+
+    public void addListener(PartitionOwnershipListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Replaces the held partitions and notifies the listeners of them and of what changed.
+     */
+    void update(Set<Integer> partitions) {
+        Set<Integer> previous = ownedPartitions;
+        ownedPartitions = Set.copyOf(partitions);
+        Set<Integer> gained = new HashSet<>(ownedPartitions);
+        gained.removeAll(previous);
+        Set<Integer> lost = new HashSet<>(previous);
+        lost.removeAll(ownedPartitions);
+        for (PartitionOwnershipListener listener : listeners) {
+            try {
+                listener.onOwnershipRenewed(ownedPartitions, Set.copyOf(gained), Set.copyOf(lost));
+            } catch (Exception e) {
+                log.warn("Partition ownership listener {} failed: {}", listener.getClass().getSimpleName(), e.getMessage(), e);
+            }
+        }
+    }
+}
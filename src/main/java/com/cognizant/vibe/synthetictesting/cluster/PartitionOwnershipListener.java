@@ -0,0 +1,22 @@
+package com.cognizant.vibe.synthetictesting.cluster;
+
+import java.util.Set;
+
+/**
+ * Notified after every lease renewal round of a clustered node.
+ */
+public interface PartitionOwnershipListener {
+
+    /**
+     * Called with the partitions this node holds after a renewal round, also when they did not change, so
+     * listeners can periodically pick up commands that were created or deleted through other nodes.
+     * <p>
+     * The leases of lost partitions are released only after every listener has returned, so a listener must
+     * stop executing their commands before it returns.
+     *
+     * @param ownedPartitions The partitions this node now holds.
+     * @param gained          The partitions held now but not after the previous round.
+     * @param lost            The partitions held after the previous round but not now.
+     */
+    void onOwnershipRenewed(Set<Integer> ownedPartitions, Set<Integer> gained, Set<Integer> lost);
+}
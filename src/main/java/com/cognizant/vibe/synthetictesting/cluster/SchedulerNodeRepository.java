@@ -0,0 +1,30 @@
+package com.cognizant.vibe.synthetictesting.cluster;
+
+import com.cognizant.vibe.synthetictesting.cluster.entity.SchedulerNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface SchedulerNodeRepository extends JpaRepository<SchedulerNode, String> {
+    /**
+     * @param since The oldest heartbeat that still counts as alive.
+     * @return The IDs of the nodes that sent a heartbeat since then.
+     */
+    @Query("SELECT n.id FROM SchedulerNode n WHERE n.heartbeatAt >= :since")
+    List<String> findLiveNodeIds(@Param("since") Instant since);
+
+    /**
+     * Removes nodes that stopped sending heartbeats before the given time.
+     *
+     * @return The number of nodes removed.
+     */
+    @Modifying
+    @Query("DELETE FROM SchedulerNode n WHERE n.heartbeatAt < :before")
+    int deleteByHeartbeatAtBefore(@Param("before") Instant before);
+}
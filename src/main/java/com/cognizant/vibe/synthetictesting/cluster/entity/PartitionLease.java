@@ -0,0 +1,33 @@
+package com.cognizant.vibe.synthetictesting.cluster.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Ownership of one command partition. A lease is claimed and renewed with conditional updates, so at most one
+ * node holds an unexpired lease on a partition at any time.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PartitionLease {
+    @Id
+    private Integer partitionId;
+
+    /**
+     * The node holding the lease, or null if the partition is free.
+     */
+    private String ownerNodeId;
+
+    private Instant expiresAt;
+
+    /**
+     * Incremented every time the partition changes owner.
+     */
+    private long epoch;
+}
@@ -0,0 +1,27 @@
+package com.cognizant.vibe.synthetictesting.cluster.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * A running instance of the scheduler. Nodes whose heartbeat is older than the lease duration are
+ * considered gone and their partitions are handed to the remaining nodes.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerNode {
+    @Id
+    private String id;
+
+    private String hostName;
+
+    private Instant startedAt;
+
+    private Instant heartbeatAt;
+}
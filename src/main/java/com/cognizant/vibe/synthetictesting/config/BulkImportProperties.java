@@ -0,0 +1,16 @@
+package com.cognizant.vibe.synthetictesting.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for bulk imports of targets and checks, bound from {@code synthetic.import.*}.
+ *
+ * @param batchSize Maximum number of targets stored in one transaction; their checks go in the same transaction.
+ * @param maxErrors Maximum number of failed targets listed in the result. Further failures are only counted.
+ */
+@ConfigurationProperties(prefix = "synthetic.import")
+public record BulkImportProperties(
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("1000") int maxErrors
+) {}
@@ -0,0 +1,20 @@
+package com.cognizant.vibe.synthetictesting.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Limits on how many checks may be in flight at once, bound from {@code synthetic.checks.admission.*}.
+ *
+ * @param maxInFlight       Hard limit; beyond it only HIGH priority checks start.
+ * @param softLimitFraction Fraction of {@code maxInFlight} from which LOW priority checks are delayed.
+ * @param lowPriorityDelay  How long a LOW priority check waits before it tries again once.
+ */
+@ConfigurationProperties(prefix = "synthetic.checks.admission")
+public record CheckAdmissionProperties(
+        @DefaultValue("20000") int maxInFlight,
+        @DefaultValue("0.8") double softLimitFraction,
+        @DefaultValue("1s") Duration lowPriorityDelay
+) {}
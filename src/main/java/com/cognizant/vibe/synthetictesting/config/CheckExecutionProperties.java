@@ -0,0 +1,34 @@
+package com.cognizant.vibe.synthetictesting.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Controls where checks run, bound from {@code synthetic.checks.execution.*}.
+ *
+ * @param mode              Where blocking PING probes run.
+ * @param schedulerPoolSize Number of platform threads in the check scheduler pool.
+ * @param maxBlockingProbes Maximum number of blocking probes running at once in {@link Mode#VIRTUAL} mode.
+ * @param maxWaitingProbes  Maximum number of blocking probes waiting for one of those slots; further probes are
+ *                          rejected and their checks fail.
+ */
+@ConfigurationProperties(prefix = "synthetic.checks.execution")
+public record CheckExecutionProperties(
+        @DefaultValue("PLATFORM") Mode mode,
+        @DefaultValue("10") int schedulerPoolSize,
+        @DefaultValue("10000") int maxBlockingProbes,
+        @DefaultValue("10000") int maxWaitingProbes
+) {
+
+    public enum Mode {
+        /**
+         * Blocking probes run directly on the scheduler pool threads.
+         */
+        PLATFORM,
+
+        /**
+         * The scheduler pool only triggers checks; each blocking probe runs on its own virtual thread.
+         */
+        VIRTUAL
+    }
+}
@@ -0,0 +1,19 @@
+package com.cognizant.vibe.synthetictesting.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for per-command check metrics, bound from {@code synthetic.metrics.*}.
+ *
+ * @param maxCommands        Maximum number of commands that get their own meters. Results of further
+ *                           commands are recorded under {@code target="other", command="other"}.
+ * @param maxExpectedLatency Upper end of the latency histogram buckets.
+ */
+@ConfigurationProperties(prefix = "synthetic.metrics")
+public record CheckMetricsProperties(
+        @DefaultValue("10000") int maxCommands,
+        @DefaultValue("60s") Duration maxExpectedLatency
+) {}
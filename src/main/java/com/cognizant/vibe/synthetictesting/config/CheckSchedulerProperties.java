@@ -0,0 +1,41 @@
+package com.cognizant.vibe.synthetictesting.config;
+
+import com.cognizant.vibe.synthetictesting.check.entity.OverrunPolicy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the timing wheel that triggers check commands, bound from {@code synthetic.checks.scheduler.*}.
+ *
+ * @param tickDuration  Resolution of the timing wheel; checks fire at most one tick late.
+ * @param wheelSize     Number of wheel buckets. One revolution covers {@code tickDuration * wheelSize}.
+ * @param jitter        Random delay added to every run, as a fraction of the command interval (0 disables it).
+ * @param overrunPolicy What to do when a check is due while its previous run is in flight, unless the command sets its own.
+ * @param reconcileInterval How often a clustered node reconciles all its commands with the database, which picks up
+ *                          commands created, changed or deleted through other nodes.
+ * @param adaptive      How commands with a {@code maxIntervalSeconds} adapt their interval.
+ */
+@ConfigurationProperties(prefix = "synthetic.checks.scheduler")
+public record CheckSchedulerProperties(
+        @DefaultValue("100ms") Duration tickDuration,
+        @DefaultValue("512") int wheelSize,
+        @DefaultValue("0") double jitter,
+        @DefaultValue("SKIP") OverrunPolicy overrunPolicy,
+        @DefaultValue("1m") Duration reconcileInterval,
+        @DefaultValue Adaptive adaptive
+) {
+
+    /**
+     * @param passesPerStep            Consecutive passes after which the interval is stretched once more.
+     * @param backoffFactor            Factor by which each step stretches the interval, up to the command's maximum.
+     * @param latencyDegradationFactor A pass slower than this multiple of the command's usual response time counts
+     *                                 as a degradation and tightens the interval like a failure.
+     */
+    public record Adaptive(
+            @DefaultValue("5") int passesPerStep,
+            @DefaultValue("2.0") double backoffFactor,
+            @DefaultValue("3.0") double latencyDegradationFactor
+    ) {}
+}
@@ -0,0 +1,29 @@
+package com.cognizant.vibe.synthetictesting.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for running several instances against one database, bound from {@code synthetic.cluster.*}.
+ * Check commands are hashed into a fixed number of partitions, and each partition is executed only by the node
+ * holding its lease.
+ *
+ * @param enabled       Whether to share check commands with other nodes. When disabled this node runs every command.
+ * @param nodeId        Name of this node in the cluster; blank picks the host name and process ID.
+ * @param partitions    Number of partitions commands are hashed into. All nodes must use the same value.
+ * @param leaseDuration How long a lease stays valid without renewal, and how long a silent node is still considered alive.
+ * @param renewInterval How often leases and the node heartbeat are renewed and partitions rebalanced. Must be well
+ *                      below {@code leaseDuration}.
+ * @param virtualNodes  Points per node on the consistent-hash ring; more points spread partitions more evenly.
+ */
+@ConfigurationProperties(prefix = "synthetic.cluster")
+public record ClusterProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("") String nodeId,
+        @DefaultValue("64") int partitions,
+        @DefaultValue("30s") Duration leaseDuration,
+        @DefaultValue("10s") Duration renewInterval,
+        @DefaultValue("100") int virtualNodes
+) {}
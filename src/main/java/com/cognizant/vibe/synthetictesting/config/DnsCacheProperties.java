@@ -0,0 +1,27 @@
+package com.cognizant.vibe.synthetictesting.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the DNS cache shared by all checks, bound from {@code synthetic.dns.*}.
+ *
+ * @param minTtl       Lower bound applied to the TTL of DNS answers.
+ * @param maxTtl       Upper bound applied to the TTL of DNS answers; also used for hosts-file entries, which have no TTL.
+ * @param negativeTtl  How long a failed lookup is remembered before the name is queried again.
+ * @param staleTtl     How long after expiry an entry may still be served while it is refreshed in the background,
+ *                     or while the DNS servers cannot be reached.
+ * @param queryTimeout Timeout of a single DNS query.
+ * @param maxEntries   Maximum number of host names kept in the cache.
+ */
+@ConfigurationProperties(prefix = "synthetic.dns")
+public record DnsCacheProperties(
+        @DefaultValue("5s") Duration minTtl,
+        @DefaultValue("10m") Duration maxTtl,
+        @DefaultValue("30s") Duration negativeTtl,
+        @DefaultValue("5m") Duration staleTtl,
+        @DefaultValue("5s") Duration queryTimeout,
+        @DefaultValue("10000") int maxEntries
+) {}
@@ -0,0 +1,30 @@
+package com.cognizant.vibe.synthetictesting.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Tuning knobs for HTTP GET checks, bound from {@code synthetic.checks.http.*}.
+ *
+ * @param timeout                 Maximum time a single GET check may take before it is recorded as failed.
+ * @param maxConcurrency          Maximum number of GET checks in flight across all targets.
+ * @param maxConcurrencyPerTarget Maximum number of GET checks in flight against a single target.
+ * @param maxPending              Maximum number of GET checks waiting for a permit before new ones are rejected.
+ * @param maxIdleTime             How long an idle pooled connection is kept. A check that finds no idle connection
+ *                                opens a new one, and only then are its DNS, connect and TLS phases measured.
+ * @param maxBodyBytes            How much of a body a check with body assertions reads at most, unless the check
+ *                                asserts a maximum body size itself. Reading stops earlier once the assertions
+ *                                are decided.
+ */
+@ConfigurationProperties(prefix = "synthetic.checks.http")
+public record HttpCheckProperties(
+        @DefaultValue("10s") Duration timeout,
+        @DefaultValue("2000") int maxConcurrency,
+        @DefaultValue("20") int maxConcurrencyPerTarget,
+        @DefaultValue("10000") int maxPending,
+        @DefaultValue("5s") Duration maxIdleTime,
+        @DefaultValue("1MB") DataSize maxBodyBytes
+) {}
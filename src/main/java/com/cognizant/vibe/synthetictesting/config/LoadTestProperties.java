@@ -0,0 +1,34 @@
+package com.cognizant.vibe.synthetictesting.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the load-test mode (Spring profile {@code loadtest}), bound from {@code synthetic.loadtest.*}.
+ *
+ * @param targets         Number of simulated targets to register, each with one check command.
+ * @param httpShare       Share of targets checked with HTTP GET; the rest are checked with TCP_PORT.
+ * @param intervalSeconds Interval of every registered check.
+ * @param duration        How long to drive the checks before reporting.
+ * @param latency         Base response latency of the simulated HTTP endpoints.
+ * @param latencyJitter   Random extra latency, uniformly distributed in [0, latencyJitter].
+ * @param errorRate       Share of HTTP requests answered with 500, and of TCP targets that refuse connections.
+ * @param hangRate        Share of HTTP requests never answered, and of TCP targets that never complete the handshake.
+ * @param reportFile      File the final report is also written to; empty to only log it.
+ * @param exitWhenDone    Whether to shut the application down after the report.
+ */
+@ConfigurationProperties(prefix = "synthetic.loadtest")
+public record LoadTestProperties(
+        @DefaultValue("2000") int targets,
+        @DefaultValue("0.8") double httpShare,
+        @DefaultValue("10") long intervalSeconds,
+        @DefaultValue("5m") Duration duration,
+        @DefaultValue("50ms") Duration latency,
+        @DefaultValue("50ms") Duration latencyJitter,
+        @DefaultValue("0.02") double errorRate,
+        @DefaultValue("0.005") double hangRate,
+        @DefaultValue("") String reportFile,
+        @DefaultValue("true") boolean exitWhenDone
+) {}
@@ -0,0 +1,23 @@
+package com.cognizant.vibe.synthetictesting.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+/**
+ * Settings of the memory-mapped raw result store, used when {@code synthetic.results.store=mmap},
+ * bound from {@code synthetic.results.mmap.*}.
+ *
+ * @param directory         Where segment, index and error dictionary files are kept.
+ * @param segmentRecords    Number of results per segment file; each takes 40 bytes.
+ * @param indexBlockRecords Number of consecutive results whose time range is tracked together, so scans can skip them.
+ * @param maxErrorMessages  Maximum number of distinct error messages kept; later new messages are replaced by a placeholder.
+ */
+@ConfigurationProperties(prefix = "synthetic.results.mmap")
+public record MappedResultStoreProperties(
+        @DefaultValue("./data/results") Path directory,
+        @DefaultValue("1048576") int segmentRecords,
+        @DefaultValue("4096") int indexBlockRecords,
+        @DefaultValue("100000") int maxErrorMessages
+) {}
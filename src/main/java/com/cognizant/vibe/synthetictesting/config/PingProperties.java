@@ -0,0 +1,23 @@
+package com.cognizant.vibe.synthetictesting.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Defaults for PING checks, bound from {@code synthetic.checks.ping.*}. A check's parameters
+ * ({@code timeoutMs[:count[:intervalMs]]}) override them.
+ *
+ * @param defaultTimeout  How long to wait for each echo reply.
+ * @param defaultCount    Number of echo requests sent per execution.
+ * @param defaultInterval Gap between the end of one echo request and the start of the next.
+ * @param maxCount        Upper bound for the count a check may ask for.
+ */
+@ConfigurationProperties(prefix = "synthetic.checks.ping")
+public record PingProperties(
+        @DefaultValue("5s") Duration defaultTimeout,
+        @DefaultValue("3") int defaultCount,
+        @DefaultValue("200ms") Duration defaultInterval,
+        @DefaultValue("20") int maxCount
+) {}
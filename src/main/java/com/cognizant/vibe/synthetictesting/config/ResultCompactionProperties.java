@@ -0,0 +1,23 @@
+package com.cognizant.vibe.synthetictesting.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * How the results of {@code CHANGES_ONLY} check commands are compacted, bound from {@code synthetic.results.compaction.*}.
+ *
+ * @param heartbeatInterval How often a result is stored while a command's state does not change. A command that
+ *                          produces no result for this long has its open run stored as well.
+ * @param latencyBand       How far, as a fraction of the last stored response time, a response time may move
+ *                          before the result is stored as a change.
+ * @param latencyBandMinMs  The least distance, in milliseconds, that counts as leaving the latency band, so
+ *                          fast checks are not stored for every millisecond of noise.
+ */
+@ConfigurationProperties(prefix = "synthetic.results.compaction")
+public record ResultCompactionProperties(
+        @DefaultValue("15m") Duration heartbeatInterval,
+        @DefaultValue("0.5") double latencyBand,
+        @DefaultValue("50") long latencyBandMinMs
+) {}
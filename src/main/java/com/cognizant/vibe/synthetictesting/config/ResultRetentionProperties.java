@@ -0,0 +1,18 @@
+package com.cognizant.vibe.synthetictesting.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Retention of raw check results, bound from {@code synthetic.results.retention.*}.
+ *
+ * @param defaultDays   Days to keep results of commands whose command and target set no retention of their own.
+ * @param checkInterval How often expired result partitions are looked for and dropped.
+ */
+@ConfigurationProperties(prefix = "synthetic.results.retention")
+public record ResultRetentionProperties(
+        @DefaultValue("30") int defaultDays,
+        @DefaultValue("1h") Duration checkInterval
+) {}
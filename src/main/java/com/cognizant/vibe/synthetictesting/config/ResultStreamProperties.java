@@ -0,0 +1,21 @@
+package com.cognizant.vibe.synthetictesting.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the live result stream, bound from {@code synthetic.stream.*}.
+ *
+ * @param maxSubscribers    Maximum number of open streams; further subscriptions are refused.
+ * @param bufferSize        Results buffered per stream for a slow client before the oldest are dropped.
+ * @param heartbeatInterval Time between heartbeat comments, which keep idle streams open through proxies and
+ *                          notice clients that went away.
+ */
+@ConfigurationProperties(prefix = "synthetic.stream")
+public record ResultStreamProperties(
+        @DefaultValue("100") int maxSubscribers,
+        @DefaultValue("1000") int bufferSize,
+        @DefaultValue("15s") Duration heartbeatInterval
+) {}
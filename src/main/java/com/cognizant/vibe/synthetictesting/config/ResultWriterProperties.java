@@ -0,0 +1,43 @@
+package com.cognizant.vibe.synthetictesting.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the write-behind stage that persists check results, bound from {@code synthetic.results.writer.*}.
+ *
+ * @param queueCapacity  Maximum number of results waiting to be written.
+ * @param batchSize      Maximum number of results written in one transaction.
+ * @param flushInterval  Maximum time a result waits in the queue before a partial batch is written.
+ * @param overflowPolicy What to do with a new result when the queue is full.
+ * @param blockTimeout   How long {@link OverflowPolicy#BLOCK} waits for space before dropping the result.
+ */
+@ConfigurationProperties(prefix = "synthetic.results.writer")
+public record ResultWriterProperties(
+        @DefaultValue("50000") int queueCapacity,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("1s") Duration flushInterval,
+        @DefaultValue("BLOCK") OverflowPolicy overflowPolicy,
+        @DefaultValue("5s") Duration blockTimeout
+) {
+
+    public enum OverflowPolicy {
+        /**
+         * Wait for space, applying backpressure to the probe that produced the result.
+         * An event-loop thread must not wait, so a result produced on one is dropped instead.
+         */
+        BLOCK,
+
+        /**
+         * Discard the new result.
+         */
+        DROP_NEWEST,
+
+        /**
+         * Discard the oldest queued result to make room for the new one.
+         */
+        DROP_OLDEST
+    }
+}
@@ -0,0 +1,20 @@
+package com.cognizant.vibe.synthetictesting.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for minute, hour and day rollups, bound from {@code synthetic.rollups.*}.
+ *
+ * @param flushInterval      How often the in-memory rollup changes of a node are merged into the rollup table.
+ * @param rebuildSettleTime  How long after a bucket has ended, on top of the flush interval, a rebuild leaves it alone.
+ *                           Until then a node may still hold unflushed changes for it, which would be counted twice.
+ *                           Should exceed the longest check timeout.
+ */
+@ConfigurationProperties(prefix = "synthetic.rollups")
+public record RollupProperties(
+        @DefaultValue("10s") Duration flushInterval,
+        @DefaultValue("1m") Duration rebuildSettleTime
+) {}
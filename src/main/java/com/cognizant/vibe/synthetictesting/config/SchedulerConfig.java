@@ -1,7 +1,10 @@
 package com.cognizant.vibe.synthetictesting.config;
 
+import com.cognizant.vibe.synthetictesting.check.HashedTimingWheel;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -10,17 +13,42 @@ import java.util.concurrent.ScheduledExecutorService;
  * Configuration class for application-wide scheduler services.
  */
 @Configuration
+@EnableScheduling
 public class SchedulerConfig {
 
     /**
      * Creates a thread pool for running scheduled tasks like health checks.
-     * The size can be configured based on expected load.
+     * The size is configured through {@code synthetic.checks.execution.scheduler-pool-size}.
      * @return A centrally managed ScheduledExecutorService.
      */
     @Bean(destroyMethod = "shutdown")
-    public ScheduledExecutorService checkSchedulerExecutor() {
-        // A pool of 10 threads should be sufficient for a moderate number of checks.
-        // This can be externalized to application.properties if needed.
-        return Executors.newScheduledThreadPool(10);
+    public ScheduledExecutorService checkSchedulerExecutor(CheckExecutionProperties properties) {
+        return Executors.newScheduledThreadPool(properties.schedulerPoolSize());
     }
-}
\ No newline at end of file
+
+    /**
+     * Creates the timing wheel that decides when each check command is due.
+     * Due checks are handed to {@code checkSchedulerExecutor} for execution.
+     * @return A started HashedTimingWheel.
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public HashedTimingWheel checkTimingWheel(CheckSchedulerProperties properties,
+                                              ScheduledExecutorService checkSchedulerExecutor) {
+        return new HashedTimingWheel("check-timing-wheel", properties.tickDuration(), properties.wheelSize(),
+                checkSchedulerExecutor);
+    }
+
+    /**
+     * Creates the scheduler for background maintenance such as rollup flushes. It is kept apart from
+     * {@code checkSchedulerExecutor} so that database work never competes with check execution.
+     * @return The TaskScheduler used by {@code @Scheduled} methods.
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        // Rollup flushes, retention and cluster lease renewals each get a thread, so a slow one cannot delay a renewal.
+        scheduler.setPoolSize(3);
+        scheduler.setThreadNamePrefix("maintenance-");
+        return scheduler;
+    }
+}
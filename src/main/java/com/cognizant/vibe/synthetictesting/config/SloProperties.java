@@ -0,0 +1,23 @@
+package com.cognizant.vibe.synthetictesting.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings for service level objectives, bound from {@code synthetic.slo.*}.
+ *
+ * @param burnRateWindows  Recent windows over which the burn rate of every objective's error budget is reported.
+ * @param bucketsPerWindow Number of buckets each sliding window is split into. More buckets let windows slide in
+ *                         smaller steps at the cost of memory; bucket widths are rounded to whole minutes.
+ * @param reconcileInterval When clustered, how often the objectives are reloaded and their windows rebuilt from the
+ *                          rollups flushed by every node.
+ */
+@ConfigurationProperties(prefix = "synthetic.slo")
+public record SloProperties(
+        @DefaultValue({"1h", "6h"}) List<Duration> burnRateWindows,
+        @DefaultValue("60") int bucketsPerWindow,
+        @DefaultValue("1m") Duration reconcileInterval
+) {}
@@ -0,0 +1,14 @@
+package com.cognizant.vibe.synthetictesting.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the in-memory status of check commands, bound from {@code synthetic.status.*}.
+ *
+ * @param historySize Number of most recent results kept in memory per command.
+ */
+@ConfigurationProperties(prefix = "synthetic.status")
+public record StatusProperties(
+        @DefaultValue("60") int historySize
+) {}
@@ -0,0 +1,21 @@
+package com.cognizant.vibe.synthetictesting.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the non-blocking TCP_PORT probe engine, bound from {@code synthetic.checks.tcp.*}.
+ *
+ * @param selectorThreads Number of selector threads multiplexing the connects.
+ * @param maxInFlight     Maximum number of connects in progress at once; further probes fail immediately.
+ *                        Each one holds a socket, so keep this below the process file descriptor limit.
+ * @param defaultTimeout  Connect timeout of checks whose parameters do not set one.
+ */
+@ConfigurationProperties(prefix = "synthetic.checks.tcp")
+public record TcpProbeProperties(
+        @DefaultValue("2") int selectorThreads,
+        @DefaultValue("10000") int maxInFlight,
+        @DefaultValue("5s") Duration defaultTimeout
+) {}
@@ -1,15 +1,40 @@
 package com.cognizant.vibe.synthetictesting.config;
 
+import com.cognizant.vibe.synthetictesting.check.DnsResolverCache;
+import com.cognizant.vibe.synthetictesting.check.HttpPhaseTimings;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
 public class WebClientConfig {
 
+    /**
+     * A connection pool large enough for every GET check that the concurrency limiter lets through,
+     * so checks never queue a second time inside reactor-netty.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider checkConnectionProvider(HttpCheckProperties properties) {
+        return ConnectionProvider.builder("synthetic-checks")
+                .maxConnections(properties.maxConcurrency())
+                .pendingAcquireMaxCount(properties.maxPending())
+                .pendingAcquireTimeout(properties.timeout())
+                .maxIdleTime(properties.maxIdleTime())
+                .build();
+    }
+
     @Bean
-    public WebClient webClient(WebClient.Builder webClientBuilder) {
-        return webClientBuilder.build();
+    public WebClient webClient(WebClient.Builder webClientBuilder, ConnectionProvider checkConnectionProvider,
+                               HttpCheckProperties properties, DnsResolverCache dnsResolverCache) {
+        HttpClient httpClient = HttpPhaseTimings.instrument(HttpClient.create(checkConnectionProvider)
+                .resolver(dnsResolverCache.addressResolverGroup())
+                .responseTimeout(properties.timeout()));
+        return webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
     }
 
 }
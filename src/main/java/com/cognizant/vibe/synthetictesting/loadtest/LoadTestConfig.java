@@ -0,0 +1,45 @@
+package com.cognizant.vibe.synthetictesting.loadtest;
+
+import com.cognizant.vibe.synthetictesting.config.LoadTestProperties;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Duration;
+import java.util.Set;
+
+@Configuration
+@Profile("loadtest")
+public class LoadTestConfig {
+
+    // Covers registering the targets and draining the writer, so nothing recorded during the run expires before the report.
+    private static final Duration REPORT_MARGIN = Duration.ofHours(1);
+
+    static final Set<String> REPORTED_TIMERS = Set.of("synthetic.scheduler.lag", "synthetic.results.flush");
+
+    /**
+     * Makes the timers quoted in the load-test report keep percentiles over the whole run, with two
+     * significant digits, instead of Micrometer's default rolling two-minute window.
+     */
+    @Bean
+    public MeterFilter loadTestPercentiles(LoadTestProperties properties) {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!REPORTED_TIMERS.contains(id.getName())) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentiles(0.5, 0.9, 0.99, 0.999)
+                        .percentilePrecision(2)
+                        .expiry(properties.duration().plus(REPORT_MARGIN))
+                        .bufferLength(1)
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package com.cognizant.vibe.synthetictesting.loadtest;
+
+import com.cognizant.vibe.synthetictesting.check.CheckResultListener;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+import com.cognizant.vibe.synthetictesting.rollup.LatencyHistogram;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the check results produced during a load test and keeps a histogram of their response times.
+ */
+@Component
+@Profile("loadtest")
+public class LoadTestRecorder implements CheckResultListener {
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LatencyHistogram responseTimes = new LatencyHistogram();
+
+    @Override
+    public void onCheckResult(CheckResult result) {
+        completed.increment();
+        if (!result.isSuccess()) {
+            failed.increment();
+        }
+        synchronized (responseTimes) {
+            responseTimes.record(result.getResponseTimeMs());
+        }
+    }
+
+    long completed() {
+        return completed.sum();
+    }
+
+    long failed() {
+        return failed.sum();
+    }
+
+    LatencyHistogram responseTimes() {
+        synchronized (responseTimes) {
+            return responseTimes.copy();
+        }
+    }
+}
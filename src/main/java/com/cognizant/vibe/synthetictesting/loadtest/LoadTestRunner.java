@@ -0,0 +1,269 @@
+package com.cognizant.vibe.synthetictesting.loadtest;
+
+import com.cognizant.vibe.synthetictesting.app.AppTargetRepository;
+import com.cognizant.vibe.synthetictesting.app.entity.AppTarget;
+import com.cognizant.vibe.synthetictesting.app.entity.TargetType;
+import com.cognizant.vibe.synthetictesting.check.BlockingProbeExecutor;
+import com.cognizant.vibe.synthetictesting.check.CheckCommandRepository;
+import com.cognizant.vibe.synthetictesting.check.CheckResultWriter;
+import com.cognizant.vibe.synthetictesting.check.CheckSchedulerService;
+import com.cognizant.vibe.synthetictesting.check.HashedTimingWheel;
+import com.cognizant.vibe.synthetictesting.check.HttpCheckConcurrencyLimiter;
+import com.cognizant.vibe.synthetictesting.check.TcpProbeEngine;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckCommand;
+import com.cognizant.vibe.synthetictesting.check.entity.CommandType;
+import com.cognizant.vibe.synthetictesting.config.HttpCheckProperties;
+import com.cognizant.vibe.synthetictesting.config.LoadTestProperties;
+import com.cognizant.vibe.synthetictesting.rollup.LatencyHistogram;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Drives a load test when the {@code loadtest} profile is active: registers {@code synthetic.loadtest.targets}
+ * targets against the {@link SimulatedFleet}, lets the scheduler run them for the configured duration while
+ * sampling executor saturation every second, and then reports throughput, schedule lag, saturation and
+ * persistence figures.
+ */
+@Component
+@Profile("loadtest")
+public class LoadTestRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private final LoadTestProperties properties;
+    private final HttpCheckProperties httpCheckProperties;
+    private final SimulatedFleet fleet;
+    private final LoadTestRecorder recorder;
+    private final AppTargetRepository appTargetRepository;
+    private final CheckCommandRepository checkCommandRepository;
+    private final CheckSchedulerService checkSchedulerService;
+    private final HttpCheckConcurrencyLimiter httpCheckConcurrencyLimiter;
+    private final TcpProbeEngine tcpProbeEngine;
+    private final BlockingProbeExecutor blockingProbeExecutor;
+    private final ScheduledExecutorService checkSchedulerExecutor;
+    private final HashedTimingWheel checkTimingWheel;
+    private final CheckResultWriter checkResultWriter;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final ConfigurableApplicationContext context;
+
+    public LoadTestRunner(LoadTestProperties properties,
+                          HttpCheckProperties httpCheckProperties,
+                          SimulatedFleet fleet,
+                          LoadTestRecorder recorder,
+                          AppTargetRepository appTargetRepository,
+                          CheckCommandRepository checkCommandRepository,
+                          CheckSchedulerService checkSchedulerService,
+                          HttpCheckConcurrencyLimiter httpCheckConcurrencyLimiter,
+                          TcpProbeEngine tcpProbeEngine,
+                          BlockingProbeExecutor blockingProbeExecutor,
+                          ScheduledExecutorService checkSchedulerExecutor,
+                          HashedTimingWheel checkTimingWheel,
+                          CheckResultWriter checkResultWriter,
+                          MeterRegistry meterRegistry,
+                          PlatformTransactionManager transactionManager,
+                          ConfigurableApplicationContext context) {
+        this.properties = properties;
+        this.httpCheckProperties = httpCheckProperties;
+        this.fleet = fleet;
+        this.recorder = recorder;
+        this.appTargetRepository = appTargetRepository;
+        this.checkCommandRepository = checkCommandRepository;
+        this.checkSchedulerService = checkSchedulerService;
+        this.httpCheckConcurrencyLimiter = httpCheckConcurrencyLimiter;
+        this.tcpProbeEngine = tcpProbeEngine;
+        this.blockingProbeExecutor = blockingProbeExecutor;
+        this.checkSchedulerExecutor = checkSchedulerExecutor;
+        this.checkTimingWheel = checkTimingWheel;
+        this.checkResultWriter = checkResultWriter;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        List<CheckCommand> commands = register();
+        long httpCount = commands.stream().filter(c -> c.getType() == CommandType.GET).count();
+        log.info("Registered {} targets ({} HTTP GET, {} TCP_PORT); running for {}.",
+                commands.size(), httpCount, commands.size() - httpCount, properties.duration());
+
+        double writtenBefore = counter("synthetic.results.written");
+        long startNanos = System.nanoTime();
+        checkSchedulerService.scheduleCommands(commands);
+
+        List<Saturation> saturation = List.of(
+                new Saturation("HTTP checks in flight", httpCheckConcurrencyLimiter::inFlight),
+                new Saturation("HTTP checks waiting for a permit", httpCheckConcurrencyLimiter::waiting),
+                new Saturation("TCP probes in flight", tcpProbeEngine::inFlight),
+                new Saturation("Blocking probes running", blockingProbeExecutor::running),
+                new Saturation("Blocking probes waiting", blockingProbeExecutor::waiting),
+                new Saturation("Scheduler threads busy", () -> ((ThreadPoolExecutor) checkSchedulerExecutor).getActiveCount()),
+                new Saturation("Scheduler queue", () -> ((ThreadPoolExecutor) checkSchedulerExecutor).getQueue().size()),
+                new Saturation("Result write queue", checkResultWriter::queueDepth));
+        long deadline = startNanos + properties.duration().toNanos();
+        while (System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(Math.min(1000, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()) + 1));
+            saturation.forEach(Saturation::sample);
+        }
+        long runNanos = System.nanoTime() - startNanos;
+        long completed = recorder.completed();
+        long failed = recorder.failed();
+        LatencyHistogram responseTimes = recorder.responseTimes();
+        long pendingTimeouts = checkTimingWheel.pendingTimeouts();
+
+        commands.forEach(command -> checkSchedulerService.unscheduleSingleCommand(command.getId()));
+        long drainStart = System.nanoTime();
+        awaitDrained();
+        long drainNanos = System.nanoTime() - drainStart;
+        double written = counter("synthetic.results.written") - writtenBefore;
+
+        String report = report(commands.size(), httpCount, runNanos, completed, failed, responseTimes, pendingTimeouts,
+                saturation, written, drainNanos);
+        log.info("\n{}", report);
+        if (!properties.reportFile().isBlank()) {
+            Files.writeString(Path.of(properties.reportFile()), report);
+            log.info("Load test report written to {}.", properties.reportFile());
+        }
+        if (properties.exitWhenDone()) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    private List<CheckCommand> register() {
+        return transactionTemplate.execute(status -> {
+            List<AppTarget> targets = new ArrayList<>(properties.targets());
+            List<CheckCommand> commands = new ArrayList<>(properties.targets());
+            int httpTargets = (int) Math.round(properties.targets() * properties.httpShare());
+            for (int i = 0; i < properties.targets(); i++) {
+                boolean http = i < httpTargets;
+                AppTarget target = AppTarget.builder()
+                        .name("loadtest-" + i)
+                        .targetUrlOrIp(http ? fleet.httpUrl(i) : "127.0.0.1")
+                        .type(http ? TargetType.URL : TargetType.IP)
+                        .enabled(true)
+                        .build();
+                targets.add(target);
+                commands.add(CheckCommand.builder()
+                        .app(target)
+                        .type(http ? CommandType.GET : CommandType.TCP_PORT)
+                        .parameters(http ? null : fleet.nextTcpPort() + ":" + httpCheckProperties.timeout().toMillis())
+                        .intervalSeconds(properties.intervalSeconds())
+                        .build());
+            }
+            appTargetRepository.saveAll(targets);
+            return checkCommandRepository.saveAll(commands);
+        });
+    }
+
+    /**
+     * Waits for checks still in flight to finish and for the result writer to persist everything.
+     */
+    private void awaitDrained() throws InterruptedException {
+        long deadline = System.nanoTime() + httpCheckProperties.timeout().toNanos() + TimeUnit.SECONDS.toNanos(30);
+        while (System.nanoTime() < deadline && (httpCheckConcurrencyLimiter.inFlight() > 0
+                || tcpProbeEngine.inFlight() > 0 || blockingProbeExecutor.running() > 0 || checkResultWriter.queueDepth() > 0)) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+        // Give the writer time to commit the batch it took off the queue last.
+        TimeUnit.MILLISECONDS.sleep(500);
+    }
+
+    private String report(int targets, long httpCount, long runNanos, long completed, long failed,
+                          LatencyHistogram responseTimes, long pendingTimeouts, List<Saturation> saturation,
+                          double written, long drainNanos) {
+        double seconds = runNanos / 1e9;
+        StringBuilder out = new StringBuilder("===== Load test report =====\n");
+        line(out, "Targets: %d (%d HTTP GET, %d TCP_PORT), interval %ds, ran %.1fs",
+                targets, httpCount, targets - httpCount, properties.intervalSeconds(), seconds);
+        line(out, "Checks completed: %d (%.1f/s, target rate %.1f/s), failed: %d (%.2f%%)",
+                completed, completed / seconds, (double) targets / properties.intervalSeconds(), failed,
+                completed == 0 ? 0.0 : 100.0 * failed / completed);
+        line(out, "Check response time ms: p50 %s, p90 %s, p99 %s",
+                responseTimes.valueAtPercentile(50), responseTimes.valueAtPercentile(90), responseTimes.valueAtPercentile(99));
+        line(out, "Schedule lag ms: %s; timeouts pending on the wheel at the end: %d",
+                percentiles(meterRegistry.find("synthetic.scheduler.lag").timer()), pendingTimeouts);
+        out.append("Executor saturation (avg / max):\n");
+        saturation.forEach(s -> line(out, "  %-34s %8.1f / %d", s.name, s.average(), s.max));
+        line(out, "Persistence: %.0f results written (%.1f/s incl. %.1fs drain), %.0f dropped",
+                written, written / ((runNanos + drainNanos) / 1e9), drainNanos / 1e9, counter("synthetic.results.dropped"));
+        Timer flush = meterRegistry.find("synthetic.results.flush").timer();
+        if (flush != null) {
+            line(out, "Batch flushes: %d, mean %.1f ms, %s", flush.count(), flush.mean(TimeUnit.MILLISECONDS), percentiles(flush));
+        }
+        return out.toString();
+    }
+
+    private double counter(String name) {
+        return meterRegistry.find(name).counters().stream().mapToDouble(Counter::count).sum();
+    }
+
+    private static String percentiles(Timer timer) {
+        if (timer == null) {
+            return "n/a";
+        }
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        StringBuilder out = new StringBuilder();
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            out.append(String.format(Locale.ROOT, "p%s %.1f, ", trim(value.percentile() * 100), value.value(TimeUnit.MILLISECONDS)));
+        }
+        return out.append(String.format(Locale.ROOT, "max %.1f", snapshot.max(TimeUnit.MILLISECONDS))).toString();
+    }
+
+    private static String trim(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    private static void line(StringBuilder out, String format, Object... args) {
+        out.append(String.format(Locale.ROOT, format, args)).append('\n');
+    }
+
+    private static final class Saturation {
+        private final String name;
+        private final LongSupplier gauge;
+        private long sum;
+        private long samples;
+        private long max;
+
+        private Saturation(String name, IntSupplier gauge) {
+            this.name = name;
+            this.gauge = gauge::getAsInt;
+        }
+
+        private void sample() {
+            long value = gauge.getAsLong();
+            sum += value;
+            samples++;
+            max = Math.max(max, value);
+        }
+
+        private double average() {
+            return samples == 0 ? 0 : (double) sum / samples;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.cognizant.vibe.synthetictesting.loadtest;
+
+import com.cognizant.vibe.synthetictesting.config.LoadTestProperties;
+import jakarta.annotation.PreDestroy;
+import io.netty.channel.ChannelOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+import reactor.netty.tcp.TcpServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-ins for the monitored fleet, all bound to the loopback interface so a load test runs offline:
+ * <ul>
+ *     <li>one HTTP server answering every target path after a configurable latency, failing or hanging a
+ *     configurable share of requests,</li>
+ *     <li>a TCP listener that accepts connections,</li>
+ *     <li>a TCP "black hole" that never accepts, so once its backlog is full handshakes time out,</li>
+ *     <li>a port nothing listens on, so connections are refused.</li>
+ * </ul>
+ * The servers run on their own event loops so that they do not compete with the check WebClient.
+ */
+@Component
+@Profile("loadtest")
+public class SimulatedFleet {
+
+    private static final Logger log = LoggerFactory.getLogger(SimulatedFleet.class);
+
+    private final LoadTestProperties properties;
+    private final LoopResources loops = LoopResources.create("fleet", 2, true);
+    private final DisposableServer httpServer;
+    private final DisposableServer tcpServer;
+    private final ServerSocket blackHole;
+    private final int refusedPort;
+
+    public SimulatedFleet(LoadTestProperties properties) {
+        this.properties = properties;
+        this.httpServer = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .runOn(loops)
+                .handle((request, response) -> {
+                    double roll = ThreadLocalRandom.current().nextDouble();
+                    if (roll < properties.hangRate()) {
+                        return Mono.never();
+                    }
+                    Mono<String> body = Mono.delay(nextLatency()).thenReturn("ok");
+                    if (roll < properties.hangRate() + properties.errorRate()) {
+                        return response.status(500).sendString(body);
+                    }
+                    return response.sendString(body);
+                })
+                .bindNow();
+        this.tcpServer = TcpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .runOn(loops)
+                // Thousands of probes connect in bursts; a short accept queue would add SYN retransmits to their latency.
+                .option(ChannelOption.SO_BACKLOG, 4096)
+                .bindNow();
+        try {
+            this.blackHole = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+            try (ServerSocket probe = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+                this.refusedPort = probe.getLocalPort();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the simulated TCP endpoints", e);
+        }
+        log.info("Simulated fleet up: HTTP on port {}, TCP accepting on {}, black hole on {}, refusing on {}.",
+                httpServer.port(), tcpServer.port(), blackHole.getLocalPort(), refusedPort);
+    }
+
+    /**
+     * @return The URL of a simulated HTTP endpoint for the given target.
+     */
+    public String httpUrl(int target) {
+        return "http://127.0.0.1:" + httpServer.port() + "/targets/" + target;
+    }
+
+    /**
+     * Picks the TCP port a simulated TCP target listens on, honouring the configured error and hang rates.
+     */
+    public int nextTcpPort() {
+        double roll = ThreadLocalRandom.current().nextDouble();
+        if (roll < properties.hangRate()) {
+            return blackHole.getLocalPort();
+        }
+        if (roll < properties.hangRate() + properties.errorRate()) {
+            return refusedPort;
+        }
+        return tcpServer.port();
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        httpServer.disposeNow();
+        tcpServer.disposeNow();
+        blackHole.close();
+        loops.dispose();
+    }
+
+    private Duration nextLatency() {
+        long jitterNanos = properties.latencyJitter().toNanos();
+        return properties.latency().plusNanos(jitterNanos > 0 ? ThreadLocalRandom.current().nextLong(jitterNanos + 1) : 0);
+    }
+}
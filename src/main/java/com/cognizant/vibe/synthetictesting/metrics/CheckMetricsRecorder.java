@@ -0,0 +1,172 @@
+package com.cognizant.vibe.synthetictesting.metrics;
+
+import com.cognizant.vibe.synthetictesting.check.CheckResultListener;
+import com.cognizant.vibe.synthetictesting.check.RemovedCommands;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckCommand;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckOutcome;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+import com.cognizant.vibe.synthetictesting.check.entity.CommandType;
+import com.cognizant.vibe.synthetictesting.config.CheckMetricsProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Records every check result as Micrometer meters tagged by target, command and command type:
+ * <ul>
+ *     <li>{@code synthetic.check.executions{outcome=success|failure|dns_failure}} counters,</li>
+ *     <li>{@code synthetic.check.latency}, a timer publishing a percentile histogram,</li>
+ *     <li>{@code synthetic.check.status.code} and {@code synthetic.check.up} gauges for the latest result,</li>
+ *     <li>{@code synthetic.check.http.phase{phase=dns|connect|tls|ttfb}} timers for GET checks, recorded only
+ *     when the phase happened.</li>
+ * </ul>
+ * Meters are created once per command and cached, so recording a result only looks up the cached
+ * meters and updates them. At most {@link CheckMetricsProperties#maxCommands()} commands get their own
+ * meters; the rest share one set per command type, which keeps tag cardinality bounded. When a command with its
+ * own meters is removed, the commands recorded under "other" compete for the freed slot again with their next result.
+ * Results still in flight for a command that was removed are ignored ({@link RemovedCommands}), so they do not
+ * bring its meters back.
+ */
+@Component
+public class CheckMetricsRecorder implements CheckResultListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CheckMetricsRecorder.class);
+    private static final String OTHER = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final CheckMetricsProperties properties;
+    private final RemovedCommands removedCommands;
+    private final Map<Long, CommandMeters> metersByCommand = new ConcurrentHashMap<>();
+    private final Map<CommandType, CommandMeters> overflowMeters = new EnumMap<>(CommandType.class);
+    private final AtomicInteger commandsWithOwnMeters = new AtomicInteger();
+
+    public CheckMetricsRecorder(MeterRegistry meterRegistry, CheckMetricsProperties properties, RemovedCommands removedCommands) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        this.removedCommands = removedCommands;
+        for (CommandType type : CommandType.values()) {
+            overflowMeters.put(type, new CommandMeters(OTHER, OTHER, type));
+        }
+    }
+
+    @Override
+    public void onCheckResult(CheckResult result) {
+        CommandMeters meters = metersByCommand.get(result.getCommand().getId());
+        if (meters == null) {
+            meters = metersByCommand.computeIfAbsent(result.getCommand().getId(),
+                    id -> removedCommands.contains(id) ? null : createMeters(result.getCommand()));
+            if (meters == null) {
+                return;
+            }
+        }
+        meters.record(result);
+    }
+
+    /**
+     * Removes the meters of a command after it has been deleted, freeing its slot. The command must already be
+     * marked in {@link RemovedCommands}, so later results of it are ignored.
+     */
+    public void removeCommand(Long commandId) {
+        CommandMeters meters = metersByCommand.remove(commandId);
+        if (meters != null && !meters.shared) {
+            meters.meters().forEach(meterRegistry::remove);
+            commandsWithOwnMeters.decrementAndGet();
+            // Forget which commands overflowed, so the next of them to report takes the freed slot.
+            metersByCommand.values().removeIf(other -> other.shared);
+        }
+    }
+
+    private CommandMeters createMeters(CheckCommand command) {
+        if (commandsWithOwnMeters.incrementAndGet() > properties.maxCommands()) {
+            commandsWithOwnMeters.decrementAndGet();
+            log.warn("Metrics for check command ID {} are recorded under command=\"other\": limit of {} commands reached.",
+                    command.getId(), properties.maxCommands());
+            return overflowMeters.get(command.getType());
+        }
+        return new CommandMeters(String.valueOf(command.getApp().getId()), String.valueOf(command.getId()), command.getType());
+    }
+
+    private final class CommandMeters {
+        private final boolean shared;
+        private final Map<CheckOutcome, Counter> executions = new EnumMap<>(CheckOutcome.class);
+        private final Timer latency;
+        private final AtomicInteger lastStatusCode = new AtomicInteger();
+        private final AtomicInteger up = new AtomicInteger();
+        private final Gauge lastStatusCodeGauge;
+        private final Gauge upGauge;
+        private final List<Timer> phases;
+
+        private CommandMeters(String targetId, String commandId, CommandType type) {
+            this.shared = OTHER.equals(commandId);
+            Tags tags = Tags.of("target", targetId, "command", commandId, "type", type.name());
+            for (CheckOutcome outcome : CheckOutcome.values()) {
+                executions.put(outcome, Counter.builder("synthetic.check.executions")
+                        .description("Check executions by outcome")
+                        .tags(tags).tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                        .register(meterRegistry));
+            }
+            this.latency = Timer.builder("synthetic.check.latency")
+                    .description("Response time of check executions")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(properties.maxExpectedLatency())
+                    .register(meterRegistry);
+            this.lastStatusCodeGauge = Gauge.builder("synthetic.check.status.code", lastStatusCode, AtomicInteger::get)
+                    .description("HTTP status code of the latest result, 0 if it had none")
+                    .tags(tags)
+                    .register(meterRegistry);
+            this.upGauge = Gauge.builder("synthetic.check.up", up, AtomicInteger::get)
+                    .description("1 if the latest result was successful, otherwise 0")
+                    .tags(tags)
+                    .register(meterRegistry);
+            this.phases = type != CommandType.GET ? List.of() : Stream.of("dns", "connect", "tls", "ttfb")
+                    .map(phase -> Timer.builder("synthetic.check.http.phase")
+                            .description("Duration of one phase of an HTTP GET check")
+                            .tags(tags).tag("phase", phase)
+                            .register(meterRegistry))
+                    .toList();
+        }
+
+        private void record(CheckResult result) {
+            executions.get(result.getOutcome()).increment();
+            latency.record(result.getResponseTimeMs(), TimeUnit.MILLISECONDS);
+            lastStatusCode.set(result.getStatusCode() != null ? result.getStatusCode() : 0);
+            up.set(result.isSuccess() ? 1 : 0);
+            if (!phases.isEmpty()) {
+                recordPhase(phases.get(0), result.getDnsMicros());
+                recordPhase(phases.get(1), result.getConnectMicros());
+                recordPhase(phases.get(2), result.getTlsMicros());
+                recordPhase(phases.get(3), result.getTtfbMicros());
+            }
+        }
+
+        private static void recordPhase(Timer timer, Long micros) {
+            if (micros != null) {
+                timer.record(micros, TimeUnit.MICROSECONDS);
+            }
+        }
+
+        private List<Meter> meters() {
+            return Stream.of(executions.values().stream(), Stream.of(latency, lastStatusCodeGauge, upGauge), phases.stream())
+                    .<Meter>flatMap(meters -> meters)
+                    .toList();
+        }
+    }
+}
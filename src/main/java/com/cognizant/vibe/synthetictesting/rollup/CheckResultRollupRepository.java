@@ -0,0 +1,69 @@
+package com.cognizant.vibe.synthetictesting.rollup;
+
+import com.cognizant.vibe.synthetictesting.rollup.entity.CheckResultRollup;
+import com.cognizant.vibe.synthetictesting.rollup.entity.RollupKey;
+import com.cognizant.vibe.synthetictesting.rollup.entity.RollupResolution;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CheckResultRollupRepository extends JpaRepository<CheckResultRollup, RollupKey> {
+    /**
+     * Finds the rollup buckets of one resolution for the given commands whose start lies in [from, to).
+     *
+     * @param commandIds The IDs of the commands.
+     * @param resolution The bucket resolution.
+     * @param from       Inclusive lower bound of the bucket start.
+     * @param to         Exclusive upper bound of the bucket start.
+     * @return The matching rollups, in no particular order.
+     */
+    @Query("SELECT r FROM CheckResultRollup r WHERE r.commandId IN :commandIds AND r.resolution = :resolution " +
+            "AND r.bucketStart >= :from AND r.bucketStart < :to")
+    List<CheckResultRollup> findBuckets(@Param("commandIds") Collection<Long> commandIds,
+                                        @Param("resolution") RollupResolution resolution,
+                                        @Param("from") Instant from,
+                                        @Param("to") Instant to);
+
+    /**
+     * Like {@link #findBuckets}, but locks the returned rows ({@code SELECT ... FOR UPDATE}) until the current
+     * transaction ends, so that concurrent merges into the same rollups from other nodes wait for each other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM CheckResultRollup r WHERE r.commandId IN :commandIds AND r.resolution = :resolution " +
+            "AND r.bucketStart >= :from AND r.bucketStart < :to")
+    List<CheckResultRollup> findBucketsForUpdate(@Param("commandIds") Collection<Long> commandIds,
+                                                 @Param("resolution") RollupResolution resolution,
+                                                 @Param("from") Instant from,
+                                                 @Param("to") Instant to);
+
+    /**
+     * Deletes every rollup of a command in a single statement.
+     *
+     * @param commandId The ID of the command.
+     */
+    @Modifying
+    @Query("DELETE FROM CheckResultRollup r WHERE r.commandId = :commandId")
+    void deleteByCommandId(@Param("commandId") Long commandId);
+
+    /**
+     * Deletes the rollups of every command at one resolution whose bucket starts in [from, to), and detaches
+     * all loaded rollups so replacements with the same keys can be persisted in the same session.
+     *
+     * @param resolution The bucket resolution.
+     * @param from       Inclusive lower bound of the bucket start.
+     * @param to         Exclusive upper bound of the bucket start.
+     * @return The number of rollups deleted.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM CheckResultRollup r WHERE r.resolution = :resolution AND r.bucketStart >= :from AND r.bucketStart < :to")
+    int deleteBuckets(@Param("resolution") RollupResolution resolution, @Param("from") Instant from, @Param("to") Instant to);
+}
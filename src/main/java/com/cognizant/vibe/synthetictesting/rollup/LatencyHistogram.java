@@ -0,0 +1,189 @@
+package com.cognizant.vibe.synthetictesting.rollup;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A mergeable log-linear latency histogram over millisecond values.
+ * <p>
+ * Values below 16 ms get their own bucket; above that every power of two is split into 16 linear
+ * sub-buckets, so any recorded value is reported with at most ~6% relative error. Two histograms
+ * merge by adding their bucket counts, which is what makes percentiles over rollups possible.
+ * Values above ~12 days are clamped into the last bucket.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 30;
+    static final int BUCKET_COUNT = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private long[] counts;
+    private long totalCount;
+
+    public void record(long valueMs) {
+        if (counts == null) {
+            counts = new long[BUCKET_COUNT];
+        }
+        counts[indexOf(Math.max(0, valueMs))]++;
+        totalCount++;
+    }
+
+    public void merge(LatencyHistogram other) {
+        if (other.counts == null) {
+            return;
+        }
+        if (counts == null) {
+            counts = new long[BUCKET_COUNT];
+        }
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+    }
+
+    public long totalCount() {
+        return totalCount;
+    }
+
+    /**
+     * @param percentile A value in [0, 100].
+     * @return The estimated latency at the given percentile, or null if the histogram is empty.
+     */
+    public Long valueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return representativeValue(i);
+            }
+        }
+        return representativeValue(BUCKET_COUNT - 1);
+    }
+
+    /**
+     * @return The number of recorded values that are less than or equal to the given threshold,
+     * counting a bucket as fully below the threshold only if its upper bound is.
+     */
+    public long countAtOrBelow(long thresholdMs) {
+        if (counts == null) {
+            return 0;
+        }
+        long below = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (upperBound(i) > thresholdMs) {
+                break;
+            }
+            below += counts[i];
+        }
+        return below;
+    }
+
+    /**
+     * @return true if {@link #countAtOrBelow} would count the value as at or below the threshold, i.e. if the
+     * upper bound of its bucket is.
+     */
+    public static boolean isAtOrBelow(long valueMs, long thresholdMs) {
+        return upperBound(indexOf(Math.max(0, valueMs))) <= thresholdMs;
+    }
+
+    /**
+     * Encodes the non-empty buckets as varint (index delta, count) pairs.
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (counts != null) {
+            int previous = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                if (counts[i] != 0) {
+                    writeVarLong(out, i - previous);
+                    writeVarLong(out, counts[i]);
+                    previous = i;
+                }
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public static LatencyHistogram fromBytes(byte[] bytes) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        if (bytes == null || bytes.length == 0) {
+            return histogram;
+        }
+        histogram.counts = new long[BUCKET_COUNT];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int index = 0;
+        while (buffer.hasRemaining()) {
+            index += (int) readVarLong(buffer);
+            long count = readVarLong(buffer);
+            histogram.counts[index] = count;
+            histogram.totalCount += count;
+        }
+        return histogram;
+    }
+
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram();
+        copy.counts = counts == null ? null : Arrays.copyOf(counts, BUCKET_COUNT);
+        copy.totalCount = totalCount;
+        return copy;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) ((value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = (index - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+        int subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return (1L << exponent) + ((long) subBucket << (exponent - SUB_BUCKET_BITS));
+    }
+
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = (index - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+        return lowerBound(index) + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    private static long representativeValue(int index) {
+        return (lowerBound(index) + upperBound(index)) / 2;
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
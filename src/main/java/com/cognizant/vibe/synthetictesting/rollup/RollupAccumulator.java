@@ -0,0 +1,127 @@
+package com.cognizant.vibe.synthetictesting.rollup;
+
+import com.cognizant.vibe.synthetictesting.rollup.entity.CheckResultRollup;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mutable, mergeable statistics for one rollup bucket. Not thread-safe; callers synchronize.
+ */
+final class RollupAccumulator {
+
+    private long count;
+    private long successCount;
+    private long minResponseTimeMs = Long.MAX_VALUE;
+    private long maxResponseTimeMs = Long.MIN_VALUE;
+    private long sumResponseTimeMs;
+    private final LatencyHistogram histogram;
+    private final Map<Integer, Long> statusCodeCounts;
+
+    RollupAccumulator() {
+        this.histogram = new LatencyHistogram();
+        this.statusCodeCounts = new TreeMap<>();
+    }
+
+    private RollupAccumulator(CheckResultRollup rollup) {
+        this.count = rollup.getCount();
+        this.successCount = rollup.getSuccessCount();
+        this.minResponseTimeMs = rollup.getCount() == 0 ? Long.MAX_VALUE : rollup.getMinResponseTimeMs();
+        this.maxResponseTimeMs = rollup.getCount() == 0 ? Long.MIN_VALUE : rollup.getMaxResponseTimeMs();
+        this.sumResponseTimeMs = rollup.getSumResponseTimeMs();
+        this.histogram = LatencyHistogram.fromBytes(rollup.getLatencyHistogram());
+        this.statusCodeCounts = decodeStatusCodes(rollup.getStatusCodeCounts());
+    }
+
+    static RollupAccumulator of(CheckResultRollup rollup) {
+        return new RollupAccumulator(rollup);
+    }
+
+    void add(boolean success, long responseTimeMs, Integer statusCode) {
+        count++;
+        if (success) {
+            successCount++;
+        }
+        minResponseTimeMs = Math.min(minResponseTimeMs, responseTimeMs);
+        maxResponseTimeMs = Math.max(maxResponseTimeMs, responseTimeMs);
+        sumResponseTimeMs += responseTimeMs;
+        histogram.record(responseTimeMs);
+        if (statusCode != null) {
+            statusCodeCounts.merge(statusCode, 1L, Long::sum);
+        }
+    }
+
+    void merge(RollupAccumulator other) {
+        count += other.count;
+        successCount += other.successCount;
+        minResponseTimeMs = Math.min(minResponseTimeMs, other.minResponseTimeMs);
+        maxResponseTimeMs = Math.max(maxResponseTimeMs, other.maxResponseTimeMs);
+        sumResponseTimeMs += other.sumResponseTimeMs;
+        histogram.merge(other.histogram);
+        other.statusCodeCounts.forEach((code, n) -> statusCodeCounts.merge(code, n, Long::sum));
+    }
+
+    /**
+     * Writes the accumulated statistics into the given entity, replacing its previous values.
+     */
+    void writeTo(CheckResultRollup rollup) {
+        rollup.setCount(count);
+        rollup.setSuccessCount(successCount);
+        rollup.setMinResponseTimeMs(count == 0 ? 0 : minResponseTimeMs);
+        rollup.setMaxResponseTimeMs(count == 0 ? 0 : maxResponseTimeMs);
+        rollup.setSumResponseTimeMs(sumResponseTimeMs);
+        rollup.setLatencyHistogram(histogram.toBytes());
+        rollup.setStatusCodeCounts(encodeStatusCodes(statusCodeCounts));
+    }
+
+    long count() {
+        return count;
+    }
+
+    long successCount() {
+        return successCount;
+    }
+
+    long minResponseTimeMs() {
+        return count == 0 ? 0 : minResponseTimeMs;
+    }
+
+    long maxResponseTimeMs() {
+        return count == 0 ? 0 : maxResponseTimeMs;
+    }
+
+    long sumResponseTimeMs() {
+        return sumResponseTimeMs;
+    }
+
+    LatencyHistogram histogram() {
+        return histogram;
+    }
+
+    Map<Integer, Long> statusCodeCounts() {
+        return statusCodeCounts;
+    }
+
+    private static String encodeStatusCodes(Map<Integer, Long> counts) {
+        StringBuilder sb = new StringBuilder();
+        counts.forEach((code, n) -> {
+            if (!sb.isEmpty()) {
+                sb.append(',');
+            }
+            sb.append(code).append(':').append(n);
+        });
+        return sb.toString();
+    }
+
+    private static Map<Integer, Long> decodeStatusCodes(String encoded) {
+        Map<Integer, Long> counts = new TreeMap<>();
+        if (encoded == null || encoded.isBlank()) {
+            return counts;
+        }
+        for (String pair : encoded.split(",")) {
+            String[] parts = pair.split(":", 2);
+            counts.merge(Integer.parseInt(parts[0]), Long.parseLong(parts[1]), Long::sum);
+        }
+        return counts;
+    }
+}
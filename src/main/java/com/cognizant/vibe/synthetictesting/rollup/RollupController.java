@@ -0,0 +1,63 @@
+package com.cognizant.vibe.synthetictesting.rollup;
+
+import com.cognizant.vibe.synthetictesting.rollup.dto.CheckCommandStatsDto;
+import com.cognizant.vibe.synthetictesting.rollup.dto.RollupRebuildDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1")
+@Tag(name = "Check Statistics", description = "APIs for uptime and latency statistics served from pre-aggregated rollups.")
+@RequiredArgsConstructor
+public class RollupController {
+
+    private final RollupService rollupService;
+
+    @GetMapping("/targets/{targetId}/stats")
+    @Operation(summary = "Get uptime and latency statistics for a target",
+            description = "Computes uptime and p50/p95/p99 latency for each check of a target over a time window, " +
+                    "using minute, hour and day rollups. The window is widened to whole minutes.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully computed statistics"),
+            @ApiResponse(responseCode = "404", description = "Target not found", content = @Content)
+    })
+    public ResponseEntity<List<CheckCommandStatsDto>> getStatsForTarget(
+            @PathVariable Long targetId,
+            @Parameter(description = "Start of the window (ISO-8601). Defaults to 24 hours before 'to'.")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @Parameter(description = "End of the window (ISO-8601). Defaults to now.")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        Instant windowEnd = to != null ? to : Instant.now();
+        Instant windowStart = from != null ? from : windowEnd.minus(Duration.ofHours(24));
+        return ResponseEntity.ok(rollupService.getStatsForTarget(targetId, windowStart, windowEnd));
+    }
+
+    @PostMapping("/rollups/rebuild")
+    @Operation(summary = "Rebuild rollups from raw results",
+            description = "Replaces the minute, hour and day rollups of every check in a time window with ones " +
+                    "recomputed from the raw result store. The window is widened to whole UTC days; buckets that " +
+                    "ended too recently to have been flushed by every node are left as they are.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully rebuilt the rollups"),
+            @ApiResponse(responseCode = "400", description = "'from' is not before 'to'", content = @Content)
+    })
+    public ResponseEntity<RollupRebuildDto> rebuildRollups(
+            @Parameter(description = "Start of the window (ISO-8601).")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @Parameter(description = "End of the window (ISO-8601). Defaults to now.")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        return ResponseEntity.ok(rollupService.rebuild(from, to != null ? to : Instant.now()));
+    }
+}
@@ -0,0 +1,407 @@
+package com.cognizant.vibe.synthetictesting.rollup;
+
+import com.cognizant.vibe.synthetictesting.app.AppTargetRepository;
+import com.cognizant.vibe.synthetictesting.check.CheckCommandRepository;
+import com.cognizant.vibe.synthetictesting.check.CheckResultListener;
+import com.cognizant.vibe.synthetictesting.check.RawResultStore;
+import com.cognizant.vibe.synthetictesting.check.RemovedCommands;
+import com.cognizant.vibe.synthetictesting.check.ResultRunStore;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckCommand;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+import com.cognizant.vibe.synthetictesting.check.entity.ResultRun;
+import com.cognizant.vibe.synthetictesting.config.RollupProperties;
+import com.cognizant.vibe.synthetictesting.rollup.dto.CheckCommandStatsDto;
+import com.cognizant.vibe.synthetictesting.rollup.dto.RollupRebuildDto;
+import com.cognizant.vibe.synthetictesting.rollup.entity.CheckResultRollup;
+import com.cognizant.vibe.synthetictesting.rollup.entity.RollupKey;
+import com.cognizant.vibe.synthetictesting.rollup.entity.RollupResolution;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains per-command rollups of check results at minute, hour and day resolution.
+ * <p>
+ * Every result is folded into an in-memory delta for each resolution as it arrives. Deltas are merged
+ * into the persisted {@link CheckResultRollup} rows periodically, so the raw result table is never read
+ * to answer uptime or latency questions. Queries combine persisted rows with the unflushed deltas.
+ * Rows are locked while a delta is merged into them, so nodes flushing into the same bucket do not lose updates.
+ * Results still in flight for a removed command are ignored ({@link RemovedCommands}), so they leave no rollups behind.
+ * Rollups can be {@link #rebuild rebuilt} from the {@link RawResultStore} and the {@link ResultRunStore} for a time window.
+ */
+@Service
+public class RollupService implements CheckResultListener {
+
+    private static final Logger log = LoggerFactory.getLogger(RollupService.class);
+    private static final int IN_CLAUSE_CHUNK = 1000;
+
+    private final CheckResultRollupRepository rollupRepository;
+    private final CheckCommandRepository checkCommandRepository;
+    private final AppTargetRepository appTargetRepository;
+    private final RawResultStore rawResultStore;
+    private final ResultRunStore resultRunStore;
+    private final RollupProperties properties;
+    private final RemovedCommands removedCommands;
+    private final TransactionTemplate transactionTemplate;
+
+    // Rollup changes not yet merged into the database.
+    private final Map<RollupKey, RollupAccumulator> pending = new ConcurrentHashMap<>();
+
+    public RollupService(CheckResultRollupRepository rollupRepository,
+                         CheckCommandRepository checkCommandRepository,
+                         AppTargetRepository appTargetRepository,
+                         RawResultStore rawResultStore,
+                         ResultRunStore resultRunStore,
+                         RollupProperties properties,
+                         RemovedCommands removedCommands,
+                         PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.checkCommandRepository = checkCommandRepository;
+        this.appTargetRepository = appTargetRepository;
+        this.rawResultStore = rawResultStore;
+        this.resultRunStore = resultRunStore;
+        this.properties = properties;
+        this.removedCommands = removedCommands;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void onCheckResult(CheckResult result) {
+        Long commandId = result.getCommand().getId();
+        for (RollupResolution resolution : RollupResolution.values()) {
+            RollupKey key = new RollupKey(commandId, resolution, resolution.bucketStart(result.getTimestamp()));
+            // Checked per key, so a result racing deleteRollupsForCommand is either ignored or removed by it.
+            pending.compute(key, (k, accumulator) -> {
+                if (removedCommands.contains(commandId)) {
+                    return accumulator;
+                }
+                RollupAccumulator target = accumulator != null ? accumulator : new RollupAccumulator();
+                target.add(result.isSuccess(), result.getResponseTimeMs(), result.getStatusCode());
+                return target;
+            });
+        }
+    }
+
+    /**
+     * Merges all pending deltas into the persisted rollups. On failure, for example when another node
+     * inserted the same new bucket at the same time, the deltas are put back and retried on the next flush.
+     */
+    @Scheduled(fixedDelayString = "${synthetic.rollups.flush-interval:10s}")
+    @PreDestroy
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<RollupKey, RollupAccumulator> deltas = new HashMap<>();
+        for (RollupKey key : pending.keySet()) {
+            RollupAccumulator delta = pending.remove(key);
+            if (delta != null) {
+                deltas.put(key, delta);
+            }
+        }
+
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> mergeIntoDatabase(deltas));
+            log.debug("Flushed {} rollup buckets in {} ms.", deltas.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.error("Failed to flush {} rollup buckets, will retry: {}", deltas.size(), e.getMessage(), e);
+            deltas.forEach((key, delta) -> pending.merge(key, delta, (current, failed) -> {
+                current.merge(failed);
+                return current;
+            }));
+        }
+    }
+
+    /**
+     * Computes uptime and latency statistics for every command of a target over [from, to), using rollups only.
+     * The window is widened to whole minutes. It is covered with as few buckets as possible: whole days where
+     * they fit, then whole hours, then minutes at the edges.
+     *
+     * @param targetId The ID of the AppTarget.
+     * @param from     Start of the window.
+     * @param to       End of the window.
+     * @return One entry per command of the target, ordered by command ID.
+     * @throws EntityNotFoundException if no AppTarget with the given ID is found.
+     */
+    @Transactional(readOnly = true)
+    public List<CheckCommandStatsDto> getStatsForTarget(Long targetId, Instant from, Instant to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        List<CheckCommand> commands = checkCommandRepository.findByAppId(targetId);
+        if (commands.isEmpty() && !appTargetRepository.existsById(targetId)) {
+            throw new EntityNotFoundException("AppTarget not found with id: " + targetId);
+        }
+
+        Instant windowStart = RollupResolution.MINUTE.bucketStart(from);
+        Instant windowEnd = RollupResolution.MINUTE.isAligned(to) ? to
+                : RollupResolution.MINUTE.bucketStart(to).plus(RollupResolution.MINUTE.width());
+
+        List<Long> commandIds = commands.stream().map(CheckCommand::getId).toList();
+        Map<Long, RollupAccumulator> totals = new HashMap<>();
+        commandIds.forEach(id -> totals.put(id, new RollupAccumulator()));
+
+        for (Segment segment : decompose(windowStart, windowEnd)) {
+            for (List<Long> chunk : chunks(commandIds)) {
+                for (CheckResultRollup rollup : rollupRepository.findBuckets(chunk, segment.resolution(), segment.from(), segment.to())) {
+                    totals.get(rollup.getCommandId()).merge(RollupAccumulator.of(rollup));
+                }
+            }
+            mergePending(totals, segment);
+        }
+
+        return commands.stream()
+                .sorted((a, b) -> a.getId().compareTo(b.getId()))
+                .map(command -> toDto(command, totals.get(command.getId()), windowStart, windowEnd))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Reads the persisted rollups of one resolution for the given commands whose bucket starts in [from, to).
+     * Changes not yet flushed are not included; {@link #flush()} first to see them.
+     *
+     * @return The matching rollups, in no particular order.
+     */
+    @Transactional(readOnly = true)
+    public List<CheckResultRollup> findRollups(List<Long> commandIds, RollupResolution resolution, Instant from, Instant to) {
+        List<CheckResultRollup> rollups = new ArrayList<>();
+        for (List<Long> chunk : chunks(commandIds)) {
+            rollups.addAll(rollupRepository.findBuckets(chunk, resolution, from, to));
+        }
+        return rollups;
+    }
+
+    /**
+     * Removes all rollups of a command after it has been deleted. The command must already be marked in
+     * {@link RemovedCommands}, so later results of it are ignored.
+     */
+    @Transactional
+    public void deleteRollupsForCommand(Long commandId) {
+        pending.keySet().removeIf(key -> key.getCommandId().equals(commandId));
+        rollupRepository.deleteByCommandId(commandId);
+    }
+
+    /**
+     * Replaces all rollups of [from, to) with ones recomputed from the raw results, for example after rollup
+     * rows were lost or results were imported. The results counted into result runs are spread evenly over their
+     * run, each with the run's mean response time. The window is widened to whole UTC days, which are rebuilt one
+     * at a time, each in its own transaction. Results of deleted commands are skipped.
+     * <p>
+     * Buckets that ended less than the flush interval plus {@link RollupProperties#rebuildSettleTime()} ago are
+     * left as they are: any node may still hold unflushed changes for them, which would then be counted twice.
+     * This leaves the current day, hour and last minutes to the regular flushes.
+     *
+     * @param from Start of the window.
+     * @param to   End of the window.
+     * @return The widened window and how many results and rollup buckets were rebuilt.
+     */
+    public RollupRebuildDto rebuild(Instant from, Instant to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        RollupResolution day = RollupResolution.DAY;
+        Instant windowStart = day.bucketStart(from);
+        Instant windowEnd = day.isAligned(to) ? to : day.bucketStart(to).plus(day.width());
+
+        flush();
+        // Per resolution, the start of the first bucket that may still receive deltas.
+        Instant settled = Instant.now().minus(properties.flushInterval()).minus(properties.rebuildSettleTime());
+        Map<RollupResolution, Instant> unsettledFrom = new EnumMap<>(RollupResolution.class);
+        for (RollupResolution resolution : RollupResolution.values()) {
+            unsettledFrom.put(resolution, resolution.bucketStart(settled));
+        }
+        Instant scanEnd = unsettledFrom.get(RollupResolution.MINUTE);
+
+        Set<Long> commandIds = new HashSet<>(checkCommandRepository.findAllIds());
+        long results = 0;
+        int buckets = 0;
+        Instant rebuildEnd = windowEnd.isBefore(scanEnd) ? windowEnd : scanEnd;
+        for (Instant dayStart = windowStart; dayStart.isBefore(rebuildEnd); dayStart = dayStart.plus(day.width())) {
+            Instant dayEnd = dayStart.plus(day.width());
+            Instant dayScanEnd = dayEnd.isBefore(scanEnd) ? dayEnd : scanEnd;
+            Map<RollupKey, RollupAccumulator> rebuilt = new HashMap<>();
+            long[] dayResults = {0};
+            RawResultStore.ResultVisitor visitor = (commandId, timestamp, success, responseTimeMs, statusCode) -> {
+                if (!commandIds.contains(commandId)) {
+                    return;
+                }
+                dayResults[0]++;
+                for (RollupResolution resolution : RollupResolution.values()) {
+                    Instant bucketStart = resolution.bucketStart(timestamp);
+                    if (bucketStart.isBefore(unsettledFrom.get(resolution))) {
+                        rebuilt.computeIfAbsent(new RollupKey(commandId, resolution, bucketStart),
+                                key -> new RollupAccumulator()).add(success, responseTimeMs, statusCode);
+                    }
+                }
+            };
+            rawResultStore.scan(dayStart, dayScanEnd, visitor);
+            for (ResultRun run : resultRunStore.findAllOverlapping(dayStart, dayScanEnd)) {
+                for (long index = 0; index < run.getCount(); index++) {
+                    Instant timestamp = run.timestampOf(index);
+                    if (!timestamp.isBefore(dayStart) && timestamp.isBefore(dayScanEnd)) {
+                        visitor.visit(run.getCommandId(), timestamp, run.isSuccess(), run.meanResponseTimeMs(), run.getStatusCode());
+                    }
+                }
+            }
+
+            List<CheckResultRollup> rollups = new ArrayList<>(rebuilt.size());
+            rebuilt.forEach((key, accumulator) -> {
+                CheckResultRollup rollup = CheckResultRollup.builder()
+                        .commandId(key.getCommandId())
+                        .resolution(key.getResolution())
+                        .bucketStart(key.getBucketStart())
+                        .build();
+                accumulator.writeTo(rollup);
+                rollups.add(rollup);
+            });
+            Instant deleteFrom = dayStart;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (RollupResolution resolution : RollupResolution.values()) {
+                    Instant deleteTo = unsettledFrom.get(resolution);
+                    if (deleteFrom.isBefore(deleteTo)) {
+                        rollupRepository.deleteBuckets(resolution, deleteFrom, dayEnd.isBefore(deleteTo) ? dayEnd : deleteTo);
+                    }
+                }
+                rollupRepository.saveAll(rollups);
+            });
+            results += dayResults[0];
+            buckets += rollups.size();
+        }
+        log.info("Rebuilt {} rollup buckets from {} results between {} and {}.", buckets, results, windowStart, windowEnd);
+        return new RollupRebuildDto(windowStart, windowEnd, results, buckets);
+    }
+
+    private void mergeIntoDatabase(Map<RollupKey, RollupAccumulator> deltas) {
+        // Deltas normally span only one or two bucket starts per resolution, so grouping by
+        // (resolution, bucket start) keeps the number of lookups small. The rows read are locked until
+        // commit; a bucket that does not exist yet is inserted, and a concurrent insert fails this flush.
+        Map<RollupKey, List<Long>> groups = new LinkedHashMap<>();
+        deltas.keySet().forEach(key -> groups
+                .computeIfAbsent(new RollupKey(null, key.getResolution(), key.getBucketStart()), g -> new ArrayList<>())
+                .add(key.getCommandId()));
+
+        List<CheckResultRollup> toSave = new ArrayList<>(deltas.size());
+        groups.forEach((group, commandIds) -> {
+            Map<Long, CheckResultRollup> existing = new HashMap<>();
+            for (List<Long> chunk : chunks(commandIds)) {
+                rollupRepository.findBucketsForUpdate(chunk, group.getResolution(), group.getBucketStart(), group.getBucketStart().plusMillis(1))
+                        .forEach(rollup -> existing.put(rollup.getCommandId(), rollup));
+            }
+            for (Long commandId : commandIds) {
+                RollupKey key = new RollupKey(commandId, group.getResolution(), group.getBucketStart());
+                CheckResultRollup rollup = existing.get(commandId);
+                RollupAccumulator merged;
+                if (rollup == null) {
+                    rollup = CheckResultRollup.builder()
+                            .commandId(commandId)
+                            .resolution(group.getResolution())
+                            .bucketStart(group.getBucketStart())
+                            .build();
+                    merged = new RollupAccumulator();
+                } else {
+                    merged = RollupAccumulator.of(rollup);
+                }
+                merged.merge(deltas.get(key));
+                merged.writeTo(rollup);
+                toSave.add(rollup);
+            }
+        });
+        rollupRepository.saveAll(toSave);
+    }
+
+    private void mergePending(Map<Long, RollupAccumulator> totals, Segment segment) {
+        // Only the current and previous bucket of a resolution can still have unflushed changes.
+        Instant current = segment.resolution().bucketStart(Instant.now());
+        Instant[] candidates = {current, current.minus(segment.resolution().width())};
+        for (Instant bucketStart : candidates) {
+            if (bucketStart.isBefore(segment.from()) || !bucketStart.isBefore(segment.to())) {
+                continue;
+            }
+            totals.forEach((commandId, total) -> pending.computeIfPresent(
+                    new RollupKey(commandId, segment.resolution(), bucketStart), (key, delta) -> {
+                        total.merge(delta);
+                        return delta;
+                    }));
+        }
+    }
+
+    /**
+     * Covers [from, to) with contiguous segments of the coarsest resolution that fits. Both bounds must be minute-aligned.
+     */
+    static List<Segment> decompose(Instant from, Instant to) {
+        List<Segment> segments = new ArrayList<>();
+        Instant t = from;
+        while (t.isBefore(to)) {
+            RollupResolution resolution = RollupResolution.MINUTE;
+            for (RollupResolution candidate : new RollupResolution[]{RollupResolution.DAY, RollupResolution.HOUR}) {
+                if (candidate.isAligned(t) && !t.plus(candidate.width()).isAfter(to)) {
+                    resolution = candidate;
+                    break;
+                }
+            }
+            Instant next = t.plus(resolution.width());
+            Segment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            if (last != null && last.resolution() == resolution && last.to().equals(t)) {
+                segments.set(segments.size() - 1, new Segment(resolution, last.from(), next));
+            } else {
+                segments.add(new Segment(resolution, t, next));
+            }
+            t = next;
+        }
+        return segments;
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += IN_CLAUSE_CHUNK) {
+            chunks.add(ids.subList(i, Math.min(ids.size(), i + IN_CLAUSE_CHUNK)));
+        }
+        return chunks;
+    }
+
+    private static CheckCommandStatsDto toDto(CheckCommand command, RollupAccumulator total, Instant from, Instant to) {
+        long count = total.count();
+        LatencyHistogram histogram = total.histogram();
+        return new CheckCommandStatsDto(
+                command.getId(),
+                command.getType(),
+                from,
+                to,
+                count,
+                total.successCount(),
+                count == 0 ? null : 100.0 * total.successCount() / count,
+                count == 0 ? null : total.minResponseTimeMs(),
+                count == 0 ? null : total.maxResponseTimeMs(),
+                count == 0 ? null : (double) total.sumResponseTimeMs() / count,
+                clamp(histogram.valueAtPercentile(50), total),
+                clamp(histogram.valueAtPercentile(95), total),
+                clamp(histogram.valueAtPercentile(99), total),
+                total.statusCodeCounts());
+    }
+
+    private static Long clamp(Long estimate, RollupAccumulator total) {
+        // Bucket midpoints can fall outside the exact min/max we track; never report beyond them.
+        return estimate == null ? null : Math.max(total.minResponseTimeMs(), Math.min(total.maxResponseTimeMs(), estimate));
+    }
+
+    record Segment(RollupResolution resolution, Instant from, Instant to) {}
+}
@@ -0,0 +1,27 @@
+package com.cognizant.vibe.synthetictesting.rollup.dto;
+
+import com.cognizant.vibe.synthetictesting.check.entity.CommandType;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Uptime and latency statistics for one check command over a time window, computed from rollups.
+ * Latency percentiles are estimates with at most ~6% relative error; they are null if there were no results.
+ */
+public record CheckCommandStatsDto(
+        Long commandId,
+        CommandType commandType,
+        Instant from,
+        Instant to,
+        long count,
+        long successCount,
+        Double uptimePercent,
+        Long minResponseTimeMs,
+        Long maxResponseTimeMs,
+        Double avgResponseTimeMs,
+        Long p50ResponseTimeMs,
+        Long p95ResponseTimeMs,
+        Long p99ResponseTimeMs,
+        Map<Integer, Long> statusCodeCounts
+) {}
@@ -0,0 +1,18 @@
+package com.cognizant.vibe.synthetictesting.rollup.dto;
+
+import java.time.Instant;
+
+/**
+ * The outcome of rebuilding the rollups of a time window from raw results.
+ *
+ * @param from    Start of the rebuilt window, widened to a whole UTC day.
+ * @param to      End of the rebuilt window, widened to a whole UTC day.
+ * @param results Number of raw results folded into the rebuilt rollups.
+ * @param buckets Number of rollup buckets written, over all resolutions.
+ */
+public record RollupRebuildDto(
+        Instant from,
+        Instant to,
+        long results,
+        int buckets
+) {}
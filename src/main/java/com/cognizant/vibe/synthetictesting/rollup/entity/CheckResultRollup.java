@@ -0,0 +1,68 @@
+package com.cognizant.vibe.synthetictesting.rollup.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * Pre-aggregated statistics for all results of one command within one time bucket.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_rollup_resolution_start", columnList = "resolution, bucketStart"))
+@IdClass(RollupKey.class)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckResultRollup implements Persistable<RollupKey> {
+    @Id
+    private Long commandId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private RollupResolution resolution;
+
+    @Id
+    private Instant bucketStart;
+
+    private long count;
+    private long successCount;
+    private long minResponseTimeMs;
+    private long maxResponseTimeMs;
+    private long sumResponseTimeMs;
+
+    /**
+     * A {@link com.cognizant.vibe.synthetictesting.rollup.LatencyHistogram} in its compact binary form.
+     */
+    @Lob
+    private byte[] latencyHistogram;
+
+    /**
+     * Status code counts, encoded as {@code code:count} pairs separated by commas (e.g. "200:57,503:3").
+     */
+    @Column(length = 1024)
+    private String statusCodeCounts;
+
+    @Transient
+    @Builder.Default
+    private boolean newRollup = true;
+
+    @Override
+    public RollupKey getId() {
+        return new RollupKey(commandId, resolution, bucketStart);
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRollup;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newRollup = false;
+    }
+}
@@ -0,0 +1,20 @@
+package com.cognizant.vibe.synthetictesting.rollup.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Identifies one rollup bucket: a command, a resolution and the bucket's start time.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupKey implements Serializable {
+    private Long commandId;
+    private RollupResolution resolution;
+    private Instant bucketStart;
+}
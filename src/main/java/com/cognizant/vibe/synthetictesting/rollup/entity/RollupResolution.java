@@ -0,0 +1,43 @@
+package com.cognizant.vibe.synthetictesting.rollup.entity;
+
+import java.time.Duration;
+import java.time.Instant;
+
+public enum RollupResolution {
+    /**
+     * One-minute buckets.
+     */
+    MINUTE(Duration.ofMinutes(1)),
+
+    /**
+     * One-hour buckets.
+     */
+    HOUR(Duration.ofHours(1)),
+
+    /**
+     * One-day buckets, aligned to UTC midnight.
+     */
+    DAY(Duration.ofDays(1));
+
+    private final Duration width;
+
+    RollupResolution(Duration width) {
+        this.width = width;
+    }
+
+    public Duration width() {
+        return width;
+    }
+
+    /**
+     * @return The start of the bucket of this resolution that contains the given instant.
+     */
+    public Instant bucketStart(Instant instant) {
+        long widthMs = width.toMillis();
+        return Instant.ofEpochMilli(Math.floorDiv(instant.toEpochMilli(), widthMs) * widthMs);
+    }
+
+    public boolean isAligned(Instant instant) {
+        return instant.toEpochMilli() % width.toMillis() == 0;
+    }
+}
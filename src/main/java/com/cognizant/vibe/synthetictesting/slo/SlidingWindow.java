@@ -0,0 +1,109 @@
+package com.cognizant.vibe.synthetictesting.slo;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Counts good and total events over a sliding time window, kept as a ring of fixed-width buckets aligned to the
+ * epoch. Running sums over the ring are updated as events are added and as buckets fall out of the window, so
+ * reading the totals costs the same however long the window is.
+ * <p>
+ * The window consists of the current bucket and the ones before it, so it slides one bucket at a time and its
+ * oldest bucket is only partly inside the nominal window. Not thread-safe; callers synchronize.
+ */
+final class SlidingWindow {
+
+    private final Duration length;
+    private final long bucketMillis;
+    private final long[] good;
+    private final long[] total;
+    private long goodSum;
+    private long totalSum;
+    // Epoch bucket number of the newest bucket; the ring holds (head - buckets, head].
+    private long head = Long.MIN_VALUE;
+
+    /**
+     * @param length  The length of the window.
+     * @param buckets Into how many buckets to split it. Bucket widths are rounded down to whole minutes, and the
+     *                window gets as many buckets as it takes to cover its length.
+     */
+    SlidingWindow(Duration length, int buckets) {
+        long widthMinutes = Math.max(1, length.toMinutes() / buckets);
+        this.length = length;
+        this.bucketMillis = Duration.ofMinutes(widthMinutes).toMillis();
+        int count = (int) Math.ceilDiv(length.toMillis(), bucketMillis);
+        this.good = new long[count];
+        this.total = new long[count];
+    }
+
+    /**
+     * Adds events to the bucket containing the timestamp. Events older than the window are ignored; events
+     * newer than the newest bucket move the window forward.
+     */
+    void add(Instant timestamp, long goodEvents, long totalEvents) {
+        long bucket = Math.floorDiv(timestamp.toEpochMilli(), bucketMillis);
+        if (bucket > head) {
+            advanceTo(bucket);
+        } else if (bucket <= head - good.length) {
+            return;
+        }
+        int slot = (int) Math.floorMod(bucket, (long) good.length);
+        good[slot] += goodEvents;
+        total[slot] += totalEvents;
+        goodSum += goodEvents;
+        totalSum += totalEvents;
+    }
+
+    /**
+     * Moves the window forward to the given time, dropping the buckets that fall out of it.
+     */
+    void advance(Instant now) {
+        long bucket = Math.floorDiv(now.toEpochMilli(), bucketMillis);
+        if (bucket > head) {
+            advanceTo(bucket);
+        }
+    }
+
+    long good() {
+        return goodSum;
+    }
+
+    long total() {
+        return totalSum;
+    }
+
+    Duration length() {
+        return length;
+    }
+
+    Duration bucketWidth() {
+        return Duration.ofMillis(bucketMillis);
+    }
+
+    /**
+     * @return The start of the oldest bucket of the window when its newest bucket contains {@code now}.
+     */
+    Instant start(Instant now) {
+        long bucket = Math.floorDiv(now.toEpochMilli(), bucketMillis);
+        return Instant.ofEpochMilli((bucket - good.length + 1) * bucketMillis);
+    }
+
+    private void advanceTo(long bucket) {
+        if (head == Long.MIN_VALUE || bucket - head >= good.length) {
+            Arrays.fill(good, 0);
+            Arrays.fill(total, 0);
+            goodSum = 0;
+            totalSum = 0;
+        } else {
+            for (long evicted = head + 1; evicted <= bucket; evicted++) {
+                int slot = (int) Math.floorMod(evicted, (long) good.length);
+                goodSum -= good[slot];
+                totalSum -= total[slot];
+                good[slot] = 0;
+                total[slot] = 0;
+            }
+        }
+        head = bucket;
+    }
+}
@@ -0,0 +1,78 @@
+package com.cognizant.vibe.synthetictesting.slo;
+
+import com.cognizant.vibe.synthetictesting.slo.dto.SloStatusDto;
+import com.cognizant.vibe.synthetictesting.slo.entity.CreateSloRequest;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/slos")
+@Tag(name = "Service Level Objectives", description = "APIs for objectives on targets and checks, with error budgets and burn rates served from memory.")
+@RequiredArgsConstructor
+public class SloController {
+
+    private final SloService sloService;
+
+    @PostMapping
+    @Operation(summary = "Define a service level objective",
+            description = "Defines an availability or latency objective over a sliding window of days for a target or a single "
+                    + "check. Its current state is built from the rollups, and every check run updates it from then on.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Objective created successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SloStatusDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request body", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Target or check command not found", content = @Content)
+    })
+    public ResponseEntity<SloStatusDto> createSlo(@Valid @RequestBody CreateSloRequest request) {
+        SloStatusDto created = sloService.createSlo(request);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(created.id())
+                .toUri();
+        return ResponseEntity.created(location).body(created);
+    }
+
+    @GetMapping
+    @Operation(summary = "Get all service level objectives",
+            description = "Returns every objective with its SLI, remaining error budget and burn rates.")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved objectives")
+    public ResponseEntity<List<SloStatusDto>> getSlos(
+            @Parameter(description = "Only return the objectives of this target and of its checks.")
+            @RequestParam(required = false) Long targetId) {
+        return ResponseEntity.ok(sloService.getSlos(targetId));
+    }
+
+    @GetMapping("/{sloId}")
+    @Operation(summary = "Get a service level objective", description = "Returns the SLI, remaining error budget and burn rates of one objective.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the objective"),
+            @ApiResponse(responseCode = "404", description = "Objective not found", content = @Content)
+    })
+    public ResponseEntity<SloStatusDto> getSlo(@PathVariable Long sloId) {
+        return ResponseEntity.ok(sloService.getSlo(sloId));
+    }
+
+    @DeleteMapping("/{sloId}")
+    @Operation(summary = "Delete a service level objective")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Objective deleted successfully"),
+            @ApiResponse(responseCode = "404", description = "Objective not found", content = @Content)
+    })
+    public ResponseEntity<Void> deleteSlo(@PathVariable Long sloId) {
+        sloService.deleteSlo(sloId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,13 @@
+package com.cognizant.vibe.synthetictesting.slo;
+
+import com.cognizant.vibe.synthetictesting.slo.entity.SloDefinition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SloDefinitionRepository extends JpaRepository<SloDefinition, Long> {
+
+    List<SloDefinition> findByCheckCommandId(Long checkCommandId);
+}
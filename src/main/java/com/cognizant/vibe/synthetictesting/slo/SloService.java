@@ -0,0 +1,272 @@
+package com.cognizant.vibe.synthetictesting.slo;
+
+import com.cognizant.vibe.synthetictesting.app.AppTargetRepository;
+import com.cognizant.vibe.synthetictesting.check.CheckCommandRepository;
+import com.cognizant.vibe.synthetictesting.check.CheckResultListener;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckCommand;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+import com.cognizant.vibe.synthetictesting.config.ClusterProperties;
+import com.cognizant.vibe.synthetictesting.config.SloProperties;
+import com.cognizant.vibe.synthetictesting.rollup.RollupService;
+import com.cognizant.vibe.synthetictesting.rollup.entity.RollupResolution;
+import com.cognizant.vibe.synthetictesting.slo.dto.SloStatusDto;
+import com.cognizant.vibe.synthetictesting.slo.entity.CreateSloRequest;
+import com.cognizant.vibe.synthetictesting.slo.entity.SloDefinition;
+import com.cognizant.vibe.synthetictesting.slo.entity.SloIndicator;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks service level objectives in memory. Every check run is counted into the {@link SloTracker}s of the
+ * objectives on its command and on its target as it is produced, so error budgets and burn rates are read
+ * without touching the database.
+ * <p>
+ * At startup, and when an objective is created, its windows are rebuilt from the persisted rollups instead
+ * of the raw results. An objective created while checks run may miss or double count the runs in flight
+ * during the rebuild.
+ * <p>
+ * When clustered, a node only sees the runs of the commands in its own partitions. Every node therefore
+ * {@link #reconcile() reconciles} periodically: it reloads the objectives and rebuilds all windows from the
+ * rollups flushed by every node. In between, its windows are node-local.
+ */
+@Service
+public class SloService implements CheckResultListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SloService.class);
+    private static final int DEFAULT_WINDOW_DAYS = 30;
+
+    private final SloDefinitionRepository sloDefinitionRepository;
+    private final CheckCommandRepository checkCommandRepository;
+    private final AppTargetRepository appTargetRepository;
+    private final RollupService rollupService;
+    private final SloProperties properties;
+    private final ClusterProperties clusterProperties;
+
+    private final Map<Long, SloTracker> trackers = new ConcurrentHashMap<>();
+    // Immutable lookups of the trackers by command and by target, replaced whenever trackers change.
+    private volatile Map<Long, List<SloTracker>> byCommand = Map.of();
+    private volatile Map<Long, List<SloTracker>> byTarget = Map.of();
+
+    public SloService(SloDefinitionRepository sloDefinitionRepository,
+                      CheckCommandRepository checkCommandRepository,
+                      AppTargetRepository appTargetRepository,
+                      RollupService rollupService,
+                      SloProperties properties,
+                      ClusterProperties clusterProperties) {
+        if (properties.bucketsPerWindow() < 1) {
+            throw new IllegalArgumentException("synthetic.slo.buckets-per-window must be positive");
+        }
+        this.sloDefinitionRepository = sloDefinitionRepository;
+        this.checkCommandRepository = checkCommandRepository;
+        this.appTargetRepository = appTargetRepository;
+        this.rollupService = rollupService;
+        this.properties = properties;
+        this.clusterProperties = clusterProperties;
+    }
+
+    /**
+     * Rebuilds every objective from the rollups. Runs before the executor, which takes this listener, exists.
+     */
+    @PostConstruct
+    void load() {
+        long start = System.nanoTime();
+        List<SloDefinition> definitions = sloDefinitionRepository.findAll();
+        definitions.forEach(this::track);
+        if (!definitions.isEmpty()) {
+            log.info("Rebuilt {} service level objectives from rollups in {} ms.",
+                    definitions.size(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * When clustered, reloads the objectives and replaces every tracker with one rebuilt from the rollups, which
+     * hold the runs of all nodes once flushed. Objectives created or deleted on other nodes are picked up here.
+     * Runs of other nodes not yet flushed are missing until the next reconcile. Creating and deleting objectives
+     * wait for a running reconcile, so it never drops an objective created meanwhile.
+     */
+    @Scheduled(fixedDelayString = "${synthetic.slo.reconcile-interval:1m}",
+            initialDelayString = "${synthetic.slo.reconcile-interval:1m}")
+    public synchronized void reconcile() {
+        if (!clusterProperties.enabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        rollupService.flush();
+        Map<Long, SloTracker> rebuilt = new HashMap<>();
+        for (SloDefinition definition : sloDefinitionRepository.findAll()) {
+            rebuilt.put(definition.getId(), build(definition));
+        }
+        trackers.keySet().retainAll(rebuilt.keySet());
+        trackers.putAll(rebuilt);
+        reindex();
+        log.debug("Reconciled {} service level objectives with the rollups in {} ms.",
+                rebuilt.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public void onCheckResult(CheckResult result) {
+        CheckCommand command = result.getCommand();
+        record(byCommand.get(command.getId()), result);
+        record(byTarget.get(command.getApp().getId()), result);
+    }
+
+    /**
+     * Defines an objective and builds its windows from the rollups.
+     *
+     * @return The new objective's status.
+     * @throws IllegalArgumentException if the request does not name exactly one target or command, or has no
+     *                                  latency threshold for a LATENCY objective.
+     * @throws EntityNotFoundException  if the target or command does not exist.
+     */
+    public synchronized SloStatusDto createSlo(CreateSloRequest request) {
+        if ((request.targetId() == null) == (request.commandId() == null)) {
+            throw new IllegalArgumentException("Exactly one of 'targetId' and 'commandId' must be given");
+        }
+        if ((request.indicator() == SloIndicator.LATENCY) != (request.latencyThresholdMs() != null)) {
+            throw new IllegalArgumentException("'latencyThresholdMs' must be given for LATENCY objectives, and only for them");
+        }
+        if (request.targetId() != null && !appTargetRepository.existsById(request.targetId())) {
+            throw new EntityNotFoundException("AppTarget not found with id: " + request.targetId());
+        }
+        if (request.commandId() != null && !checkCommandRepository.existsById(request.commandId())) {
+            throw new EntityNotFoundException("CheckCommand not found with id: " + request.commandId());
+        }
+
+        SloDefinition definition = sloDefinitionRepository.save(SloDefinition.builder()
+                .name(request.name())
+                .appTargetId(request.targetId())
+                .checkCommandId(request.commandId())
+                .indicator(request.indicator())
+                .objectivePercent(request.objectivePercent())
+                .latencyThresholdMs(request.latencyThresholdMs())
+                .windowDays(request.windowDays() != null ? request.windowDays() : DEFAULT_WINDOW_DAYS)
+                .build());
+        rollupService.flush();
+        SloTracker tracker = track(definition);
+        log.info("Defined service level objective '{}' (ID {}).", definition.getName(), definition.getId());
+        return tracker.status(Instant.now());
+    }
+
+    /**
+     * @param targetId If not null, only the objectives of this target and of its commands.
+     * @return The status of the objectives, ordered by ID.
+     */
+    public List<SloStatusDto> getSlos(Long targetId) {
+        Set<Long> commandIds = targetId == null ? Set.of() : new HashSet<>(checkCommandRepository.findIdsByAppId(targetId));
+        Instant now = Instant.now();
+        return trackers.values().stream()
+                .filter(tracker -> targetId == null
+                        || targetId.equals(tracker.definition().getAppTargetId())
+                        || commandIds.contains(tracker.definition().getCheckCommandId()))
+                .sorted(Comparator.comparing(tracker -> tracker.definition().getId()))
+                .map(tracker -> tracker.status(now))
+                .toList();
+    }
+
+    /**
+     * @throws EntityNotFoundException if no objective with the given ID exists.
+     */
+    public SloStatusDto getSlo(Long sloId) {
+        return tracker(sloId).status(Instant.now());
+    }
+
+    /**
+     * @throws EntityNotFoundException if no objective with the given ID exists.
+     */
+    public synchronized void deleteSlo(Long sloId) {
+        SloTracker tracker = tracker(sloId);
+        sloDefinitionRepository.deleteById(sloId);
+        untrack(List.of(tracker.definition()));
+        log.info("Deleted service level objective ID: {}", sloId);
+    }
+
+    /**
+     * Removes the objectives of a command, for example after the command has been deleted.
+     */
+    public synchronized void deleteSlosForCommand(Long commandId) {
+        List<SloDefinition> definitions = sloDefinitionRepository.findByCheckCommandId(commandId);
+        if (!definitions.isEmpty()) {
+            sloDefinitionRepository.deleteAll(definitions);
+            untrack(definitions);
+        }
+    }
+
+    private static void record(List<SloTracker> trackers, CheckResult result) {
+        if (trackers != null) {
+            for (SloTracker tracker : trackers) {
+                tracker.record(result.getTimestamp(), result.isSuccess(), result.getResponseTimeMs());
+            }
+        }
+    }
+
+    private SloTracker tracker(Long sloId) {
+        SloTracker tracker = trackers.get(sloId);
+        if (tracker == null) {
+            throw new EntityNotFoundException("Service level objective not found with id: " + sloId);
+        }
+        return tracker;
+    }
+
+    /**
+     * Builds the tracker of an objective from the rollups and starts counting runs into it.
+     */
+    private SloTracker track(SloDefinition definition) {
+        SloTracker tracker = build(definition);
+        trackers.put(definition.getId(), tracker);
+        reindex();
+        return tracker;
+    }
+
+    private SloTracker build(SloDefinition definition) {
+        SloTracker tracker = new SloTracker(definition, properties.burnRateWindows(), properties.bucketsPerWindow());
+        List<Long> commandIds = definition.getCheckCommandId() != null
+                ? List.of(definition.getCheckCommandId())
+                : checkCommandRepository.findIdsByAppId(definition.getAppTargetId());
+        Instant now = Instant.now();
+        Instant currentHour = RollupResolution.HOUR.bucketStart(now);
+        Instant to = RollupResolution.MINUTE.bucketStart(now).plus(RollupResolution.MINUTE.width());
+        for (RollupResolution resolution : List.of(RollupResolution.HOUR, RollupResolution.MINUTE)) {
+            Instant from = tracker.earliest(resolution, now);
+            if (from != null && !commandIds.isEmpty()) {
+                rollupService.findRollups(commandIds, resolution, from, to).forEach(rollup -> tracker.load(rollup, currentHour));
+            }
+        }
+        return tracker;
+    }
+
+    private void untrack(List<SloDefinition> definitions) {
+        definitions.forEach(definition -> trackers.remove(definition.getId()));
+        reindex();
+    }
+
+    private synchronized void reindex() {
+        Map<Long, List<SloTracker>> commands = new HashMap<>();
+        Map<Long, List<SloTracker>> targets = new HashMap<>();
+        for (SloTracker tracker : trackers.values()) {
+            SloDefinition definition = tracker.definition();
+            if (definition.getCheckCommandId() != null) {
+                commands.computeIfAbsent(definition.getCheckCommandId(), id -> new ArrayList<>()).add(tracker);
+            } else {
+                targets.computeIfAbsent(definition.getAppTargetId(), id -> new ArrayList<>()).add(tracker);
+            }
+        }
+        commands.replaceAll((id, list) -> List.copyOf(list));
+        targets.replaceAll((id, list) -> List.copyOf(list));
+        byCommand = Map.copyOf(commands);
+        byTarget = Map.copyOf(targets);
+    }
+}
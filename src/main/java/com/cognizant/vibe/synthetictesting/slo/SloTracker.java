@@ -0,0 +1,132 @@
+package com.cognizant.vibe.synthetictesting.slo;
+
+import com.cognizant.vibe.synthetictesting.rollup.LatencyHistogram;
+import com.cognizant.vibe.synthetictesting.rollup.entity.CheckResultRollup;
+import com.cognizant.vibe.synthetictesting.rollup.entity.RollupResolution;
+import com.cognizant.vibe.synthetictesting.slo.dto.BurnRateDto;
+import com.cognizant.vibe.synthetictesting.slo.dto.SloStatusDto;
+import com.cognizant.vibe.synthetictesting.slo.entity.SloDefinition;
+import com.cognizant.vibe.synthetictesting.slo.entity.SloIndicator;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The live state of one {@link SloDefinition}: good and total runs over the objective's window and over each
+ * burn-rate window, each kept in a {@link SlidingWindow}. Recording a run and reading the status both take
+ * constant time. Thread-safe.
+ */
+final class SloTracker {
+
+    private final SloDefinition definition;
+    private final SlidingWindow budgetWindow;
+    private final List<SlidingWindow> burnWindows;
+
+    SloTracker(SloDefinition definition, List<Duration> burnRateWindows, int bucketsPerWindow) {
+        this.definition = definition;
+        this.budgetWindow = new SlidingWindow(Duration.ofDays(definition.getWindowDays()), bucketsPerWindow);
+        this.burnWindows = burnRateWindows.stream().map(window -> new SlidingWindow(window, bucketsPerWindow)).toList();
+    }
+
+    SloDefinition definition() {
+        return definition;
+    }
+
+    synchronized void record(Instant timestamp, boolean success, long responseTimeMs) {
+        long good = isGood(success, responseTimeMs) ? 1 : 0;
+        budgetWindow.add(timestamp, good, 1);
+        burnWindows.forEach(window -> window.add(timestamp, good, 1));
+    }
+
+    /**
+     * Adds a persisted rollup to the windows it belongs in. Windows whose buckets are whole hours are built
+     * from hour rollups before {@code currentHour} and minute rollups from then on; all others from minute
+     * rollups only. Feeding both resolutions over the same span therefore counts no run twice.
+     */
+    synchronized void load(CheckResultRollup rollup, Instant currentHour) {
+        long good = definition.getIndicator() == SloIndicator.LATENCY
+                ? LatencyHistogram.fromBytes(rollup.getLatencyHistogram()).countAtOrBelow(definition.getLatencyThresholdMs())
+                : rollup.getSuccessCount();
+        load(budgetWindow, rollup, good, currentHour);
+        burnWindows.forEach(window -> load(window, rollup, good, currentHour));
+    }
+
+    /**
+     * @return The earliest start of a rollup bucket of the given resolution that {@link #load} takes when
+     * loading at {@code now}, or null if it takes no rollups of that resolution.
+     */
+    Instant earliest(RollupResolution resolution, Instant now) {
+        Instant currentHour = RollupResolution.HOUR.bucketStart(now);
+        Instant earliest = null;
+        for (SlidingWindow window : windows()) {
+            boolean hourly = isHourly(window);
+            Instant start = window.start(now);
+            if (resolution == RollupResolution.MINUTE && hourly) {
+                start = start.isAfter(currentHour) ? start : currentHour;
+            } else if (resolution != (hourly ? RollupResolution.HOUR : RollupResolution.MINUTE)) {
+                continue;
+            }
+            earliest = earliest == null || start.isBefore(earliest) ? start : earliest;
+        }
+        return earliest;
+    }
+
+    synchronized SloStatusDto status(Instant now) {
+        budgetWindow.advance(now);
+        double allowedBadShare = 1 - definition.getObjectivePercent() / 100.0;
+        long total = budgetWindow.total();
+        long good = budgetWindow.good();
+        Double remaining = total == 0 ? null : 100.0 * (1 - (double) (total - good) / (allowedBadShare * total));
+
+        List<BurnRateDto> burnRates = new ArrayList<>(burnWindows.size());
+        for (SlidingWindow window : burnWindows) {
+            window.advance(now);
+            Double burnRate = window.total() == 0 ? null
+                    : (double) (window.total() - window.good()) / window.total() / allowedBadShare;
+            burnRates.add(new BurnRateDto(window.length(), window.good(), window.total(), burnRate));
+        }
+        return new SloStatusDto(
+                definition.getId(),
+                definition.getName(),
+                definition.getAppTargetId(),
+                definition.getCheckCommandId(),
+                definition.getIndicator(),
+                definition.getObjectivePercent(),
+                definition.getLatencyThresholdMs(),
+                definition.getWindowDays(),
+                budgetWindow.start(now),
+                good,
+                total,
+                total == 0 ? null : 100.0 * good / total,
+                remaining,
+                burnRates);
+    }
+
+    private boolean isGood(boolean success, long responseTimeMs) {
+        return definition.getIndicator() == SloIndicator.LATENCY
+                ? LatencyHistogram.isAtOrBelow(responseTimeMs, definition.getLatencyThresholdMs())
+                : success;
+    }
+
+    private List<SlidingWindow> windows() {
+        List<SlidingWindow> windows = new ArrayList<>(burnWindows);
+        windows.add(budgetWindow);
+        return windows;
+    }
+
+    private static void load(SlidingWindow window, CheckResultRollup rollup, long good, Instant currentHour) {
+        boolean hourlyRollup = rollup.getResolution() == RollupResolution.HOUR;
+        boolean takes = isHourly(window)
+                ? hourlyRollup == rollup.getBucketStart().isBefore(currentHour)
+                : rollup.getResolution() == RollupResolution.MINUTE;
+        if (takes) {
+            window.add(rollup.getBucketStart(), good, rollup.getCount());
+        }
+    }
+
+    private static boolean isHourly(SlidingWindow window) {
+        return window.bucketWidth().toMillis() % RollupResolution.HOUR.width().toMillis() == 0;
+    }
+}
@@ -0,0 +1,19 @@
+package com.cognizant.vibe.synthetictesting.slo.dto;
+
+import java.time.Duration;
+
+/**
+ * How fast an objective's error budget is being spent over a recent window.
+ *
+ * @param window   Length of the window.
+ * @param good     Good runs in the window.
+ * @param total    All runs in the window.
+ * @param burnRate Share of bad runs divided by the share the objective allows; 1 spends the budget exactly
+ *                 over the objective's window. Null if there were no runs.
+ */
+public record BurnRateDto(
+        Duration window,
+        long good,
+        long total,
+        Double burnRate
+) {}
@@ -0,0 +1,32 @@
+package com.cognizant.vibe.synthetictesting.slo.dto;
+
+import com.cognizant.vibe.synthetictesting.slo.entity.SloIndicator;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A service level objective and how it is doing over its sliding window.
+ *
+ * @param windowStart                 Start of the oldest counted bucket; the window slides one bucket at a time.
+ * @param sliPercent                  Share of good runs in the window, or null if there were no runs.
+ * @param errorBudgetRemainingPercent Share of the allowed bad runs not yet used; negative once the objective is
+ *                                    missed. Null if there were no runs.
+ * @param burnRates                   Burn rates over the windows of {@code synthetic.slo.burn-rate-windows}.
+ */
+public record SloStatusDto(
+        Long id,
+        String name,
+        Long targetId,
+        Long commandId,
+        SloIndicator indicator,
+        double objectivePercent,
+        Long latencyThresholdMs,
+        int windowDays,
+        Instant windowStart,
+        long good,
+        long total,
+        Double sliPercent,
+        Double errorBudgetRemainingPercent,
+        List<BurnRateDto> burnRates
+) {}
@@ -0,0 +1,35 @@
+package com.cognizant.vibe.synthetictesting.slo.entity;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * DTO for defining a service level objective. Exactly one of {@code targetId} and {@code commandId} must be set.
+ */
+public record CreateSloRequest(
+        @NotBlank(message = "Name cannot be blank")
+        String name,
+
+        Long targetId,
+
+        Long commandId,
+
+        @NotNull(message = "Indicator cannot be null")
+        SloIndicator indicator,
+
+        @NotNull(message = "Objective cannot be null")
+        @DecimalMin(value = "0", inclusive = false, message = "Objective must be above 0%")
+        @DecimalMax(value = "100", inclusive = false, message = "Objective must be below 100%")
+        Double objectivePercent,
+
+        @Min(value = 1, message = "Latency threshold must be at least 1 ms")
+        Long latencyThresholdMs,
+
+        @Min(value = 1, message = "Window must be at least 1 day")
+        @Max(value = 90, message = "Window must be at most 90 days")
+        Integer windowDays
+) {}
@@ -0,0 +1,49 @@
+package com.cognizant.vibe.synthetictesting.slo.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A service level objective over the check runs of either a whole target or a single check command.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SloDefinition {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String name;
+
+    /**
+     * The target whose check runs all count, or null if the objective is for a single command.
+     */
+    private Long appTargetId;
+
+    /**
+     * The command whose check runs count, or null if the objective is for a whole target.
+     */
+    private Long checkCommandId;
+
+    @Enumerated(EnumType.STRING)
+    private SloIndicator indicator;
+
+    /**
+     * Share of good runs to achieve, e.g. 99.9.
+     */
+    private double objectivePercent;
+
+    /**
+     * Slowest response time of a good run, for {@link SloIndicator#LATENCY}.
+     */
+    private Long latencyThresholdMs;
+
+    /**
+     * Length of the sliding window the objective applies to.
+     */
+    private int windowDays;
+}
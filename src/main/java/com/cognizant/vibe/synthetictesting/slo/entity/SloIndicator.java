@@ -0,0 +1,17 @@
+package com.cognizant.vibe.synthetictesting.slo.entity;
+
+/**
+ * What counts as a good check run for a service level objective.
+ */
+public enum SloIndicator {
+    /**
+     * The run succeeded.
+     */
+    AVAILABILITY,
+
+    /**
+     * The run finished within the latency threshold, whether it succeeded or not. Runs are classified by the
+     * bucket of the rollup latency histogram they fall in, so SLIs rebuilt from rollups match the live ones.
+     */
+    LATENCY
+}
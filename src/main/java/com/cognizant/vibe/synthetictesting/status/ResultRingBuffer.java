@@ -0,0 +1,120 @@
+package com.cognizant.vibe.synthetictesting.status;
+
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+import com.cognizant.vibe.synthetictesting.check.entity.CommandType;
+
+import java.lang.invoke.VarHandle;
+
+/**
+ * Fixed-size ring of the most recent results of one command, stored column-wise in primitive arrays
+ * so that recording a result allocates nothing.
+ * <p>
+ * Writers are serialized by the buffer's monitor. Readers never lock: they use a sequence lock, copying
+ * the data optimistically and retrying if a write happened while they were copying.
+ */
+final class ResultRingBuffer {
+
+    private static final int NO_STATUS_CODE = -1;
+
+    private final long commandId;
+    private final long targetId;
+    private final CommandType type;
+
+    private final long[] timestamps;
+    private final long[] responseTimes;
+    private final int[] statusCodes;
+    private final boolean[] successes;
+    private String lastErrorMessage;
+    private long written;
+
+    // Odd while a write is in progress.
+    private volatile long version;
+
+    ResultRingBuffer(long commandId, long targetId, CommandType type, int capacity) {
+        this.commandId = commandId;
+        this.targetId = targetId;
+        this.type = type;
+        this.timestamps = new long[capacity];
+        this.responseTimes = new long[capacity];
+        this.statusCodes = new int[capacity];
+        this.successes = new boolean[capacity];
+    }
+
+    long commandId() {
+        return commandId;
+    }
+
+    long targetId() {
+        return targetId;
+    }
+
+    CommandType type() {
+        return type;
+    }
+
+    synchronized void add(CheckResult result) {
+        long v = version;
+        version = v + 1;
+        VarHandle.storeStoreFence();
+
+        int slot = (int) (written % timestamps.length);
+        timestamps[slot] = result.getTimestamp().toEpochMilli();
+        responseTimes[slot] = result.getResponseTimeMs();
+        statusCodes[slot] = result.getStatusCode() != null ? result.getStatusCode() : NO_STATUS_CODE;
+        successes[slot] = result.isSuccess();
+        lastErrorMessage = result.getErrorMessage();
+        written++;
+
+        version = v + 2;
+    }
+
+    /**
+     * Copies the latest results without blocking writers.
+     *
+     * @param maxResults Maximum number of results to copy; at least the latest one is always copied.
+     * @return The latest results, newest first, or null if no result has been recorded yet.
+     */
+    Snapshot snapshot(int maxResults) {
+        int wanted = Math.max(1, Math.min(maxResults, timestamps.length));
+        long[] ts = new long[wanted];
+        long[] rt = new long[wanted];
+        int[] sc = new int[wanted];
+        boolean[] ok = new boolean[wanted];
+        while (true) {
+            long before = version;
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            long total = written;
+            String error = lastErrorMessage;
+            int n = (int) Math.min(wanted, total);
+            for (int i = 0; i < n; i++) {
+                int slot = (int) ((total - 1 - i) % timestamps.length);
+                ts[i] = timestamps[slot];
+                rt[i] = responseTimes[slot];
+                sc[i] = statusCodes[slot];
+                ok[i] = successes[slot];
+            }
+            VarHandle.loadLoadFence();
+            if (version == before) {
+                return total == 0 ? null : new Snapshot(total, n, ts, rt, sc, ok, error);
+            }
+        }
+    }
+
+    /**
+     * A consistent copy of the latest results, newest at index 0.
+     *
+     * @param totalRecorded    Number of results recorded since the buffer was created.
+     * @param size             Number of valid entries in the arrays.
+     * @param lastErrorMessage Error message of the latest result, if it had one.
+     */
+    record Snapshot(long totalRecorded, int size, long[] timestamps, long[] responseTimes, int[] statusCodes,
+                    boolean[] successes, String lastErrorMessage) {
+
+        Integer statusCode(int i) {
+            return statusCodes[i] == NO_STATUS_CODE ? null : statusCodes[i];
+        }
+    }
+}
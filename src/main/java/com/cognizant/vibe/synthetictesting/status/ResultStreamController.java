@@ -0,0 +1,40 @@
+package com.cognizant.vibe.synthetictesting.status;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/api/v1/results")
+@Tag(name = "Live Status", description = "APIs for the current state and recent results of checks, served from memory.")
+@RequiredArgsConstructor
+public class ResultStreamController {
+
+    private final ResultStreamService resultStreamService;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream live check results",
+            description = "Pushes every check result as a Server-Sent Event named 'result' as soon as it is produced, "
+                    + "with a heartbeat comment in between. A client that reads too slowly loses the oldest results, not the newest.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened"),
+            @ApiResponse(responseCode = "503", description = "Too many streams are open", content = @Content)
+    })
+    public Flux<ServerSentEvent<String>> streamResults(
+            @Parameter(description = "Only stream results of this target.")
+            @RequestParam(required = false) Long targetId,
+            @Parameter(description = "Only stream results of this check command.")
+            @RequestParam(required = false) Long commandId,
+            @Parameter(description = "Only stream failed results.")
+            @RequestParam(defaultValue = "false") boolean failuresOnly) {
+        return resultStreamService.subscribe(targetId, commandId, failuresOnly);
+    }
+}
@@ -0,0 +1,165 @@
+package com.cognizant.vibe.synthetictesting.status;
+
+import com.cognizant.vibe.synthetictesting.check.CheckResultListener;
+import com.cognizant.vibe.synthetictesting.check.dto.CheckResultDto;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckCommand;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+import com.cognizant.vibe.synthetictesting.config.ResultStreamProperties;
+import com.cognizant.vibe.synthetictesting.status.dto.LiveResultDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes every check result to the open live result streams whose filter it matches.
+ * <p>
+ * A result is serialized once, and only if some stream wants it, and handed to each matching stream without
+ * waiting. Every stream buffers up to {@link ResultStreamProperties#bufferSize()} results for its client and
+ * drops the oldest when a slow client lets it fill up, so clients can never hold up the checks that produce
+ * the results.
+ */
+@Service
+public class ResultStreamService implements CheckResultListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ResultStreamService.class);
+
+    private final ResultStreamProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger open = new AtomicInteger();
+    private final Counter droppedCounter;
+
+    public ResultStreamService(ResultStreamProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        Gauge.builder("synthetic.stream.subscribers", open, AtomicInteger::get)
+                .description("Open live result streams")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("synthetic.stream.dropped")
+                .description("Live results dropped because a client read too slowly")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of the results produced from now on, interleaved with heartbeat comments. A stream only takes
+     * one of the {@link ResultStreamProperties#maxSubscribers()} slots while it is subscribed to, so a stream that is
+     * returned but never subscribed, for example because the client went away before the response started, holds none.
+     *
+     * @param targetId     Only stream results of this target, if not null.
+     * @param commandId    Only stream results of this check command, if not null.
+     * @param failuresOnly Only stream failed results.
+     * @return The stream; it ends when the client disconnects. It fails with a {@link RejectedExecutionException}
+     * if the slots were taken between this call and its subscription.
+     * @throws RejectedExecutionException if {@link ResultStreamProperties#maxSubscribers()} streams are already open.
+     */
+    public Flux<ServerSentEvent<String>> subscribe(Long targetId, Long commandId, boolean failuresOnly) {
+        // Checked up front as well, so a full house is refused before the response is committed to a stream.
+        if (open.get() >= properties.maxSubscribers()) {
+            throw tooManyStreams();
+        }
+        return Flux.defer(() -> {
+            if (open.incrementAndGet() > properties.maxSubscribers()) {
+                open.decrementAndGet();
+                return Flux.error(tooManyStreams());
+            }
+            return stream(targetId, commandId, failuresOnly).doFinally(signal -> open.decrementAndGet());
+        });
+    }
+
+    private Flux<ServerSentEvent<String>> stream(Long targetId, Long commandId, boolean failuresOnly) {
+        Flux<ServerSentEvent<String>> results = Flux.<String>create(sink -> {
+                    Subscriber subscriber = new Subscriber(targetId, commandId, failuresOnly, sink);
+                    subscribers.add(subscriber);
+                    sink.onDispose(() -> subscribers.remove(subscriber));
+                })
+                .onBackpressureBuffer(properties.bufferSize(), dropped -> droppedCounter.increment(), BufferOverflowStrategy.DROP_OLDEST)
+                .map(json -> ServerSentEvent.builder(json).event("result").build());
+        Duration heartbeat = properties.heartbeatInterval();
+        Flux<ServerSentEvent<String>> heartbeats = Flux.interval(Duration.ZERO, heartbeat)
+                .onBackpressureDrop()
+                .map(tick -> ServerSentEvent.<String>builder().comment("heartbeat").build());
+        // A prefetch of one keeps results in the bounded buffer above until the client is ready for them.
+        return Flux.merge(1, results, heartbeats);
+    }
+
+    private RejectedExecutionException tooManyStreams() {
+        return new RejectedExecutionException("too many live result streams open (" + properties.maxSubscribers() + ")");
+    }
+
+    @Override
+    public void onCheckResult(CheckResult result) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        String json = null;
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.matches(result)) {
+                continue;
+            }
+            if (json == null) {
+                try {
+                    json = objectMapper.writeValueAsString(toDto(result));
+                } catch (JsonProcessingException e) {
+                    log.warn("Could not serialize the result of check command ID {} for live streams: {}",
+                            result.getCommand().getId(), e.getMessage());
+                    return;
+                }
+            }
+            subscriber.sink().next(json);
+        }
+    }
+
+    private static LiveResultDto toDto(CheckResult result) {
+        CheckCommand command = result.getCommand();
+        return new LiveResultDto(
+                command.getApp().getId(),
+                command.getApp().getName(),
+                command.getType(),
+                new CheckResultDto(
+                        result.getId(),
+                        command.getId(),
+                        result.getTimestamp(),
+                        result.isSuccess(),
+                        result.getOutcome(),
+                        result.getResponseTimeMs(),
+                        result.getStatusCode(),
+                        result.getErrorMessage(),
+                        result.getDnsMicros(),
+                        result.getConnectMicros(),
+                        result.getTlsMicros(),
+                        result.getTtfbMicros(),
+                        result.getTotalMicros(),
+                        result.getRttMinMicros(),
+                        result.getRttAvgMicros(),
+                        result.getRttMaxMicros(),
+                        result.getJitterMicros(),
+                        result.getLossPercent(),
+                        result.getBodyBytes(),
+                        result.getAssertionsPassed()));
+    }
+
+    private record Subscriber(Long targetId, Long commandId, boolean failuresOnly, FluxSink<String> sink) {
+
+        private boolean matches(CheckResult result) {
+            CheckCommand command = result.getCommand();
+            return (targetId == null || targetId.equals(command.getApp().getId()))
+                    && (commandId == null || commandId.equals(command.getId()))
+                    && !(failuresOnly && result.isSuccess());
+        }
+    }
+}
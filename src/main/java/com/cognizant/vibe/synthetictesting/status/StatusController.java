@@ -0,0 +1,57 @@
+package com.cognizant.vibe.synthetictesting.status;
+
+import com.cognizant.vibe.synthetictesting.status.dto.CommandStatusDto;
+import com.cognizant.vibe.synthetictesting.status.dto.TargetStatusDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/status")
+@Tag(name = "Live Status", description = "APIs for the current state and recent results of checks, served from memory.")
+@RequiredArgsConstructor
+public class StatusController {
+
+    private final StatusService statusService;
+
+    @GetMapping
+    @Operation(summary = "Get the status of all targets",
+            description = "Returns the latest state of every check that has run since startup, grouped by target.")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved statuses")
+    public ResponseEntity<List<TargetStatusDto>> getAllStatuses(
+            @Parameter(description = "Number of recent results to include per check.")
+            @RequestParam(defaultValue = "0") int history) {
+        return ResponseEntity.ok(statusService.getAllStatuses(history));
+    }
+
+    @GetMapping("/targets/{targetId}")
+    @Operation(summary = "Get the status of a target", description = "Returns the latest state and recent results of each check of a target.")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved status")
+    public ResponseEntity<TargetStatusDto> getTargetStatus(
+            @PathVariable Long targetId,
+            @Parameter(description = "Number of recent results to include per check.")
+            @RequestParam(defaultValue = "10") int history) {
+        return ResponseEntity.ok(statusService.getTargetStatus(targetId, history));
+    }
+
+    @GetMapping("/commands/{commandId}")
+    @Operation(summary = "Get the status of a check command", description = "Returns the latest state and recent results of one check.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved status"),
+            @ApiResponse(responseCode = "404", description = "The check has not run since startup", content = @Content)
+    })
+    public ResponseEntity<CommandStatusDto> getCommandStatus(
+            @PathVariable Long commandId,
+            @Parameter(description = "Number of recent results to include.")
+            @RequestParam(defaultValue = "60") int history) {
+        return ResponseEntity.ok(statusService.getCommandStatus(commandId, history));
+    }
+}
@@ -0,0 +1,151 @@
+package com.cognizant.vibe.synthetictesting.status;
+
+import com.cognizant.vibe.synthetictesting.check.CheckResultListener;
+import com.cognizant.vibe.synthetictesting.check.RemovedCommands;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckCommand;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+import com.cognizant.vibe.synthetictesting.config.StatusProperties;
+import com.cognizant.vibe.synthetictesting.status.dto.CommandStatusDto;
+import com.cognizant.vibe.synthetictesting.status.dto.RecentResultDto;
+import com.cognizant.vibe.synthetictesting.status.dto.TargetStatusDto;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the latest results of every command in a {@link ResultRingBuffer} so that status reads are
+ * answered from memory, without touching the database. Commands appear once their first result has
+ * been recorded since startup. Results still in flight for a removed command are ignored ({@link RemovedCommands}).
+ */
+@Service
+@RequiredArgsConstructor
+public class StatusService implements CheckResultListener {
+
+    private final StatusProperties properties;
+    private final RemovedCommands removedCommands;
+
+    private final Map<Long, ResultRingBuffer> byCommand = new ConcurrentHashMap<>();
+    private final Map<Long, Map<Long, ResultRingBuffer>> byTarget = new ConcurrentHashMap<>();
+
+    @Override
+    public void onCheckResult(CheckResult result) {
+        CheckCommand command = result.getCommand();
+        ResultRingBuffer buffer = byCommand.get(command.getId());
+        if (buffer == null) {
+            buffer = byCommand.computeIfAbsent(command.getId(), id -> {
+                if (removedCommands.contains(id)) {
+                    return null;
+                }
+                ResultRingBuffer created = new ResultRingBuffer(id, command.getApp().getId(), command.getType(), properties.historySize());
+                byTarget.computeIfAbsent(created.targetId(), t -> new ConcurrentHashMap<>()).put(id, created);
+                return created;
+            });
+            if (buffer == null) {
+                return;
+            }
+        }
+        buffer.add(result);
+    }
+
+    /**
+     * @param history Maximum number of recent results to include per command.
+     * @return The status of every target with at least one recorded result, ordered by target ID.
+     */
+    public List<TargetStatusDto> getAllStatuses(int history) {
+        List<TargetStatusDto> statuses = new ArrayList<>(byTarget.size());
+        byTarget.forEach((targetId, commands) -> {
+            TargetStatusDto status = toTargetStatus(targetId, commands, history);
+            if (!status.commands().isEmpty()) {
+                statuses.add(status);
+            }
+        });
+        statuses.sort(Comparator.comparing(TargetStatusDto::targetId));
+        return statuses;
+    }
+
+    /**
+     * @return The status of one target's commands; empty if none of them has produced a result yet.
+     */
+    public TargetStatusDto getTargetStatus(Long targetId, int history) {
+        return toTargetStatus(targetId, byTarget.getOrDefault(targetId, Map.of()), history);
+    }
+
+    /**
+     * @throws EntityNotFoundException if the command has not produced a result since startup.
+     */
+    public CommandStatusDto getCommandStatus(Long commandId, int history) {
+        ResultRingBuffer buffer = byCommand.get(commandId);
+        CommandStatusDto status = buffer == null ? null : toCommandStatus(buffer, history);
+        if (status == null) {
+            throw new EntityNotFoundException("No status recorded for check command with id: " + commandId);
+        }
+        return status;
+    }
+
+    /**
+     * Forgets a command after it has been deleted. The command must already be marked in {@link RemovedCommands},
+     * so later results of it are ignored.
+     */
+    public void removeCommand(Long commandId) {
+        ResultRingBuffer buffer = byCommand.remove(commandId);
+        if (buffer != null) {
+            byTarget.computeIfPresent(buffer.targetId(), (targetId, commands) -> {
+                commands.remove(commandId);
+                return commands.isEmpty() ? null : commands;
+            });
+        }
+    }
+
+    private TargetStatusDto toTargetStatus(Long targetId, Map<Long, ResultRingBuffer> buffers, int history) {
+        List<CommandStatusDto> commands = new ArrayList<>(buffers.size());
+        for (ResultRingBuffer buffer : buffers.values()) {
+            CommandStatusDto status = toCommandStatus(buffer, history);
+            if (status != null) {
+                commands.add(status);
+            }
+        }
+        commands.sort(Comparator.comparing(CommandStatusDto::commandId));
+        return new TargetStatusDto(targetId, commands.stream().allMatch(CommandStatusDto::up), commands);
+    }
+
+    private CommandStatusDto toCommandStatus(ResultRingBuffer buffer, int history) {
+        // Copy the whole history: failure streak and success rate are computed over all of it.
+        ResultRingBuffer.Snapshot snapshot = buffer.snapshot(properties.historySize());
+        if (snapshot == null) {
+            return null;
+        }
+        int consecutiveFailures = 0;
+        while (consecutiveFailures < snapshot.size() && !snapshot.successes()[consecutiveFailures]) {
+            consecutiveFailures++;
+        }
+        int successes = 0;
+        for (int i = 0; i < snapshot.size(); i++) {
+            successes += snapshot.successes()[i] ? 1 : 0;
+        }
+        int shown = Math.max(0, Math.min(history, snapshot.size()));
+        List<RecentResultDto> recent = new ArrayList<>(shown);
+        for (int i = 0; i < shown; i++) {
+            recent.add(new RecentResultDto(Instant.ofEpochMilli(snapshot.timestamps()[i]), snapshot.successes()[i],
+                    snapshot.responseTimes()[i], snapshot.statusCode(i)));
+        }
+        return new CommandStatusDto(
+                buffer.commandId(),
+                buffer.targetId(),
+                buffer.type(),
+                Instant.ofEpochMilli(snapshot.timestamps()[0]),
+                snapshot.successes()[0],
+                snapshot.responseTimes()[0],
+                snapshot.statusCode(0),
+                snapshot.lastErrorMessage(),
+                consecutiveFailures,
+                100.0 * successes / snapshot.size(),
+                recent);
+    }
+}
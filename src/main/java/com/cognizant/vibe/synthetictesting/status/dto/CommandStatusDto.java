@@ -0,0 +1,27 @@
+package com.cognizant.vibe.synthetictesting.status.dto;
+
+import com.cognizant.vibe.synthetictesting.check.entity.CommandType;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Current state of one check command, served from memory.
+ *
+ * @param consecutiveFailures Failed results in a row up to the latest one, counted within the in-memory history.
+ * @param recentSuccessPercent Share of successful results in the in-memory history.
+ * @param recent              The most recent results, newest first.
+ */
+public record CommandStatusDto(
+        Long commandId,
+        Long targetId,
+        CommandType commandType,
+        Instant lastCheckedAt,
+        boolean up,
+        long lastResponseTimeMs,
+        Integer lastStatusCode,
+        String lastErrorMessage,
+        int consecutiveFailures,
+        double recentSuccessPercent,
+        List<RecentResultDto> recent
+) {}
@@ -0,0 +1,15 @@
+package com.cognizant.vibe.synthetictesting.status.dto;
+
+import com.cognizant.vibe.synthetictesting.check.dto.CheckResultDto;
+import com.cognizant.vibe.synthetictesting.check.entity.CommandType;
+
+/**
+ * A check result pushed to live result streams as soon as it is produced. Its {@code result.id} is null,
+ * since IDs are assigned when the result is persisted.
+ */
+public record LiveResultDto(
+        Long targetId,
+        String targetName,
+        CommandType commandType,
+        CheckResultDto result
+) {}
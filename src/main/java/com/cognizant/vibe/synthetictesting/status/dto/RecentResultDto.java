@@ -0,0 +1,13 @@
+package com.cognizant.vibe.synthetictesting.status.dto;
+
+import java.time.Instant;
+
+/**
+ * One recent check result as kept in memory.
+ */
+public record RecentResultDto(
+        Instant timestamp,
+        boolean success,
+        long responseTimeMs,
+        Integer statusCode
+) {}
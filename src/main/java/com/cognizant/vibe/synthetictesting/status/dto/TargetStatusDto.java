@@ -0,0 +1,14 @@
+package com.cognizant.vibe.synthetictesting.status.dto;
+
+import java.util.List;
+
+/**
+ * Current state of all checked commands of one target, served from memory.
+ *
+ * @param up True if the latest result of every command was successful.
+ */
+public record TargetStatusDto(
+        Long targetId,
+        boolean up,
+        List<CommandStatusDto> commands
+) {}
@@ -0,0 +1,97 @@
+package com.cognizant.vibe.synthetictesting.app;
+
+import com.cognizant.vibe.synthetictesting.app.dto.BulkImportErrorDto;
+import com.cognizant.vibe.synthetictesting.check.entity.CommandType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkImportReaderTest {
+
+	private static ValidatorFactory validatorFactory;
+	private static Validator validator;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final List<BulkImportErrorDto> rejected = new ArrayList<>();
+
+	@BeforeAll
+	static void createValidator() {
+		validatorFactory = Validation.buildDefaultValidatorFactory();
+		validator = validatorFactory.getValidator();
+	}
+
+	@AfterAll
+	static void closeValidator() {
+		validatorFactory.close();
+	}
+
+	@Test
+	void readsArrayInChunksWithNestedChecks() throws IOException {
+		String body = "[" + target("a") + "," + target("b") + "," + target("c") + "]";
+
+		try (BulkImportReader reader = open(body)) {
+			List<BulkImportReader.Item> first = reader.read(2, rejected::add);
+			List<BulkImportReader.Item> second = reader.read(2, rejected::add);
+
+			assertThat(first).extracting(item -> item.request().name()).containsExactly("a", "b");
+			assertThat(second).extracting(BulkImportReader.Item::index).containsExactly(2);
+			assertThat(second.get(0).request().checks()).singleElement()
+					.satisfies(check -> assertThat(check.type()).isEqualTo(CommandType.GET));
+			assertThat(reader.finished()).isTrue();
+		}
+		assertThat(rejected).isEmpty();
+	}
+
+	@Test
+	void rejectsInvalidAndUnmappableTargetsAndContinues() throws IOException {
+		String body = String.join("\n",
+				target("a"),
+				"{\"name\": \" \", \"targetUrlOrIp\": \"http://x\", \"type\": \"URL\", \"checks\": [{\"type\": \"GET\", \"intervalSeconds\": 1}]}",
+				"{\"name\": \"c\", \"targetUrlOrIp\": \"http://x\", \"type\": \"NOPE\"}",
+				target("d"));
+
+		try (BulkImportReader reader = open(body)) {
+			assertThat(reader.read(10, rejected::add)).extracting(BulkImportReader.Item::index).containsExactly(0, 3);
+		}
+		assertThat(rejected).extracting(BulkImportErrorDto::index).containsExactly(1, 2);
+		assertThat(rejected.get(0).messages()).containsExactly(
+				"checks[0].intervalSeconds: Interval must be at least 5 seconds",
+				"name: Name cannot be blank");
+		assertThat(rejected.get(1).messages()).singleElement().asString().contains("NOPE");
+	}
+
+	@Test
+	void stopsAtMalformedJson() throws IOException {
+		String body = target("a") + "\n{\"name\": \"b\", \n" + target("c");
+
+		try (BulkImportReader reader = open(body)) {
+			assertThat(reader.read(10, rejected::add)).hasSize(1);
+			assertThat(reader.finished()).isTrue();
+		}
+		assertThat(rejected).singleElement().satisfies(error -> {
+			assertThat(error.index()).isEqualTo(1);
+			assertThat(error.messages()).singleElement().asString().startsWith("Malformed JSON");
+		});
+	}
+
+	private BulkImportReader open(String body) throws IOException {
+		return new BulkImportReader(objectMapper, validator, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static String target(String name) {
+		return "{\"name\": \"" + name + "\", \"targetUrlOrIp\": \"http://" + name + "\", \"type\": \"URL\", \"enabled\": true,"
+				+ " \"checks\": [{\"type\": \"GET\", \"intervalSeconds\": 30}]}";
+	}
+}
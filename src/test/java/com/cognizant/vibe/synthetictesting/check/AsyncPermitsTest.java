@@ -0,0 +1,133 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.config.HttpCheckProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncPermitsTest {
+
+	@Test
+	void handsReturnedPermitsToWaitersInOrder() {
+		AsyncPermits permits = new AsyncPermits(2, 1);
+		Sinks.Empty<Void> first = Sinks.empty();
+		Sinks.Empty<Void> second = Sinks.empty();
+		permits.withPermit(first.asMono()).subscribe();
+		permits.withPermit(second.asMono()).subscribe();
+		AtomicInteger started = new AtomicInteger();
+		permits.withPermit(Mono.fromRunnable(started::incrementAndGet)).subscribe();
+
+		assertThat(permits.inUse()).isEqualTo(2);
+		assertThat(permits.waiting()).isEqualTo(1);
+		assertThatThrownBy(() -> permits.withPermit(Mono.empty()).block()).isInstanceOf(RejectedExecutionException.class);
+		assertThat(started).hasValue(0);
+
+		first.tryEmitEmpty();
+		assertThat(started).hasValue(1);
+		assertThat(permits.inUse()).isEqualTo(1);
+
+		second.tryEmitEmpty();
+		assertThat(permits.inUse()).isZero();
+		assertThat(permits.waiting()).isZero();
+	}
+
+	@Test
+	void forgetsAWaiterThatIsCancelled() {
+		AsyncPermits permits = new AsyncPermits(1, 10);
+		Sinks.Empty<Void> running = Sinks.empty();
+		permits.withPermit(running.asMono()).subscribe();
+		AtomicInteger started = new AtomicInteger();
+		Disposable waiter = permits.withPermit(Mono.fromRunnable(started::incrementAndGet)).subscribe();
+		assertThat(permits.waiting()).isEqualTo(1);
+
+		waiter.dispose();
+		assertThat(permits.waiting()).isZero();
+
+		running.tryEmitEmpty();
+		assertThat(started).hasValue(0);
+		assertThat(permits.inUse()).isZero();
+	}
+
+	@Test
+	void returnsThePermitWhenRunningWorkIsCancelled() {
+		AsyncPermits permits = new AsyncPermits(1, 10);
+		Disposable running = permits.withPermit(Mono.never()).subscribe();
+		assertThat(permits.inUse()).isEqualTo(1);
+
+		running.dispose();
+		assertThat(permits.inUse()).isZero();
+	}
+
+	@Test
+	void returnsThePermitWhenAGrantRacesCancellation() throws InterruptedException {
+		AsyncPermits permits = new AsyncPermits(1, 10);
+		for (int i = 0; i < 5_000; i++) {
+			Sinks.Empty<Void> running = Sinks.empty();
+			permits.withPermit(running.asMono()).subscribe();
+			Disposable waiter = permits.withPermit(Mono.never()).subscribe();
+			CountDownLatch start = new CountDownLatch(1);
+			Thread releaser = Thread.ofPlatform().start(() -> {
+				await(start);
+				running.tryEmitEmpty();
+			});
+			start.countDown();
+			waiter.dispose();
+			releaser.join();
+
+			assertThat(permits.inUse()).as("iteration %d", i).isZero();
+			assertThat(permits.waiting()).isZero();
+		}
+	}
+
+	@Test
+	void limiterReturnsBothPermitsWhenWorkIsCancelled() {
+		HttpCheckConcurrencyLimiter limiter = new HttpCheckConcurrencyLimiter(new HttpCheckProperties(
+				Duration.ofSeconds(5), 2, 1, 10, Duration.ofSeconds(5), DataSize.ofMegabytes(1)));
+
+		Disposable running = limiter.withPermit(1L, Mono.never()).subscribe();
+		Disposable waiting = limiter.withPermit(1L, Mono.never()).subscribe();
+		assertThat(limiter.inFlight()).isEqualTo(1);
+
+		waiting.dispose();
+		running.dispose();
+		assertThat(limiter.inFlight()).isZero();
+
+		// The per-target permit came back as well, so the next check for the target runs at once.
+		assertThat(limiter.withPermit(1L, Mono.just("done")).block(Duration.ofSeconds(1))).isEqualTo("done");
+		assertThat(limiter.inFlight()).isZero();
+	}
+
+	@Test
+	void limiterReturnsPermitsWhenWorkFailsOrTimesOut() {
+		HttpCheckConcurrencyLimiter limiter = new HttpCheckConcurrencyLimiter(new HttpCheckProperties(
+				Duration.ofSeconds(5), 1, 1, 10, Duration.ofSeconds(5), DataSize.ofMegabytes(1)));
+
+		assertThatThrownBy(() -> limiter.withPermit(1L, Mono.error(new IllegalStateException("boom"))).block())
+				.isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> limiter.withPermit(1L, Mono.never()).timeout(Duration.ofMillis(50)).block())
+				.hasCauseInstanceOf(TimeoutException.class);
+
+		assertThat(limiter.inFlight()).isZero();
+		assertThat(limiter.waiting()).isZero();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(1, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
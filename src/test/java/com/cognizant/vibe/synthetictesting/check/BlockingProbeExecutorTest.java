@@ -0,0 +1,81 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.config.CheckExecutionProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlockingProbeExecutorTest {
+
+	@Test
+	void rejectsProbesBeyondTheWaitingLimit() throws Exception {
+		BlockingProbeExecutor executor = new BlockingProbeExecutor(
+				new CheckExecutionProperties(CheckExecutionProperties.Mode.VIRTUAL, 1, 1, 1));
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			CompletableFuture<Void> running = executor.execute(() -> await(release));
+			CompletableFuture<Void> waiting = executor.execute(() -> {
+			});
+			CompletableFuture<Void> rejected = executor.execute(() -> {
+			});
+
+			assertThat(rejected).failsWithin(1, TimeUnit.SECONDS).withThrowableThat()
+					.havingCause().isInstanceOf(RejectedExecutionException.class);
+			release.countDown();
+			assertThat(running).succeedsWithin(1, TimeUnit.SECONDS);
+			assertThat(waiting).succeedsWithin(1, TimeUnit.SECONDS);
+			// The slots are free again.
+			assertThat(executor.execute(() -> {
+			})).succeedsWithin(1, TimeUnit.SECONDS);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void failsProbesAfterShutdownAndThoseInterruptedWhileWaiting() {
+		BlockingProbeExecutor executor = new BlockingProbeExecutor(
+				new CheckExecutionProperties(CheckExecutionProperties.Mode.VIRTUAL, 1, 1, 10));
+		CompletableFuture<Void> running = executor.execute(() -> await(new CountDownLatch(1)));
+		while (executor.running() == 0) {
+			Thread.onSpinWait();
+		}
+		CompletableFuture<Void> waiting = executor.execute(() -> {
+		});
+		while (executor.waiting() == 0) {
+			Thread.onSpinWait();
+		}
+
+		executor.shutdown();
+
+		assertThat(waiting).failsWithin(1, TimeUnit.SECONDS).withThrowableThat()
+				.havingCause().isInstanceOf(RejectedExecutionException.class);
+		assertThat(running).succeedsWithin(1, TimeUnit.SECONDS);
+		assertThat(executor.execute(() -> {
+		})).failsWithin(1, TimeUnit.SECONDS).withThrowableThat()
+				.havingCause().isInstanceOf(RejectedExecutionException.class);
+	}
+
+	@Test
+	void reportsWhatTheProbeThrew() {
+		BlockingProbeExecutor executor = new BlockingProbeExecutor(
+				new CheckExecutionProperties(CheckExecutionProperties.Mode.PLATFORM, 1, 1, 1));
+
+		assertThat(executor.execute(() -> {
+			throw new IllegalStateException("boom");
+		})).isCompletedExceptionally();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
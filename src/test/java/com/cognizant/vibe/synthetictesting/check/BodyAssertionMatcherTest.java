@@ -0,0 +1,72 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.check.entity.HttpAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BodyAssertionMatcherTest {
+
+	@Test
+	void findsAKeywordSplitAcrossBuffersAndStopsReading() {
+		BodyAssertionMatcher matcher = new BodyAssertionMatcher(
+				new HttpAssertions(null, null, "abab", null, null, null), 1024);
+
+		assertThat(feed(matcher, "xxab")).isFalse();
+		assertThat(feed(matcher, "aa")).isFalse();
+		assertThat(feed(matcher, "b")).isFalse();
+		assertThat(feed(matcher, "ab-rest")).isTrue();
+		assertThat(feed(matcher, "more")).isTrue();
+
+		assertThat(matcher.finish()).isNull();
+		assertThat(matcher.bytesRead()).isEqualTo(14);
+	}
+
+	@Test
+	void findsAJsonValueSplitAcrossBuffers() {
+		HttpAssertions assertions = new HttpAssertions(null, null, null, "/checks/1/status", "UP", null);
+		BodyAssertionMatcher matcher = new BodyAssertionMatcher(assertions, 1024);
+
+		assertThat(feed(matcher, "{\"checks\":[{\"status\":\"DOWN\"},{\"sta")).isFalse();
+		assertThat(feed(matcher, "tus\":\"U")).isFalse();
+		assertThat(feed(matcher, "P\"}],\"tail\":[1,2,3]}")).isTrue();
+		assertThat(matcher.finish()).isNull();
+
+		BodyAssertionMatcher mismatch = new BodyAssertionMatcher(assertions, 1024);
+		feed(mismatch, "{\"checks\":[{},{\"status\":\"DOWN\"}]}");
+		assertThat(mismatch.finish()).isEqualTo("JSON value at /checks/1/status is 'DOWN', not 'UP'");
+
+		BodyAssertionMatcher missing = new BodyAssertionMatcher(assertions, 1024);
+		assertThat(feed(missing, "{\"checks\":[]}")).isFalse();
+		assertThat(missing.finish()).isEqualTo("Body has no JSON value at /checks/1/status");
+
+		BodyAssertionMatcher invalid = new BodyAssertionMatcher(assertions, 1024);
+		assertThat(feed(invalid, "<html>")).isTrue();
+		assertThat(invalid.finish()).startsWith("Body is not valid JSON");
+	}
+
+	@Test
+	void stopsAtTheLimit() {
+		BodyAssertionMatcher capped = new BodyAssertionMatcher(
+				new HttpAssertions(null, null, "needle", null, null, null), 8);
+		assertThat(feed(capped, "haystack")).isFalse();
+		assertThat(feed(capped, "needle")).isTrue();
+		assertThat(capped.bytesRead()).isEqualTo(8);
+		assertThat(capped.finish()).isEqualTo("Body does not contain 'needle' within its first 8 bytes");
+
+		BodyAssertionMatcher sized = new BodyAssertionMatcher(
+				new HttpAssertions(null, null, "ok", null, null, 10L), 1024);
+		assertThat(feed(sized, "ok")).isFalse();
+		assertThat(feed(sized, "12345678")).isFalse();
+		assertThat(sized.finish()).isNull();
+		assertThat(feed(sized, "9")).isTrue();
+		assertThat(sized.finish()).isEqualTo("Body is larger than 10 bytes");
+	}
+
+	private static boolean feed(BodyAssertionMatcher matcher, String text) {
+		byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		return matcher.feed(bytes, 0, bytes.length);
+	}
+}
@@ -0,0 +1,58 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.check.CheckAdmissionController.Decision;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckPriority;
+import com.cognizant.vibe.synthetictesting.config.CheckAdmissionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CheckAdmissionControllerTest {
+
+	private final CheckAdmissionController controller = new CheckAdmissionController(
+			new CheckAdmissionProperties(10, 0.5, Duration.ofSeconds(1)), new SimpleMeterRegistry());
+
+	@Test
+	void admitsEveryPriorityBelowTheSoftLimit() {
+		for (int i = 0; i < 4; i++) {
+			assertThat(controller.tryAcquire(CheckPriority.NORMAL, false)).isEqualTo(Decision.ADMIT);
+		}
+		assertThat(controller.tryAcquire(CheckPriority.LOW, false)).isEqualTo(Decision.ADMIT);
+		assertThat(controller.inFlight()).isEqualTo(5);
+	}
+
+	@Test
+	void delaysLowPriorityOnceAboveTheSoftLimitThenSheds() {
+		fill(5);
+
+		assertThat(controller.tryAcquire(CheckPriority.LOW, false)).isEqualTo(Decision.DELAY);
+		assertThat(controller.tryAcquire(CheckPriority.LOW, true)).isEqualTo(Decision.SHED);
+		assertThat(controller.tryAcquire(CheckPriority.NORMAL, false)).isEqualTo(Decision.ADMIT);
+	}
+
+	@Test
+	void onlyHighPriorityRunsAtTheHardLimit() {
+		fill(10);
+
+		assertThat(controller.tryAcquire(CheckPriority.LOW, false)).isEqualTo(Decision.SHED);
+		assertThat(controller.tryAcquire(CheckPriority.NORMAL, false)).isEqualTo(Decision.SHED);
+		assertThat(controller.tryAcquire(CheckPriority.HIGH, false)).isEqualTo(Decision.ADMIT);
+	}
+
+	@Test
+	void releasedRunsFreeCapacity() {
+		fill(10);
+		controller.release();
+
+		assertThat(controller.tryAcquire(CheckPriority.NORMAL, false)).isEqualTo(Decision.ADMIT);
+	}
+
+	private void fill(int runs) {
+		for (int i = 0; i < runs; i++) {
+			controller.tryAcquire(CheckPriority.HIGH, false);
+		}
+	}
+}
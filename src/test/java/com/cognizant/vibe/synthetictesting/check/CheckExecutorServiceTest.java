@@ -0,0 +1,50 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.app.entity.AppTarget;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckCommand;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+import com.cognizant.vibe.synthetictesting.check.entity.CommandType;
+import com.cognizant.vibe.synthetictesting.config.CheckExecutionProperties;
+import com.cognizant.vibe.synthetictesting.config.DnsCacheProperties;
+import com.cognizant.vibe.synthetictesting.config.PingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CheckExecutorServiceTest {
+
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+	private final BlockingProbeExecutor probeExecutor = new BlockingProbeExecutor(
+			new CheckExecutionProperties(CheckExecutionProperties.Mode.VIRTUAL, 1, 1, 1));
+
+	@AfterEach
+	void tearDown() {
+		scheduler.shutdownNow();
+		probeExecutor.shutdown();
+	}
+
+	@Test
+	void failsAPingWhoseEchoRequestIsRejected() {
+		// A shut down executor rejects every echo request.
+		probeExecutor.shutdown();
+		CheckExecutorService executor = new CheckExecutorService(null, null, null, null, probeExecutor,
+				new DnsResolverCache(new DnsCacheProperties(Duration.ofSeconds(5), Duration.ofMinutes(10), Duration.ofSeconds(30),
+						Duration.ofMinutes(5), Duration.ofSeconds(5), 100), new SimpleMeterRegistry()),
+				null, null, new PingProperties(Duration.ofSeconds(1), 2, Duration.ofMillis(10), 20), scheduler, List.of());
+		AppTarget target = AppTarget.builder().id(1L).name("loopback").targetUrlOrIp("127.0.0.1").build();
+		CheckCommand command = CheckCommand.builder().id(1L).app(target).type(CommandType.PING).intervalSeconds(5).build();
+
+		CheckResult result = executor.executePing(command).orTimeout(5, TimeUnit.SECONDS).join();
+
+		assertThat(result.isSuccess()).isFalse();
+		assertThat(result.getErrorMessage()).startsWith("Rejected: ");
+	}
+}
@@ -0,0 +1,129 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.check.dto.CheckResultDto;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckCommand;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+import com.cognizant.vibe.synthetictesting.config.ResultRetentionProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CheckResultRepositoryTest {
+
+	private static final int RETENTION_DAYS = 3650;
+	private static final Instant FROM = Instant.parse("2026-03-10T00:00:00Z");
+	private static final Instant TO = Instant.parse("2026-03-13T00:00:00Z");
+	// Two results late on the 10th, none on the 11th, three on the 12th of which two share a timestamp.
+	private static final Instant LATE_10TH = Instant.parse("2026-03-10T23:00:00Z");
+	private static final Instant LAST_10TH = Instant.parse("2026-03-10T23:59:59.999Z");
+	private static final Instant START_12TH = Instant.parse("2026-03-12T00:00:00Z");
+	private static final Instant NOON_12TH = Instant.parse("2026-03-12T12:00:00Z");
+
+	private ResultPartitionManager partitionManager;
+	private CheckResultRepository repository;
+
+	@BeforeEach
+	void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:results-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		partitionManager = new ResultPartitionManager(jdbcTemplate,
+				new ResultRetentionProperties(RETENTION_DAYS, Duration.ofHours(1)));
+		partitionManager.init();
+		repository = new CheckResultRepository(jdbcTemplate, new DataSourceTransactionManager(dataSource), partitionManager);
+
+		// IDs are assigned in list order, so the tied results on the 12th get ascending IDs.
+		repository.saveAll(List.of(
+				result(1, LATE_10TH),
+				result(1, LAST_10TH),
+				result(1, START_12TH),
+				result(1, START_12TH),
+				result(1, NOON_12TH),
+				result(2, NOON_12TH)));
+		partitionManager.ensure(new ResultPartition(RETENTION_DAYS, LocalDate.of(2026, 3, 11)));
+	}
+
+	@Test
+	void pageSpansAPartitionBoundaryAndAnEmptyPartition() {
+		assertThat(partitionManager.overlapping(FROM, TO)).hasSize(3);
+
+		List<CheckResultDto> page = firstPage(4);
+
+		assertThat(page).extracting(CheckResultDto::timestamp)
+				.containsExactly(NOON_12TH, START_12TH, START_12TH, LAST_10TH);
+		assertThat(page).extracting(CheckResultDto::commandId).containsOnly(1L);
+	}
+
+	@Test
+	void resolvesTiesOnTimestampById() {
+		List<CheckResultDto> first = firstPage(2);
+		assertThat(first).extracting(CheckResultDto::timestamp).containsExactly(NOON_12TH, START_12TH);
+
+		CheckResultDto last = first.get(1);
+		List<CheckResultDto> next = repository.findPage(Set.of(1L), FROM, TO, last.timestamp(), last.id(), 2);
+
+		// The other result with the same timestamp comes next, and only once.
+		assertThat(next).extracting(CheckResultDto::timestamp).containsExactly(START_12TH, LAST_10TH);
+		assertThat(next.get(0).id()).isLessThan(last.id());
+		assertThat(allPages(1)).extracting(CheckResultDto::id).doesNotHaveDuplicates().hasSize(5);
+	}
+
+	@Test
+	void cursorOnTheLastRowOfADayContinuesWithThePreviousDay() {
+		List<CheckResultDto> first = firstPage(3);
+		CheckResultDto last = first.get(2);
+		assertThat(last.timestamp()).isEqualTo(START_12TH);
+
+		List<CheckResultDto> next = repository.findPage(Set.of(1L), FROM, TO, last.timestamp(), last.id(), 3);
+
+		assertThat(next).extracting(CheckResultDto::timestamp).containsExactly(LAST_10TH, LATE_10TH);
+		CheckResultDto oldest = next.get(1);
+		assertThat(repository.findPage(Set.of(1L), FROM, TO, oldest.timestamp(), oldest.id(), 3)).isEmpty();
+	}
+
+	@Test
+	void pagingThroughEverythingMatchesOneLargePage() {
+		List<CheckResultDto> all = firstPage(100);
+
+		assertThat(all).hasSize(5);
+		for (int limit = 1; limit <= 5; limit++) {
+			assertThat(allPages(limit)).as("limit %d", limit).isEqualTo(all);
+		}
+	}
+
+	private List<CheckResultDto> firstPage(int limit) {
+		return repository.findPage(Set.of(1L), FROM, TO, TO, Long.MAX_VALUE, limit);
+	}
+
+	private List<CheckResultDto> allPages(int limit) {
+		List<CheckResultDto> all = new ArrayList<>();
+		List<CheckResultDto> page = firstPage(limit);
+		while (!page.isEmpty()) {
+			all.addAll(page);
+			CheckResultDto last = page.get(page.size() - 1);
+			page = repository.findPage(Set.of(1L), FROM, TO, last.timestamp(), last.id(), limit);
+		}
+		return all;
+	}
+
+	private static CheckResult result(long commandId, Instant timestamp) {
+		return CheckResult.builder()
+				.command(CheckCommand.builder().id(commandId).build())
+				.timestamp(timestamp)
+				.success(true)
+				.responseTimeMs(5)
+				.build();
+	}
+}
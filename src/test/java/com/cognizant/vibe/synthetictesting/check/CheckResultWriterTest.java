@@ -0,0 +1,142 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.check.dto.CheckResultDto;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckCommand;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+import com.cognizant.vibe.synthetictesting.config.ResultCompactionProperties;
+import com.cognizant.vibe.synthetictesting.config.ResultRetentionProperties;
+import com.cognizant.vibe.synthetictesting.config.ResultWriterProperties;
+import com.cognizant.vibe.synthetictesting.config.ResultWriterProperties.OverflowPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CheckResultWriterTest {
+
+	private static final Instant START = Instant.parse("2026-03-12T18:00:00Z");
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final RecordingStore store = new RecordingStore();
+
+	@Test
+	void writesQueuedResultsInBatchesAndDrainsThemOnStop() throws InterruptedException {
+		CheckResultWriter writer = writer(10, 2, OverflowPolicy.BLOCK);
+		for (int i = 0; i < 5; i++) {
+			writer.submit(result(i));
+		}
+
+		writer.start();
+		writer.stop();
+
+		assertThat(store.batches).extracting(List::size).containsExactly(2, 2, 1);
+		assertThat(store.batches).flatExtracting(batch -> batch).extracting(CheckResult::getResponseTimeMs)
+				.containsExactly(0L, 1L, 2L, 3L, 4L);
+		assertThat(meterRegistry.get("synthetic.results.written").counter().count()).isEqualTo(5);
+		assertThat(writer.queueDepth()).isZero();
+	}
+
+	@Test
+	void stopsPromptlyWhenIdle() throws InterruptedException {
+		CheckResultWriter writer = writer(10, 2, OverflowPolicy.BLOCK);
+		writer.start();
+		writer.submit(result(1));
+
+		long start = System.nanoTime();
+		writer.stop();
+
+		// The flush interval is a minute; stop() wakes the writer rather than waiting it out.
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(10));
+		assertThat(store.batches).flatExtracting(batch -> batch).hasSize(1);
+	}
+
+	@Test
+	void dropsTheNewestOrOldestResultWhenFull() {
+		CheckResultWriter newest = writer(2, 10, OverflowPolicy.DROP_NEWEST);
+		CheckResultWriter oldest = writer(2, 10, OverflowPolicy.DROP_OLDEST);
+		for (int i = 0; i < 3; i++) {
+			newest.submit(result(i));
+			oldest.submit(result(i));
+		}
+
+		assertThat(newest.queueDepth()).isEqualTo(2);
+		assertThat(oldest.queueDepth()).isEqualTo(2);
+		assertThat(dropped("overflow")).isEqualTo(2);
+	}
+
+	@Test
+	void dropsInsteadOfBlockingANonBlockingThread() {
+		CheckResultWriter writer = writer(1, 10, OverflowPolicy.BLOCK);
+		writer.submit(result(1));
+
+		Mono.fromRunnable(() -> writer.submit(result(2))).subscribeOn(Schedulers.parallel()).block(Duration.ofSeconds(5));
+
+		assertThat(writer.queueDepth()).isEqualTo(1);
+		assertThat(dropped("full")).isEqualTo(1);
+		assertThat(dropped("overflow")).isZero();
+	}
+
+	@Test
+	void dropsAfterTheBlockTimeoutOnABlockingThread() {
+		CheckResultWriter writer = writer(1, 10, OverflowPolicy.BLOCK);
+		writer.submit(result(1));
+
+		writer.submit(result(2));
+
+		assertThat(writer.queueDepth()).isEqualTo(1);
+		assertThat(dropped("overflow")).isEqualTo(1);
+	}
+
+	private CheckResultWriter writer(int queueCapacity, int batchSize, OverflowPolicy policy) {
+		return new CheckResultWriter(store, new ResultRunStore(null),
+				new ResultPartitionManager(null, new ResultRetentionProperties(30, Duration.ofHours(1))),
+				new ResultWriterProperties(queueCapacity, batchSize, Duration.ofMinutes(1), policy, Duration.ofMillis(50)),
+				new ResultCompactionProperties(Duration.ofMinutes(15), 0.5, 50),
+				meterRegistry);
+	}
+
+	private double dropped(String reason) {
+		return meterRegistry.get("synthetic.results.dropped").tag("reason", reason).counter().count();
+	}
+
+	private static CheckResult result(long responseTimeMs) {
+		return CheckResult.builder()
+				.command(CheckCommand.builder().id(1L).build())
+				.timestamp(START.plusSeconds(responseTimeMs))
+				.success(true)
+				.responseTimeMs(responseTimeMs)
+				.build();
+	}
+
+	private static class RecordingStore implements RawResultStore {
+
+		private final List<List<CheckResult>> batches = new CopyOnWriteArrayList<>();
+
+		@Override
+		public void saveAll(List<CheckResult> results) {
+			batches.add(List.copyOf(results));
+		}
+
+		@Override
+		public List<CheckResultDto> findPage(Collection<Long> commandIds, Instant from, Instant to,
+											 Instant afterTimestamp, long afterId, int limit) {
+			return List.of();
+		}
+
+		@Override
+		public void deleteByCommandId(Long commandId) {
+		}
+
+		@Override
+		public void scan(Instant from, Instant to, ResultVisitor visitor) {
+		}
+	}
+}
@@ -0,0 +1,279 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.app.entity.AppTarget;
+import com.cognizant.vibe.synthetictesting.check.dto.ReconcileResultDto;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckCommand;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+import com.cognizant.vibe.synthetictesting.check.entity.CommandType;
+import com.cognizant.vibe.synthetictesting.check.entity.OverrunPolicy;
+import com.cognizant.vibe.synthetictesting.cluster.PartitionOwnership;
+import com.cognizant.vibe.synthetictesting.config.CheckAdmissionProperties;
+import com.cognizant.vibe.synthetictesting.config.CheckSchedulerProperties;
+import com.cognizant.vibe.synthetictesting.config.ClusterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static com.cognizant.vibe.synthetictesting.support.Stubs.stub;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CheckSchedulerServiceTest {
+
+	private static final long COMMAND_ID = 7;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final ScriptedExecutor executor = new ScriptedExecutor();
+	// What the repository returns as the commands of enabled targets.
+	private final List<CheckCommand> stored = new ArrayList<>();
+	private int loads;
+	// Runs while the repository loads, before the loaded commands are returned.
+	private Runnable duringLoad = () -> {};
+	// Never started, so nothing fires on its own; the tests tick the check themselves.
+	private final HashedTimingWheel wheel = new HashedTimingWheel("test-wheel", Duration.ofMillis(100), 64, Runnable::run);
+	private final CheckSchedulerService scheduler = scheduler();
+
+	@AfterEach
+	void closeWheel() {
+		wheel.close();
+	}
+
+	@Test
+	void stretchesTheIntervalAfterConsecutivePassesUpToTheMaximum() {
+		CheckSchedulerService.ScheduledCheck check = schedule(10, 60L);
+
+		assertThat(intervalsAfterPasses(check, 8)).containsExactly(10L, 20L, 20L, 40L, 40L, 60L, 60L, 60L);
+		assertThat(intervalChanges("stretched")).isEqualTo(3);
+		assertThat(executor.runs).isEqualTo(8);
+	}
+
+	@Test
+	void keepsTheIntervalOfACommandWithoutAMaximum() {
+		CheckSchedulerService.ScheduledCheck check = schedule(10, null);
+
+		assertThat(intervalsAfterPasses(check, 4)).containsOnly(10L);
+		assertThat(intervalChanges("stretched")).isZero();
+	}
+
+	@Test
+	void snapsBackOnAFailureAndConfirmsAtOnce() {
+		CheckSchedulerService.ScheduledCheck check = schedule(10, 60L);
+		intervalsAfterPasses(check, 4);
+		assertThat(check.stats().intervalSeconds()).isEqualTo(40);
+
+		executor.results.add(result(false, 100));
+		executor.results.add(result(false, 100));
+		tick(check);
+
+		assertThat(check.stats().intervalSeconds()).isEqualTo(10);
+		assertThat(intervalChanges("tightened")).isEqualTo(1);
+		// The failure was confirmed by a second run right away; the confirmation failing too triggers no third.
+		assertThat(executor.runs).isEqualTo(6);
+		assertThat(executor.results).isEmpty();
+	}
+
+	@Test
+	void snapsBackOnAPassMuchSlowerThanUsual() {
+		CheckSchedulerService.ScheduledCheck check = schedule(10, 60L);
+		intervalsAfterPasses(check, 2);
+		assertThat(check.stats().intervalSeconds()).isEqualTo(20);
+
+		executor.results.add(result(true, 301));
+		executor.results.add(result(true, 100));
+		tick(check);
+
+		assertThat(check.stats().intervalSeconds()).isEqualTo(10);
+		assertThat(executor.runs).isEqualTo(4);
+		// Passes at the usual speed stretch it again.
+		assertThat(intervalsAfterPasses(check, 2)).containsExactly(20L, 20L);
+	}
+
+	@Test
+	void ignoresATickArmedBeforeTheIntervalSnappedBack() {
+		CheckSchedulerService.ScheduledCheck check = schedule(10, 60L);
+		intervalsAfterPasses(check, 2);
+		long staleGeneration = check.generation();
+
+		executor.results.add(result(false, 100));
+		executor.results.add(result(false, 100));
+		tick(check);
+		int runs = executor.runs;
+		assertThat(check.generation()).isGreaterThan(staleGeneration);
+
+		check.tick(staleGeneration);
+
+		assertThat(executor.runs).isEqualTo(runs);
+		executor.results.add(result(true, 100));
+		tick(check);
+		assertThat(executor.runs).isEqualTo(runs + 1);
+	}
+
+	@Test
+	void reconcileAppliesOnlyTheDifferencesWithTheDatabase() {
+		scheduler.scheduleSingleCommand(command(1, 10, null));
+		scheduler.scheduleSingleCommand(command(2, 10, null));
+		CheckSchedulerService.ScheduledCheck changed = scheduler.scheduledCheck(2);
+		stored.add(command(2, 20, null));
+		stored.add(command(3, 10, null));
+
+		assertThat(scheduler.reconcile()).isEqualTo(new ReconcileResultDto(1, 1, 1, 2));
+
+		assertThat(scheduler.scheduledCheck(1)).isNull();
+		// The changed command was updated in place rather than rescheduled.
+		assertThat(scheduler.scheduledCheck(2)).isSameAs(changed);
+		assertThat(changed.stats().intervalSeconds()).isEqualTo(20);
+		assertThat(scheduler.scheduledCheck(3)).isNotNull();
+		assertThat(scheduler.reconcile()).isEqualTo(new ReconcileResultDto(0, 0, 0, 2));
+	}
+
+	@Test
+	void aChangeAppliedWhileReconcilingIsNotOverwrittenByTheOlderCopy() throws InterruptedException {
+		scheduler.scheduleSingleCommand(command(1, 10, null));
+		stored.add(command(1, 10, null));
+		// The command is changed and committed after the reconcile has read it.
+		Thread patch = new Thread(() -> scheduler.applyCommand(command(1, 30, null)));
+		duringLoad = () -> {
+			patch.start();
+			while (patch.getState() != Thread.State.BLOCKED && patch.getState() != Thread.State.TERMINATED) {
+				Thread.onSpinWait();
+			}
+		};
+
+		scheduler.reconcile();
+		patch.join();
+
+		assertThat(scheduler.scheduledCheck(1).stats().intervalSeconds()).isEqualTo(30);
+	}
+
+	@Test
+	void reconcileSchedulesNothingWhileNoPartitionIsOwned() {
+		PartitionOwnership ownership = new PartitionOwnership(
+				new ClusterProperties(true, "node-1", 64, Duration.ofSeconds(30), Duration.ofSeconds(10), 100));
+		CheckSchedulerService clustered = scheduler(ownership);
+		stored.add(command(1, 10, null));
+
+		assertThat(clustered.reconcile()).isEqualTo(new ReconcileResultDto(0, 0, 0, 0));
+		assertThat(clustered.scheduledCount()).isZero();
+	}
+
+	@Test
+	void ownershipChangesOnlyTouchTheCommandsOfTheirPartitions() {
+		PartitionOwnership ownership = new PartitionOwnership(
+				new ClusterProperties(false, "", 64, Duration.ofSeconds(30), Duration.ofSeconds(10), 100));
+		CheckSchedulerService scheduler = scheduler(ownership);
+		// Commands 1, 2 and 3 fall into three different partitions.
+		long[] ids = {1, 2, 3};
+		assertThat(Set.of(ownership.partitionOf(1), ownership.partitionOf(2), ownership.partitionOf(3))).hasSize(3);
+		scheduler.scheduleSingleCommand(command(ids[0], 10, null));
+		scheduler.scheduleSingleCommand(command(ids[1], 10, null));
+		stored.add(command(ids[1], 10, null));
+		stored.add(command(ids[2], 10, null));
+		Set<Integer> all = ownership.ownedPartitions();
+
+		// Nothing changed and a full reconcile is not due yet: the database is not read.
+		scheduler.onOwnershipRenewed(all, Set.of(), Set.of());
+		assertThat(loads).isZero();
+
+		scheduler.onOwnershipRenewed(all, Set.of(), Set.of(ownership.partitionOf(ids[0])));
+		assertThat(loads).isZero();
+		assertThat(scheduler.scheduledCheck(ids[0])).isNull();
+
+		scheduler.onOwnershipRenewed(all, Set.of(ownership.partitionOf(ids[2])), Set.of());
+		assertThat(loads).isEqualTo(1);
+		assertThat(scheduler.scheduledCheck(ids[2])).isNotNull();
+		assertThat(scheduler.scheduledCount()).isEqualTo(2);
+	}
+
+	private CheckSchedulerService.ScheduledCheck schedule(long intervalSeconds, Long maxIntervalSeconds) {
+		scheduler.scheduleSingleCommand(command(COMMAND_ID, intervalSeconds, maxIntervalSeconds));
+		return scheduler.scheduledCheck(COMMAND_ID);
+	}
+
+	private static CheckCommand command(long id, long intervalSeconds, Long maxIntervalSeconds) {
+		AppTarget target = AppTarget.builder().id(1L).name("target").targetUrlOrIp("127.0.0.1").enabled(true).build();
+		return CheckCommand.builder()
+				.id(id)
+				.app(target)
+				.type(CommandType.TCP_PORT)
+				.intervalSeconds(intervalSeconds)
+				.maxIntervalSeconds(maxIntervalSeconds)
+				.build();
+	}
+
+	/**
+	 * @return The interval in seconds after each of the given number of passing runs.
+	 */
+	private Long[] intervalsAfterPasses(CheckSchedulerService.ScheduledCheck check, int passes) {
+		Long[] intervals = new Long[passes];
+		for (int i = 0; i < passes; i++) {
+			executor.results.add(result(true, 100));
+			tick(check);
+			intervals[i] = check.stats().intervalSeconds();
+		}
+		return intervals;
+	}
+
+	private static void tick(CheckSchedulerService.ScheduledCheck check) {
+		check.tick(check.generation());
+	}
+
+	private double intervalChanges(String direction) {
+		return meterRegistry.get("synthetic.scheduler.interval.changes").tag("direction", direction).counter().count();
+	}
+
+	private CheckSchedulerService scheduler() {
+		return scheduler(new PartitionOwnership(
+				new ClusterProperties(false, "", 64, Duration.ofSeconds(30), Duration.ofSeconds(10), 100)));
+	}
+
+	private CheckSchedulerService scheduler(PartitionOwnership ownership) {
+		CheckSchedulerProperties properties = new CheckSchedulerProperties(Duration.ofMillis(100), 64, 0, OverrunPolicy.SKIP,
+				Duration.ofMinutes(1), new CheckSchedulerProperties.Adaptive(2, 2.0, 3.0));
+		CheckAdmissionProperties admission = new CheckAdmissionProperties(100, 0.8, Duration.ofSeconds(1));
+		// Reconciling is the only caller of the repository.
+		CheckCommandRepository repository = stub(CheckCommandRepository.class, (name, args) -> {
+			if (name.equals("findAllOfEnabledTargetsWithAppTarget")) {
+				loads++;
+				List<CheckCommand> loaded = List.copyOf(stored);
+				duringLoad.run();
+				return loaded;
+			}
+			throw new UnsupportedOperationException(name);
+		});
+		return new CheckSchedulerService(repository, executor, wheel, properties, ownership,
+				new CheckAdmissionController(admission, meterRegistry), admission, meterRegistry);
+	}
+
+	private static CheckResult result(boolean success, long responseTimeMs) {
+		return CheckResult.builder().timestamp(Instant.now()).success(success).responseTimeMs(responseTimeMs).build();
+	}
+
+	/**
+	 * Completes every run at once with the next scripted result.
+	 */
+	private static class ScriptedExecutor extends CheckExecutorService {
+
+		private final Queue<CheckResult> results = new ArrayDeque<>();
+		private int runs;
+
+		private ScriptedExecutor() {
+			super(null, null, null, null, null, null, null, null, null, null, null);
+		}
+
+		@Override
+		public CompletableFuture<CheckResult> execute(CheckCommand command) {
+			runs++;
+			CheckResult result = results.poll();
+			return result != null ? CompletableFuture.completedFuture(result)
+					: CompletableFuture.failedFuture(new IllegalStateException("No scripted result left"));
+		}
+	}
+}
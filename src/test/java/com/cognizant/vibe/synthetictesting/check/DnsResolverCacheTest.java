@@ -0,0 +1,56 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.config.DnsCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DnsResolverCacheTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final DnsResolverCache cache = new DnsResolverCache(new DnsCacheProperties(Duration.ofSeconds(5), Duration.ofMinutes(10),
+			Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofMillis(500), 100), meterRegistry);
+
+	@AfterEach
+	void tearDown() {
+		cache.close();
+	}
+
+	@Test
+	void ipLiteralsAreNeitherQueriedNorCached() throws Exception {
+		assertThat(cache.resolveBlocking("127.0.0.1")).isEqualTo(InetAddress.getByName("127.0.0.1"));
+		assertThat(cache.resolveBlocking("[::1]")).isEqualTo(InetAddress.getByName("::1"));
+		assertThat(lookups("miss") + lookups("hit")).isZero();
+	}
+
+	@Test
+	void answersFromTheHostsFileAreCached() throws Exception {
+		InetAddress first = cache.resolveBlocking("localhost");
+		InetAddress second = cache.resolveBlocking("LOCALHOST.");
+
+		assertThat(first.isLoopbackAddress()).isTrue();
+		assertThat(second).isEqualTo(first);
+		assertThat(lookups("miss")).isEqualTo(1);
+		assertThat(lookups("hit")).isEqualTo(1);
+	}
+
+	@Test
+	void failuresAreCachedAsNegativeEntries() {
+		assertThatThrownBy(() -> cache.resolveBlocking("no-such-host.invalid")).isInstanceOf(UnknownHostException.class);
+		assertThatThrownBy(() -> cache.resolveBlocking("no-such-host.invalid")).isInstanceOf(UnknownHostException.class);
+
+		assertThat(lookups("miss")).isEqualTo(1);
+		assertThat(lookups("negative")).isEqualTo(1);
+	}
+
+	private double lookups(String result) {
+		return meterRegistry.get("synthetic.dns.lookups").tag("result", result).counter().count();
+	}
+}
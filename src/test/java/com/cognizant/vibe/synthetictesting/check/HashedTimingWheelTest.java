@@ -0,0 +1,79 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashedTimingWheelTest {
+
+	private HashedTimingWheel wheel;
+
+	@BeforeEach
+	void setUp() {
+		wheel = new HashedTimingWheel("test-wheel", Duration.ofMillis(10), 8, Runnable::run);
+		wheel.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		wheel.close();
+	}
+
+	@Test
+	void firesNoEarlierThanDeadline() throws InterruptedException {
+		CountDownLatch fired = new CountDownLatch(1);
+		long start = System.nanoTime();
+		long[] firedAt = new long[1];
+
+		wheel.schedule(() -> {
+			firedAt[0] = System.nanoTime();
+			fired.countDown();
+		}, 50, TimeUnit.MILLISECONDS);
+
+		assertThat(fired.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(firedAt[0] - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+	}
+
+	@Test
+	void firesTimeoutsSpanningSeveralRevolutions() throws InterruptedException {
+		// 8 buckets of 10 ms: a 250 ms delay needs three full revolutions.
+		CountDownLatch fired = new CountDownLatch(1);
+		long start = System.nanoTime();
+
+		HashedTimingWheel.Timeout timeout = wheel.schedule(fired::countDown, 250, TimeUnit.MILLISECONDS);
+
+		assertThat(fired.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(250));
+		assertThat(timeout.isExpired()).isTrue();
+		assertThat(timeout.lagNanos()).isGreaterThanOrEqualTo(0);
+	}
+
+	@Test
+	void cancelledTimeoutsNeverFire() throws InterruptedException {
+		AtomicInteger fired = new AtomicInteger();
+		List<HashedTimingWheel.Timeout> timeouts = new ArrayList<>();
+		for (int i = 0; i < 1_000; i++) {
+			timeouts.add(wheel.schedule(fired::incrementAndGet, 200 + i % 50, TimeUnit.MILLISECONDS));
+		}
+		int cancelled = 0;
+		for (int i = 0; i < timeouts.size(); i += 2) {
+			cancelled += timeouts.get(i).cancel() ? 1 : 0;
+		}
+
+		TimeUnit.MILLISECONDS.sleep(600);
+
+		assertThat(cancelled).isEqualTo(500);
+		assertThat(fired.get()).isEqualTo(500);
+		assertThat(wheel.pendingTimeouts()).isZero();
+		assertThat(timeouts.get(0).cancel()).isFalse();
+	}
+}
@@ -0,0 +1,66 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpPhaseTimingsTest {
+
+	private DisposableServer server;
+	private ConnectionProvider connectionProvider;
+	private HttpClient client;
+
+	@BeforeEach
+	void setUp() {
+		server = HttpServer.create()
+				.host("localhost")
+				.port(0)
+				.handle((request, response) -> Mono.delay(Duration.ofMillis(20)).then(response.sendString(Mono.just("ok")).then()))
+				.bindNow();
+		connectionProvider = ConnectionProvider.create("test", 1);
+		client = HttpPhaseTimings.instrument(HttpClient.create(connectionProvider));
+	}
+
+	@AfterEach
+	void tearDown() {
+		server.disposeNow();
+		connectionProvider.disposeLater().block();
+	}
+
+	@Test
+	void recordsConnectionPhasesOnlyForTheRequestThatOpenedTheConnection() {
+		CheckResult first = get();
+		CheckResult second = get();
+
+		assertThat(first.getDnsMicros()).isNotNull();
+		assertThat(first.getConnectMicros()).isNotNull();
+		assertThat(first.getTlsMicros()).isNull();
+		assertThat(first.getTtfbMicros()).isGreaterThanOrEqualTo(20_000);
+		assertThat(first.getTotalMicros()).isGreaterThanOrEqualTo(first.getTtfbMicros());
+		assertThat(first.getResponseTimeMs()).isEqualTo(first.getTotalMicros() / 1000);
+
+		assertThat(second.getDnsMicros()).isNull();
+		assertThat(second.getConnectMicros()).isNull();
+		assertThat(second.getTtfbMicros()).isGreaterThanOrEqualTo(20_000);
+	}
+
+	private CheckResult get() {
+		HttpPhaseTimings timings = HttpPhaseTimings.start();
+		return client.get()
+				.uri("http://localhost:" + server.port() + "/")
+				.responseSingle((response, body) -> body.asString())
+				.map(body -> timings.applyTo(CheckResult.builder()).build())
+				.contextWrite(timings.context())
+				.block(Duration.ofSeconds(5));
+	}
+}
@@ -0,0 +1,131 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.app.entity.AppTarget;
+import com.cognizant.vibe.synthetictesting.check.dto.CheckResultDto;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckCommand;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+import com.cognizant.vibe.synthetictesting.config.ResultRetentionProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LegacyResultMigrationTest {
+
+	private static final Instant TODAY = Instant.now().truncatedTo(ChronoUnit.DAYS);
+
+	private JdbcTemplate jdbcTemplate;
+	private DataSourceTransactionManager transactionManager;
+	private ResultPartitionManager partitionManager;
+
+	@BeforeEach
+	void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:legacy-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		transactionManager = new DataSourceTransactionManager(dataSource);
+		partitionManager = new ResultPartitionManager(jdbcTemplate, new ResultRetentionProperties(30, Duration.ofHours(1)));
+		partitionManager.init();
+
+		// The schema Hibernate generated while results were still an entity.
+		jdbcTemplate.execute("CREATE TABLE app_target (id BIGINT PRIMARY KEY, retention_days INTEGER)");
+		jdbcTemplate.execute("CREATE TABLE check_command (id BIGINT PRIMARY KEY, app_target_id BIGINT NOT NULL, retention_days INTEGER)");
+		jdbcTemplate.execute("CREATE TABLE check_result (id BIGINT NOT NULL PRIMARY KEY, check_command_id BIGINT NOT NULL," +
+				" error_message VARCHAR(255), response_time_ms BIGINT NOT NULL, status_code INTEGER, success BOOLEAN NOT NULL," +
+				" timestamp TIMESTAMP(6) WITH TIME ZONE," +
+				" CONSTRAINT fk_check_result_command FOREIGN KEY (check_command_id) REFERENCES check_command (id))");
+		jdbcTemplate.update("INSERT INTO app_target VALUES (1, 90)");
+		// Command 1 keeps results for 7 days, command 2 for its target's 90.
+		jdbcTemplate.update("INSERT INTO check_command VALUES (1, 1, 7), (2, 1, NULL)");
+		legacyResult(101, 1, TODAY.plusSeconds(60), "timeout");
+		legacyResult(102, 2, TODAY.plusSeconds(120), null);
+		legacyResult(103, 2, TODAY.minus(Duration.ofDays(1)).plusSeconds(60), null);
+		legacyResult(104, 1, TODAY.minus(Duration.ofDays(20)), null); // older than command 1's retention
+	}
+
+	@Test
+	void copiesLegacyRowsIntoTheirPartitionsAndDropsTheTable() {
+		new LegacyResultMigration(jdbcTemplate, transactionManager, partitionManager).migrate();
+
+		assertThat(tableExists("CHECK_RESULT")).isFalse();
+		assertThat(partitionManager.all()).extracting(ResultPartition::tableName).containsExactlyInAnyOrder(
+				ResultPartition.of(7, TODAY).tableName(),
+				ResultPartition.of(90, TODAY).tableName(),
+				ResultPartition.of(90, TODAY.minus(Duration.ofDays(1))).tableName());
+
+		CheckResultRepository repository = new CheckResultRepository(jdbcTemplate, transactionManager, partitionManager);
+		List<CheckResultDto> page = repository.findPage(List.of(1L, 2L), TODAY.minus(Duration.ofDays(30)),
+				TODAY.plus(Duration.ofDays(1)), TODAY.plus(Duration.ofDays(1)), Long.MAX_VALUE, 10);
+		assertThat(page).extracting(CheckResultDto::id).containsExactly(102L, 101L, 103L);
+		assertThat(page.get(1).errorMessage()).isEqualTo("timeout");
+		assertThat(page.get(1).success()).isTrue();
+
+		// Nothing references the command any more.
+		jdbcTemplate.update("DELETE FROM check_command WHERE id = 1");
+	}
+
+	@Test
+	void newResultsGetIdsAboveTheMigratedOnes() {
+		legacyResult(1, 2, TODAY.plusSeconds(180), null);
+		new LegacyResultMigration(jdbcTemplate, transactionManager, partitionManager).migrate();
+
+		CheckResultRepository repository = new CheckResultRepository(jdbcTemplate, transactionManager, partitionManager);
+		CheckResult result = CheckResult.builder()
+				.command(CheckCommand.builder().id(2L).app(AppTarget.builder().retentionDays(90).build()).build())
+				.timestamp(TODAY.plusSeconds(240))
+				.success(true)
+				.responseTimeMs(5)
+				.build();
+		repository.saveAll(List.of(result));
+
+		assertThat(result.getId()).isGreaterThan(104L);
+		List<CheckResultDto> page = repository.findPage(List.of(2L), TODAY, TODAY.plus(Duration.ofDays(1)),
+				TODAY.plus(Duration.ofDays(1)), Long.MAX_VALUE, 10);
+		assertThat(page).extracting(CheckResultDto::id).containsExactly(result.getId(), 1L, 102L);
+	}
+
+	@Test
+	void deletesTheLegacyRowsOfACommandWhileTheTableRemains() {
+		LegacyResultMigration migration = new LegacyResultMigration(jdbcTemplate, transactionManager, partitionManager);
+		assertThatThrownBy(() -> jdbcTemplate.update("DELETE FROM check_command WHERE id = 2"))
+				.isInstanceOf(DataIntegrityViolationException.class);
+
+		migration.deleteByCommandId(2L);
+		jdbcTemplate.update("DELETE FROM check_command WHERE id = 2");
+
+		assertThat(jdbcTemplate.queryForList("SELECT id FROM check_result ORDER BY id", Long.class)).containsExactly(101L, 104L);
+	}
+
+	@Test
+	void doesNothingWithoutALegacyTable() {
+		jdbcTemplate.execute("DROP TABLE check_result");
+		LegacyResultMigration migration = new LegacyResultMigration(jdbcTemplate, transactionManager, partitionManager);
+
+		migration.migrate();
+		migration.deleteByCommandId(1L);
+
+		assertThat(partitionManager.all()).isEmpty();
+	}
+
+	private void legacyResult(long id, long commandId, Instant timestamp, String errorMessage) {
+		jdbcTemplate.update("INSERT INTO check_result (id, check_command_id, error_message, response_time_ms, status_code, success, timestamp)" +
+				" VALUES (?, ?, ?, 5, 200, TRUE, ?)", id, commandId, errorMessage, timestamp.atOffset(ZoneOffset.UTC));
+	}
+
+	private boolean tableExists(String name) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = ?",
+				Integer.class, name) > 0;
+	}
+}
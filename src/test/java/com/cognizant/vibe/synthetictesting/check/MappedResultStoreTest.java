@@ -0,0 +1,222 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.check.dto.CheckResultDto;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckCommand;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckOutcome;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+import com.cognizant.vibe.synthetictesting.config.MappedResultStoreProperties;
+import com.cognizant.vibe.synthetictesting.config.ResultRetentionProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MappedResultStoreTest {
+
+	// Small segments and blocks, so a few dozen results span sealed and writable segments and many blocks.
+	private static final int SEGMENT_RECORDS = 10;
+	private static final int BLOCK_RECORDS = 3;
+
+	private static final Instant START = Instant.now().truncatedTo(ChronoUnit.DAYS);
+
+	@TempDir
+	Path directory;
+
+	private final DatabaseIdentity database = database();
+	private MappedResultStore store;
+
+	@BeforeEach
+	void openStore() throws IOException {
+		store = open();
+	}
+
+	@AfterEach
+	void closeStore() throws IOException {
+		store.close();
+	}
+
+	@Test
+	void pagesNewestFirstAcrossSegmentsWithCursor() {
+		List<CheckResult> results = saveAlternating(35);
+
+		List<Long> expected = results.stream()
+				.filter(result -> result.getCommand().getId() == 1L)
+				.map(CheckResult::getId)
+				.toList()
+				.reversed();
+		assertThat(readAllPages(List.of(1L), 4)).isEqualTo(expected);
+	}
+
+	@Test
+	void readsResultsBackAfterReopening() throws IOException {
+		List<CheckResult> results = saveAlternating(25);
+		store.close();
+		store = open();
+
+		List<Long> expected = results.stream().map(CheckResult::getId).toList().reversed();
+		assertThat(readAllPages(List.of(1L, 2L), 7)).isEqualTo(expected);
+
+		CheckResult more = result(command(1), START.plusSeconds(100));
+		store.saveAll(List.of(more));
+		assertThat(store.findPage(List.of(1L), START, START.plusSeconds(1000), START.plusSeconds(1000), Long.MAX_VALUE, 1))
+				.extracting(CheckResultDto::id)
+				.containsExactly(more.getId());
+	}
+
+	@Test
+	void keepsStoredFieldsAndDropsTheOthers() {
+		CheckResult failure = result(command(3), START.plusMillis(1500)).toBuilder()
+				.success(false)
+				.outcome(CheckOutcome.DNS_FAILURE)
+				.statusCode(503)
+				.errorMessage("connection refused")
+				.connectMicros(1200L)
+				.dnsMicros(300L)
+				.totalMicros(9000L)
+				.build();
+		store.saveAll(List.of(failure, result(command(3), START.plusMillis(1600)).toBuilder().errorMessage("connection refused").build()));
+
+		List<CheckResultDto> page = store.findPage(List.of(3L), START, START.plusSeconds(10), START.plusSeconds(10), Long.MAX_VALUE, 10);
+
+		assertThat(page).hasSize(2);
+		CheckResultDto dto = page.get(1);
+		assertThat(dto.timestamp()).isEqualTo(START.plusMillis(1500));
+		assertThat(dto.success()).isFalse();
+		assertThat(dto.outcome()).isEqualTo(CheckOutcome.DNS_FAILURE);
+		assertThat(dto.statusCode()).isEqualTo(503);
+		assertThat(dto.errorMessage()).isEqualTo("connection refused");
+		assertThat(dto.connectMicros()).isEqualTo(1200L);
+		assertThat(dto.totalMicros()).isEqualTo(9000L);
+		assertThat(dto.dnsMicros()).isNull();
+		assertThat(dto.ttfbMicros()).isNull();
+		assertThat(page.get(0).errorMessage()).isEqualTo("connection refused");
+	}
+
+	@Test
+	void scansOnlyTheRequestedWindow() {
+		saveAlternating(30);
+		AtomicInteger visited = new AtomicInteger();
+
+		store.scan(START.plusSeconds(5), START.plusSeconds(15), (commandId, timestamp, success, responseTimeMs, statusCode) -> {
+			assertThat(timestamp).isBetween(START.plusSeconds(5), START.plusSeconds(14));
+			visited.incrementAndGet();
+		});
+
+		assertThat(visited).hasValue(10);
+	}
+
+	@Test
+	void hidesResultsOfDeletedCommandsAcrossRestarts() throws IOException {
+		saveAlternating(20);
+
+		store.deleteByCommandId(2L);
+		store.close();
+		store = open();
+
+		assertThat(readAllPages(List.of(2L), 5)).isEmpty();
+		assertThat(readAllPages(List.of(1L, 2L), 5)).hasSize(10);
+		List<Long> scanned = new ArrayList<>();
+		store.scan(START, START.plusSeconds(1000), (commandId, timestamp, success, responseTimeMs, statusCode) -> scanned.add(commandId));
+		assertThat(scanned).hasSize(10).containsOnly(1L);
+	}
+
+	@Test
+	void refusesADirectoryThatIsAlreadyInUse() throws IOException {
+		assertThatThrownBy(this::open)
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("in use");
+
+		store.close();
+		store = open();
+	}
+
+	@Test
+	void refusesADirectoryWrittenForAnotherDatabase() throws IOException {
+		saveAlternating(4);
+		store.close();
+
+		assertThatThrownBy(() -> open(database()))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("another database");
+
+		// The refused open released the directory, and the store's own database still opens it.
+		store = open();
+		assertThat(readAllPages(List.of(1L, 2L), 5)).hasSize(4);
+	}
+
+	private MappedResultStore open() throws IOException {
+		return open(database);
+	}
+
+	private MappedResultStore open(DatabaseIdentity identity) throws IOException {
+		ResultPartitionManager partitionManager = new ResultPartitionManager(null, new ResultRetentionProperties(30, Duration.ofHours(1)));
+		MappedResultStore opened = new MappedResultStore(
+				new MappedResultStoreProperties(directory, SEGMENT_RECORDS, BLOCK_RECORDS, 100), partitionManager, identity);
+		opened.open();
+		return opened;
+	}
+
+	private static DatabaseIdentity database() {
+		return new DatabaseIdentity(new JdbcTemplate(new DriverManagerDataSource(
+				"jdbc:h2:mem:identity-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "")));
+	}
+
+	/**
+	 * Saves one result per second, alternating between commands 1 and 2, in batches of four.
+	 */
+	private List<CheckResult> saveAlternating(int count) {
+		List<CheckResult> results = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			results.add(result(command(1 + i % 2), START.plusSeconds(i)));
+		}
+		for (int i = 0; i < count; i += 4) {
+			store.saveAll(results.subList(i, Math.min(count, i + 4)));
+		}
+		return results;
+	}
+
+	private List<Long> readAllPages(List<Long> commandIds, int pageSize) {
+		Instant to = START.plusSeconds(1000);
+		Instant afterTimestamp = to;
+		long afterId = Long.MAX_VALUE;
+		List<Long> ids = new ArrayList<>();
+		while (true) {
+			List<CheckResultDto> page = store.findPage(commandIds, START, to, afterTimestamp, afterId, pageSize);
+			page.forEach(dto -> ids.add(dto.id()));
+			if (page.size() < pageSize) {
+				return ids;
+			}
+			afterTimestamp = page.get(page.size() - 1).timestamp();
+			afterId = page.get(page.size() - 1).id();
+		}
+	}
+
+	private static CheckCommand command(long id) {
+		return CheckCommand.builder().id(id).build();
+	}
+
+	private static CheckResult result(CheckCommand command, Instant timestamp) {
+		return CheckResult.builder()
+				.command(command)
+				.timestamp(timestamp)
+				.success(true)
+				.responseTimeMs(42)
+				.statusCode(200)
+				.build();
+	}
+}
@@ -0,0 +1,57 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.config.PingProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PingStatisticsTest {
+
+	private static final PingProperties DEFAULTS = new PingProperties(Duration.ofSeconds(5), 3, Duration.ofMillis(200), 20);
+
+	@Test
+	void summarizesRepliesAndIgnoresLostRequestsForRtt() {
+		PingStatistics statistics = PingStatistics.of(new long[]{1000, -1, 3000, 2000});
+
+		assertThat(statistics.sent()).isEqualTo(4);
+		assertThat(statistics.received()).isEqualTo(3);
+		assertThat(statistics.lossPercent()).isEqualTo(25.0);
+		assertThat(statistics.minMicros()).isEqualTo(1000);
+		assertThat(statistics.avgMicros()).isEqualTo(2000);
+		assertThat(statistics.maxMicros()).isEqualTo(3000);
+		// |3000 - 1000| and |2000 - 3000| between consecutive replies
+		assertThat(statistics.jitterMicros()).isEqualTo(1500);
+	}
+
+	@Test
+	void reportsFullLossWithoutRtt() {
+		PingStatistics statistics = PingStatistics.of(new long[]{-1, -1});
+
+		assertThat(statistics.received()).isZero();
+		assertThat(statistics.lossPercent()).isEqualTo(100.0);
+		assertThat(statistics.avgMicros()).isNull();
+		assertThat(statistics.jitterMicros()).isNull();
+	}
+
+	@Test
+	void needsTwoRepliesForJitter() {
+		assertThat(PingStatistics.of(new long[]{500}).jitterMicros()).isNull();
+	}
+
+	@Test
+	void parsesParametersAndFallsBackToDefaults() {
+		assertThat(PingParameters.parse(null, DEFAULTS)).isEqualTo(new PingParameters(5000, 3, 200));
+		assertThat(PingParameters.parse("1000", DEFAULTS)).isEqualTo(new PingParameters(1000, 3, 200));
+		assertThat(PingParameters.parse("1000:5:0", DEFAULTS)).isEqualTo(new PingParameters(1000, 5, 0));
+	}
+
+	@Test
+	void rejectsInvalidParameters() {
+		assertThatThrownBy(() -> PingParameters.parse("1000:21", DEFAULTS)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> PingParameters.parse("0", DEFAULTS)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> PingParameters.parse("abc", DEFAULTS)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,97 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.check.entity.CheckCommand;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+import com.cognizant.vibe.synthetictesting.check.entity.ResultRun;
+import com.cognizant.vibe.synthetictesting.check.entity.ResultStorageMode;
+import com.cognizant.vibe.synthetictesting.config.ResultCompactionProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResultCompactorTest {
+
+	private static final Instant START = Instant.parse("2026-03-12T18:00:00Z");
+
+	private final ResultCompactor compactor = new ResultCompactor(
+			new ResultCompactionProperties(Duration.ofMinutes(15), 0.5, 50), command -> 7);
+	private final CheckCommand command = CheckCommand.builder().id(1L).storageMode(ResultStorageMode.CHANGES_ONLY).build();
+
+	@Test
+	void storesChangesAndCountsTheResultsInBetween() {
+		List<ResultRun> runs = new ArrayList<>();
+		List<CheckResult> batch = List.of(
+				result(0, true, 200, 100),
+				result(5, true, 200, 120),
+				result(10, true, 200, 90),
+				result(15, true, 200, 400),
+				result(20, false, 503, 400),
+				result(25, false, 503, 420));
+
+		List<CheckResult> rows = compactor.compact(batch, runs);
+
+		assertThat(rows).extracting(CheckResult::getTimestamp)
+				.containsExactly(START, START.plusSeconds(15), START.plusSeconds(20));
+		assertThat(runs).singleElement().satisfies(run -> {
+			assertThat(run.getStartTime()).isEqualTo(START.plusSeconds(5));
+			assertThat(run.getEndTime()).isEqualTo(START.plusSeconds(10));
+			assertThat(run.getCount()).isEqualTo(2);
+			assertThat(run.getStatusCode()).isEqualTo(200);
+			assertThat(run.getMinResponseTimeMs()).isEqualTo(90);
+			assertThat(run.getMaxResponseTimeMs()).isEqualTo(120);
+			assertThat(run.getSumResponseTimeMs()).isEqualTo(210);
+			assertThat(run.getExpiresAt()).isEqualTo(START.plusSeconds(10).plus(Duration.ofDays(7)));
+		});
+
+		compactor.closeAll(runs);
+		assertThat(runs).hasSize(2);
+		assertThat(runs.get(1).getCount()).isEqualTo(1);
+		assertThat(runs.get(1).isSuccess()).isFalse();
+	}
+
+	@Test
+	void storesAHeartbeatAndClosesTheRunsOfIdleCommands() {
+		List<ResultRun> runs = new ArrayList<>();
+		List<CheckResult> batch = new ArrayList<>();
+		for (int second = 0; second <= 900; second += 60) {
+			batch.add(result(second, true, 200, 100));
+		}
+
+		List<CheckResult> rows = compactor.compact(batch, runs);
+
+		assertThat(rows).extracting(CheckResult::getTimestamp).containsExactly(START, START.plusSeconds(900));
+		assertThat(runs).singleElement().extracting(ResultRun::getCount).isEqualTo(14L);
+
+		compactor.compact(List.of(result(960, true, 200, 100)), runs);
+		compactor.closeIdle(START.plusSeconds(960).plus(Duration.ofMinutes(14)), runs);
+		assertThat(runs).hasSize(1);
+		compactor.closeIdle(START.plusSeconds(960).plus(Duration.ofMinutes(16)), runs);
+		assertThat(runs).hasSize(2);
+		assertThat(compactor.compact(List.of(result(2000, true, 200, 100)), runs)).hasSize(1);
+	}
+
+	@Test
+	void storesEveryResultOfOtherCommands() {
+		CheckCommand all = CheckCommand.builder().id(2L).build();
+		List<CheckResult> batch = List.of(
+				CheckResult.builder().command(all).timestamp(START).success(true).statusCode(200).responseTimeMs(100).build(),
+				CheckResult.builder().command(all).timestamp(START.plusSeconds(5)).success(true).statusCode(200).responseTimeMs(100).build());
+
+		assertThat(compactor.compact(batch, new ArrayList<>())).hasSize(2);
+	}
+
+	private CheckResult result(int second, boolean success, int statusCode, long responseTimeMs) {
+		return CheckResult.builder()
+				.command(command)
+				.timestamp(START.plusSeconds(second))
+				.success(success)
+				.statusCode(statusCode)
+				.responseTimeMs(responseTimeMs)
+				.build();
+	}
+}
@@ -0,0 +1,38 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResultPartitionTest {
+
+	@Test
+	void tableNameRoundTrips() {
+		ResultPartition partition = ResultPartition.of(30, Instant.parse("2025-03-09T23:59:59.999Z"));
+
+		assertThat(partition.day()).isEqualTo(LocalDate.of(2025, 3, 9));
+		assertThat(partition.tableName()).isEqualTo("check_result_r30_20250309");
+		assertThat(ResultPartition.parse("CHECK_RESULT_R30_20250309")).contains(partition);
+		assertThat(ResultPartition.parse("check_result_rollup")).isEmpty();
+	}
+
+	@Test
+	void expiresOnlyOnceTheWholeDayIsOlderThanTheRetention() {
+		ResultPartition partition = new ResultPartition(7, LocalDate.of(2025, 3, 9));
+
+		assertThat(partition.isExpired(Instant.parse("2025-03-16T23:59:59Z"))).isFalse();
+		assertThat(partition.isExpired(Instant.parse("2025-03-17T00:00:00Z"))).isTrue();
+	}
+
+	@Test
+	void overlapsOnlyItsOwnDay() {
+		ResultPartition partition = new ResultPartition(7, LocalDate.of(2025, 3, 9));
+
+		assertThat(partition.overlaps(Instant.parse("2025-03-08T12:00:00Z"), Instant.parse("2025-03-09T00:00:00Z"))).isFalse();
+		assertThat(partition.overlaps(Instant.parse("2025-03-08T12:00:00Z"), Instant.parse("2025-03-09T00:00:01Z"))).isTrue();
+		assertThat(partition.overlaps(Instant.parse("2025-03-10T00:00:00Z"), Instant.parse("2025-03-11T00:00:00Z"))).isFalse();
+	}
+}
@@ -0,0 +1,100 @@
+package com.cognizant.vibe.synthetictesting.check;
+
+import com.cognizant.vibe.synthetictesting.config.TcpProbeProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TcpProbeEngineTest {
+
+	private TcpProbeEngine engine;
+
+	@BeforeEach
+	void setUp() {
+		engine = new TcpProbeEngine(new TcpProbeProperties(2, 1000, Duration.ofSeconds(5)), new SimpleMeterRegistry());
+		engine.start();
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		engine.stop();
+	}
+
+	@Test
+	void completesManyConcurrentConnectsWithTheirLatency() throws Exception {
+		try (ServerSocket server = new ServerSocket(0, 1000, InetAddress.getLoopbackAddress())) {
+			InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getLocalPort());
+			List<CompletableFuture<Long>> probes = new ArrayList<>();
+			for (int i = 0; i < 500; i++) {
+				probes.add(engine.connect(address, Duration.ofSeconds(5)));
+			}
+
+			for (CompletableFuture<Long> probe : probes) {
+				assertThat(probe.get()).isPositive();
+			}
+			assertThat(engine.inFlight()).isZero();
+		}
+	}
+
+	@Test
+	void reportsRefusedConnects() throws Exception {
+		int port;
+		try (ServerSocket closed = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+			port = closed.getLocalPort();
+		}
+
+		assertThatThrownBy(() -> engine.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), Duration.ofSeconds(5)).join())
+				.hasCauseInstanceOf(ConnectException.class);
+	}
+
+	@Test
+	void timesOutConnectsThatAreNeverAnswered() throws Exception {
+		try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+			InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getLocalPort());
+			// Fill the accept backlog, which is never drained, so further SYNs go unanswered.
+			List<Socket> backlog = new ArrayList<>();
+			try {
+				for (int i = 0; i < 4; i++) {
+					Socket socket = new Socket();
+					backlog.add(socket);
+					socket.connect(address, 200);
+				}
+			} catch (SocketTimeoutException e) {
+				// backlog is full
+			}
+
+			long start = System.nanoTime();
+			assertThatThrownBy(() -> engine.connect(address, Duration.ofMillis(300)).join())
+					.hasCauseInstanceOf(SocketTimeoutException.class);
+			assertThat(Duration.ofNanos(System.nanoTime() - start)).isBetween(Duration.ofMillis(300), Duration.ofSeconds(2));
+			for (Socket socket : backlog) {
+				socket.close();
+			}
+		}
+	}
+
+	@Test
+	void rejectsProbesBeyondTheInFlightLimit() throws InterruptedException {
+		engine.stop();
+		engine = new TcpProbeEngine(new TcpProbeProperties(1, 0, Duration.ofSeconds(5)), new SimpleMeterRegistry());
+
+		assertThatThrownBy(() -> engine.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), 1), Duration.ofSeconds(1)).join())
+				.hasCauseInstanceOf(RejectedExecutionException.class);
+	}
+}
@@ -0,0 +1,85 @@
+package com.cognizant.vibe.synthetictesting.cluster;
+
+import com.cognizant.vibe.synthetictesting.config.ClusterProperties;
+import com.cognizant.vibe.synthetictesting.support.NoTransactionManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static com.cognizant.vibe.synthetictesting.support.Stubs.stub;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClusterCoordinatorTest {
+
+	private static final int PARTITIONS = 16;
+
+	private final ClusterProperties properties = new ClusterProperties(true, "a", PARTITIONS,
+			Duration.ofSeconds(30), Duration.ofSeconds(10), 100);
+	// Lease owners by partition, and the nodes other than this one that are alive.
+	private final Map<Integer, String> leases = new HashMap<>();
+	private final List<String> otherNodes = new ArrayList<>();
+	private final List<Integer> released = new ArrayList<>();
+	private final PartitionOwnership ownership = new PartitionOwnership(properties);
+	private final ClusterCoordinator coordinator = new ClusterCoordinator(properties, nodeRepository(), leaseRepository(),
+			ownership, new NoTransactionManager(), new SimpleMeterRegistry());
+
+	@Test
+	void stopsExecutingPartitionsBeforeReleasingTheirLeases() {
+		List<String> notifications = new ArrayList<>();
+		ownership.addListener((owned, gained, lost) ->
+				notifications.add(owned.size() + " owned, " + gained.size() + " gained, " + lost.size() + " lost, " + released.size() + " released"));
+
+		coordinator.renew();
+		otherNodes.add("b");
+		coordinator.renew();
+
+		Set<Integer> movedToB = new TreeSet<>();
+		for (int partition = 0; partition < PARTITIONS; partition++) {
+			if ("b".equals(new ConsistentHashRing(List.of("a", "b"), 100).ownerOf(partition))) {
+				movedToB.add(partition);
+			}
+		}
+		assertThat(movedToB).isNotEmpty();
+		int kept = PARTITIONS - movedToB.size();
+		assertThat(notifications).containsExactly(
+				PARTITIONS + " owned, " + PARTITIONS + " gained, 0 lost, 0 released",
+				kept + " owned, 0 gained, " + movedToB.size() + " lost, 0 released");
+		assertThat(released).containsExactlyElementsOf(movedToB);
+		assertThat(ownership.ownedPartitions()).doesNotContainAnyElementsOf(movedToB);
+	}
+
+	private SchedulerNodeRepository nodeRepository() {
+		return stub(SchedulerNodeRepository.class, (name, args) -> switch (name) {
+			case "findLiveNodeIds" -> List.copyOf(otherNodes);
+			case "deleteByHeartbeatAtBefore" -> 0;
+			case "save" -> args[0];
+			default -> throw new UnsupportedOperationException(name);
+		});
+	}
+
+	private PartitionLeaseRepository leaseRepository() {
+		return stub(PartitionLeaseRepository.class, (name, args) -> switch (name) {
+			case "findAll", "saveAll" -> List.of();
+			case "findPartitionIdsByOwnerNodeId" -> leases.entrySet().stream()
+					.filter(lease -> lease.getValue().equals(args[0]))
+					.map(Map.Entry::getKey)
+					.toList();
+			case "claim" -> {
+				String owner = leases.putIfAbsent((Integer) args[0], (String) args[1]);
+				yield owner == null || owner.equals(args[1]) ? 1 : 0;
+			}
+			case "release" -> {
+				released.add((Integer) args[0]);
+				yield leases.remove(args[0], args[1]) ? 1 : 0;
+			}
+			default -> throw new UnsupportedOperationException(name);
+		});
+	}
+}
@@ -0,0 +1,44 @@
+package com.cognizant.vibe.synthetictesting.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsistentHashRingTest {
+
+	private static final int PARTITIONS = 64;
+
+	@Test
+	void everyNodeGetsAShareOfThePartitions() {
+		Map<String, Integer> counts = new HashMap<>();
+		ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c"), 100);
+		for (int p = 0; p < PARTITIONS; p++) {
+			counts.merge(ring.ownerOf(p), 1, Integer::sum);
+		}
+
+		assertThat(counts).containsOnlyKeys("a", "b", "c");
+		assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(10, 35));
+	}
+
+	@Test
+	void onlyPartitionsOfTheJoiningNodeMove() {
+		ConsistentHashRing before = new ConsistentHashRing(List.of("a", "b"), 100);
+		ConsistentHashRing after = new ConsistentHashRing(List.of("b", "a", "c"), 100);
+
+		for (int p = 0; p < PARTITIONS; p++) {
+			String owner = after.ownerOf(p);
+			if (!owner.equals("c")) {
+				assertThat(owner).isEqualTo(before.ownerOf(p));
+			}
+		}
+	}
+
+	@Test
+	void emptyRingHasNoOwner() {
+		assertThat(new ConsistentHashRing(List.of(), 100).ownerOf(0)).isNull();
+	}
+}
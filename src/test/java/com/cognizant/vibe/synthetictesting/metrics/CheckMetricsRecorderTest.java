@@ -0,0 +1,71 @@
+package com.cognizant.vibe.synthetictesting.metrics;
+
+import com.cognizant.vibe.synthetictesting.app.entity.AppTarget;
+import com.cognizant.vibe.synthetictesting.check.RemovedCommands;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckCommand;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+import com.cognizant.vibe.synthetictesting.check.entity.CommandType;
+import com.cognizant.vibe.synthetictesting.config.CheckMetricsProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CheckMetricsRecorderTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final RemovedCommands removedCommands = new RemovedCommands();
+	private final CheckMetricsRecorder recorder = new CheckMetricsRecorder(meterRegistry,
+			new CheckMetricsProperties(1, Duration.ofSeconds(10)), removedCommands);
+
+	@Test
+	void ignoresResultsOfRemovedCommands() {
+		recorder.onCheckResult(result(1));
+		assertThat(executions("1")).isEqualTo(1);
+
+		remove(1L);
+		recorder.onCheckResult(result(1));
+
+		assertThat(meterRegistry.find("synthetic.check.executions").tag("command", "1").counters()).isEmpty();
+		// The slot is free again.
+		recorder.onCheckResult(result(2));
+		assertThat(executions("2")).isEqualTo(1);
+	}
+
+	@Test
+	void givesAnOverflowedCommandItsOwnMetersOnceASlotFrees() {
+		recorder.onCheckResult(result(1));
+		recorder.onCheckResult(result(2));
+		assertThat(executions("other")).isEqualTo(1);
+
+		remove(1L);
+		recorder.onCheckResult(result(2));
+
+		assertThat(executions("2")).isEqualTo(1);
+		assertThat(executions("other")).isEqualTo(1);
+	}
+
+	private void remove(long commandId) {
+		removedCommands.add(commandId);
+		recorder.removeCommand(commandId);
+	}
+
+	private double executions(String command) {
+		return meterRegistry.find("synthetic.check.executions").tag("command", command).tag("type", "TCP_PORT")
+				.tag("outcome", "success").counter().count();
+	}
+
+	private static CheckResult result(long commandId) {
+		AppTarget target = AppTarget.builder().id(10L).name("target").build();
+		CheckCommand command = CheckCommand.builder().id(commandId).app(target).type(CommandType.TCP_PORT).build();
+		return CheckResult.builder()
+				.command(command)
+				.timestamp(Instant.now())
+				.success(true)
+				.responseTimeMs(5)
+				.build();
+	}
+}
@@ -0,0 +1,55 @@
+package com.cognizant.vibe.synthetictesting.rollup;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+	@Test
+	void bucketBoundsCoverEveryValueWithinSixPercent() {
+		for (long value = 0; value < 5_000_000; value += value < 1_000 ? 1 : 997) {
+			int index = LatencyHistogram.indexOf(value);
+			assertThat(LatencyHistogram.lowerBound(index)).isLessThanOrEqualTo(value);
+			assertThat(LatencyHistogram.upperBound(index)).isGreaterThanOrEqualTo(value);
+			assertThat(LatencyHistogram.upperBound(index) - LatencyHistogram.lowerBound(index))
+					.isLessThanOrEqualTo(Math.max(0, value / 16));
+		}
+	}
+
+	@Test
+	void percentilesOfMergedHistogramsMatchTheCombinedData() {
+		LatencyHistogram fast = new LatencyHistogram();
+		LatencyHistogram slow = new LatencyHistogram();
+		for (int i = 1; i <= 900; i++) {
+			fast.record(i % 100);
+		}
+		for (int i = 1; i <= 100; i++) {
+			slow.record(1_000 + i * 10);
+		}
+
+		fast.merge(slow);
+
+		assertThat(fast.totalCount()).isEqualTo(1_000);
+		assertThat((double) fast.valueAtPercentile(50)).isCloseTo(50, within(4.0));
+		assertThat((double) fast.valueAtPercentile(99)).isCloseTo(1_900, within(1_900 * 0.07));
+		assertThat(fast.countAtOrBelow(99)).isEqualTo(900);
+	}
+
+	@Test
+	void survivesBinaryRoundTrip() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(3);
+		histogram.record(250);
+		histogram.record(250);
+		histogram.record(86_400_000L * 30);
+
+		LatencyHistogram decoded = LatencyHistogram.fromBytes(histogram.toBytes());
+
+		assertThat(decoded.totalCount()).isEqualTo(4);
+		assertThat(decoded.valueAtPercentile(50)).isEqualTo(histogram.valueAtPercentile(50));
+		assertThat(decoded.valueAtPercentile(100)).isEqualTo(histogram.valueAtPercentile(100));
+		assertThat(LatencyHistogram.fromBytes(new byte[0]).valueAtPercentile(50)).isNull();
+	}
+}
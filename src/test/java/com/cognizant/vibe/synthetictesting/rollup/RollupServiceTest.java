@@ -0,0 +1,173 @@
+package com.cognizant.vibe.synthetictesting.rollup;
+
+import com.cognizant.vibe.synthetictesting.app.AppTargetRepository;
+import com.cognizant.vibe.synthetictesting.check.CheckCommandRepository;
+import com.cognizant.vibe.synthetictesting.check.RawResultStore;
+import com.cognizant.vibe.synthetictesting.check.RemovedCommands;
+import com.cognizant.vibe.synthetictesting.check.ResultRunRepository;
+import com.cognizant.vibe.synthetictesting.check.ResultRunStore;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckCommand;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+import com.cognizant.vibe.synthetictesting.config.RollupProperties;
+import com.cognizant.vibe.synthetictesting.rollup.dto.RollupRebuildDto;
+import com.cognizant.vibe.synthetictesting.rollup.entity.CheckResultRollup;
+import com.cognizant.vibe.synthetictesting.rollup.entity.RollupKey;
+import com.cognizant.vibe.synthetictesting.rollup.entity.RollupResolution;
+import com.cognizant.vibe.synthetictesting.support.NoTransactionManager;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static com.cognizant.vibe.synthetictesting.support.Stubs.stub;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RollupServiceTest {
+
+	private static final long COMMAND_ID = 1;
+
+	// The persisted rollups, and the bucket ranges deleted by rebuilds.
+	private final List<CheckResultRollup> stored = new ArrayList<>();
+	private final List<DeletedRange> deleted = new ArrayList<>();
+	private int lockedReads;
+	// What the raw result store returns when scanned.
+	private final List<CheckResult> rawResults = new ArrayList<>();
+	private final RemovedCommands removedCommands = new RemovedCommands();
+	private final RollupService service = new RollupService(rollupRepository(), commandRepository(),
+			stub(AppTargetRepository.class, (name, args) -> {
+				throw new UnsupportedOperationException(name);
+			}),
+			rawResultStore(), new ResultRunStore(stub(ResultRunRepository.class, (name, args) -> List.of())),
+			new RollupProperties(Duration.ofSeconds(10), Duration.ofMinutes(1)), removedCommands,
+			new NoTransactionManager());
+
+	@Test
+	void flushMergesIntoLockedRows() {
+		Instant now = Instant.now();
+		service.onCheckResult(result(now, true, 100));
+		service.flush();
+		assertThat(stored).hasSize(RollupResolution.values().length);
+
+		service.onCheckResult(result(now, false, 300));
+		service.flush();
+
+		assertThat(lockedReads).isEqualTo(2 * RollupResolution.values().length);
+		assertThat(stored).hasSize(RollupResolution.values().length).allSatisfy(rollup -> {
+			assertThat(rollup.getCount()).isEqualTo(2);
+			assertThat(rollup.getSuccessCount()).isEqualTo(1);
+			assertThat(rollup.getSumResponseTimeMs()).isEqualTo(400);
+		});
+	}
+
+	@Test
+	void ignoresAResultThatArrivesAfterItsCommandWasRemoved() {
+		service.onCheckResult(result(Instant.now(), true, 100));
+
+		removedCommands.add(COMMAND_ID);
+		service.deleteRollupsForCommand(COMMAND_ID);
+		// The run that was in flight when the command was deleted.
+		service.onCheckResult(result(Instant.now(), true, 100));
+		service.flush();
+
+		assertThat(stored).isEmpty();
+		assertThat(lockedReads).isZero();
+	}
+
+	@Test
+	void rebuildLeavesBucketsThatMayStillReceiveDeltasAlone() {
+		Instant now = Instant.now();
+		Instant twoDaysAgo = RollupResolution.DAY.bucketStart(now).minus(Duration.ofDays(2));
+		Instant settled = twoDaysAgo.plus(Duration.ofHours(10));
+		rawResults.add(result(settled, true, 100));
+		// Another node may not have flushed this one yet, so it must not be counted a second time.
+		rawResults.add(result(now, true, 200));
+
+		RollupRebuildDto rebuilt = service.rebuild(twoDaysAgo, now);
+
+		assertThat(rebuilt.results()).isEqualTo(1);
+		assertThat(stored).extracting(CheckResultRollup::getId).containsExactlyInAnyOrder(
+				new RollupKey(COMMAND_ID, RollupResolution.MINUTE, settled),
+				new RollupKey(COMMAND_ID, RollupResolution.HOUR, settled),
+				new RollupKey(COMMAND_ID, RollupResolution.DAY, twoDaysAgo));
+		assertThat(deleted).contains(new DeletedRange(RollupResolution.DAY, twoDaysAgo, twoDaysAgo.plus(Duration.ofDays(1))));
+		for (DeletedRange range : deleted) {
+			Instant recentBucket = range.resolution().bucketStart(now);
+			assertThat(!range.to().isAfter(recentBucket) || range.from().isAfter(recentBucket))
+					.as("%s keeps the bucket at %s", range, recentBucket).isTrue();
+		}
+	}
+
+	private static CheckResult result(Instant timestamp, boolean success, long responseTimeMs) {
+		return CheckResult.builder()
+				.command(CheckCommand.builder().id(COMMAND_ID).build())
+				.timestamp(timestamp)
+				.success(success)
+				.responseTimeMs(responseTimeMs)
+				.statusCode(200)
+				.build();
+	}
+
+	@SuppressWarnings("unchecked")
+	private CheckResultRollupRepository rollupRepository() {
+		return stub(CheckResultRollupRepository.class, (name, args) -> switch (name) {
+			case "findBucketsForUpdate" -> {
+				lockedReads++;
+				Collection<Long> commandIds = (Collection<Long>) args[0];
+				Instant from = (Instant) args[2];
+				Instant to = (Instant) args[3];
+				yield stored.stream()
+						.filter(rollup -> commandIds.contains(rollup.getCommandId()) && rollup.getResolution() == args[1]
+								&& !rollup.getBucketStart().isBefore(from) && rollup.getBucketStart().isBefore(to))
+						.toList();
+			}
+			case "deleteByCommandId" -> {
+				stored.removeIf(rollup -> rollup.getCommandId().equals(args[0]));
+				yield null;
+			}
+			case "deleteBuckets" -> {
+				DeletedRange range = new DeletedRange((RollupResolution) args[0], (Instant) args[1], (Instant) args[2]);
+				deleted.add(range);
+				stored.removeIf(rollup -> rollup.getResolution() == range.resolution()
+						&& !rollup.getBucketStart().isBefore(range.from()) && rollup.getBucketStart().isBefore(range.to()));
+				yield 0;
+			}
+			case "saveAll" -> {
+				for (CheckResultRollup rollup : (Iterable<CheckResultRollup>) args[0]) {
+					if (!stored.contains(rollup)) {
+						stored.add(rollup);
+					}
+				}
+				yield args[0];
+			}
+			default -> throw new UnsupportedOperationException(name);
+		});
+	}
+
+	private static CheckCommandRepository commandRepository() {
+		return stub(CheckCommandRepository.class, (name, args) -> switch (name) {
+			case "findAllIds" -> List.of(COMMAND_ID);
+			default -> throw new UnsupportedOperationException(name);
+		});
+	}
+
+	private RawResultStore rawResultStore() {
+		return stub(RawResultStore.class, (name, args) -> {
+			if (!name.equals("scan")) {
+				throw new UnsupportedOperationException(name);
+			}
+			Instant from = (Instant) args[0];
+			Instant to = (Instant) args[1];
+			RawResultStore.ResultVisitor visitor = (RawResultStore.ResultVisitor) args[2];
+			rawResults.stream()
+					.filter(result -> !result.getTimestamp().isBefore(from) && result.getTimestamp().isBefore(to))
+					.forEach(result -> visitor.visit(COMMAND_ID, result.getTimestamp(), result.isSuccess(),
+							result.getResponseTimeMs(), result.getStatusCode()));
+			return null;
+		});
+	}
+
+	private record DeletedRange(RollupResolution resolution, Instant from, Instant to) {}
+}
@@ -0,0 +1,116 @@
+package com.cognizant.vibe.synthetictesting.slo;
+
+import com.cognizant.vibe.synthetictesting.rollup.LatencyHistogram;
+import com.cognizant.vibe.synthetictesting.rollup.entity.CheckResultRollup;
+import com.cognizant.vibe.synthetictesting.rollup.entity.RollupResolution;
+import com.cognizant.vibe.synthetictesting.slo.dto.SloStatusDto;
+import com.cognizant.vibe.synthetictesting.slo.entity.SloDefinition;
+import com.cognizant.vibe.synthetictesting.slo.entity.SloIndicator;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SloTrackerTest {
+
+	private static final Instant DAY = Instant.parse("2026-03-10T00:00:00Z");
+
+	@Test
+	void slidingWindowDropsBucketsThatLeaveIt() {
+		SlidingWindow window = new SlidingWindow(Duration.ofHours(1), 60);
+		window.add(DAY, 1, 1);
+		window.add(DAY.plusSeconds(30 * 60), 0, 2);
+		assertThat(window.total()).isEqualTo(3);
+
+		window.advance(DAY.plusSeconds(60 * 60));
+		assertThat(window.good()).isZero();
+		assertThat(window.total()).isEqualTo(2);
+
+		// Too old for the window by now.
+		window.add(DAY, 1, 1);
+		assertThat(window.total()).isEqualTo(2);
+
+		window.advance(DAY.plus(Duration.ofDays(1)));
+		assertThat(window.total()).isZero();
+	}
+
+	@Test
+	void reportsErrorBudgetAndBurnRates() {
+		SloTracker tracker = tracker(SloIndicator.AVAILABILITY, null);
+		Instant now = DAY.plus(Duration.ofDays(5));
+		// 1000 runs over the last day, 2 of them failed within the last hour.
+		for (int i = 0; i < 1000; i++) {
+			Instant timestamp = now.minusSeconds(86 * i);
+			tracker.record(timestamp, !(i == 3 || i == 7), 50);
+		}
+
+		SloStatusDto status = tracker.status(now);
+
+		assertThat(status.total()).isEqualTo(1000);
+		assertThat(status.sliPercent()).isCloseTo(99.8, within(1e-9));
+		// 99% allows 10 failures out of 1000; 2 are used.
+		assertThat(status.errorBudgetRemainingPercent()).isCloseTo(80.0, within(1e-9));
+		assertThat(status.burnRates()).hasSize(2);
+		assertThat(status.burnRates().get(0).window()).isEqualTo(Duration.ofHours(1));
+		long lastHour = status.burnRates().get(0).total();
+		assertThat(status.burnRates().get(0).burnRate()).isCloseTo(2.0 / lastHour / 0.01, within(1e-9));
+	}
+
+	@Test
+	void rebuildsFromRollupsWithoutCountingRunsTwice() {
+		SloTracker live = tracker(SloIndicator.LATENCY, 100L);
+		SloTracker rebuilt = tracker(SloIndicator.LATENCY, 100L);
+		Instant now = DAY.plus(Duration.ofDays(3)).plusSeconds(45 * 60);
+		Instant currentHour = RollupResolution.HOUR.bucketStart(now);
+
+		// One run every 10 minutes over the last two days, alternating fast and slow.
+		for (Instant t = now.minus(Duration.ofDays(2)); t.isBefore(now); t = t.plusSeconds(600)) {
+			long responseTimeMs = t.getEpochSecond() / 600 % 2 == 0 ? 20 : 900;
+			live.record(t, true, responseTimeMs);
+			for (RollupResolution resolution : List.of(RollupResolution.MINUTE, RollupResolution.HOUR)) {
+				rebuilt.load(rollup(resolution, resolution.bucketStart(t), responseTimeMs), currentHour);
+			}
+		}
+
+		SloStatusDto expected = live.status(now);
+		SloStatusDto actual = rebuilt.status(now);
+		assertThat(actual.total()).isEqualTo(expected.total()).isPositive();
+		assertThat(actual.good()).isEqualTo(expected.good());
+		assertThat(actual.burnRates()).isEqualTo(expected.burnRates());
+		assertThat(rebuilt.earliest(RollupResolution.HOUR, now)).isEqualTo(actual.windowStart());
+		// The 6h window has 60 six-minute buckets, the newest one starting at 00:42.
+		assertThat(rebuilt.earliest(RollupResolution.MINUTE, now)).isEqualTo(Instant.parse("2026-03-12T18:48:00Z"));
+	}
+
+	private static SloTracker tracker(SloIndicator indicator, Long latencyThresholdMs) {
+		SloDefinition definition = SloDefinition.builder()
+				.id(1L)
+				.checkCommandId(1L)
+				.indicator(indicator)
+				.objectivePercent(99.0)
+				.latencyThresholdMs(latencyThresholdMs)
+				.windowDays(30)
+				.build();
+		return new SloTracker(definition, List.of(Duration.ofHours(1), Duration.ofHours(6)), 60);
+	}
+
+	/**
+	 * A rollup of one successful run. Runs of the same bucket arrive as separate rollups, which load adds up.
+	 */
+	private static CheckResultRollup rollup(RollupResolution resolution, Instant bucketStart, long responseTimeMs) {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(responseTimeMs);
+		return CheckResultRollup.builder()
+				.commandId(1L)
+				.resolution(resolution)
+				.bucketStart(bucketStart)
+				.count(1)
+				.successCount(1)
+				.latencyHistogram(histogram.toBytes())
+				.build();
+	}
+}
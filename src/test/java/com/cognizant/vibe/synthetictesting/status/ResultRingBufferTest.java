@@ -0,0 +1,70 @@
+package com.cognizant.vibe.synthetictesting.status;
+
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+import com.cognizant.vibe.synthetictesting.check.entity.CommandType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResultRingBufferTest {
+
+	@Test
+	void keepsTheLatestResultsNewestFirst() {
+		ResultRingBuffer buffer = new ResultRingBuffer(1, 1, CommandType.GET, 4);
+		assertThat(buffer.snapshot(10)).isNull();
+
+		for (int i = 1; i <= 6; i++) {
+			buffer.add(result(i, i % 3 != 0, i == 6 ? null : 200));
+		}
+
+		ResultRingBuffer.Snapshot snapshot = buffer.snapshot(10);
+		assertThat(snapshot.totalRecorded()).isEqualTo(6);
+		assertThat(snapshot.size()).isEqualTo(4);
+		assertThat(snapshot.responseTimes()).containsExactly(6, 5, 4, 3);
+		assertThat(snapshot.successes()).containsExactly(false, true, true, false);
+		assertThat(snapshot.statusCode(0)).isNull();
+		assertThat(snapshot.statusCode(1)).isEqualTo(200);
+		assertThat(buffer.snapshot(2).responseTimes()).containsExactly(6, 5);
+	}
+
+	@Test
+	void readersNeverSeeTornWrites() throws InterruptedException {
+		ResultRingBuffer buffer = new ResultRingBuffer(1, 1, CommandType.GET, 8);
+		buffer.add(result(0, true, 0));
+		AtomicBoolean stop = new AtomicBoolean();
+		Thread writer = new Thread(() -> {
+			for (int i = 1; !stop.get(); i++) {
+				buffer.add(result(i, true, i));
+			}
+		});
+		writer.start();
+		try {
+			for (int n = 0; n < 100_000; n++) {
+				ResultRingBuffer.Snapshot snapshot = buffer.snapshot(8);
+				for (int i = 0; i < snapshot.size(); i++) {
+					// Every field of a slot was written from the same value, and slots are consecutive.
+					assertThat(snapshot.statusCodes()[i]).isEqualTo((int) snapshot.responseTimes()[i]);
+					assertThat(snapshot.timestamps()[i]).isEqualTo(snapshot.responseTimes()[i]);
+					if (i > 0) {
+						assertThat(snapshot.responseTimes()[i]).isEqualTo(snapshot.responseTimes()[i - 1] - 1);
+					}
+				}
+			}
+		} finally {
+			stop.set(true);
+			writer.join();
+		}
+	}
+
+	private static CheckResult result(long value, boolean success, Integer statusCode) {
+		return CheckResult.builder()
+				.timestamp(Instant.ofEpochMilli(value))
+				.responseTimeMs(value)
+				.success(success)
+				.statusCode(statusCode)
+				.build();
+	}
+}
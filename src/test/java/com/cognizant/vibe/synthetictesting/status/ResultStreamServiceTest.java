@@ -0,0 +1,144 @@
+package com.cognizant.vibe.synthetictesting.status;
+
+import com.cognizant.vibe.synthetictesting.app.entity.AppTarget;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckCommand;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+import com.cognizant.vibe.synthetictesting.check.entity.CommandType;
+import com.cognizant.vibe.synthetictesting.config.ResultStreamProperties;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResultStreamServiceTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final ResultStreamService service = new ResultStreamService(
+			new ResultStreamProperties(2, 3, Duration.ofHours(1)), JsonMapper.builder().findAndAddModules().build(), meterRegistry);
+
+	@Test
+	void filtersResultsAndDropsTheOldestForSlowClients() {
+		Collector client = new Collector();
+		service.subscribe(null, 1L, false).subscribe(client);
+
+		// Nothing is requested yet: one result waits to be sent, three are buffered and the oldest of those is dropped.
+		for (int i = 1; i <= 5; i++) {
+			service.onCheckResult(result(1, i, true));
+			service.onCheckResult(result(2, 100 + i, true));
+		}
+		client.request(Long.MAX_VALUE);
+
+		assertThat(client.results()).hasSize(4);
+		assertThat(client.results()).allSatisfy(data -> assertThat(data).contains("\"commandId\":1,", "\"targetName\":\"target\""));
+		assertThat(client.results()).extracting(data -> data.replaceAll(".*\"responseTimeMs\":(\\d+).*", "$1"))
+				.containsExactly("1", "3", "4", "5");
+		assertThat(meterRegistry.get("synthetic.stream.dropped").counter().count()).isEqualTo(1);
+		client.dispose();
+	}
+
+	@Test
+	void streamsOnlyFailuresWhenAsked() {
+		Collector client = new Collector();
+		service.subscribe(10L, null, true).subscribe(client);
+		client.request(Long.MAX_VALUE);
+
+		service.onCheckResult(result(1, 1, true));
+		service.onCheckResult(result(1, 2, false));
+
+		assertThat(client.results()).singleElement().asString().contains("\"success\":false");
+		client.dispose();
+	}
+
+	@Test
+	void refusesSubscribersBeyondTheLimitUntilOneLeaves() {
+		Collector first = new Collector();
+		service.subscribe(null, null, false).subscribe(first);
+		Collector second = new Collector();
+		service.subscribe(null, null, false).subscribe(second);
+
+		assertThatThrownBy(() -> service.subscribe(null, null, false)).isInstanceOf(RejectedExecutionException.class);
+		first.dispose();
+		assertThat(service.subscribe(null, null, false)).isNotNull();
+		second.dispose();
+	}
+
+	@Test
+	void takesASlotOnlyWhileSubscribed() {
+		// Streams that are handed out but never subscribed to, as when the client leaves before the response starts.
+		for (int i = 0; i < 5; i++) {
+			service.subscribe(null, null, false);
+		}
+		Flux<ServerSentEvent<String>> late = service.subscribe(null, null, false);
+		Collector first = new Collector();
+		service.subscribe(null, null, false).subscribe(first);
+		Collector second = new Collector();
+		service.subscribe(null, null, false).subscribe(second);
+		assertThat(meterRegistry.get("synthetic.stream.subscribers").gauge().value()).isEqualTo(2);
+
+		// The slots filled up between handing out a stream and subscribing to it.
+		Collector third = new Collector();
+		late.subscribe(third);
+		assertThat(third.isDisposed()).isTrue();
+		assertThat(third.error()).isInstanceOf(RejectedExecutionException.class);
+
+		first.dispose();
+		second.dispose();
+		assertThat(meterRegistry.get("synthetic.stream.subscribers").gauge().value()).isZero();
+	}
+
+	private static CheckResult result(long commandId, long responseTimeMs, boolean success) {
+		AppTarget target = AppTarget.builder().id(10L).name("target").build();
+		CheckCommand command = CheckCommand.builder().id(commandId).app(target).type(CommandType.GET).build();
+		return CheckResult.builder()
+				.command(command)
+				.timestamp(Instant.now())
+				.success(success)
+				.responseTimeMs(responseTimeMs)
+				.build();
+	}
+
+	/**
+	 * Requests nothing until told to and keeps the data of the result events it receives.
+	 */
+	private static class Collector extends BaseSubscriber<ServerSentEvent<String>> {
+
+		private final List<String> results = new CopyOnWriteArrayList<>();
+		private volatile Throwable error;
+
+		@Override
+		protected void hookOnSubscribe(Subscription subscription) {
+		}
+
+		@Override
+		protected void hookOnNext(ServerSentEvent<String> event) {
+			if ("result".equals(event.event())) {
+				results.add(event.data());
+			}
+		}
+
+		List<String> results() {
+			return results;
+		}
+
+		@Override
+		protected void hookOnError(Throwable throwable) {
+			error = throwable;
+		}
+
+		Throwable error() {
+			return error;
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package com.cognizant.vibe.synthetictesting.status;
+
+import com.cognizant.vibe.synthetictesting.app.entity.AppTarget;
+import com.cognizant.vibe.synthetictesting.check.RemovedCommands;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckCommand;
+import com.cognizant.vibe.synthetictesting.check.entity.CheckResult;
+import com.cognizant.vibe.synthetictesting.check.entity.CommandType;
+import com.cognizant.vibe.synthetictesting.config.StatusProperties;
+import com.cognizant.vibe.synthetictesting.status.dto.CommandStatusDto;
+import com.cognizant.vibe.synthetictesting.status.dto.TargetStatusDto;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StatusServiceTest {
+
+	private final RemovedCommands removedCommands = new RemovedCommands();
+	private final StatusService statusService = new StatusService(new StatusProperties(10), removedCommands);
+
+	@Test
+	void ignoresAResultThatArrivesAfterItsCommandWasRemoved() {
+		statusService.onCheckResult(result(1));
+		statusService.onCheckResult(result(2));
+
+		removedCommands.add(1L);
+		statusService.removeCommand(1L);
+		// The run that was in flight when the command was deleted.
+		statusService.onCheckResult(result(1));
+
+		assertThatThrownBy(() -> statusService.getCommandStatus(1L, 10)).isInstanceOf(EntityNotFoundException.class);
+		assertThat(statusService.getAllStatuses(10)).flatExtracting(TargetStatusDto::commands)
+				.extracting(CommandStatusDto::commandId).containsExactly(2L);
+	}
+
+	private static CheckResult result(long commandId) {
+		AppTarget target = AppTarget.builder().id(10L).name("target").build();
+		CheckCommand command = CheckCommand.builder().id(commandId).app(target).type(CommandType.TCP_PORT).build();
+		return CheckResult.builder()
+				.command(command)
+				.timestamp(Instant.now())
+				.success(true)
+				.responseTimeMs(5)
+				.statusCode(200)
+				.build();
+	}
+}
@@ -0,0 +1,25 @@
+package com.cognizant.vibe.synthetictesting.support;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+/**
+ * Runs transaction callbacks without a transaction, for tests whose repositories are {@link Stubs}.
+ */
+public class NoTransactionManager implements PlatformTransactionManager {
+
+	@Override
+	public TransactionStatus getTransaction(TransactionDefinition definition) {
+		return new SimpleTransactionStatus();
+	}
+
+	@Override
+	public void commit(TransactionStatus status) {
+	}
+
+	@Override
+	public void rollback(TransactionStatus status) {
+	}
+}
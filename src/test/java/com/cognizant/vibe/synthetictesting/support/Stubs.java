@@ -0,0 +1,25 @@
+package com.cognizant.vibe.synthetictesting.support;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Hand-written stubs of interfaces, such as repositories, for tests that run without a Spring context.
+ */
+public final class Stubs {
+
+	private Stubs() {
+	}
+
+	/**
+	 * @return An implementation of the interface that answers every call with the given method, by method name.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T stub(Class<T> type, StubMethod method) {
+		return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+				(proxy, invoked, args) -> method.invoke(invoked.getName(), args));
+	}
+
+	public interface StubMethod {
+		Object invoke(String name, Object[] args);
+	}
+}